@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Computes the means of paired values {@code (x, y)} and the sums of squared and
+ * cross-product deviations from the means:
+ *
+ * <p>\[ \begin{aligned}
+ *       S_{xx} &amp;= \sum_i (x_i - \overline{x})^2 \\
+ *       S_{yy} &amp;= \sum_i (y_i - \overline{y})^2 \\
+ *       S_{xy} &amp;= \sum_i (x_i - \overline{x})(y_i - \overline{y})
+ *       \end{aligned} \]
+ *
+ * <p>The means are computed using a {@link FirstMoment} for each variable. The
+ * following recursive updating formula is used for the sums:
+ * <p>Let
+ * <ul>
+ *  <li> dx = (current x - previous mean of x) </li>
+ *  <li> dy = (current y - previous mean of y) </li>
+ *  <li> n = number of observations (including current obs) </li>
+ * </ul>
+ * <p>Then
+ * <p>new value = old value + dx * dy * (n - 1) / n
+ *
+ * <p>The deviations are computed using the scaled representation of the {@link FirstMoment}
+ * to avoid overflow for all finite input.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link #combine(BivariateMoment) combine} method, it must be synchronized externally.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a>
+ *   <li>Schubert and Gertz (2018)
+ *       Numerically stable parallel computation of (co-)variance.
+ *       Proceedings of the 30th International Conference on Scientific and Statistical
+ *       Database Management, 1-12.
+ *       <a href="https://doi.org/10.1145/3221269.3223036">doi: 10.1145/3221269.3223036</a>
+ * </ul>
+ *
+ * @since 1.1
+ */
+final class BivariateMoment {
+    /** First moment of the x values. */
+    private final FirstMoment mx;
+    /** First moment of the y values. */
+    private final FirstMoment my;
+    /** Sum of squared deviations of the x values. */
+    private double sxx;
+    /** Sum of squared deviations of the y values. */
+    private double syy;
+    /** Sum of the products of the deviations of the x and y values. */
+    private double sxy;
+
+    /**
+     * Create an instance.
+     */
+    BivariateMoment() {
+        this(new FirstMoment(), new FirstMoment(), 0, 0, 0);
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param mx First moment of the x values.
+     * @param my First moment of the y values.
+     * @param sxx Sum of squared deviations of the x values.
+     * @param syy Sum of squared deviations of the y values.
+     * @param sxy Sum of the products of the deviations of the x and y values.
+     */
+    private BivariateMoment(FirstMoment mx, FirstMoment my, double sxx, double syy, double sxy) {
+        this.mx = mx;
+        this.my = my;
+        this.sxx = sxx;
+        this.syy = syy;
+        this.sxy = sxy;
+    }
+
+    /**
+     * Returns an instance populated using the input paired values.
+     *
+     * <p>Note: {@code BivariateMoment} computed using {@link #accept accept} may be
+     * different from this instance.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @return {@code BivariateMoment} instance.
+     * @throws IllegalArgumentException if the lengths are different
+     */
+    static BivariateMoment of(double[] x, double[] y) {
+        return of(x, y, 0, Statistics.checkSameLength(x, y));
+    }
+
+    /**
+     * Returns an instance populated using the specified range of the input paired values.
+     *
+     * <p>Note: {@code BivariateMoment} computed using {@link #accept accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code BivariateMoment} instance.
+     */
+    static BivariateMoment of(double[] x, double[] y, int from, int to) {
+        final int n = to - from;
+        if (n == 0) {
+            return new BivariateMoment();
+        }
+        // Use the fast path for the means
+        final FirstMoment mx = FirstMoment.of(x, from, to);
+        final FirstMoment my = FirstMoment.of(y, from, to);
+        final double xbar = mx.getFirstMoment();
+        final double ybar = my.getFirstMoment();
+        if (!Double.isFinite(xbar) || !Double.isFinite(ybar)) {
+            return new BivariateMoment(mx, my, Double.NaN, Double.NaN, Double.NaN);
+        }
+        // "Corrected two-pass algorithm"
+        // See: Chan et al (1983) Equation 1.7
+        double sx = 0;
+        double sy = 0;
+        double ssx = 0;
+        double ssy = 0;
+        double ssxy = 0;
+        for (int i = from; i < to; i++) {
+            final double dx = x[i] - xbar;
+            final double dy = y[i] - ybar;
+            sx += dx;
+            sy += dy;
+            ssx += dx * dx;
+            ssy += dy * dy;
+            ssxy += dx * dy;
+        }
+        // The second term ideally should be zero; in practice it is a good approximation
+        // of the error in the first term.
+        // Infinite sums are assigned their intended value.
+        return new BivariateMoment(mx, my,
+            correct(ssx, sx, sx, n),
+            correct(ssy, sy, sy, n),
+            correct(ssxy, sx, sy, n));
+    }
+
+    /**
+     * Apply the correction term of the two-pass algorithm to the sum of products.
+     *
+     * @param s Sum of products of deviations.
+     * @param sx Sum of the first deviations.
+     * @param sy Sum of the second deviations.
+     * @param n Count of values.
+     * @return the corrected sum
+     */
+    private static double correct(double s, double sx, double sy, int n) {
+        return Double.isFinite(s) ? s - (sx * sy / n) : s;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the pair {@code (x, y)}.
+     *
+     * @param x First value.
+     * @param y Second value.
+     */
+    void accept(double x, double y) {
+        // "Updating one-pass algorithm"
+        // See: Chan et al (1983) Equation 1.3b
+        mx.accept(x);
+        my.accept(y);
+        // Note: account for the half-deviation representation by scaling by 4=2^2
+        final double n1 = (mx.n - 1) * 4.0;
+        sxx += n1 * mx.dev * mx.nDev;
+        syy += n1 * my.dev * my.nDev;
+        sxy += n1 * mx.dev * my.nDev;
+    }
+
+    /**
+     * Gets the count of the paired values.
+     *
+     * @return the count
+     */
+    long getN() {
+        return mx.n;
+    }
+
+    /**
+     * Test if the means are finite. Returns {@code false} when no values have been added.
+     *
+     * @return true if the means are finite
+     */
+    private boolean isFinite() {
+        // Note: The first moment is NaN when empty
+        return Double.isFinite(mx.getFirstMoment()) && Double.isFinite(my.getFirstMoment());
+    }
+
+    /**
+     * Gets the sum of squared deviations of the x values.
+     *
+     * @return the sum of squared deviations; or {@code NaN} if empty or any values are not finite
+     */
+    double getSumOfSquaredDeviationsX() {
+        return isFinite() ? sxx : Double.NaN;
+    }
+
+    /**
+     * Gets the sum of squared deviations of the y values.
+     *
+     * @return the sum of squared deviations; or {@code NaN} if empty or any values are not finite
+     */
+    double getSumOfSquaredDeviationsY() {
+        return isFinite() ? syy : Double.NaN;
+    }
+
+    /**
+     * Gets the sum of the products of the deviations of the x and y values.
+     *
+     * @return the sum of products of deviations; or {@code NaN} if empty or any values are not finite
+     */
+    double getSumOfProductDeviations() {
+        return isFinite() ? sxy : Double.NaN;
+    }
+
+    /**
+     * Combines the state of another {@code BivariateMoment} into this one.
+     *
+     * @param other Another {@code BivariateMoment} to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     */
+    BivariateMoment combine(BivariateMoment other) {
+        final long n = mx.n;
+        final long m = other.mx.n;
+        if (n == 0) {
+            sxx = other.sxx;
+            syy = other.syy;
+            sxy = other.sxy;
+        } else if (m != 0) {
+            // "Updating one-pass algorithm"
+            // See: Chan et al (1983) Equation 1.5b (modified for the mean)
+            final double dx = mx.getFirstMomentDifference(other.mx);
+            final double dy = my.getFirstMomentDifference(other.my);
+            final double f = ((double) n * m) / ((double) n + m);
+            // Enforce symmetry
+            sxx = (sxx + other.sxx) + dx * dx * f;
+            syy = (syy + other.syy) + dy * dy * f;
+            sxy = (sxy + other.sxy) + dx * dy * f;
+        }
+        mx.combine(other.mx);
+        my.combine(other.my);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    void reset() {
+        mx.reset();
+        my.reset();
+        sxx = 0;
+        syy = 0;
+        sxy = 0;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        mx.writeState(out);
+        my.writeState(out);
+        out.writeDouble(sxx);
+        out.writeDouble(syy);
+        out.writeDouble(sxy);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code BivariateMoment} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static BivariateMoment readState(DataInput in) throws IOException {
+        final FirstMoment x = new FirstMoment(in);
+        final FirstMoment y = new FirstMoment(in);
+        final double ssx = in.readDouble();
+        final double ssy = in.readDouble();
+        return new BivariateMoment(x, y, ssx, ssy, in.readDouble());
+    }
+}
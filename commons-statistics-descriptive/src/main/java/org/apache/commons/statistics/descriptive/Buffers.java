@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.function.BinaryOperator;
+
+/**
+ * Support for computing statistics on the values in a {@link java.nio.Buffer Buffer}.
+ *
+ * <p>A buffer that is backed by an accessible array is computed using the array
+ * directly. Otherwise the values (for example of a direct or memory-mapped buffer) are
+ * copied in chunks to an array; each chunk is computed using the same range function
+ * and the results are combined.
+ *
+ * <p>The position and limit of the buffer are not modified.
+ *
+ * @since 1.1
+ */
+final class Buffers {
+    /** Number of values in a chunk copied from a buffer without an accessible array. */
+    static final int CHUNK = 1 << 16;
+
+    /** No instances. */
+    private Buffers() {}
+
+    /**
+     * Applies the function to the remaining values in the {@code buffer}.
+     *
+     * @param <R> Type of the result.
+     * @param buffer Buffer.
+     * @param function Function to compute the result of a range of values.
+     * @param combiner Function to combine two results.
+     * @return the result
+     */
+    static <R> R apply(DoubleBuffer buffer, RangeFunction<double[], R> function, BinaryOperator<R> combiner) {
+        return apply(buffer, function, combiner, CHUNK);
+    }
+
+    /**
+     * Applies the function to the remaining values in the {@code buffer}.
+     *
+     * <p>This method is package-private for testing.
+     *
+     * @param <R> Type of the result.
+     * @param buffer Buffer.
+     * @param function Function to compute the result of a range of values.
+     * @param combiner Function to combine two results.
+     * @param chunk Number of values in a chunk.
+     * @return the result
+     */
+    static <R> R apply(DoubleBuffer buffer, RangeFunction<double[], R> function, BinaryOperator<R> combiner,
+                       int chunk) {
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            return function.apply(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+        }
+        // Read from a duplicate to preserve the position of the buffer
+        final DoubleBuffer b = buffer.duplicate();
+        final double[] values = new double[Math.min(chunk, b.remaining())];
+        R result = null;
+        do {
+            final int n = Math.min(values.length, b.remaining());
+            b.get(values, 0, n);
+            final R r = function.apply(values, 0, n);
+            result = result == null ? r : combiner.apply(result, r);
+        } while (b.hasRemaining());
+        return result;
+    }
+
+    /**
+     * Applies the function to the remaining values in the {@code buffer}.
+     *
+     * @param <R> Type of the result.
+     * @param buffer Buffer.
+     * @param function Function to compute the result of a range of values.
+     * @param combiner Function to combine two results.
+     * @return the result
+     */
+    static <R> R apply(IntBuffer buffer, RangeFunction<int[], R> function, BinaryOperator<R> combiner) {
+        return apply(buffer, function, combiner, CHUNK);
+    }
+
+    /**
+     * Applies the function to the remaining values in the {@code buffer}.
+     *
+     * <p>This method is package-private for testing.
+     *
+     * @param <R> Type of the result.
+     * @param buffer Buffer.
+     * @param function Function to compute the result of a range of values.
+     * @param combiner Function to combine two results.
+     * @param chunk Number of values in a chunk.
+     * @return the result
+     */
+    static <R> R apply(IntBuffer buffer, RangeFunction<int[], R> function, BinaryOperator<R> combiner,
+                       int chunk) {
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            return function.apply(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+        }
+        final IntBuffer b = buffer.duplicate();
+        final int[] values = new int[Math.min(chunk, b.remaining())];
+        R result = null;
+        do {
+            final int n = Math.min(values.length, b.remaining());
+            b.get(values, 0, n);
+            final R r = function.apply(values, 0, n);
+            result = result == null ? r : combiner.apply(result, r);
+        } while (b.hasRemaining());
+        return result;
+    }
+
+    /**
+     * Applies the function to the remaining values in the {@code buffer}.
+     *
+     * @param <R> Type of the result.
+     * @param buffer Buffer.
+     * @param function Function to compute the result of a range of values.
+     * @param combiner Function to combine two results.
+     * @return the result
+     */
+    static <R> R apply(LongBuffer buffer, RangeFunction<long[], R> function, BinaryOperator<R> combiner) {
+        return apply(buffer, function, combiner, CHUNK);
+    }
+
+    /**
+     * Applies the function to the remaining values in the {@code buffer}.
+     *
+     * <p>This method is package-private for testing.
+     *
+     * @param <R> Type of the result.
+     * @param buffer Buffer.
+     * @param function Function to compute the result of a range of values.
+     * @param combiner Function to combine two results.
+     * @param chunk Number of values in a chunk.
+     * @return the result
+     */
+    static <R> R apply(LongBuffer buffer, RangeFunction<long[], R> function, BinaryOperator<R> combiner,
+                       int chunk) {
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            return function.apply(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+        }
+        final LongBuffer b = buffer.duplicate();
+        final long[] values = new long[Math.min(chunk, b.remaining())];
+        R result = null;
+        do {
+            final int n = Math.min(values.length, b.remaining());
+            b.get(values, 0, n);
+            final R r = function.apply(values, 0, n);
+            result = result == null ? r : combiner.apply(result, r);
+        } while (b.hasRemaining());
+        return result;
+    }
+}
@@ -0,0 +1,489 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Computes the central moments of all orders up to a configurable order \( k \).
+ *
+ * <p>The state is the mean and the sums of the powers of the deviations from the mean:
+ *
+ * <p>\[ M_p = \sum_{i=1}^n (x_i - \overline{x})^p \]
+ *
+ * <p>for \( 2 \le p \le k \). The central moment of order \( p \) is \( \mu_p = M_p / n \).
+ *
+ * <p>Values are added using the updating formula of Pébay (2008). Two states
+ * \( A \) and \( B \) are combined by shifting the deviations of each state to the mean of the
+ * combined state:
+ *
+ * <p>\[ M_p = \sum_{j=0}^{p} \binom{p}{j} \left[ \left(-\frac{n_B \delta}{n}\right)^j M_{p-j,A}
+ *                                           + \left(\frac{n_A \delta}{n}\right)^j M_{p-j,B} \right] \]
+ *
+ * <p>where \( \delta = \overline{x}_B - \overline{x}_A \), \( n = n_A + n_B \),
+ * \( M_0 = n \) and \( M_1 = 0 \). Adding a single value is a combine with a state of size 1.
+ * All orders are updated in a single pass over the data.
+ *
+ * <p>The mean is computed using the same scaled representation as the {@link Mean}; this avoids
+ * overflow of the mean and the deviations from the mean for all finite input. The sums of the
+ * powers of the deviations may overflow.
+ *
+ * <p>The {@link #of(int, double[]) of} method uses a two-pass algorithm. The sums of the
+ * powers of the deviations from the computed mean are corrected using the sum of the deviations.
+ * This is a generalisation of the corrected two-pass algorithm of Chan <i>et al</i> (1983).
+ *
+ * <ul>
+ *   <li>The results are {@code NaN} if no values are added.
+ *   <li>The results are {@code NaN} if any of the values is {@code NaN} or infinite.
+ * </ul>
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double) accept} or
+ * {@link #combine(CentralMoments) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double) accept}
+ * and {@link #combine(CentralMoments) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Pébay (2008)
+ *       Formulas for Robust, One-Pass Parallel Computation of Covariances and
+ *       Arbitrary-Order Statistical Moments.
+ *       Technical Report SAND2008-6212, Sandia National Laboratories.
+ *       <a href="https://doi.org/10.2172/1028931">doi: 10.2172/1028931</a>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Central_moment">Central moment (Wikipedia)</a>
+ * @see Skewness
+ * @see Kurtosis
+ * @since 1.1
+ */
+public final class CentralMoments implements DoubleConsumer {
+    /** Maximum supported order. */
+    private static final int MAX_ORDER = 32;
+    /** Binomial coefficients C(p, j) for {@code 0 <= j <= p <= MAX_ORDER}. */
+    private static final double[][] BINOMIAL;
+
+    static {
+        // Pascal's triangle. All coefficients are exact in double precision.
+        BINOMIAL = new double[MAX_ORDER + 1][];
+        for (int p = 0; p <= MAX_ORDER; p++) {
+            final double[] c = new double[p + 1];
+            c[0] = 1;
+            c[p] = 1;
+            for (int j = 1; j < p; j++) {
+                c[j] = BINOMIAL[p - 1][j - 1] + BINOMIAL[p - 1][j];
+            }
+            BINOMIAL[p] = c;
+        }
+    }
+
+    /** Maximum order of the moments. */
+    private final int order;
+    /** First moment of the values. */
+    private final FirstMoment mean;
+    /** Sums of the powers of the deviations from the mean. Index {@code p} is the sum of
+     * deviations raised to the power {@code p}. Indices 0 and 1 are unused. */
+    private final double[] sums;
+    /** Working space for the powers of the shift of the deviations of this instance. */
+    private final double[] powA;
+    /** Working space for the powers of the shift of the deviations of the other instance. */
+    private final double[] powB;
+
+    /**
+     * Create an instance.
+     *
+     * @param order Maximum order of the moments.
+     * @param mean First moment of the values.
+     * @param sums Sums of the powers of the deviations from the mean.
+     */
+    private CentralMoments(int order, FirstMoment mean, double[] sums) {
+        this.order = order;
+        this.mean = mean;
+        this.sums = sums;
+        powA = new double[order + 1];
+        powB = new double[order + 1];
+    }
+
+    /**
+     * Creates an instance for the central moments of all orders up to the specified {@code order}.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param order Maximum order of the moments.
+     * @return {@code CentralMoments} instance.
+     * @throws IllegalArgumentException if the {@code order} is not in the range {@code [2, 32]}
+     */
+    public static CentralMoments create(int order) {
+        return new CentralMoments(checkOrder(order), new FirstMoment(), new double[order + 1]);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * <p>Note: {@code CentralMoments} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * <p>See {@link CentralMoments} for details on the computing algorithm.
+     *
+     * @param order Maximum order of the moments.
+     * @param values Values.
+     * @return {@code CentralMoments} instance.
+     * @throws IllegalArgumentException if the {@code order} is not in the range {@code [2, 32]}
+     */
+    public static CentralMoments of(int order, double... values) {
+        return create(checkOrder(order), values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code CentralMoments} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * <p>See {@link CentralMoments} for details on the computing algorithm.
+     *
+     * @param order Maximum order of the moments.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code CentralMoments} instance.
+     * @throws IllegalArgumentException if the {@code order} is not in the range {@code [2, 32]}
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static CentralMoments of(int order, double[] values, int from, int to) {
+        checkOrder(order);
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(order, values, from, to);
+    }
+
+    /**
+     * Create an instance populated using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param order Maximum order of the moments.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code CentralMoments} instance.
+     */
+    private static CentralMoments create(int order, double[] values, int from, int to) {
+        final FirstMoment m1 = FirstMoment.of(values, from, to);
+        final double[] s = new double[order + 1];
+        final CentralMoments m = new CentralMoments(order, m1, s);
+        final double xbar = m1.getFirstMoment();
+        if (from == to || !Double.isFinite(xbar)) {
+            return m;
+        }
+        // Sums of the powers of the deviations from the computed mean, including the first power
+        for (int i = from; i < to; i++) {
+            final double dx = values[i] - xbar;
+            double d = dx;
+            s[1] += d;
+            for (int p = 2; p <= order; p++) {
+                d *= dx;
+                s[p] += d;
+            }
+        }
+        // The sum of the deviations ideally should be zero; in practice it is a good approximation
+        // of the error in the mean. Correct the sums by shifting the deviations to the
+        // corrected mean. For order 2 this is the corrected two-pass algorithm.
+        final double n = (double) to - from;
+        final double shift = -s[1] / n;
+        s[1] = 0;
+        if (shift != 0 && Double.isFinite(shift)) {
+            final double[] pow = m.powA;
+            // Note: Powers are computed using the half value
+            powers(0.5 * shift, pow);
+            // Descending order uses the uncorrected lower order sums
+            for (int p = order; p >= 2; p--) {
+                final double[] c = BINOMIAL[p];
+                double sum = s[p];
+                for (int j = 1; j <= p - 2; j++) {
+                    sum += c[j] * pow[j] * s[p - j];
+                }
+                // Note: Uncorrected s[1] = -n * shift
+                s[p] = sum + c[p - 1] * pow[p - 1] * -n * shift + pow[p] * n;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Check the order is within the supported range.
+     *
+     * @param order Maximum order of the moments.
+     * @return the order
+     * @throws IllegalArgumentException if the {@code order} is not in the range {@code [2, 32]}
+     */
+    private static int checkOrder(int order) {
+        if (order < 2 || order > MAX_ORDER) {
+            throw new IllegalArgumentException("Invalid order: " + order);
+        }
+        return order;
+    }
+
+    /**
+     * Compute the powers {@code (2x)^j} for {@code 0 <= j < pow.length}.
+     *
+     * <p>The argument is a half value as used in the scaled representation of the
+     * first moment. The result is computed by rescaling the power of the half value to avoid
+     * intermediate overflow.
+     *
+     * @param x Half value.
+     * @param pow Powers of the value.
+     */
+    private static void powers(double x, double[] pow) {
+        pow[0] = 1;
+        double v = 1;
+        for (int j = 1; j < pow.length; j++) {
+            v *= x;
+            pow[j] = Math.scalb(v, j);
+        }
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        final long n0 = mean.n;
+        mean.accept(value);
+        if (n0 == 0) {
+            return;
+        }
+        // "Updating one-pass algorithm"
+        // See: Pébay (2008) Theorem 1 with a second set of size 1.
+        // Shift of the existing deviations to the new mean: -(x - m) / n.
+        // Deviation of the new value from the new mean: (x - m) * (n - 1) / n.
+        // Note: The first moment provides the half-deviations.
+        final double[] pa = powA;
+        final double[] pb = powB;
+        powers(-mean.nDev, pa);
+        powers(mean.dev - mean.nDev, pb);
+        final double[] s = sums;
+        // Descending order uses the previous lower order sums
+        for (int p = order; p >= 2; p--) {
+            final double[] c = BINOMIAL[p];
+            double sum = s[p];
+            for (int j = 1; j <= p - 2; j++) {
+                sum += c[j] * pa[j] * s[p - j];
+            }
+            s[p] = sum + pa[p] * n0 + pb[p];
+        }
+    }
+
+    /**
+     * Gets the maximum order of the moments.
+     *
+     * @return the order
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Gets the number of values that have been added.
+     *
+     * @return the count
+     */
+    public long getN() {
+        return mean.n;
+    }
+
+    /**
+     * Gets the mean of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the mean
+     */
+    public double getMean() {
+        return mean.getFirstMoment();
+    }
+
+    /**
+     * Gets the sum of the deviations from the mean raised to the power {@code p}:
+     *
+     * <p>\[ M_p = \sum_{i=1}^n (x_i - \overline{x})^p \]
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Power.
+     * @return the sum of the powers of the deviations
+     * @throws IllegalArgumentException if {@code p} is not in the range {@code [1, order]}
+     */
+    public double getSumOfDeviations(int p) {
+        checkPower(p);
+        if (!Double.isFinite(getMean())) {
+            // Empty or non-finite values
+            return Double.NaN;
+        }
+        return sums[p];
+    }
+
+    /**
+     * Gets the central moment of order {@code p}:
+     *
+     * <p>\[ \mu_p = \frac{1}{n} \sum_{i=1}^n (x_i - \overline{x})^p \]
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Order.
+     * @return the central moment
+     * @throws IllegalArgumentException if {@code p} is not in the range {@code [1, order]}
+     */
+    public double getCentralMoment(int p) {
+        return getSumOfDeviations(p) / mean.n;
+    }
+
+    /**
+     * Gets the central moments of all orders up to the maximum order.
+     * The moment of order {@code p} is at index {@code p}; index 0 is the
+     * central moment of order 0 (1) and index 1 is the central moment of order 1 (0).
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the central moments
+     */
+    public double[] getCentralMoments() {
+        final double[] mu = new double[order + 1];
+        final double n = mean.n;
+        if (Double.isFinite(getMean())) {
+            mu[0] = 1;
+            for (int p = 2; p <= order; p++) {
+                mu[p] = sums[p] / n;
+            }
+        } else {
+            Arrays.fill(mu, Double.NaN);
+        }
+        return mu;
+    }
+
+    /**
+     * Gets the standardized moment of order {@code p}:
+     *
+     * <p>\[ \tilde{\mu}_p = \frac{\mu_p}{\mu_2^{p/2}} \]
+     *
+     * <p>The standardized moment of order 3 is the biased {@link Skewness skewness}.
+     * The standardized moment of order 4 is the biased {@link Kurtosis kurtosis} plus 3.
+     *
+     * <p>When no values have been added, or the second central moment is zero,
+     * the result is {@code NaN}.
+     *
+     * @param p Order.
+     * @return the standardized moment
+     * @throws IllegalArgumentException if {@code p} is not in the range {@code [1, order]}
+     */
+    public double getStandardizedMoment(int p) {
+        final double mu = getCentralMoment(p);
+        final double mu2 = sums[2] / mean.n;
+        if (!(mu2 > 0)) {
+            return Double.NaN;
+        }
+        // Divide by the standard deviation for each power to avoid intermediate overflow
+        final double sd = Math.sqrt(mu2);
+        double m = mu;
+        for (int j = 0; j < p; j++) {
+            m /= sd;
+        }
+        return m;
+    }
+
+    /**
+     * Check the power is within the supported range.
+     *
+     * @param p Power.
+     * @throws IllegalArgumentException if {@code p} is not in the range {@code [1, order]}
+     */
+    private void checkPower(int p) {
+        if (p < 1 || p > order) {
+            throw new IllegalArgumentException("Invalid order: " + p + " not in [1, " + order + "]");
+        }
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the order of the {@code other} instance is different
+     */
+    public CentralMoments combine(CentralMoments other) {
+        if (other.order != order) {
+            throw new IllegalArgumentException("Incompatible order: " + other.order + " != " + order);
+        }
+        final long na = mean.n;
+        final long nb = other.mean.n;
+        final double[] s = sums;
+        final double[] t = other.sums;
+        if (na == 0) {
+            System.arraycopy(t, 0, s, 0, s.length);
+        } else if (nb != 0) {
+            // "Updating one-pass algorithm"
+            // See: Pébay (2008) Theorem 1.
+            // Shift the deviations of each state to the combined mean using
+            // the half difference of the means to avoid overflow.
+            final double halfDelta = other.mean.getFirstMomentHalfDifference(mean);
+            final double n = (double) na + nb;
+            final double[] pa = powA;
+            final double[] pb = powB;
+            powers(-halfDelta * (nb / n), pa);
+            powers(halfDelta * (na / n), pb);
+            // Descending order uses the previous lower order sums.
+            // Note: Each element of the other state is read before this state is written
+            // to support combine with self.
+            for (int p = order; p >= 2; p--) {
+                final double[] c = BINOMIAL[p];
+                double sum = s[p] + t[p];
+                for (int j = 1; j <= p - 2; j++) {
+                    sum += c[j] * (pa[j] * s[p - j] + pb[j] * t[p - j]);
+                }
+                s[p] = sum + pa[p] * na + pb[p] * nb;
+            }
+        }
+        mean.combine(other.mean);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The order is not changed.
+     */
+    public void reset() {
+        mean.reset();
+        Arrays.fill(sums, 0);
+    }
+}
@@ -0,0 +1,1086 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Statistics for the columns of {@code double} values stored in rows.
+ *
+ * <p>This class computes the statistics of each column of a table of values. The
+ * table is a {@code double[][]} array of rows, or a flat {@code double[]} buffer of rows
+ * stored in row-major order with a given stride. The supported statistics are the same as
+ * {@link DoubleStatistics}.
+ *
+ * <p>Rows are scanned once in memory order. The state of the statistics is stored in
+ * parallel primitive arrays indexed by the column; each row updates the state of all columns
+ * for one statistic before the next statistic. This avoids traversal of the data in column
+ * order. Statistics computed using a sketch ({@link Statistic#MEDIAN MEDIAN},
+ * {@link Statistic#QUANTILE QUANTILE} and {@link Statistic#DISTINCT_COUNT DISTINCT_COUNT})
+ * use an object for each column.
+ *
+ * <p>The statistics use the same updating algorithms as the individual statistic
+ * implementations. The result for each column is identical to the result of
+ * {@link DoubleStatistics} created empty and populated with the values of the column using
+ * {@link DoubleStatistics#accept(double) accept}. This applies to
+ * {@link #combine(ColumnDoubleStatistics) combine} using the corresponding
+ * {@link DoubleStatistics#combine(DoubleStatistics) combine}.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) rows.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double[]) accept} or
+ * {@link #combine(ColumnDoubleStatistics) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double[]) accept}
+ * and {@link #combine(ColumnDoubleStatistics) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see DoubleStatistics
+ * @see MultivariateCovariance
+ * @since 1.1
+ */
+public final class ColumnDoubleStatistics {
+    /** Error message for non configured statistics. */
+    private static final String NO_CONFIGURED_STATISTICS = "No configured statistics";
+    /** Error message for an unsupported statistic. */
+    private static final String UNSUPPORTED_STATISTIC = "Unsupported statistic: ";
+    /** Error message for incompatible statistics. */
+    private static final String INCOMPATIBLE_STATISTICS = "Incompatible statistics";
+    /** Scale factor for the first moment. This matches {@link FirstMoment}. */
+    private static final double DOWNSCALE = 0.5;
+    /** Inverse of the scale factor for the first moment. */
+    private static final double RESCALE = 2;
+    /** 2, the length limit where the biased skewness and kurtosis are undefined. */
+    private static final int LENGTH_TWO = 2;
+    /** 3, the length limit where the unbiased skewness is undefined. */
+    private static final int LENGTH_THREE = 3;
+    /** 4, the length limit where the unbiased kurtosis is undefined. */
+    private static final int LENGTH_FOUR = 4;
+    /** Median probability. */
+    private static final double MEDIAN = 0.5;
+
+    /** Number of columns. */
+    private final int d;
+    /** Statistics to compute. Used to create instances for parallel computation. */
+    private final Set<Statistic> statistics;
+    /** Order of the moment; or 0 if the moment is not computed. */
+    private final int momentOrder;
+    /** Count of rows. */
+    private long n;
+    /** Minimum of each column. */
+    private final double[] min;
+    /** Maximum of each column. */
+    private final double[] max;
+    /** High part of the sum of each column. */
+    private final double[] sum;
+    /** Low part (compensation) of the sum of each column. */
+    private final double[] comp;
+    /** Product of each column. */
+    private final double[] product;
+    /** Sum of squares of each column. */
+    private final double[] sumOfSquares;
+    /** High part of the sum of logs of each column. */
+    private final double[] sumOfLogs;
+    /** Low part (compensation) of the sum of logs of each column. */
+    private final double[] logComp;
+    /** Half the first moment of each column. */
+    private final double[] m1;
+    /** Sum of each column scaled by {@link Double#MIN_NORMAL}; used when the moment is not finite. */
+    private final double[] nonFinite;
+    /** Sum of squared deviations of each column. */
+    private final double[] ss;
+    /** Sum of cubed deviations of each column. */
+    private final double[] sc;
+    /** Sum of fourth deviations of each column. */
+    private final double[] sq;
+    /** Quantile sketch of each column. */
+    private final QuantileSketch[] quantiles;
+    /** Distinct count sketch of each column. */
+    private final DistinctCount[] distinct;
+    /** Configuration options for computation of statistics. */
+    private StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+
+    /**
+     * Create an instance.
+     *
+     * @param columns Number of columns.
+     * @param statistics Statistics to compute.
+     */
+    private ColumnDoubleStatistics(int columns, Set<Statistic> statistics) {
+        d = columns;
+        this.statistics = statistics;
+        int order = 0;
+        for (final Statistic s : statistics) {
+            switch (s) {
+            case KURTOSIS:
+                order = Math.max(order, 4);
+                break;
+            case MEAN:
+                order = Math.max(order, 1);
+                break;
+            case SKEWNESS:
+                order = Math.max(order, 3);
+                break;
+            case STANDARD_DEVIATION:
+            case VARIANCE:
+                order = Math.max(order, 2);
+                break;
+            default:
+                break;
+            }
+        }
+        momentOrder = order;
+        min = statistics.contains(Statistic.MIN) ? filled(d, Double.POSITIVE_INFINITY) : null;
+        max = statistics.contains(Statistic.MAX) ? filled(d, Double.NEGATIVE_INFINITY) : null;
+        sum = statistics.contains(Statistic.SUM) ? new double[d] : null;
+        comp = sum == null ? null : new double[d];
+        product = statistics.contains(Statistic.PRODUCT) ? filled(d, 1) : null;
+        sumOfSquares = statistics.contains(Statistic.SUM_OF_SQUARES) ? new double[d] : null;
+        sumOfLogs = statistics.contains(Statistic.SUM_OF_LOGS) ||
+            statistics.contains(Statistic.GEOMETRIC_MEAN) ? new double[d] : null;
+        logComp = sumOfLogs == null ? null : new double[d];
+        m1 = order >= 1 ? new double[d] : null;
+        nonFinite = order >= 1 ? new double[d] : null;
+        ss = order >= 2 ? new double[d] : null;
+        sc = order >= 3 ? new double[d] : null;
+        sq = order >= 4 ? new double[d] : null;
+        if (statistics.contains(Statistic.MEDIAN) || statistics.contains(Statistic.QUANTILE)) {
+            quantiles = new QuantileSketch[d];
+            Arrays.setAll(quantiles, i -> QuantileSketch.create());
+        } else {
+            quantiles = null;
+        }
+        if (statistics.contains(Statistic.DISTINCT_COUNT)) {
+            distinct = new DistinctCount[d];
+            Arrays.setAll(distinct, i -> DistinctCount.create());
+        } else {
+            distinct = null;
+        }
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * of each of the {@code columns}.
+     *
+     * @param columns Number of columns.
+     * @param statistics Statistics to compute.
+     * @return the instance
+     * @throws IllegalArgumentException if the number of {@code columns} is not strictly positive,
+     * or there are no {@code statistics} to compute
+     */
+    public static ColumnDoubleStatistics of(int columns, Statistic... statistics) {
+        if (columns <= 0) {
+            throw new IllegalArgumentException("Invalid columns: " + columns);
+        }
+        if (statistics.length == 0) {
+            throw new IllegalArgumentException(NO_CONFIGURED_STATISTICS);
+        }
+        final EnumSet<Statistic> set = EnumSet.noneOf(Statistic.class);
+        for (final Statistic s : statistics) {
+            set.add(Objects.requireNonNull(s));
+        }
+        return new ColumnDoubleStatistics(columns, set);
+    }
+
+    /**
+     * Create an array filled with the value.
+     *
+     * @param length Length.
+     * @param v Value.
+     * @return the array
+     */
+    private static double[] filled(int length, double v) {
+        final double[] x = new double[length];
+        Arrays.fill(x, v);
+        return x;
+    }
+
+    /**
+     * Fill the array with the value.
+     *
+     * @param x Array (may be null).
+     * @param v Value.
+     */
+    private static void fill(double[] x, double v) {
+        if (x != null) {
+            Arrays.fill(x, v);
+        }
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return d;
+    }
+
+    /**
+     * Gets the number of rows that have been added.
+     *
+     * @return the count of rows
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of the {@code row}.
+     *
+     * @param row Value of each column.
+     * @throws IllegalArgumentException if the length of the row is not the number of columns
+     */
+    public void accept(double[] row) {
+        checkLength(row.length);
+        add(row, 0);
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of the {@code rows}.
+     *
+     * @param rows Rows of values of each column.
+     * @throws IllegalArgumentException if the length of any row is not the number of columns
+     */
+    public void accept(double[][] rows) {
+        // Validate before any modification
+        for (final double[] row : rows) {
+            checkLength(row.length);
+        }
+        add(rows, 0, rows.length);
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of {@code count} rows
+     * stored in row-major order in the {@code values} starting from {@code offset}.
+     * The row {@code i} is {@code values[offset + i * stride]} to
+     * {@code values[offset + i * stride + c - 1]} where {@code c} is the number of columns.
+     * Any values between the end of a row and the start of the next row are ignored.
+     *
+     * @param values Values.
+     * @param offset Offset of the first row.
+     * @param stride Distance between the start of consecutive rows.
+     * @param count Number of rows.
+     * @throws IllegalArgumentException if the {@code stride} is less than the number of columns
+     * @throws IndexOutOfBoundsException if the rows are not within the bounds of {@code values}
+     */
+    public void accept(double[] values, int offset, int stride, int count) {
+        checkRows(values, offset, stride, count);
+        add(values, offset, stride, 0, count);
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of the {@code rows}.
+     * The computation uses the specified {@code pool}.
+     *
+     * <p>A large number of rows is split into blocks that are computed in parallel and the
+     * results are {@link #combine(ColumnDoubleStatistics) combined} into this instance.
+     * A small number of rows is computed sequentially in the calling thread.
+     *
+     * <p>Note: The statistics computed using this method may be different from the
+     * statistics computed by {@link #accept(double[][])} due to the different order of
+     * floating-point operations.
+     *
+     * @param rows Rows of values of each column.
+     * @param pool Pool used to execute parallel tasks.
+     * @throws IllegalArgumentException if the length of any row is not the number of columns
+     */
+    public void acceptParallel(double[][] rows, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool");
+        for (final double[] row : rows) {
+            checkLength(row.length);
+        }
+        combine(RangeTask.evaluate(pool,
+            (double[][] x, int from, int to) -> {
+                final ColumnDoubleStatistics s = new ColumnDoubleStatistics(d, statistics);
+                s.add(x, from, to);
+                return s;
+            },
+            ColumnDoubleStatistics::combine, rows, 0, rows.length, getThreshold()));
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of {@code count} rows
+     * stored in row-major order in the {@code values} starting from {@code offset}.
+     * The computation uses the specified {@code pool}.
+     *
+     * <p>See {@link #accept(double[], int, int, int)} for the layout of the rows and
+     * {@link #acceptParallel(double[][], ForkJoinPool)} for details of the parallel computation.
+     *
+     * @param values Values.
+     * @param offset Offset of the first row.
+     * @param stride Distance between the start of consecutive rows.
+     * @param count Number of rows.
+     * @param pool Pool used to execute parallel tasks.
+     * @throws IllegalArgumentException if the {@code stride} is less than the number of columns
+     * @throws IndexOutOfBoundsException if the rows are not within the bounds of {@code values}
+     */
+    public void acceptParallel(double[] values, int offset, int stride, int count, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool");
+        checkRows(values, offset, stride, count);
+        combine(RangeTask.evaluate(pool,
+            (double[] x, int from, int to) -> {
+                final ColumnDoubleStatistics s = new ColumnDoubleStatistics(d, statistics);
+                s.add(x, offset, stride, from, to);
+                return s;
+            },
+            ColumnDoubleStatistics::combine, values, 0, count, getThreshold()));
+    }
+
+    /**
+     * Gets the minimum number of rows computed by a single parallel task.
+     *
+     * @return the threshold
+     */
+    private int getThreshold() {
+        return Math.max(1, RangeTask.THRESHOLD / d);
+    }
+
+    /**
+     * Check the length of a row is the number of columns.
+     *
+     * @param length Length.
+     * @throws IllegalArgumentException if the length is not the number of columns
+     */
+    private void checkLength(int length) {
+        if (length != d) {
+            throw new IllegalArgumentException("Invalid row length: " + length + " != " + d);
+        }
+    }
+
+    /**
+     * Check the rows are within the bounds of the {@code values}.
+     *
+     * @param values Values.
+     * @param offset Offset of the first row.
+     * @param stride Distance between the start of consecutive rows.
+     * @param count Number of rows.
+     * @throws IllegalArgumentException if the {@code stride} is less than the number of columns
+     * @throws IndexOutOfBoundsException if the rows are not within the bounds of {@code values}
+     */
+    private void checkRows(double[] values, int offset, int stride, int count) {
+        if (stride < d) {
+            throw new IllegalArgumentException("Invalid stride: " + stride + " < " + d);
+        }
+        final long end = count == 0 ? offset : offset + (long) (count - 1) * stride + d;
+        if (offset < 0 || count < 0 || end > values.length) {
+            throw new IndexOutOfBoundsException("Rows [" + offset + ", " + end + ") out of bounds for length " +
+                values.length);
+        }
+    }
+
+    /**
+     * Adds the rows in the range {@code [from, to)}.
+     *
+     * <p>Warning: No length checks are performed.
+     *
+     * @param rows Rows of values of each column.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     */
+    private void add(double[][] rows, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(rows[i], 0);
+        }
+    }
+
+    /**
+     * Adds the rows in the range {@code [from, to)} of the rows stored in the {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param offset Offset of the first row.
+     * @param stride Distance between the start of consecutive rows.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     */
+    private void add(double[] values, int offset, int stride, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(values, offset + i * stride);
+        }
+    }
+
+    /**
+     * Adds the row starting at the {@code offset} of the {@code values}.
+     *
+     * <p>Each statistic is updated in turn for all the columns of the row.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param x Values.
+     * @param offset Offset of the row.
+     */
+    private void add(double[] x, int offset) {
+        final long np = n++;
+        if (m1 != null) {
+            addMoment(x, offset, np);
+        }
+        final double[] lo = min;
+        if (lo != null) {
+            for (int j = 0; j < d; j++) {
+                lo[j] = Math.min(lo[j], x[offset + j]);
+            }
+        }
+        final double[] hi = max;
+        if (hi != null) {
+            for (int j = 0; j < d; j++) {
+                hi[j] = Math.max(hi[j], x[offset + j]);
+            }
+        }
+        if (sum != null) {
+            for (int j = 0; j < d; j++) {
+                addSum(sum, comp, j, x[offset + j]);
+            }
+        }
+        final double[] p = product;
+        if (p != null) {
+            for (int j = 0; j < d; j++) {
+                p[j] *= x[offset + j];
+            }
+        }
+        final double[] s2 = sumOfSquares;
+        if (s2 != null) {
+            for (int j = 0; j < d; j++) {
+                final double v = x[offset + j];
+                s2[j] += v * v;
+            }
+        }
+        if (sumOfLogs != null) {
+            for (int j = 0; j < d; j++) {
+                addSum(sumOfLogs, logComp, j, Math.log(x[offset + j]));
+            }
+        }
+        if (quantiles != null) {
+            for (int j = 0; j < d; j++) {
+                quantiles[j].accept(x[offset + j]);
+            }
+        }
+        if (distinct != null) {
+            for (int j = 0; j < d; j++) {
+                distinct[j].accept(x[offset + j]);
+            }
+        }
+    }
+
+    /**
+     * Adds the row starting at the {@code offset} of the {@code values} to the moments.
+     *
+     * <p>This uses the same computation as {@link SumOfFourthDeviations#accept(double)} and
+     * the lower order moments.
+     *
+     * @param x Values.
+     * @param offset Offset of the row.
+     * @param count Count of rows before the row is added.
+     */
+    private void addMoment(double[] x, int offset, long count) {
+        final double np = count;
+        final long c = count + 1;
+        final double np1 = c;
+        final int order = momentOrder;
+        for (int j = 0; j < d; j++) {
+            final double value = x[offset + j];
+            nonFinite[j] += value * Double.MIN_NORMAL;
+            final double dev = value * DOWNSCALE - m1[j];
+            final double nDev = dev / c;
+            m1[j] += nDev;
+            if (order >= 2) {
+                // Require the previous lower order sums
+                final double s2 = ss[j];
+                if (order >= 3) {
+                    final double s3 = sc[j];
+                    if (order == 4) {
+                        sq[j] = sq[j] -
+                            s3 * nDev * 8 +
+                            s2 * nDev * nDev * 24 +
+                            np * (np1 * np1 - 3 * np) * nDev * nDev * nDev * dev * 16;
+                    }
+                    sc[j] = s3 -
+                        s2 * nDev * 6 +
+                        (np - 1.0) * np * nDev * nDev * dev * 8;
+                }
+                // Note: account for the half-deviation representation by scaling by 4=2^2
+                ss[j] = s2 + (c - 1) * dev * nDev * 4;
+            }
+        }
+    }
+
+    /**
+     * Adds the value to the sum in column {@code j}.
+     *
+     * <p>This uses the same extended precision summation as {@link Sum}.
+     *
+     * @param hi High part of the sum.
+     * @param lo Low part of the sum.
+     * @param j Column index.
+     * @param value Value.
+     */
+    private static void addSum(double[] hi, double[] lo, int j, double value) {
+        final double s = hi[j];
+        final double t = s + value;
+        // Low part of the two-sum
+        final double bv = t - s;
+        lo[j] += (s - (t - bv)) + (value - bv);
+        hi[j] = t;
+    }
+
+    /**
+     * Check if the specified {@code statistic} is supported.
+     *
+     * @param statistic Statistic.
+     * @return {@code true} if supported
+     * @throws NullPointerException if the {@code statistic} is {@code null}
+     */
+    public boolean isSupported(Statistic statistic) {
+        switch (statistic) {
+        case DISTINCT_COUNT:
+            return distinct != null;
+        case GEOMETRIC_MEAN:
+        case SUM_OF_LOGS:
+            return sumOfLogs != null;
+        case KURTOSIS:
+            return sq != null;
+        case MAX:
+            return max != null;
+        case MEAN:
+            return m1 != null;
+        case MEDIAN:
+        case QUANTILE:
+            return quantiles != null;
+        case MIN:
+            return min != null;
+        case PRODUCT:
+            return product != null;
+        case SKEWNESS:
+            return sc != null;
+        case STANDARD_DEVIATION:
+        case VARIANCE:
+            return ss != null;
+        case SUM:
+            return sum != null;
+        case SUM_OF_SQUARES:
+            return sumOfSquares != null;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Gets the value of the specified {@code statistic} for the {@code column}.
+     *
+     * @param statistic Statistic.
+     * @param column Column index.
+     * @return the value
+     * @throws IllegalArgumentException if the {@code statistic} is not supported
+     * @throws IndexOutOfBoundsException if the {@code column} is not a valid index
+     * @see #isSupported(Statistic)
+     */
+    public double getAsDouble(Statistic statistic, int column) {
+        if (!isSupported(statistic)) {
+            throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + statistic);
+        }
+        if (column < 0 || column >= d) {
+            throw new IndexOutOfBoundsException("Column " + column + " out of bounds for length " + d);
+        }
+        return getAsDouble(statistic, column, config);
+    }
+
+    /**
+     * Gets the values of the specified {@code statistic} for all columns.
+     *
+     * @param statistic Statistic.
+     * @return the values
+     * @throws IllegalArgumentException if the {@code statistic} is not supported
+     * @see #isSupported(Statistic)
+     */
+    public double[] getResults(Statistic statistic) {
+        if (!isSupported(statistic)) {
+            throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + statistic);
+        }
+        final StatisticsConfiguration c = config;
+        final double[] r = new double[d];
+        for (int j = 0; j < d; j++) {
+            r[j] = getAsDouble(statistic, j, c);
+        }
+        return r;
+    }
+
+    /**
+     * Gets the value of the supported {@code statistic} for the column.
+     *
+     * @param statistic Statistic.
+     * @param j Column index.
+     * @param c Configuration.
+     * @return the value
+     */
+    private double getAsDouble(Statistic statistic, int j, StatisticsConfiguration c) {
+        switch (statistic) {
+        case DISTINCT_COUNT:
+            return distinct[j].getAsDouble();
+        case GEOMETRIC_MEAN:
+            return n == 0 ? Double.NaN : Math.exp(getSum(sumOfLogs, logComp, j) / n);
+        case KURTOSIS:
+            return getKurtosis(j, c.isBiased());
+        case MAX:
+            return max[j];
+        case MEAN:
+            return getMean(j);
+        case MEDIAN:
+            return quantiles[j].getQuantile(MEDIAN);
+        case MIN:
+            return min[j];
+        case PRODUCT:
+            return product[j];
+        case QUANTILE:
+            return quantiles[j].getQuantile(c.getQuantile());
+        case SKEWNESS:
+            return getSkewness(j, c.isBiased());
+        case STANDARD_DEVIATION:
+            return Math.sqrt(getVariance(j, c.isBiased()));
+        case SUM:
+            return getSum(sum, comp, j);
+        case SUM_OF_LOGS:
+            return getSum(sumOfLogs, logComp, j);
+        case SUM_OF_SQUARES:
+            return sumOfSquares[j];
+        default:
+            // VARIANCE
+            return getVariance(j, c.isBiased());
+        }
+    }
+
+    /**
+     * Gets the sum in column {@code j}.
+     *
+     * <p>This uses the same computation as {@link Sum#getAsDouble()}.
+     *
+     * @param hi High part of the sum.
+     * @param lo Low part of the sum.
+     * @param j Column index.
+     * @return the sum
+     */
+    private static double getSum(double[] hi, double[] lo, int j) {
+        final double s = hi[j] + lo[j];
+        return Double.isFinite(s) ? s : hi[j];
+    }
+
+    /**
+     * Gets the mean of the column.
+     *
+     * <p>This uses the same computation as {@link FirstMoment#getFirstMoment()}.
+     *
+     * @param j Column index.
+     * @return the mean
+     */
+    private double getMean(int j) {
+        final double m = m1[j] * RESCALE;
+        if (Double.isFinite(m)) {
+            return n == 0 ? Double.NaN : m;
+        }
+        return nonFinite[j];
+    }
+
+    /**
+     * Gets the sum of deviations of the column. This is {@code NaN} if the mean is not finite.
+     *
+     * @param s Sum of deviations.
+     * @param j Column index.
+     * @return the sum of deviations
+     */
+    private double getSumOfDeviations(double[] s, int j) {
+        return Double.isFinite(getMean(j)) ? s[j] : Double.NaN;
+    }
+
+    /**
+     * Gets the variance of the column.
+     *
+     * <p>This uses the same computation as {@link Variance#getAsDouble()}.
+     *
+     * @param j Column index.
+     * @param biased Set to true to compute the biased variance.
+     * @return the variance
+     */
+    private double getVariance(int j, boolean biased) {
+        final double x2 = getSumOfDeviations(ss, j);
+        if (!Double.isFinite(x2)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero
+        if (n == 1) {
+            return 0;
+        }
+        return biased ? x2 / n : x2 / (n - 1);
+    }
+
+    /**
+     * Gets the skewness of the column.
+     *
+     * <p>This uses the same computation as {@link Skewness#getAsDouble()}.
+     *
+     * @param j Column index.
+     * @param biased Set to true to compute the biased skewness.
+     * @return the skewness
+     */
+    private double getSkewness(int j, boolean biased) {
+        if (n < (biased ? LENGTH_TWO : LENGTH_THREE)) {
+            return Double.NaN;
+        }
+        final double x2 = getSumOfDeviations(ss, j);
+        if (!Double.isFinite(x2)) {
+            return Double.NaN;
+        }
+        final double x3 = getSumOfDeviations(sc, j);
+        if (!Double.isFinite(x3)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero; for a negligible variance return NaN.
+        final double m2 = x2 / n;
+        if (Statistics.zeroVariance(getMean(j), m2)) {
+            return Double.NaN;
+        }
+        // denom = pow(m2, 1.5)
+        final double denom = Math.sqrt(m2) * m2;
+        final double m3 = x3 / n;
+        double g1 = m3 / denom;
+        if (!biased) {
+            final double nn = n;
+            g1 *= Math.sqrt(nn * (nn - 1)) / (nn - 2);
+        }
+        return g1;
+    }
+
+    /**
+     * Gets the kurtosis of the column.
+     *
+     * <p>This uses the same computation as {@link Kurtosis#getAsDouble()}.
+     *
+     * @param j Column index.
+     * @param biased Set to true to compute the biased kurtosis.
+     * @return the kurtosis
+     */
+    private double getKurtosis(int j, boolean biased) {
+        if (n < (biased ? LENGTH_TWO : LENGTH_FOUR)) {
+            return Double.NaN;
+        }
+        final double x2 = getSumOfDeviations(ss, j);
+        if (!Double.isFinite(x2)) {
+            return Double.NaN;
+        }
+        final double x4 = getSumOfDeviations(sq, j);
+        if (!Double.isFinite(x4)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero; for a negligible variance return NaN.
+        final double m2 = x2 / n;
+        if (Statistics.zeroVariance(getMean(j), m2)) {
+            return Double.NaN;
+        }
+        final double m4 = x4 / n;
+        if (biased) {
+            return m4 / (m2 * m2) - 3;
+        }
+        final double nn = n;
+        return ((nn * nn - 1) * m4 / (m2 * m2) - 3 * (nn - 1) * (nn - 1)) / ((nn - 2) * (nn - 3));
+    }
+
+    /**
+     * Combines the state of the {@code other} statistics into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * <p>The {@code other} instance must be <em>compatible</em>. This is {@code true} if the
+     * {@code other} instance has the same number of columns and returns {@code true} for
+     * {@link #isSupported(Statistic)} for all values of the {@link Statistic} enum which are
+     * supported by {@code this} instance. In the event that the {@code other} instance is not
+     * compatible then an exception is raised before any state is modified.
+     *
+     * @param other Another set of statistics to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} is not compatible
+     */
+    public ColumnDoubleStatistics combine(ColumnDoubleStatistics other) {
+        if (other.d != d) {
+            throw new IllegalArgumentException("Incompatible columns: " + other.d + " != " + d);
+        }
+        checkCompatible(min, other.min);
+        checkCompatible(max, other.max);
+        checkCompatible(sum, other.sum);
+        checkCompatible(product, other.product);
+        checkCompatible(sumOfSquares, other.sumOfSquares);
+        checkCompatible(sumOfLogs, other.sumOfLogs);
+        checkCompatible(quantiles, other.quantiles);
+        checkCompatible(distinct, other.distinct);
+        if (momentOrder > other.momentOrder) {
+            throw new IllegalArgumentException(INCOMPATIBLE_STATISTICS);
+        }
+        final long n1 = n;
+        final long n2 = other.n;
+        // Note: Each element of the other state is read before this state is written
+        // to support combine with self
+        if (min != null) {
+            for (int j = 0; j < d; j++) {
+                min[j] = Math.min(min[j], other.min[j]);
+            }
+        }
+        if (max != null) {
+            for (int j = 0; j < d; j++) {
+                max[j] = Math.max(max[j], other.max[j]);
+            }
+        }
+        if (sum != null) {
+            combineSum(sum, comp, other.sum, other.comp);
+        }
+        if (product != null) {
+            for (int j = 0; j < d; j++) {
+                product[j] *= other.product[j];
+            }
+        }
+        if (sumOfSquares != null) {
+            for (int j = 0; j < d; j++) {
+                sumOfSquares[j] += other.sumOfSquares[j];
+            }
+        }
+        if (sumOfLogs != null) {
+            combineSum(sumOfLogs, logComp, other.sumOfLogs, other.logComp);
+        }
+        if (quantiles != null) {
+            for (int j = 0; j < d; j++) {
+                quantiles[j].combine(other.quantiles[j]);
+            }
+        }
+        if (distinct != null) {
+            for (int j = 0; j < d; j++) {
+                distinct[j].combine(other.distinct[j]);
+            }
+        }
+        if (m1 != null) {
+            for (int j = 0; j < d; j++) {
+                combineMoment(j, other, n1, n2);
+            }
+        }
+        n = n1 + n2;
+        return this;
+    }
+
+    /**
+     * Combine the sums of the {@code other} statistics.
+     *
+     * <p>This uses the same computation as {@link Sum#combine(Sum)}.
+     *
+     * @param hi High part of the sum.
+     * @param lo Low part of the sum.
+     * @param otherHi High part of the other sum.
+     * @param otherLo Low part of the other sum.
+     */
+    private void combineSum(double[] hi, double[] lo, double[] otherHi, double[] otherLo) {
+        for (int j = 0; j < d; j++) {
+            final double c = otherLo[j];
+            addSum(hi, lo, j, otherHi[j]);
+            lo[j] += c;
+        }
+    }
+
+    /**
+     * Combine the moment of column {@code j} of the {@code other} statistics.
+     *
+     * <p>This uses the same computation as {@link SumOfFourthDeviations#combine(SumOfFourthDeviations)}
+     * and the lower order moments.
+     *
+     * @param j Column index.
+     * @param other Other statistics.
+     * @param n1 Count of this statistics.
+     * @param n2 Count of the other statistics.
+     */
+    private void combineMoment(int j, ColumnDoubleStatistics other, long n1, long n2) {
+        final double mu1 = m1[j];
+        final double mu2 = other.m1[j];
+        final int order = momentOrder;
+        if (order >= 2) {
+            if (n1 == 0) {
+                ss[j] = other.ss[j];
+                if (order >= 3) {
+                    sc[j] = other.sc[j];
+                    if (order == 4) {
+                        sq[j] = other.sq[j];
+                    }
+                }
+            } else if (n2 != 0) {
+                final double halfDiffOfMean = mu1 - mu2;
+                final double s2a = ss[j];
+                final double s2b = other.ss[j];
+                if (order >= 3) {
+                    final double s3a = sc[j];
+                    final double s3b = other.sc[j];
+                    if (order == 4) {
+                        sq[j] = combineFourth(sq[j] + other.sq[j], s2a, s2b, s3a, s3b, halfDiffOfMean, n1, n2);
+                    }
+                    sc[j] = combineCubed(s3a + s3b, s2a, s2b, halfDiffOfMean, n1, n2);
+                }
+                final double diffOfMean = halfDiffOfMean * RESCALE;
+                ss[j] = (s2a + s2b) + diffOfMean * diffOfMean * (((double) n1 * n2) / ((double) n1 + n2));
+            }
+        }
+        nonFinite[j] += other.nonFinite[j];
+        if (n1 == n2) {
+            m1[j] = (mu1 + mu2) * 0.5;
+        } else {
+            m1[j] = n2 < n1 ?
+                mu1 + (mu2 - mu1) * ((double) n2 / (n1 + n2)) :
+                mu2 + (mu1 - mu2) * ((double) n1 / (n1 + n2));
+        }
+    }
+
+    /**
+     * Combine the sum of cubed deviations.
+     *
+     * <p>This uses the same computation as {@link SumOfCubedDeviations#combine(SumOfCubedDeviations)}.
+     *
+     * @param s3 Sum of the sums of cubed deviations.
+     * @param s2a Sum of squared deviations of the first sample.
+     * @param s2b Sum of squared deviations of the second sample.
+     * @param halfDiffOfMean Half the difference of the means.
+     * @param na Size of the first sample.
+     * @param nb Size of the second sample.
+     * @return the combined sum of cubed deviations
+     */
+    private static double combineCubed(double s3, double s2a, double s2b, double halfDiffOfMean,
+                                       long na, long nb) {
+        if (halfDiffOfMean == 0) {
+            return s3;
+        }
+        final double n1 = na;
+        final double n2 = nb;
+        if (n1 == n2) {
+            return s3 + (s2a - s2b) * halfDiffOfMean * 3;
+        }
+        final double n1n2 = n1 + n2;
+        final double dm = 2 * (halfDiffOfMean / n1n2);
+        return s3 + ((s2a * n2 - s2b * n1) * dm * 3 +
+                     (n2 - n1) * (n1 * n2) * (dm * dm * dm) * n1n2);
+    }
+
+    /**
+     * Combine the sum of fourth deviations.
+     *
+     * <p>This uses the same computation as {@link SumOfFourthDeviations#combine(SumOfFourthDeviations)}.
+     *
+     * @param s4 Sum of the sums of fourth deviations.
+     * @param s2a Sum of squared deviations of the first sample.
+     * @param s2b Sum of squared deviations of the second sample.
+     * @param s3a Sum of cubed deviations of the first sample.
+     * @param s3b Sum of cubed deviations of the second sample.
+     * @param halfDiffOfMean Half the difference of the means.
+     * @param na Size of the first sample.
+     * @param nb Size of the second sample.
+     * @return the combined sum of fourth deviations
+     */
+    private static double combineFourth(double s4, double s2a, double s2b, double s3a, double s3b,
+                                        double halfDiffOfMean, long na, long nb) {
+        if (halfDiffOfMean == 0) {
+            return s4;
+        }
+        final double n1 = na;
+        final double n2 = nb;
+        if (n1 == n2) {
+            final double h2 = halfDiffOfMean * halfDiffOfMean;
+            return s4 +
+                ((s3a - s3b) * halfDiffOfMean * 4 +
+                 (s2a + s2b) * h2 * 6 +
+                 (h2 * h2) * n1 * 2);
+        }
+        final double n1n2 = n1 + n2;
+        final double dm = 2 * (halfDiffOfMean / n1n2);
+        final double dm2 = dm * dm;
+        return s4 +
+            ((s3a * n2 - s3b * n1) * dm * 4 +
+             (n2 * n2 * s2a + n1 * n1 * s2b) * dm2 * 6 +
+             (n1 * n2) * (n1n2 * n1n2 - 3 * (n1 * n2)) * (dm2 * dm2) * n1n2);
+    }
+
+    /**
+     * Check the state of the {@code other} statistics is present if the state of
+     * {@code this} statistics is present.
+     *
+     * @param a State of this statistics.
+     * @param b State of the other statistics.
+     * @throws IllegalArgumentException if the objects cannot be combined
+     */
+    private static void checkCompatible(Object a, Object b) {
+        if (a != null && b == null) {
+            throw new IllegalArgumentException(INCOMPATIBLE_STATISTICS);
+        }
+    }
+
+    /**
+     * Resets the state of the statistics to the initial state with no values.
+     *
+     * <p>The number of columns, the configured statistics and the configuration are
+     * not changed.
+     */
+    public void reset() {
+        n = 0;
+        fill(min, Double.POSITIVE_INFINITY);
+        fill(max, Double.NEGATIVE_INFINITY);
+        fill(sum, 0);
+        fill(comp, 0);
+        fill(product, 1);
+        fill(sumOfSquares, 0);
+        fill(sumOfLogs, 0);
+        fill(logComp, 0);
+        fill(m1, 0);
+        fill(nonFinite, 0);
+        fill(ss, 0);
+        fill(sc, 0);
+        fill(sq, 0);
+        if (quantiles != null) {
+            for (final QuantileSketch q : quantiles) {
+                q.reset();
+            }
+        }
+        if (distinct != null) {
+            for (final DistinctCount c : distinct) {
+                c.reset();
+            }
+        }
+    }
+
+    /**
+     * Sets the statistics configuration.
+     *
+     * <p>These options only control the final computation of statistics. The configuration
+     * will not affect compatibility between instances during a
+     * {@link #combine(ColumnDoubleStatistics) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     */
+    public ColumnDoubleStatistics setConfiguration(StatisticsConfiguration v) {
+        config = Objects.requireNonNull(v);
+        return this;
+    }
+}
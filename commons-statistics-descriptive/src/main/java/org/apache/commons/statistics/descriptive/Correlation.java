@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Computes the Pearson product-moment correlation coefficient of paired values
+ * {@code (x, y)}. Uses the following definition:
+ *
+ * <p>\[ r = \frac{ \sum_{i=1}^n (x_i-\overline{x})(y_i-\overline{y}) }
+ *                { \sqrt{\sum_{i=1}^n (x_i-\overline{x})^2} \sqrt{\sum_{i=1}^n (y_i-\overline{y})^2} } \]
+ *
+ * <p>where \( \overline{x} \) and \( \overline{y} \) are the sample means, and \( n \)
+ * is the number of pairs.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if fewer than two pairs are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.
+ *   <li>The result is {@code NaN} if any of the sums of the squared or product deviations
+ *       from the means is infinite.
+ *   <li>The result is {@code NaN} if either of the variables has zero variance.
+ * </ul>
+ *
+ * <p>The result is clipped to the range {@code [-1, 1]}.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm
+ * with the same scaled deviations as the {@link Mean}; this avoids overflow of the
+ * means for all finite input.
+ *
+ * <p>The {@link #of(double[], double[])} method uses the corrected two-pass algorithm from
+ * Chan <i>et al</i>, (1983).
+ *
+ * <p>Note that adding values using {@link #accept(double, double) accept} and then executing
+ * {@link #getAsDouble() getAsDouble} will
+ * sometimes give a different, less accurate, result than executing
+ * {@link #of(double[], double[]) of} with the full arrays of values. The former approach
+ * should only be used when the full arrays of values are not available.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Pearson_correlation_coefficient">
+ * Pearson correlation coefficient (Wikipedia)</a>
+ * @see Covariance
+ * @since 1.1
+ */
+public final class Correlation implements StatisticResult, StatisticAccumulator<Correlation> {
+
+    /** Moments of the paired values. */
+    private final BivariateMoment moment;
+
+    /**
+     * Create an instance.
+     *
+     * @param moment Moments of the paired values.
+     */
+    private Correlation(BivariateMoment moment) {
+        this.moment = moment;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code Correlation} instance.
+     */
+    public static Correlation create() {
+        return new Correlation(new BivariateMoment());
+    }
+
+    /**
+     * Returns an instance populated using the input paired values {@code (x[i], y[i])}.
+     *
+     * <p>Note: {@code Correlation} computed using {@link #accept(double, double) accept} may be
+     * different from this correlation.
+     *
+     * <p>See {@link Correlation} for details on the computing algorithm.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @return {@code Correlation} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static Correlation of(double[] x, double[] y) {
+        return new Correlation(BivariateMoment.of(x, y));
+    }
+
+    /**
+     * Returns an instance populated using the input paired values {@code (x[i], y[i])}
+     * for {@code i} in the range {@code [from, to)}.
+     *
+     * <p>Note: {@code Correlation} computed using {@link #accept(double, double) accept} may be
+     * different from this correlation.
+     *
+     * <p>See {@link Correlation} for details on the computing algorithm.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Correlation} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Correlation of(double[] x, double[] y, int from, int to) {
+        Statistics.checkFromToIndex(from, to, Statistics.checkSameLength(x, y));
+        return new Correlation(BivariateMoment.of(x, y, from, to));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the pair {@code (x, y)}.
+     *
+     * @param x First value.
+     * @param y Second value.
+     */
+    public void accept(double x, double y) {
+        moment.accept(x, y);
+    }
+
+    /**
+     * Gets the correlation of all input values.
+     *
+     * <p>When fewer than two pairs have been added, the result is {@code NaN}.
+     *
+     * @return correlation of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        // Note: The moment checks for n=0 and returns NaN.
+        final double sxx = moment.getSumOfSquaredDeviationsX();
+        final double syy = moment.getSumOfSquaredDeviationsY();
+        final double sxy = moment.getSumOfProductDeviations();
+        // Also rejects NaN
+        if (!(sxx > 0 && syy > 0) || !Double.isFinite(sxx) || !Double.isFinite(syy) || !Double.isFinite(sxy)) {
+            return Double.NaN;
+        }
+        // Compute the denominator without intermediate overflow
+        final double r = sxy / Math.sqrt(sxx) / Math.sqrt(syy);
+        // Correct round-off
+        return Math.max(-1, Math.min(1, r));
+    }
+
+    @Override
+    public Correlation combine(Correlation other) {
+        moment.combine(other.moment);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        moment.reset();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        moment.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Correlation} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Correlation readState(DataInput in) throws IOException {
+        return new Correlation(BivariateMoment.readState(in));
+    }
+}
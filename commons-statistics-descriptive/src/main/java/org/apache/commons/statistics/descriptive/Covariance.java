@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Computes the covariance of paired values {@code (x, y)}. The default implementation
+ * uses the following definition of the <em>sample covariance</em>:
+ *
+ * <p>\[ \tfrac{1}{n-1} \sum_{i=1}^n (x_i-\overline{x})(y_i-\overline{y}) \]
+ *
+ * <p>where \( \overline{x} \) and \( \overline{y} \) are the sample means, and \( n \)
+ * is the number of pairs.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.
+ *   <li>The result is {@code NaN} if the sum of the products of the deviations from the means is infinite.
+ *   <li>The result is zero if there is one finite pair in the data set.
+ * </ul>
+ *
+ * <p>The {@link #setBiased(boolean) biased} option changes the normalisation factor
+ * to \( \frac{1}{n} \). See {@link Variance} for details.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm
+ * with the same scaled deviations as the {@link Mean}; this avoids overflow of the
+ * means for all finite input.
+ *
+ * <p>The {@link #of(double[], double[])} method uses the corrected two-pass algorithm from
+ * Chan <i>et al</i>, (1983).
+ *
+ * <p>Note that adding values using {@link #accept(double, double) accept} and then executing
+ * {@link #getAsDouble() getAsDouble} will
+ * sometimes give a different, less accurate, result than executing
+ * {@link #of(double[], double[]) of} with the full arrays of values. The former approach
+ * should only be used when the full arrays of values are not available.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a>
+ *   <li>Schubert and Gertz (2018)
+ *       Numerically stable parallel computation of (co-)variance.
+ *       Proceedings of the 30th International Conference on Scientific and Statistical
+ *       Database Management, 1-12.
+ *       <a href="https://doi.org/10.1145/3221269.3223036">doi: 10.1145/3221269.3223036</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Covariance">Covariance (Wikipedia)</a>
+ * @see Correlation
+ * @since 1.1
+ */
+public final class Covariance implements StatisticResult, StatisticAccumulator<Covariance> {
+
+    /** Moments of the paired values. */
+    private final BivariateMoment moment;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     *
+     * @param moment Moments of the paired values.
+     */
+    private Covariance(BivariateMoment moment) {
+        this.moment = moment;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code Covariance} instance.
+     */
+    public static Covariance create() {
+        return new Covariance(new BivariateMoment());
+    }
+
+    /**
+     * Returns an instance populated using the input paired values {@code (x[i], y[i])}.
+     *
+     * <p>Note: {@code Covariance} computed using {@link #accept(double, double) accept} may be
+     * different from this covariance.
+     *
+     * <p>See {@link Covariance} for details on the computing algorithm.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @return {@code Covariance} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static Covariance of(double[] x, double[] y) {
+        return new Covariance(BivariateMoment.of(x, y));
+    }
+
+    /**
+     * Returns an instance populated using the input paired values {@code (x[i], y[i])}
+     * for {@code i} in the range {@code [from, to)}.
+     *
+     * <p>Note: {@code Covariance} computed using {@link #accept(double, double) accept} may be
+     * different from this covariance.
+     *
+     * <p>See {@link Covariance} for details on the computing algorithm.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Covariance} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Covariance of(double[] x, double[] y, int from, int to) {
+        Statistics.checkFromToIndex(from, to, Statistics.checkSameLength(x, y));
+        return new Covariance(BivariateMoment.of(x, y, from, to));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the pair {@code (x, y)}.
+     *
+     * @param x First value.
+     * @param y Second value.
+     */
+    public void accept(double x, double y) {
+        moment.accept(x, y);
+    }
+
+    /**
+     * Gets the covariance of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return covariance of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        // Note: The moment checks for n=0 and returns NaN.
+        final double sxy = moment.getSumOfProductDeviations();
+        if (!Double.isFinite(sxy)) {
+            return Double.NaN;
+        }
+        final long n = moment.getN();
+        // Avoid a divide by zero
+        if (n == 1) {
+            return 0;
+        }
+        return biased ? sxy / n : sxy / (n - 1);
+    }
+
+    @Override
+    public Covariance combine(Covariance other) {
+        moment.combine(other.moment);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} option is not changed.
+     */
+    public void reset() {
+        moment.reset();
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the sum of the products of the deviations from the sample means
+     * is normalised by {@code n - 1} where {@code n} is the number of pairs. This is Bessel's
+     * correction for an unbiased estimator of the covariance of a hypothetical infinite
+     * population.
+     *
+     * <p>If {@code true} the sum is normalised by the number of pairs {@code n}.
+     *
+     * <p>Note: This option only applies when {@code n > 1}. The covariance of {@code n = 1} is
+     * always 0.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(Covariance) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public Covariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        moment.writeState(out);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Covariance} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Covariance readState(DataInput in) throws IOException {
+        return new Covariance(BivariateMoment.readState(in)).setBiased(in.readBoolean());
+    }
+}
@@ -0,0 +1,742 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Computes an estimate of the number of distinct values using a fixed-memory
+ * HyperLogLog sketch.
+ *
+ * <p>Each value is hashed to 64 bits. The upper \( p \) bits of the hash select one
+ * of \( m = 2^p \) registers; the register records the maximum position of the
+ * leading one-bit in the remaining bits. The number of distinct values is estimated
+ * from the histogram of the register values using the improved estimator of Ertl (2017).
+ * This estimator is accurate over the entire range of cardinalities and requires no
+ * empirical bias correction.
+ *
+ * <p>As in HyperLogLog++ (Heule <i>et al</i>, 2013) small cardinalities use a sparse
+ * representation. This stores the distinct upper 25 bits of the hashes and is
+ * estimated using linear counting. The result is approximately exact for small
+ * cardinalities: it is exact unless the hashes of distinct values share the same
+ * 25-bit prefix. For \( n \) values the probability of such a collision is approximately
+ * \( n^2 / 2^{26} \), for example 6% for 2000 values; each collision reduces the count
+ * by one. The sparse representation is converted to the registers when it would use
+ * more memory than the registers.
+ *
+ * <p>The relative standard error of the estimate is approximately
+ * \( 1.04 / \sqrt{m} \). The memory is bounded by \( m \) bytes. The default precision
+ * \( p = 14 \) uses up to 16 KiB with a relative standard error of 0.81%.
+ *
+ * <ul>
+ *   <li>The result is zero if no values are added.
+ *   <li>Duplicate values are counted once.
+ *   <li>The same {@code int} and {@code long} value are the same value.
+ *   <li>{@code double} values are distinct if their bit representations are distinct
+ *       (as defined by {@link Double#equals(Object)}). All {@code NaN} values
+ *       are the same value; {@code -0.0} and {@code 0.0} are distinct.
+ * </ul>
+ *
+ * <p>The hash function is a bijective mixing function of the 64-bit value. Distinct
+ * values will never collide in the hash; values that are sequential or have a
+ * regular bit pattern, for example identifiers, are spread uniformly across the registers.
+ *
+ * <p>Sketches with the same precision can be combined. The combined sketch is identical
+ * to the sketch of all the values, independent of the order of the values; the result
+ * is exactly reproducible for parallel and distributed computation.
+ *
+ * <p>This class is designed to work with (though does not require)
+ * {@linkplain java.util.stream streams}.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@code accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@code accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Flajolet, P., Fusy, E., Gandouet, O. and Meunier, F. (2007)
+ *       HyperLogLog: the analysis of a near-optimal cardinality estimation algorithm.
+ *       Discrete Mathematics and Theoretical Computer Science Proceedings, AH, 137-156.
+ *   <li>Heule, S., Nunkesser, M. and Hall, A. (2013)
+ *       HyperLogLog in practice: algorithmic engineering of a state of the art cardinality
+ *       estimation algorithm. Proceedings of the 16th International Conference on
+ *       Extending Database Technology, 683-692.
+ *       <a href="https://doi.org/10.1145/2452376.2452456">doi: 10.1145/2452376.2452456</a>
+ *   <li>Ertl, O. (2017)
+ *       New cardinality estimation algorithms for HyperLogLog sketches.
+ *       <a href="https://arxiv.org/abs/1702.01284">arXiv:1702.01284</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/HyperLogLog">HyperLogLog (Wikipedia)</a>
+ * @since 1.1
+ */
+public final class DistinctCount implements DoubleStatistic, IntStatistic, LongStatistic,
+        StatisticAccumulator<DistinctCount> {
+    /** Default precision. */
+    private static final int DEFAULT_PRECISION = 14;
+    /** Minimum precision. */
+    private static final int MIN_PRECISION = 4;
+    /** Maximum precision. */
+    private static final int MAX_PRECISION = 18;
+    /** The asymptotic constant of the estimator: 1 / (2 ln 2). */
+    private static final double ALPHA_INF = 0.5 / Math.log(2);
+    /** The golden ratio gamma used to offset the value before mixing. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    /** Precision of the sparse representation. */
+    private static final int SPARSE_PRECISION = 25;
+    /** Number of bits used to store the position of the leading one-bit in a sparse entry. */
+    private static final int RHO_BITS = 6;
+    /** Mask for the position of the leading one-bit in a sparse entry. */
+    private static final int RHO_MASK = (1 << RHO_BITS) - 1;
+    /** Initial capacity of the sparse table. Must be a power of 2. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Precision. */
+    private final int precision;
+    /** Registers. Each holds the maximum position of the leading one-bit.
+     * This is {@code null} when using the sparse representation. */
+    private byte[] registers;
+    /** Sparse representation. An open-addressing hash table of entries for the
+     * {@link #SPARSE_PRECISION sparse precision}. Each entry is a packed index and
+     * position of the leading one-bit; zero is an empty slot. This is {@code null} when
+     * using the registers. */
+    private int[] sparse;
+    /** Number of entries in the sparse representation. */
+    private int size;
+
+    /**
+     * Create an instance.
+     *
+     * @param precision Precision.
+     */
+    private DistinctCount(int precision) {
+        this.precision = precision;
+        // The sparse table is limited to the memory of the registers
+        if (maxSparseCapacity() < INITIAL_CAPACITY) {
+            registers = new byte[1 << precision];
+        } else {
+            sparse = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Creates an instance with the default precision of 14.
+     *
+     * <p>The initial result is zero.
+     *
+     * @return {@code DistinctCount} instance.
+     */
+    public static DistinctCount create() {
+        return new DistinctCount(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates an instance with the specified {@code precision}.
+     *
+     * <p>The sketch uses {@code 2^precision} registers of one byte. Each increment of
+     * the precision doubles the memory and reduces the error by a factor of
+     * \( \sqrt{2} \).
+     *
+     * <p>The initial result is zero.
+     *
+     * @param precision Precision.
+     * @return {@code DistinctCount} instance.
+     * @throws IllegalArgumentException if the {@code precision} is not in the range
+     * {@code [4, 18]}.
+     */
+    public static DistinctCount create(int precision) {
+        return new DistinctCount(checkPrecision(precision));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code DistinctCount} instance.
+     */
+    public static DistinctCount of(double... values) {
+        return create().add(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code DistinctCount} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static DistinctCount of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create().add(values, from, to);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code DistinctCount} instance.
+     */
+    public static DistinctCount of(int... values) {
+        return create().add(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code DistinctCount} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static DistinctCount of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create().add(values, from, to);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code DistinctCount} instance.
+     */
+    public static DistinctCount of(long... values) {
+        return create().add(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code DistinctCount} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static DistinctCount of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create().add(values, from, to);
+    }
+
+    /**
+     * Check the precision is in the supported range.
+     *
+     * @param precision Precision.
+     * @return the precision
+     * @throws IllegalArgumentException if the {@code precision} is not in the range
+     * {@code [4, 18]}.
+     */
+    private static int checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid precision: " + precision);
+        }
+        return precision;
+    }
+
+    /**
+     * Adds the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code this} instance
+     */
+    private DistinctCount add(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code this} instance
+     */
+    private DistinctCount add(int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code this} instance
+     */
+    private DistinctCount add(long[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        update(hash(Double.doubleToLongBits(value)));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(int value) {
+        update(hash(value));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(long value) {
+        update(hash(value));
+    }
+
+    /**
+     * Compute the hash of the value. This is a bijective mix of the 64-bit value
+     * using Stafford's variant 13 of the 64-bit MurmurHash3 finaliser.
+     *
+     * @param value Value.
+     * @return the hash
+     */
+    static long hash(long value) {
+        long z = value + GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Update the state using the hash.
+     *
+     * @param hash Hash.
+     */
+    private void update(long hash) {
+        if (registers != null) {
+            final int index = (int) (hash >>> -precision);
+            // Position of the leading one-bit in the remaining bits.
+            // The lower bits of w are zero; limit the position to (64 - p + 1).
+            final long w = hash << precision;
+            final int rho = Math.min(Long.numberOfLeadingZeros(w), 64 - precision) + 1;
+            if (rho > registers[index]) {
+                registers[index] = (byte) rho;
+            }
+        } else {
+            final int index = (int) (hash >>> -SPARSE_PRECISION);
+            final long w = hash << SPARSE_PRECISION;
+            final int rho = Math.min(Long.numberOfLeadingZeros(w), 64 - SPARSE_PRECISION) + 1;
+            addSparse((index << RHO_BITS) | rho);
+        }
+    }
+
+    /**
+     * Add the entry to the sparse representation. Converts to the registers if the
+     * sparse table exceeds the maximum capacity.
+     *
+     * @param entry Packed index and position of the leading one-bit.
+     */
+    private void addSparse(int entry) {
+        final int[] t = sparse;
+        final int mask = t.length - 1;
+        final int index = entry >>> RHO_BITS;
+        // The index is the upper bits of the hash and the lower bits are uniform
+        for (int i = index & mask;; i = (i + 1) & mask) {
+            final int e = t[i];
+            if (e == 0) {
+                t[i] = entry;
+                if (++size > (t.length >>> 1)) {
+                    resize();
+                }
+                return;
+            }
+            if (e >>> RHO_BITS == index) {
+                // Same index: retain the maximum position
+                if (entry > e) {
+                    t[i] = entry;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Double the capacity of the sparse table, or convert to the registers if the
+     * capacity would exceed the maximum.
+     */
+    private void resize() {
+        final int[] t = sparse;
+        if (t.length << 1 > maxSparseCapacity()) {
+            toRegisters();
+            return;
+        }
+        sparse = new int[t.length << 1];
+        size = 0;
+        for (final int e : t) {
+            if (e != 0) {
+                addSparse(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum capacity of the sparse table. This uses the same memory as
+     * the registers.
+     *
+     * @return the maximum capacity
+     */
+    private int maxSparseCapacity() {
+        return (1 << precision) / Integer.BYTES;
+    }
+
+    /**
+     * Convert the sparse representation to the registers.
+     */
+    private void toRegisters() {
+        final int[] t = sparse;
+        registers = new byte[1 << precision];
+        sparse = null;
+        size = 0;
+        for (final int e : t) {
+            if (e != 0) {
+                addRegister(e);
+            }
+        }
+    }
+
+    /**
+     * Update the registers using the sparse entry. The result is the same as if the
+     * original hash was added to the registers.
+     *
+     * @param entry Packed index and position of the leading one-bit.
+     */
+    private void addRegister(int entry) {
+        final int shift = SPARSE_PRECISION - precision;
+        final int sparseIndex = entry >>> RHO_BITS;
+        final int index = sparseIndex >>> shift;
+        // The bits of the sparse index below the register index precede the
+        // bits used for the sparse position of the leading one-bit.
+        final int bits = sparseIndex & ((1 << shift) - 1);
+        final int rho = bits != 0 ?
+            Integer.numberOfLeadingZeros(bits) - (Integer.SIZE - shift) + 1 :
+            shift + (entry & RHO_MASK);
+        if (rho > registers[index]) {
+            registers[index] = (byte) rho;
+        }
+    }
+
+    /**
+     * Gets the precision.
+     *
+     * @return the precision
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Gets the relative standard error of the estimate. This is
+     * \( 1.04 / \sqrt{2^p} \) where \( p \) is the precision.
+     *
+     * <p>Approximately 68% of estimates are within one standard error of the
+     * number of distinct values, and 95% are within two standard errors.
+     *
+     * @return the relative standard error
+     */
+    public double getRelativeStandardError() {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    /**
+     * Gets the estimate of the number of distinct values.
+     *
+     * <p>When no values have been added, the result is zero.
+     *
+     * @return the number of distinct values
+     */
+    @Override
+    public long getAsLong() {
+        return Math.round(estimate());
+    }
+
+    /**
+     * Gets the estimate of the number of distinct values.
+     *
+     * <p>When no values have been added, the result is zero.
+     *
+     * @return the number of distinct values
+     * @throws ArithmeticException if the {@code result} overflows an {@code int}
+     * @see Math#toIntExact(long)
+     */
+    @Override
+    public int getAsInt() {
+        return Math.toIntExact(getAsLong());
+    }
+
+    /**
+     * Gets the estimate of the number of distinct values.
+     *
+     * <p>The result is a whole number. When no values have been added, the result is zero.
+     *
+     * @return the number of distinct values
+     */
+    @Override
+    public double getAsDouble() {
+        return getAsLong();
+    }
+
+    @Override
+    public BigInteger getAsBigInteger() {
+        return BigInteger.valueOf(getAsLong());
+    }
+
+    /**
+     * Compute the estimate of the number of distinct values.
+     *
+     * <p>The sparse representation uses linear counting. The registers use the improved
+     * estimator of Ertl (2017), Algorithm 6.
+     *
+     * @return the estimate
+     */
+    private double estimate() {
+        if (registers == null) {
+            // Linear counting: m' ln(m' / empty)
+            final double m = 1 << SPARSE_PRECISION;
+            return -m * Math.log1p(-size / m);
+        }
+        final int m = registers.length;
+        final int q = 64 - precision;
+        // Histogram of the register values
+        final int[] c = new int[q + 2];
+        for (final byte r : registers) {
+            c[r]++;
+        }
+        double z = m * tau(1 - (double) c[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z += c[k];
+            z *= 0.5;
+        }
+        z += m * sigma((double) c[0] / m);
+        return ALPHA_INF * m * m / z;
+    }
+
+    /**
+     * Compute the sigma function of Ertl (2017): \( x + \sum_{k=1}^\infty x^{2^k} 2^{k-1} \).
+     *
+     * @param x Fraction of empty registers in [0, 1].
+     * @return sigma(x)
+     */
+    private static double sigma(double x) {
+        if (x == 1) {
+            // Empty sketch. The estimate is zero.
+            return Double.POSITIVE_INFINITY;
+        }
+        double xk = x;
+        double y = 1;
+        double z = x;
+        double zp;
+        do {
+            xk *= xk;
+            zp = z;
+            z += xk * y;
+            y += y;
+        } while (z != zp);
+        return z;
+    }
+
+    /**
+     * Compute the tau function of Ertl (2017):
+     * \( \frac{1}{3} ( 1 - x - \sum_{k=1}^\infty (1 - x^{2^{-k}})^2 2^{-k} ) \).
+     *
+     * @param x Fraction of registers not at the maximum value in [0, 1].
+     * @return tau(x)
+     */
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double xk = x;
+        double y = 1;
+        double z = 1 - x;
+        double zp;
+        do {
+            xk = Math.sqrt(xk);
+            zp = z;
+            y *= 0.5;
+            final double d = 1 - xk;
+            z -= d * d * y;
+        } while (z != zp);
+        return z / 3;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the {@code other} has a different precision
+     */
+    @Override
+    public DistinctCount combine(DistinctCount other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Incompatible precision: " + other.precision + " != " + precision);
+        }
+        if (other.registers == null) {
+            for (final int e : other.sparse) {
+                if (e != 0) {
+                    // This may convert to the registers during the loop
+                    if (registers == null) {
+                        addSparse(e);
+                    } else {
+                        addRegister(e);
+                    }
+                }
+            }
+        } else {
+            if (registers == null) {
+                toRegisters();
+            }
+            final byte[] r = registers;
+            final byte[] s = other.registers;
+            for (int i = 0; i < r.length; i++) {
+                if (s[i] > r[i]) {
+                    r[i] = s[i];
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The precision is not changed.
+     */
+    public void reset() {
+        if (registers != null && maxSparseCapacity() >= INITIAL_CAPACITY) {
+            // Return to the sparse representation
+            registers = null;
+            sparse = new int[INITIAL_CAPACITY];
+        } else if (registers != null) {
+            Arrays.fill(registers, (byte) 0);
+        } else {
+            Arrays.fill(sparse, 0);
+        }
+        size = 0;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * <p>The sparse representation is written as the size and the sorted entries;
+     * the registers are written using a size of -1.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeByte(precision);
+        if (registers == null) {
+            final int[] entries = Arrays.stream(sparse).filter(e -> e != 0).sorted().toArray();
+            out.writeInt(entries.length);
+            for (final int e : entries) {
+                out.writeInt(e);
+            }
+        } else {
+            out.writeInt(-1);
+            out.write(registers);
+        }
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code DistinctCount} instance.
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the state is invalid
+     * @see #writeState(DataOutput)
+     */
+    static DistinctCount readState(DataInput in) throws IOException {
+        final DistinctCount d = new DistinctCount(checkPrecision(in.readUnsignedByte()));
+        final int n = in.readInt();
+        if (n < 0) {
+            if (d.registers == null) {
+                d.toRegisters();
+            }
+            in.readFully(d.registers);
+            final int max = 65 - d.precision;
+            for (final byte r : d.registers) {
+                if (r < 0 || r > max) {
+                    throw new IllegalArgumentException("Invalid register: " + r);
+                }
+            }
+        } else {
+            // Sparse entries (up to the size where the table is converted)
+            StatisticStates.checkSize(n, d.maxSparseCapacity() >>> 1);
+            final int max = 65 - SPARSE_PRECISION;
+            for (int i = 0; i < n; i++) {
+                final int e = in.readInt();
+                final int rho = e & RHO_MASK;
+                if (e < 0 || rho == 0 || rho > max) {
+                    throw new IllegalArgumentException("Invalid entry: " + e);
+                }
+                if (d.registers == null) {
+                    d.addSparse(e);
+                } else {
+                    d.addRegister(e);
+                }
+            }
+        }
+        return d;
+    }
+}
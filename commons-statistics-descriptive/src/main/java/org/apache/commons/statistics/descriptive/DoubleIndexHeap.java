@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * A bounded binary heap of {@code double} values and their {@code long} indices.
+ * Retains the {@code k} values that rank first in either descending or ascending order.
+ *
+ * <p>Values are ordered using {@link Double#compare(double, double)}: {@code NaN} is
+ * larger than all other values and {@code -0.0} is smaller than {@code 0.0}. Equal
+ * values are ordered by ascending index. This total ordering ensures the retained
+ * values do not depend on the order of additions or the partitioning of the data
+ * when the indices are unique.
+ *
+ * <p>The root of the heap is the retained value that ranks last. A new value that
+ * ranks before the root replaces it. The heap is stored in primitive arrays that are
+ * allocated on construction; the update does not allocate memory.
+ *
+ * @since 1.1
+ */
+final class DoubleIndexHeap {
+    /** Heap values. */
+    private final double[] values;
+    /** Heap indices. */
+    private final long[] indices;
+    /** Set to true to retain the largest values; otherwise the smallest. */
+    private final boolean largest;
+    /** Number of values in the heap. */
+    private int size;
+
+    /**
+     * Create an instance.
+     *
+     * @param k Number of values to retain.
+     * @param largest Set to true to retain the largest values; otherwise the smallest.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     */
+    DoubleIndexHeap(int k, boolean largest) {
+        values = new double[Statistics.checkK(k)];
+        indices = new long[k];
+        this.largest = largest;
+    }
+
+    /**
+     * Gets the maximum number of retained values.
+     *
+     * @return k
+     */
+    int getK() {
+        return values.length;
+    }
+
+    /**
+     * Test if the value {@code (v1, i1)} ranks before the value {@code (v2, i2)}.
+     *
+     * @param v1 First value.
+     * @param i1 First index.
+     * @param v2 Second value.
+     * @param i2 Second index.
+     * @return true if the first value ranks before the second
+     */
+    private boolean before(double v1, long i1, double v2, long i2) {
+        final int c = Double.compare(v1, v2);
+        if (c == 0) {
+            return i1 < i2;
+        }
+        return largest == c > 0;
+    }
+
+    /**
+     * Adds the value.
+     *
+     * @param value Value.
+     * @param index Index.
+     */
+    void add(double value, long index) {
+        if (size < values.length) {
+            siftUp(size++, value, index);
+        } else if (before(value, index, values[0], indices[0])) {
+            siftDown(0, size, value, index);
+        }
+    }
+
+    /**
+     * Adds the values in the range {@code [from, to)}. The index of each value is
+     * its position in the array.
+     *
+     * <p>If the range is larger than {@code k} the threshold value of the range is
+     * identified using a quickselect on a copy of the data; only the values that
+     * pass the threshold are added to the heap.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param a Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     */
+    void add(double[] a, int from, int to) {
+        final int k = values.length;
+        final int n = to - from;
+        if (n > k) {
+            // Selection does not support NaN
+            double[] x = new double[n];
+            int m = 0;
+            for (int i = from; i < to; i++) {
+                final double v = a[i];
+                if (v == v) {
+                    x[m++] = v;
+                }
+            }
+            if (m < n) {
+                x = Arrays.copyOf(x, m);
+            }
+            // Note: The numerical threshold does not distinguish signed zeros.
+            // These are ordered by the heap.
+            if (largest) {
+                // NaN is the largest value
+                final int r = k - (n - m);
+                final double t = r > 0 ? select(x, m - r) : Double.NaN;
+                for (int i = from; i < to; i++) {
+                    final double v = a[i];
+                    if (!(v < t)) {
+                        add(v, i);
+                    }
+                }
+                return;
+            }
+            if (m > k) {
+                final double t = select(x, k - 1);
+                for (int i = from; i < to; i++) {
+                    final double v = a[i];
+                    if (v <= t) {
+                        add(v, i);
+                    }
+                }
+                return;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            add(a[i], i);
+        }
+    }
+
+    /**
+     * Select the k-th smallest value.
+     *
+     * @param x Values.
+     * @param k Index.
+     * @return the value
+     */
+    private static double select(double[] x, int k) {
+        Selection.select(x, k);
+        return x[k];
+    }
+
+    /**
+     * Adds the retained values from the {@code other} heap.
+     *
+     * @param other Other heap.
+     */
+    void add(DoubleIndexHeap other) {
+        final double[] v = other.values;
+        final long[] ix = other.indices;
+        for (int i = 0; i < other.size; i++) {
+            add(v[i], ix[i]);
+        }
+    }
+
+    /**
+     * Removes all the values from the heap.
+     */
+    void reset() {
+        size = 0;
+    }
+
+    /**
+     * Move the value up the heap from position {@code i}.
+     *
+     * @param i Position.
+     * @param value Value.
+     * @param index Index.
+     */
+    private void siftUp(int i, double value, long index) {
+        final double[] v = values;
+        final long[] ix = indices;
+        int c = i;
+        while (c > 0) {
+            final int p = (c - 1) >>> 1;
+            // The parent must rank after the child
+            if (!before(v[p], ix[p], value, index)) {
+                break;
+            }
+            v[c] = v[p];
+            ix[c] = ix[p];
+            c = p;
+        }
+        v[c] = value;
+        ix[c] = index;
+    }
+
+    /**
+     * Move the value down the heap from position {@code i}.
+     *
+     * @param i Position.
+     * @param n Size of the heap.
+     * @param value Value.
+     * @param index Index.
+     */
+    private void siftDown(int i, int n, double value, long index) {
+        final double[] v = values;
+        final long[] ix = indices;
+        int p = i;
+        for (;;) {
+            int c = 2 * p + 1;
+            if (c >= n) {
+                break;
+            }
+            // Choose the child that ranks last
+            if (c + 1 < n && before(v[c], ix[c], v[c + 1], ix[c + 1])) {
+                c++;
+            }
+            if (!before(value, index, v[c], ix[c])) {
+                break;
+            }
+            v[p] = v[c];
+            ix[p] = ix[c];
+            p = c;
+        }
+        v[p] = value;
+        ix[p] = index;
+    }
+
+    /**
+     * Gets the number of retained values.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sort the retained values in-place in rank order. This destroys the heap order.
+     */
+    private void sort() {
+        // Heap sort: repeatedly move the root (ranking last) to the end
+        final double[] v = values;
+        final long[] ix = indices;
+        for (int n = size; --n > 0;) {
+            final double value = v[n];
+            final long index = ix[n];
+            v[n] = v[0];
+            ix[n] = ix[0];
+            siftDown(0, n, value, index);
+        }
+    }
+
+    /**
+     * Gets the retained values in rank order, and the corresponding indices.
+     *
+     * @param result Destination for the values.
+     * @param index Destination for the indices.
+     */
+    void get(double[] result, long[] index) {
+        sort();
+        System.arraycopy(values, 0, result, 0, size);
+        System.arraycopy(indices, 0, index, 0, size);
+        // Restore the heap: an array sorted with the last ranked value first is a valid heap
+        reverse();
+    }
+
+    /**
+     * Reverse the order of the heap arrays.
+     */
+    private void reverse() {
+        final double[] v = values;
+        final long[] ix = indices;
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            final double t = v[i];
+            v[i] = v[j];
+            v[j] = t;
+            final long u = ix[i];
+            ix[i] = ix[j];
+            ix[j] = u;
+        }
+    }
+}
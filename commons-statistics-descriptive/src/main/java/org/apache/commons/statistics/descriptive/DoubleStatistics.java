@@ -16,9 +16,13 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.DoubleConsumer;
 import java.util.function.Function;
 
@@ -57,6 +61,10 @@ public final class DoubleStatistics implements DoubleConsumer {
     private final SumOfSquares sumOfSquares;
     /** The {@link SumOfLogs} implementation. */
     private final SumOfLogs sumOfLogs;
+    /** The {@link QuantileSketch} implementation. */
+    private final QuantileSketch quantiles;
+    /** The {@link DistinctCount} implementation. */
+    private final DistinctCount distinct;
     /** Configuration options for computation of statistics. */
     private StatisticsConfiguration config;
 
@@ -64,23 +72,45 @@ public final class DoubleStatistics implements DoubleConsumer {
      * A builder for {@link DoubleStatistics}.
      */
     public static final class Builder {
+        /**
+         * Represents a function that creates a moment from the sum of the specified
+         * range of values.
+         */
+        @FunctionalInterface
+        private interface MomentFunction {
+            /**
+             * Creates the moment.
+             *
+             * @param sum Sum of the values.
+             * @param values Values.
+             * @param from Inclusive start of the range.
+             * @param to Exclusive end of the range.
+             * @return the moment
+             */
+            FirstMoment apply(org.apache.commons.numbers.core.Sum sum, double[] values, int from, int to);
+        }
+
         /** An empty double array. */
         private static final double[] NO_VALUES = {};
 
         /** The {@link Min} constructor. */
-        private Function<double[], Min> min;
+        private RangeFunction<double[], Min> min;
         /** The {@link Max} constructor. */
-        private Function<double[], Max> max;
+        private RangeFunction<double[], Max> max;
         /** The moment constructor. May return any instance of {@link FirstMoment}. */
-        private BiFunction<org.apache.commons.numbers.core.Sum, double[], FirstMoment> moment;
+        private MomentFunction moment;
         /** The {@link Sum} constructor. */
         private Function<org.apache.commons.numbers.core.Sum, Sum> sum;
         /** The {@link Product} constructor. */
-        private Function<double[], Product> product;
+        private RangeFunction<double[], Product> product;
         /** The {@link SumOfSquares} constructor. */
-        private Function<double[], SumOfSquares> sumOfSquares;
+        private RangeFunction<double[], SumOfSquares> sumOfSquares;
         /** The {@link SumOfLogs} constructor. */
-        private Function<double[], SumOfLogs> sumOfLogs;
+        private RangeFunction<double[], SumOfLogs> sumOfLogs;
+        /** The {@link QuantileSketch} constructor. */
+        private RangeFunction<double[], QuantileSketch> quantiles;
+        /** The {@link DistinctCount} constructor. */
+        private RangeFunction<double[], DistinctCount> distinct;
         /** The order of the moment. It corresponds to the power computed by the {@link FirstMoment}
          * instance constructed by {@link #moment}. This should only be increased from the default
          * of zero (corresponding to no moment computation). */
@@ -103,6 +133,9 @@ public final class DoubleStatistics implements DoubleConsumer {
          */
         Builder add(Statistic statistic) {
             switch (statistic) {
+            case DISTINCT_COUNT:
+                distinct = DistinctCount::of;
+                break;
             case GEOMETRIC_MEAN:
             case SUM_OF_LOGS:
                 sumOfLogs = SumOfLogs::of;
@@ -116,6 +149,10 @@ public final class DoubleStatistics implements DoubleConsumer {
             case MEAN:
                 createMoment(1);
                 break;
+            case MEDIAN:
+            case QUANTILE:
+                quantiles = QuantileSketch::of;
+                break;
             case MIN:
                 min = Min::of;
                 break;
@@ -196,57 +233,138 @@ public final class DoubleStatistics implements DoubleConsumer {
          */
         public DoubleStatistics build(double... values) {
             Objects.requireNonNull(values, "values");
+            return create(values, 0, values.length);
+        }
+
+        /**
+         * Builds a {@code DoubleStatistics} instance using the specified range of {@code values}.
+         *
+         * <p>Note: {@code DoubleStatistics} computed using
+         * {@link DoubleStatistics#accept(double) accept} may be
+         * different from this instance.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code DoubleStatistics} instance.
+         * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+         */
+        public DoubleStatistics build(double[] values, int from, int to) {
+            Statistics.checkFromToIndex(from, to, values.length);
+            return create(values, from, to);
+        }
+
+        /**
+         * Builds a {@code DoubleStatistics} instance using the remaining values in the {@code buffer}
+         * (the values between the position and the limit).
+         *
+         * <p>A buffer backed by an accessible array is computed as the equivalent range of
+         * the array. Otherwise the values of the buffer, for example a direct or memory-mapped
+         * buffer, are computed in chunks and the results are
+         * {@link DoubleStatistics#combine(DoubleStatistics) combined}. The position of the buffer is not modified.
+         *
+         * <p>Note: {@code DoubleStatistics} computed using this method from a buffer without an
+         * accessible array may be different from the instance computed using the values
+         * in a single array due to the different order of floating-point operations. The
+         * {@link Statistic#PRODUCT product} of the chunks may be {@code NaN} when the product
+         * of the array is zero; see {@link #buildParallel(double[], ForkJoinPool)}.
+         *
+         * @param buffer Buffer.
+         * @return {@code DoubleStatistics} instance.
+         */
+        public DoubleStatistics build(DoubleBuffer buffer) {
+            Objects.requireNonNull(buffer, "buffer");
+            return Buffers.apply(buffer, this::create, DoubleStatistics::combine);
+        }
+
+        /**
+         * Builds a {@code DoubleStatistics} instance using the input {@code values}. The
+         * computation uses the {@link ForkJoinPool#commonPool() common pool}.
+         *
+         * <p>See {@link #buildParallel(double[], ForkJoinPool)} for details.
+         *
+         * @param values Values.
+         * @return {@code DoubleStatistics} instance.
+         */
+        public DoubleStatistics buildParallel(double[] values) {
+            return buildParallel(values, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Builds a {@code DoubleStatistics} instance using the input {@code values}. The
+         * computation uses the specified {@code pool}.
+         *
+         * <p>Large arrays are split into ranges that are computed in parallel and the
+         * results are {@link DoubleStatistics#combine(DoubleStatistics) combined}. Arrays below a
+         * threshold length are computed sequentially in the calling thread.
+         *
+         * <p>Note: {@code DoubleStatistics} computed using this method may be different from the
+         * instance computed by {@link #build(double...)} due to the different order of
+         * floating-point operations.
+         *
+         * <p>The {@link Statistic#PRODUCT product} of the values is the product of the partial
+         * products of each range. This may be {@code NaN} when the sequential result is zero:
+         * a range that contains zero has a partial product of zero, and a range where the product
+         * overflows has a partial product of infinity; their product is {@code NaN}. The sequential
+         * result is zero if a zero is encountered before the running product overflows.
+         *
+         * @param values Values.
+         * @param pool Pool used to execute parallel tasks.
+         * @return {@code DoubleStatistics} instance.
+         */
+        public DoubleStatistics buildParallel(double[] values, ForkJoinPool pool) {
+            Objects.requireNonNull(values, "values");
+            Objects.requireNonNull(pool, "pool");
+            return RangeTask.evaluate(pool, this::create, DoubleStatistics::combine, values, 0, values.length);
+        }
+
+        /**
+         * Builds a {@code DoubleStatistics} instance using the specified range of {@code values}.
+         *
+         * <p>Warning: No range checks are performed.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code DoubleStatistics} instance.
+         */
+        private DoubleStatistics create(double[] values, int from, int to) {
             // Create related statistics
             FirstMoment m = null;
             Sum sumStat = null;
             if (moment != null || sum != null) {
                 final org.apache.commons.numbers.core.Sum s =
-                    org.apache.commons.numbers.core.Sum.of(values);
-                m = create(moment, s, values);
-                sumStat = create(sum, s);
+                    Statistics.add(org.apache.commons.numbers.core.Sum.create(), values, from, to);
+                m = moment == null ? null : moment.apply(s, values, from, to);
+                sumStat = sum == null ? null : sum.apply(s);
             }
             return new DoubleStatistics(
-                values.length,
-                create(min, values),
-                create(max, values),
+                to - from,
+                create(min, values, from, to),
+                create(max, values, from, to),
                 m,
                 sumStat,
-                create(product, values),
-                create(sumOfSquares, values),
-                create(sumOfLogs, values),
+                create(product, values, from, to),
+                create(sumOfSquares, values, from, to),
+                create(sumOfLogs, values, from, to),
+                create(quantiles, values, from, to),
+                create(distinct, values, from, to),
                 config);
         }
 
         /**
-         * Creates the object from the {@code values}.
+         * Creates the object from the specified range of {@code values}.
          *
-         * @param <S> value type
          * @param <T> object type
          * @param constructor Constructor.
          * @param values Values
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
          * @return the instance
          */
-        private static <S, T> T create(Function<S, T> constructor, S values) {
-            if (constructor != null) {
-                return constructor.apply(values);
-            }
-            return null;
-        }
-
-        /**
-         * Creates the object from the values {@code r} and {@code s}.
-         *
-         * @param <R> value type
-         * @param <S> value type
-         * @param <T> object type
-         * @param constructor Constructor.
-         * @param r Value.
-         * @param s Value.
-         * @return the instance
-         */
-        private static <R, S, T> T create(BiFunction<R, S, T> constructor, R r, S s) {
+        private static <T> T create(RangeFunction<double[], T> constructor, double[] values, int from, int to) {
             if (constructor != null) {
-                return constructor.apply(r, s);
+                return constructor.apply(values, from, to);
             }
             return null;
         }
@@ -263,11 +381,13 @@ public final class DoubleStatistics implements DoubleConsumer {
      * @param product Product implementation.
      * @param sumOfSquares Sum of squares implementation.
      * @param sumOfLogs Sum of logs implementation.
+     * @param quantiles Quantile sketch implementation.
+     * @param distinct Distinct count implementation.
      * @param config Statistics configuration.
      */
     DoubleStatistics(long count, Min min, Max max, FirstMoment moment, Sum sum,
                      Product product, SumOfSquares sumOfSquares, SumOfLogs sumOfLogs,
-                     StatisticsConfiguration config) {
+                     QuantileSketch quantiles, DistinctCount distinct, StatisticsConfiguration config) {
         this.count = count;
         this.min = min;
         this.max = max;
@@ -276,8 +396,11 @@ public final class DoubleStatistics implements DoubleConsumer {
         this.product = product;
         this.sumOfSquares = sumOfSquares;
         this.sumOfLogs = sumOfLogs;
+        this.quantiles = quantiles;
+        this.distinct = distinct;
         this.config = config;
-        consumer = Statistics.compose(min, max, moment, sum, product, sumOfSquares, sumOfLogs);
+        consumer = FusedConsumers.of(min, max, moment, sum, product, sumOfSquares, sumOfLogs, quantiles,
+            distinct);
     }
 
     /**
@@ -321,6 +444,47 @@ public final class DoubleStatistics implements DoubleConsumer {
         return b.build(values);
     }
 
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * populated using the specified range of {@code values}.
+     *
+     * @param statistics Statistics to compute.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the instance
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static DoubleStatistics of(Set<Statistic> statistics, double[] values, int from, int to) {
+        if (statistics.isEmpty()) {
+            throw new IllegalArgumentException(NO_CONFIGURED_STATISTICS);
+        }
+        final Builder b = new Builder();
+        statistics.forEach(b::add);
+        return b.build(values, from, to);
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * populated using the input {@code values}. Large arrays are computed in parallel
+     * using the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param statistics Statistics to compute.
+     * @param values Values.
+     * @return the instance
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     * @see Builder#buildParallel(double[], ForkJoinPool)
+     */
+    public static DoubleStatistics ofParallel(Set<Statistic> statistics, double... values) {
+        if (statistics.isEmpty()) {
+            throw new IllegalArgumentException(NO_CONFIGURED_STATISTICS);
+        }
+        final Builder b = new Builder();
+        statistics.forEach(b::add);
+        return b.buildParallel(values);
+    }
+
     /**
      * Returns a new builder configured to create instances to compute the specified
      * {@code statistics}.
@@ -414,6 +578,8 @@ public final class DoubleStatistics implements DoubleConsumer {
     public boolean isSupported(Statistic statistic) {
         // Check for the appropriate underlying implementation
         switch (statistic) {
+        case DISTINCT_COUNT:
+            return distinct != null;
         case GEOMETRIC_MEAN:
         case SUM_OF_LOGS:
             return sumOfLogs != null;
@@ -423,6 +589,9 @@ public final class DoubleStatistics implements DoubleConsumer {
             return max != null;
         case MEAN:
             return moment != null;
+        case MEDIAN:
+        case QUANTILE:
+            return quantiles != null;
         case MIN:
             return min != null;
         case PRODUCT:
@@ -479,6 +648,9 @@ public final class DoubleStatistics implements DoubleConsumer {
         // be updated with new values by casting the result and calling accept(double).
         StatisticResult stat = null;
         switch (statistic) {
+        case DISTINCT_COUNT:
+            stat = Statistics.getResultAsLongOrNull(distinct);
+            break;
         case GEOMETRIC_MEAN:
             stat = getGeometricMean();
             break;
@@ -491,12 +663,18 @@ public final class DoubleStatistics implements DoubleConsumer {
         case MEAN:
             stat = getMean();
             break;
+        case MEDIAN:
+            stat = getMedian();
+            break;
         case MIN:
             stat = min;
             break;
         case PRODUCT:
             stat = product;
             break;
+        case QUANTILE:
+            stat = getQuantile();
+            break;
         case SKEWNESS:
             stat = getSkewness();
             break;
@@ -565,6 +743,31 @@ public final class DoubleStatistics implements DoubleConsumer {
         return null;
     }
 
+    /**
+     * Gets the median.
+     *
+     * @return a median supplier (or null if unsupported)
+     */
+    private StatisticResult getMedian() {
+        if (quantiles != null) {
+            return () -> quantiles.getQuantile(0.5);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the quantile.
+     *
+     * @return a quantile supplier (or null if unsupported)
+     */
+    private StatisticResult getQuantile() {
+        if (quantiles != null) {
+            final double p = config.getQuantile();
+            return () -> quantiles.getQuantile(p);
+        }
+        return null;
+    }
+
     /**
      * Gets the skewness.
      *
@@ -629,6 +832,8 @@ public final class DoubleStatistics implements DoubleConsumer {
         Statistics.checkCombineCompatible(product, other.product);
         Statistics.checkCombineCompatible(sumOfSquares, other.sumOfSquares);
         Statistics.checkCombineCompatible(sumOfLogs, other.sumOfLogs);
+        Statistics.checkCombineCompatible(quantiles, other.quantiles);
+        Statistics.checkCombineCompatible(distinct, other.distinct);
         Statistics.checkCombineAssignable(moment, other.moment);
         // Combine
         count += other.count;
@@ -638,10 +843,50 @@ public final class DoubleStatistics implements DoubleConsumer {
         Statistics.combine(product, other.product);
         Statistics.combine(sumOfSquares, other.sumOfSquares);
         Statistics.combine(sumOfLogs, other.sumOfLogs);
+        Statistics.combine(quantiles, other.quantiles);
+        Statistics.combine(distinct, other.distinct);
         Statistics.combineMoment(moment, other.moment);
         return this;
     }
 
+    /**
+     * Resets the state of the statistics to the initial state with no values.
+     *
+     * <p>The configured statistics and the {@link #setConfiguration(StatisticsConfiguration)
+     * configuration} are not changed. Any previously created result supplier will return
+     * the result for the statistics after the reset.
+     */
+    public void reset() {
+        count = 0;
+        if (min != null) {
+            min.reset();
+        }
+        if (max != null) {
+            max.reset();
+        }
+        if (moment != null) {
+            moment.reset();
+        }
+        if (sum != null) {
+            sum.reset();
+        }
+        if (product != null) {
+            product.reset();
+        }
+        if (sumOfSquares != null) {
+            sumOfSquares.reset();
+        }
+        if (sumOfLogs != null) {
+            sumOfLogs.reset();
+        }
+        if (quantiles != null) {
+            quantiles.reset();
+        }
+        if (distinct != null) {
+            distinct.reset();
+        }
+    }
+
     /**
      * Sets the statistics configuration.
      *
@@ -661,4 +906,68 @@ public final class DoubleStatistics implements DoubleConsumer {
         config = Objects.requireNonNull(v);
         return this;
     }
+
+    /**
+     * Writes the state of the statistics to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeByte(StatisticStates.mask(min, max, sum, product, sumOfSquares, sumOfLogs, quantiles,
+            distinct));
+        if (min != null) {
+            min.writeState(out);
+        }
+        if (max != null) {
+            max.writeState(out);
+        }
+        if (sum != null) {
+            sum.writeState(out);
+        }
+        if (product != null) {
+            product.writeState(out);
+        }
+        if (sumOfSquares != null) {
+            sumOfSquares.writeState(out);
+        }
+        if (sumOfLogs != null) {
+            sumOfLogs.writeState(out);
+        }
+        if (quantiles != null) {
+            quantiles.writeState(out);
+        }
+        if (distinct != null) {
+            distinct.writeState(out);
+        }
+        StatisticStates.writeMoment(moment, out);
+        config.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code DoubleStatistics} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static DoubleStatistics readState(DataInput in) throws IOException {
+        final long count = in.readLong();
+        final int mask = in.readUnsignedByte();
+        final Min min = (mask & 0x1) != 0 ? Min.readState(in) : null;
+        final Max max = (mask & 0x2) != 0 ? Max.readState(in) : null;
+        final Sum sum = (mask & 0x4) != 0 ? Sum.readState(in) : null;
+        final Product product = (mask & 0x8) != 0 ? Product.readState(in) : null;
+        final SumOfSquares sumOfSquares = (mask & 0x10) != 0 ? SumOfSquares.readState(in) : null;
+        final SumOfLogs sumOfLogs = (mask & 0x20) != 0 ? SumOfLogs.readState(in) : null;
+        final QuantileSketch quantiles = (mask & 0x40) != 0 ? QuantileSketch.readState(in) : null;
+        final DistinctCount distinct = (mask & 0x80) != 0 ? DistinctCount.readState(in) : null;
+        final FirstMoment moment = StatisticStates.readMoment(in);
+        final StatisticsConfiguration config = StatisticsConfiguration.readState(in);
+        return new DoubleStatistics(count, min, max, moment, sum, product, sumOfSquares, sumOfLogs,
+            quantiles, distinct, config);
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Computes the exponentially weighted mean of the available values. Uses the following
+ * definition:
+ *
+ * <p>\[ \frac{\sum_i w_i x_i}{\sum_i w_i} \]
+ *
+ * <p>where the weight \( w_i \) of each value decays exponentially with its age.
+ * The weight is reduced by a factor \( (1 - \alpha) \) for each unit of time, where
+ * \( \alpha \) is the smoothing factor. The decay may also be specified using the
+ * half-life: the age at which the weight is halved.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}, or the values include
+ *       infinities of different signs.
+ *   <li>The result is +/- infinity if values include infinities of the same sign.
+ * </ul>
+ *
+ * <p>Values added using {@link #accept(double)} are observed at consecutive unit time
+ * steps. Values with irregular time gaps can be added using {@link #accept(double, double)};
+ * the weight of existing values is decayed by the elapsed time. A value older than
+ * the most recent value is added using its decayed weight.
+ *
+ * <p>Note: The mean is normalised by the sum of the weights. The result is not
+ * biased towards the first value; this is not equivalent to the recursive estimator
+ * \( m_i = \alpha x_i + (1 - \alpha) m_{i-1} \) with \( m_1 = x_1 \).
+ *
+ * <p>The update has a cost of {@code O(1)} and does not allocate memory.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution. If the values do not specify a time then
+ * the combined values are assumed to follow the values of this instance in the
+ * encounter order.
+ *
+ * @see Mean
+ * @see ExponentialVariance
+ * @since 1.1
+ */
+public final class ExponentialMean implements DoubleStatistic, StatisticAccumulator<ExponentialMean> {
+
+    /** Exponentially weighted moment. */
+    private final ExponentialMoment moment;
+
+    /**
+     * Create an instance.
+     *
+     * @param rate Decay rate per unit time.
+     */
+    private ExponentialMean(double rate) {
+        this(new ExponentialMoment(rate));
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param moment Exponentially weighted moment.
+     */
+    private ExponentialMean(ExponentialMoment moment) {
+        this.moment = moment;
+    }
+
+    /**
+     * Creates an instance with the specified smoothing factor {@code alpha}.
+     * The weight of a value is reduced by a factor {@code (1 - alpha)} for each unit
+     * of time.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param alpha Smoothing factor in {@code (0, 1]}.
+     * @return {@code ExponentialMean} instance.
+     * @throws IllegalArgumentException if {@code alpha} is not in the range {@code (0, 1]}
+     */
+    public static ExponentialMean create(double alpha) {
+        return new ExponentialMean(ExponentialMoment.rateFromAlpha(alpha));
+    }
+
+    /**
+     * Creates an instance with the specified {@code halfLife}.
+     * The weight of a value is halved after each period of the half-life.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param halfLife Half-life.
+     * @return {@code ExponentialMean} instance.
+     * @throws IllegalArgumentException if {@code halfLife} is not strictly positive
+     */
+    public static ExponentialMean withHalfLife(double halfLife) {
+        return new ExponentialMean(ExponentialMoment.rateFromHalfLife(halfLife));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * The value is observed one unit of time after the most recent value.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        moment.accept(value);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * observed at the specified {@code time}.
+     *
+     * @param value Value.
+     * @param time Time.
+     * @throws IllegalArgumentException if the {@code time} is {@code NaN}
+     */
+    public void accept(double value, double time) {
+        moment.accept(value, time);
+    }
+
+    /**
+     * Gets the exponentially weighted mean of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return exponentially weighted mean of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return moment.getMean();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If neither instance has values with a specified time then the values of
+     * the {@code other} instance are assumed to follow the values of this instance.
+     * Otherwise the weights are aligned to the most recent time of the two instances.
+     *
+     * @throws IllegalArgumentException if the decay of the {@code other} instance is different
+     */
+    @Override
+    public ExponentialMean combine(ExponentialMean other) {
+        moment.combine(other.moment);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The decay rate is not changed.
+     */
+    public void reset() {
+        moment.reset();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        moment.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code ExponentialMean} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static ExponentialMean readState(DataInput in) throws IOException {
+        return new ExponentialMean(ExponentialMoment.readState(in));
+    }
+}
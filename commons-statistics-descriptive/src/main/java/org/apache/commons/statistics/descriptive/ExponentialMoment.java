@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Computes the exponentially weighted mean and sum of squared deviations from the mean.
+ *
+ * <p>An observation at time \( t_i \) has a weight relative to the most recent time
+ * \( T \) of:
+ *
+ * <p>\[ w_i = e^{-\lambda (T - t_i)} \]
+ *
+ * <p>where \( \lambda \) is the decay rate. The moments are:
+ *
+ * <p>\[ \begin{aligned}
+ *       W   &amp;= \sum_i w_i \\
+ *       m   &amp;= \frac{1}{W} \sum_i w_i x_i \\
+ *       S   &amp;= \sum_i w_i (x_i - m)^2
+ *       \end{aligned} \]
+ *
+ * <p>When the reference time advances by \( \Delta t \) the sums of weights are
+ * decayed by \( e^{-\lambda \Delta t} \). A new value is added using the weighted
+ * updating algorithm of West (1979). Values that are older than the reference time
+ * are added with their decayed weight.
+ *
+ * <p>Values without a time are assigned the time following the most recent value.
+ * Non-finite values are not added to the moment; they are summed to provide the
+ * non-finite result.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>West, D.H.D. (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a>
+ * </ul>
+ *
+ * @since 1.1
+ */
+final class ExponentialMoment {
+    /** Natural logarithm of 2. */
+    private static final double LN_2 = 0.6931471805599453;
+
+    /** Decay rate per unit time. */
+    private final double rate;
+    /** Decay factor for a unit time step. */
+    private final double unitDecay;
+
+    /** Count of values that have been added. */
+    private long n;
+    /** Reference time: the time of the most recent value. */
+    private double time;
+    /** Flag to indicate a time has been specified for a value. */
+    private boolean timed;
+    /** Sum of the weights. */
+    private double w;
+    /** Sum of the products of all distinct pairs of weights. */
+    private double ww;
+    /** Weighted mean. */
+    private double mean;
+    /** Weighted sum of squared deviations from the mean. */
+    private double ss;
+    /** Sum of the non-finite values. */
+    private double nonFiniteValue;
+
+    /**
+     * Create an instance.
+     *
+     * @param rate Decay rate per unit time.
+     */
+    ExponentialMoment(double rate) {
+        this.rate = rate;
+        unitDecay = Math.exp(-rate);
+    }
+
+    /**
+     * Create the decay rate from the smoothing factor {@code alpha}. The weight
+     * of a value is reduced by a factor {@code (1 - alpha)} for each unit time step.
+     *
+     * @param alpha Smoothing factor.
+     * @return the decay rate
+     * @throws IllegalArgumentException if {@code alpha} is not in the range {@code (0, 1]}
+     */
+    static double rateFromAlpha(double alpha) {
+        // Also rejects NaN
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("Invalid smoothing factor: " + alpha);
+        }
+        return -Math.log1p(-alpha);
+    }
+
+    /**
+     * Create the decay rate from the {@code halfLife}. The weight of a value is halved
+     * after each period of the half-life.
+     *
+     * @param halfLife Half-life.
+     * @return the decay rate
+     * @throws IllegalArgumentException if {@code halfLife} is not strictly positive
+     */
+    static double rateFromHalfLife(double halfLife) {
+        // Also rejects NaN
+        if (!(halfLife > 0)) {
+            throw new IllegalArgumentException("Invalid half-life: " + halfLife);
+        }
+        return LN_2 / halfLife;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * The time of the value is the time following the most recent value.
+     *
+     * @param value Value.
+     */
+    void accept(double value) {
+        if (n == 0) {
+            add(value, 1, 0);
+        } else {
+            // Advance the reference time
+            scale(unitDecay);
+            time += 1;
+            add(value, 1, time);
+        }
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * observed at the specified {@code t}.
+     *
+     * @param value Value.
+     * @param t Time.
+     * @throws IllegalArgumentException if the time is {@code NaN}
+     */
+    void accept(double value, double t) {
+        if (Double.isNaN(t)) {
+            throw new IllegalArgumentException("Invalid time: " + t);
+        }
+        timed = true;
+        if (n == 0) {
+            add(value, 1, t);
+        } else if (t >= time) {
+            // Advance the reference time
+            scale(decay(t - time));
+            add(value, 1, t);
+        } else {
+            // Value is older than the reference time
+            add(value, decay(time - t), time);
+        }
+    }
+
+    /**
+     * Compute the decay for the time difference.
+     *
+     * @param dt Time difference (must be positive).
+     * @return the decay factor
+     */
+    private double decay(double dt) {
+        // Note: Avoid inf * 0 when the rate is infinite
+        return dt == 0 ? 1 : Math.exp(-rate * dt);
+    }
+
+    /**
+     * Scale the weights of the current values by the decay factor {@code f}.
+     *
+     * @param f Decay factor.
+     */
+    private void scale(double f) {
+        w *= f;
+        ww *= f * f;
+        ss *= f;
+    }
+
+    /**
+     * Adds the {@code value} with the given weight.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @param t Reference time after the addition.
+     */
+    private void add(double value, double weight, double t) {
+        n++;
+        time = t;
+        if (!Double.isFinite(value)) {
+            nonFiniteValue += value;
+            return;
+        }
+        if (weight == 0) {
+            // Value has decayed to nothing
+            return;
+        }
+        final double w0 = w;
+        ww += w0 * weight;
+        w += weight;
+        // "Updating one-pass algorithm" for weighted values
+        // See: West (1979)
+        // Note: The update of the sum of squared deviations uses
+        // weight * delta * (value - mean) == w0 * r * delta^2.
+        // This avoids cancellation when the existing values have a small weight.
+        final double r = weight / w;
+        final double delta = value - mean;
+        mean = update(mean, value, delta, r);
+        ss += w0 * r * delta * delta;
+    }
+
+    /**
+     * Update the mean {@code m} towards the {@code value} using the fraction {@code r}.
+     *
+     * @param m Mean.
+     * @param value Value.
+     * @param delta Difference {@code value - m}.
+     * @param r Fraction in {@code [0, 1]}.
+     * @return the updated mean
+     */
+    private static double update(double m, double value, double delta, double r) {
+        if (Double.isFinite(delta)) {
+            return m + delta * r;
+        }
+        // Overflow of the difference: use the weighted sum
+        return m * (1 - r) + value * r;
+    }
+
+    /**
+     * Gets the count of values that have been added.
+     *
+     * @return the count
+     */
+    long getN() {
+        return n;
+    }
+
+    /**
+     * Gets the weighted mean of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the weighted mean, if it is finite;
+     *         {@code +/-Infinity}, if infinities of the same sign have been encountered;
+     *         {@code NaN} otherwise.
+     */
+    double getMean() {
+        if (nonFiniteValue != 0) {
+            return nonFiniteValue;
+        }
+        return w == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Gets the weighted variance of all input values.
+     *
+     * <p>The unbiased variance uses the correction for reliability weights:
+     *
+     * <p>\[ \frac{S}{W - \frac{\sum_i w_i^2}{W}} = \frac{S}{\frac{2}{W} \sum_{i \lt j} w_i w_j} \]
+     *
+     * <p>The second form is used to avoid cancellation when the weights are small.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param biased Set to true to compute the biased variance {@code S / W}.
+     * @return the weighted variance
+     */
+    double getVariance(boolean biased) {
+        if (nonFiniteValue != 0 || w == 0 || !Double.isFinite(ss)) {
+            return Double.NaN;
+        }
+        if (biased) {
+            return ss / w;
+        }
+        // Avoid a divide by zero with a single effective observation
+        return ww == 0 ? 0 : ss / (2 * (ww / w));
+    }
+
+    /**
+     * Combines the state of another {@code ExponentialMoment} into this one.
+     *
+     * <p>If neither instance has values with a specified time then the
+     * {@code other} values are assumed to follow the values in this instance.
+     * Otherwise the times are aligned to the most recent time of the two instances.
+     *
+     * @param other Another {@code ExponentialMoment} to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the decay rate is different
+     */
+    ExponentialMoment combine(ExponentialMoment other) {
+        if (Double.compare(rate, other.rate) != 0) {
+            throw new IllegalArgumentException("Incompatible decay rate");
+        }
+        if (other.n == 0) {
+            return this;
+        }
+        // Copy the other state to allow combine with self
+        final double t2 = other.timed || timed || n == 0 ?
+            other.time :
+            time + 1 + other.time;
+        final double ow = other.w;
+        final double oww = other.ww;
+        final double omean = other.mean;
+        final double oss = other.ss;
+        if (n == 0) {
+            time = t2;
+        }
+        // Align to the most recent time
+        final double t = Math.max(time, t2);
+        final double f1 = decay(t - time);
+        final double f2 = decay(t - t2);
+        scale(f1);
+        final double w1 = w;
+        final double w2a = ow * f2;
+        w = w1 + w2a;
+        ww += oww * f2 * f2 + w1 * w2a;
+        if (w2a != 0) {
+            // "Updating one-pass algorithm"
+            // See: Chan et al (1983) Equation 1.5b (modified for the mean)
+            final double delta = omean - mean;
+            mean = update(mean, omean, delta, w2a / w);
+            ss += oss * f2 + delta * delta * (w1 * w2a / w);
+        }
+        n += other.n;
+        nonFiniteValue += other.nonFiniteValue;
+        timed |= other.timed;
+        time = t;
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    void reset() {
+        n = 0;
+        time = 0;
+        timed = false;
+        w = 0;
+        ww = 0;
+        mean = 0;
+        ss = 0;
+        nonFiniteValue = 0;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeDouble(rate);
+        out.writeLong(n);
+        out.writeDouble(time);
+        out.writeBoolean(timed);
+        out.writeDouble(w);
+        out.writeDouble(ww);
+        out.writeDouble(mean);
+        out.writeDouble(ss);
+        out.writeDouble(nonFiniteValue);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code ExponentialMoment} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static ExponentialMoment readState(DataInput in) throws IOException {
+        final ExponentialMoment m = new ExponentialMoment(in.readDouble());
+        m.n = in.readLong();
+        m.time = in.readDouble();
+        m.timed = in.readBoolean();
+        m.w = in.readDouble();
+        m.ww = in.readDouble();
+        m.mean = in.readDouble();
+        m.ss = in.readDouble();
+        m.nonFiniteValue = in.readDouble();
+        return m;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Computes the exponentially weighted variance of the available values. The default
+ * implementation uses the following definition:
+ *
+ * <p>\[ \frac{\sum_i w_i (x_i - \overline{x}_w)^2}{W - \frac{\sum_i w_i^2}{W}} \]
+ *
+ * <p>where \( \overline{x}_w \) is the {@link ExponentialMean exponentially weighted mean},
+ * \( W = \sum_i w_i \) is the sum of the weights, and the weight \( w_i \) of each
+ * value decays exponentially with its age. The weight is reduced by a factor
+ * \( (1 - \alpha) \) for each unit of time, where \( \alpha \) is the smoothing factor.
+ * The decay may also be specified using the half-life: the age at which the weight is halved.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.
+ *   <li>The result is {@code NaN} if the weighted sum of the squared deviations from the mean is infinite.
+ *   <li>The result is zero if there is one value with a non-zero weight.
+ * </ul>
+ *
+ * <p>The default computation uses the bias correction for reliability weights. When
+ * all the weights are equal this is the usual correction \( \frac{1}{n-1} \).
+ * The {@link #setBiased(boolean) biased} option changes the normalisation factor
+ * to \( \frac{1}{W} \).
+ *
+ * <p>Values added using {@link #accept(double)} are observed at consecutive unit time
+ * steps. Values with irregular time gaps can be added using {@link #accept(double, double)};
+ * the weight of existing values is decayed by the elapsed time. A value older than
+ * the most recent value is added using its decayed weight.
+ *
+ * <p>The weighted sum of squared deviations is updated using the weighted updating
+ * algorithm of West (1979). The update has a cost of {@code O(1)} and does not allocate memory.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution. If the values do not specify a time then
+ * the combined values are assumed to follow the values of this instance in the
+ * encounter order.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>West, D.H.D. (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a>
+ * </ul>
+ *
+ * @see Variance
+ * @see ExponentialMean
+ * @since 1.1
+ */
+public final class ExponentialVariance implements DoubleStatistic, StatisticAccumulator<ExponentialVariance> {
+
+    /** Exponentially weighted moment. */
+    private final ExponentialMoment moment;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     *
+     * @param rate Decay rate per unit time.
+     */
+    private ExponentialVariance(double rate) {
+        this(new ExponentialMoment(rate));
+    }
+
+    /**
+     * Create an instance.
+     *
+     * @param moment Exponentially weighted moment.
+     */
+    private ExponentialVariance(ExponentialMoment moment) {
+        this.moment = moment;
+    }
+
+    /**
+     * Creates an instance with the specified smoothing factor {@code alpha}.
+     * The weight of a value is reduced by a factor {@code (1 - alpha)} for each unit
+     * of time.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param alpha Smoothing factor in {@code (0, 1]}.
+     * @return {@code ExponentialVariance} instance.
+     * @throws IllegalArgumentException if {@code alpha} is not in the range {@code (0, 1]}
+     */
+    public static ExponentialVariance create(double alpha) {
+        return new ExponentialVariance(ExponentialMoment.rateFromAlpha(alpha));
+    }
+
+    /**
+     * Creates an instance with the specified {@code halfLife}.
+     * The weight of a value is halved after each period of the half-life.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param halfLife Half-life.
+     * @return {@code ExponentialVariance} instance.
+     * @throws IllegalArgumentException if {@code halfLife} is not strictly positive
+     */
+    public static ExponentialVariance withHalfLife(double halfLife) {
+        return new ExponentialVariance(ExponentialMoment.rateFromHalfLife(halfLife));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * The value is observed one unit of time after the most recent value.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        moment.accept(value);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * observed at the specified {@code time}.
+     *
+     * @param value Value.
+     * @param time Time.
+     * @throws IllegalArgumentException if the {@code time} is {@code NaN}
+     */
+    public void accept(double value, double time) {
+        moment.accept(value, time);
+    }
+
+    /**
+     * Gets the exponentially weighted variance of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return exponentially weighted variance of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return moment.getVariance(biased);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If neither instance has values with a specified time then the values of
+     * the {@code other} instance are assumed to follow the values of this instance.
+     * Otherwise the weights are aligned to the most recent time of the two instances.
+     *
+     * @throws IllegalArgumentException if the decay of the {@code other} instance is different
+     */
+    @Override
+    public ExponentialVariance combine(ExponentialVariance other) {
+        moment.combine(other.moment);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The decay rate and the {@link #setBiased(boolean) biased} option are not changed.
+     */
+    public void reset() {
+        moment.reset();
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the sum of squared deviations from the weighted mean is
+     * normalised by \( W - \frac{\sum_i w_i^2}{W} \); this is an unbiased estimator
+     * for reliability weights. If {@code true} the sum is normalised by the sum of
+     * the weights \( W \).
+     *
+     * <p>This flag only controls the final computation of the statistic.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public ExponentialVariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        moment.writeState(out);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code ExponentialVariance} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static ExponentialVariance readState(DataInput in) throws IOException {
+        return new ExponentialVariance(ExponentialMoment.readState(in)).setBiased(in.readBoolean());
+    }
+}
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.function.DoubleConsumer;
 
 /**
@@ -123,6 +126,19 @@ class FirstMoment implements DoubleConsumer {
         nonFiniteValue = source.nonFiniteValue;
     }
 
+    /**
+     * Create an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    FirstMoment(DataInput in) throws IOException {
+        n = in.readLong();
+        m1 = in.readDouble();
+        nonFiniteValue = in.readDouble();
+    }
+
     /**
      * Create an instance with the given first moment.
      *
@@ -146,12 +162,30 @@ class FirstMoment implements DoubleConsumer {
      * @return {@code FirstMoment} instance.
      */
     static FirstMoment of(double... values) {
-        if (values.length == 0) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code FirstMoment} computed using {@link #accept} may be different from
+     * this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code FirstMoment} instance.
+     */
+    static FirstMoment of(double[] values, int from, int to) {
+        if (from == to) {
             return new FirstMoment();
         }
         // In the typical use-case a sum of values will not overflow and
         // is faster than the rolling algorithm
-        return create(org.apache.commons.numbers.core.Sum.of(values), values);
+        return create(Statistics.add(org.apache.commons.numbers.core.Sum.create(), values, from, to),
+            values, from, to);
     }
 
     /**
@@ -163,38 +197,43 @@ class FirstMoment implements DoubleConsumer {
      * <p>This method is used by {@link DoubleStatistics} using a sum that can be reused
      * for the {@link Sum} statistic.
      *
+     * <p>Warning: No range checks are performed.
+     *
      * @param sum Sum of the values.
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return {@code FirstMoment} instance.
      */
-    static FirstMoment create(org.apache.commons.numbers.core.Sum sum, double[] values) {
+    static FirstMoment create(org.apache.commons.numbers.core.Sum sum, double[] values, int from, int to) {
         // Protect against empty values
-        if (values.length == 0) {
+        if (from == to) {
             return new FirstMoment();
         }
 
+        final int n = to - from;
         final double s = sum.getAsDouble();
         if (Double.isFinite(s)) {
-            return new FirstMoment(s / values.length, values.length);
+            return new FirstMoment(s / n, n);
         }
 
         // "Corrected two-pass algorithm"
 
         // First pass
-        final FirstMoment m1 = create(values);
+        final FirstMoment m1 = create(values, from, to);
         final double xbar = m1.getFirstMoment();
         if (!Double.isFinite(xbar)) {
             return m1;
         }
         // Second pass
         double correction = 0;
-        for (final double x : values) {
-            correction += x - xbar;
+        for (int i = from; i < to; i++) {
+            correction += values[i] - xbar;
         }
         // Note: Correction may be infinite
         if (Double.isFinite(correction)) {
             // Down scale the correction to the half representation
-            m1.m1 += DOWNSCALE * correction / values.length;
+            m1.m1 += DOWNSCALE * correction / n;
         }
         return m1;
     }
@@ -210,14 +249,16 @@ class FirstMoment implements DoubleConsumer {
      * </ul>
      *
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return the first moment
      */
-    private static FirstMoment create(double[] values) {
+    private static FirstMoment create(double[] values, int from, int to) {
         double m1 = 0;
         int n = 0;
-        for (final double x : values) {
+        for (int i = from; i < to; i++) {
             // Downscale to avoid overflow for all finite input
-            m1 += (x * DOWNSCALE - m1) / ++n;
+            m1 += (values[i] * DOWNSCALE - m1) / ++n;
         }
         final FirstMoment m = new FirstMoment();
         m.n = n;
@@ -225,7 +266,7 @@ class FirstMoment implements DoubleConsumer {
         m.m1 = m1;
         // The non-finite value is only relevant if the data contains inf/nan
         if (!Double.isFinite(m1 * RESCALE)) {
-            m.nonFiniteValue = computeNonFiniteValue(values);
+            m.nonFiniteValue = computeNonFiniteValue(values, from, to);
         }
         return m;
     }
@@ -234,13 +275,15 @@ class FirstMoment implements DoubleConsumer {
      * Compute the result in the event of non-finite values.
      *
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return the non-finite result
      */
-    private static double computeNonFiniteValue(double[] values) {
+    private static double computeNonFiniteValue(double[] values, int from, int to) {
         double sum = 0;
-        for (final double x : values) {
+        for (int i = from; i < to; i++) {
             // Scaling down values prevents overflow of finites.
-            sum += x * Double.MIN_NORMAL;
+            sum += values[i] * Double.MIN_NORMAL;
         }
         return sum;
     }
@@ -268,6 +311,49 @@ class FirstMoment implements DoubleConsumer {
         m1 += nDev;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    void reset() {
+        n = 0;
+        dev = 0;
+        nDev = 0;
+        m1 = 0;
+        nonFiniteValue = 0;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the removal of {@code value}.
+     *
+     * <p>This reverses the update performed by {@link #accept(double)}. The value must
+     * be finite and must have been previously added; otherwise the result is undefined.
+     *
+     * <p>The result indicates if the updated moment is accurate. Removal of a value
+     * may cancel most of the significant digits of the moment; in this case the moment
+     * should be recomputed from the remaining values.
+     *
+     * @param value Value.
+     * @return true if the updated moment is accurate
+     */
+    boolean remove(double value) {
+        // Reverse of the "updating one-pass algorithm":
+        // m_{i-1} = m_i - (x - m_i) / (i - 1)
+        // This is computed using the half-representation.
+        nonFiniteValue -= value * Double.MIN_NORMAL;
+        dev = value * DOWNSCALE - m1;
+        if (--n == 0) {
+            // Remove all accumulated round-off
+            nDev = dev;
+            m1 = 0;
+            nonFiniteValue = 0;
+        } else {
+            nDev = dev / n;
+            m1 -= nDev;
+        }
+        // The error in the first moment is relative to the magnitude of the values
+        return true;
+    }
+
     /**
      * Gets the first moment of all input values.
      *
@@ -353,4 +439,19 @@ class FirstMoment implements DoubleConsumer {
     double getFirstMomentHalfDifference(FirstMoment other) {
         return m1 - other.m1;
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * <p>The deviations of the most recently added value are not written as they
+     * are not used in the {@link #combine(FirstMoment)} method.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(n);
+        out.writeDouble(m1);
+        out.writeDouble(nonFiniteValue);
+    }
 }
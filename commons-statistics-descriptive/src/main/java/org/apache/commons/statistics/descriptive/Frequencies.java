@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Support for frequency tables.
+ *
+ * @since 1.1
+ */
+final class Frequencies {
+    /** No instances. */
+    private Frequencies() {}
+
+    /**
+     * Gets the indices of the {@code k} largest counts. The indices are ordered by
+     * decreasing count; equal counts are ordered by increasing index.
+     *
+     * <p>Uses a bounded heap of size {@code k}: {@code O(n log k)}.
+     *
+     * @param counts Counts.
+     * @param k Number of indices.
+     * @return the indices
+     */
+    static int[] largest(long[] counts, int k) {
+        final int size = Math.min(k, counts.length);
+        // Heap with the worst of the retained indices at the root
+        final int[] heap = new int[size];
+        int n = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (n < size) {
+                heap[n] = i;
+                siftUp(heap, n++, counts);
+            } else if (size != 0 && before(i, heap[0], counts)) {
+                heap[0] = i;
+                siftDown(heap, n, counts);
+            }
+        }
+        // Remove the worst index to fill the result from the end
+        final int[] result = new int[size];
+        while (n > 0) {
+            result[--n] = heap[0];
+            heap[0] = heap[n];
+            siftDown(heap, n, counts);
+        }
+        return result;
+    }
+
+    /**
+     * Test if index {@code i} is ordered before index {@code j}: the count is larger,
+     * or the count is equal and the index is smaller.
+     *
+     * @param i Index.
+     * @param j Index.
+     * @param counts Counts.
+     * @return true if {@code i} is before {@code j}
+     */
+    private static boolean before(int i, int j, long[] counts) {
+        final long ci = counts[i];
+        final long cj = counts[j];
+        return ci > cj || (ci == cj && i < j);
+    }
+
+    /**
+     * Move the element at index {@code k} up the heap.
+     *
+     * @param heap Heap.
+     * @param k Index.
+     * @param counts Counts.
+     */
+    private static void siftUp(int[] heap, int k, long[] counts) {
+        final int x = heap[k];
+        int i = k;
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            final int p = heap[parent];
+            if (!before(p, x, counts)) {
+                break;
+            }
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = x;
+    }
+
+    /**
+     * Move the root element down the heap.
+     *
+     * @param heap Heap.
+     * @param n Size of the heap.
+     * @param counts Counts.
+     */
+    private static void siftDown(int[] heap, int n, long[] counts) {
+        if (n == 0) {
+            return;
+        }
+        final int x = heap[0];
+        int i = 0;
+        final int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            final int right = child + 1;
+            if (right < n && before(heap[child], heap[right], counts)) {
+                child = right;
+            }
+            final int c = heap[child];
+            if (!before(x, c, counts)) {
+                break;
+            }
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = x;
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the geometric mean of the available values. Uses the following definition
  * of the geometric mean:
@@ -111,6 +115,21 @@ public final class GeometricMean implements DoubleStatistic, StatisticAccumulato
         return new GeometricMean(SumOfLogs.of(values), values.length);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>When the range is empty, the result is {@code NaN}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code GeometricMean} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static GeometricMean of(double[] values, int from, int to) {
+        return new GeometricMean(SumOfLogs.of(values, from, to), to - from);
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -123,6 +142,21 @@ public final class GeometricMean implements DoubleStatistic, StatisticAccumulato
         return new GeometricMean(SumOfLogs.of(values), values.length);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>When the range is empty, the result is {@code NaN}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code GeometricMean} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static GeometricMean of(int[] values, int from, int to) {
+        return new GeometricMean(SumOfLogs.of(values, from, to), to - from);
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -135,6 +169,21 @@ public final class GeometricMean implements DoubleStatistic, StatisticAccumulato
         return new GeometricMean(SumOfLogs.of(values), values.length);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>When the range is empty, the result is {@code NaN}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code GeometricMean} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static GeometricMean of(long[] values, int from, int to) {
+        return new GeometricMean(SumOfLogs.of(values, from, to), to - from);
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -165,6 +214,14 @@ public final class GeometricMean implements DoubleStatistic, StatisticAccumulato
         return this;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        n = 0;
+        sumOfLogs.reset();
+    }
+
     /**
      * Compute the geometric mean.
      *
@@ -177,4 +234,29 @@ public final class GeometricMean implements DoubleStatistic, StatisticAccumulato
             Double.NaN :
             Math.exp(sumOfLogs.getAsDouble() / n);
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(n);
+        sumOfLogs.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code GeometricMean} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static GeometricMean readState(DataInput in) throws IOException {
+        final long n = in.readLong();
+        return new GeometricMean(SumOfLogs.readState(in), n);
+    }
 }
@@ -0,0 +1,658 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Statistics for {@code double} values grouped by an {@code int} key.
+ *
+ * <p>This class computes the statistics of each group of values that share the same key.
+ * The supported statistics are:
+ *
+ * <ul>
+ *   <li>{@link Statistic#MIN MIN}
+ *   <li>{@link Statistic#MAX MAX}
+ *   <li>{@link Statistic#MEAN MEAN}
+ *   <li>{@link Statistic#STANDARD_DEVIATION STANDARD_DEVIATION}
+ *   <li>{@link Statistic#VARIANCE VARIANCE}
+ *   <li>{@link Statistic#SUM SUM}
+ * </ul>
+ *
+ * <p>The state of the statistics is stored in parallel primitive arrays indexed by a dense
+ * group index; the index of each key is assigned in the order the keys are first added
+ * using a primitive hash map. This avoids an object for the statistics of each group.
+ *
+ * <p>The statistics use the same updating algorithms as the individual statistic
+ * implementations. The result for each group is identical to the result of the
+ * corresponding statistic (for example {@link Mean}) created empty and populated with the
+ * values of the group using {@link java.util.function.DoubleConsumer#accept(double) accept}.
+ * The result for a key that has not been added is the result of the empty statistic.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations per group, and up to
+ * 2<sup>29</sup> groups. This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(int, double) accept} or
+ * {@link #combine(GroupedDoubleStatistics) combine} method, it must be synchronized externally.
+ *
+ * @see DoubleStatistics
+ * @since 1.1
+ */
+public final class GroupedDoubleStatistics {
+    /** Error message for non configured statistics. */
+    private static final String NO_CONFIGURED_STATISTICS = "No configured statistics";
+    /** Error message for an unsupported statistic. */
+    private static final String UNSUPPORTED_STATISTIC = "Unsupported statistic: ";
+    /** Error message for incompatible statistics. */
+    private static final String INCOMPATIBLE_STATISTICS = "Incompatible statistics";
+    /** Initial capacity of the group arrays. */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Size of the chunk of group indices used to process batches of values. */
+    private static final int CHUNK_SIZE = 1024;
+    /** Scale factor for the first moment. This matches {@link FirstMoment}. */
+    private static final double DOWNSCALE = 0.5;
+    /** Inverse of the scale factor for the first moment. */
+    private static final double RESCALE = 2;
+
+    /** Map of the key to the group index. */
+    private final IntIndexMap groups = new IntIndexMap();
+    /** Count of values of each group. */
+    private long[] n;
+    /** Minimum of each group. */
+    private double[] min;
+    /** Maximum of each group. */
+    private double[] max;
+    /** High part of the sum of each group. */
+    private double[] sum;
+    /** Low part (compensation) of the sum of each group. */
+    private double[] comp;
+    /** Half the first moment of each group. */
+    private double[] m1;
+    /** Sum of each group scaled by {@link Double#MIN_NORMAL}; used when the moment is not finite. */
+    private double[] nonFinite;
+    /** Sum of squared deviations of each group. */
+    private double[] ss;
+    /** Configuration options for computation of statistics. */
+    private StatisticsConfiguration config = StatisticsConfiguration.withDefaults();
+
+    /**
+     * Create an instance.
+     *
+     * @param statistics Statistics to compute.
+     */
+    private GroupedDoubleStatistics(Set<Statistic> statistics) {
+        final int c = INITIAL_CAPACITY;
+        n = new long[c];
+        for (final Statistic s : statistics) {
+            switch (s) {
+            case MAX:
+                max = filled(c, Double.NEGATIVE_INFINITY);
+                break;
+            case MEAN:
+                m1 = new double[c];
+                nonFinite = new double[c];
+                break;
+            case MIN:
+                min = filled(c, Double.POSITIVE_INFINITY);
+                break;
+            case STANDARD_DEVIATION:
+            case VARIANCE:
+                m1 = new double[c];
+                nonFinite = new double[c];
+                ss = new double[c];
+                break;
+            case SUM:
+                sum = new double[c];
+                comp = new double[c];
+                break;
+            default:
+                throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + s);
+            }
+        }
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}.
+     *
+     * @param statistics Statistics to compute.
+     * @return the instance
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute, or
+     * a statistic is not supported
+     */
+    public static GroupedDoubleStatistics of(Statistic... statistics) {
+        if (statistics.length == 0) {
+            throw new IllegalArgumentException(NO_CONFIGURED_STATISTICS);
+        }
+        final EnumSet<Statistic> set = EnumSet.noneOf(Statistic.class);
+        for (final Statistic s : statistics) {
+            set.add(Objects.requireNonNull(s));
+        }
+        return new GroupedDoubleStatistics(set);
+    }
+
+    /**
+     * Create an array filled with the value.
+     *
+     * @param length Length.
+     * @param v Value.
+     * @return the array
+     */
+    private static double[] filled(int length, double v) {
+        final double[] x = new double[length];
+        Arrays.fill(x, v);
+        return x;
+    }
+
+    /**
+     * Fill the start of the array with the value.
+     *
+     * @param x Array (may be null).
+     * @param length Length.
+     * @param v Value.
+     */
+    private static void fill(double[] x, int length, double v) {
+        if (x != null) {
+            Arrays.fill(x, 0, length, v);
+        }
+    }
+
+    /**
+     * Extend the array to the length and fill the new elements with the value.
+     *
+     * @param x Array (may be null).
+     * @param length Length.
+     * @param v Value.
+     * @return the array
+     */
+    private static double[] extend(double[] x, int length, double v) {
+        if (x == null) {
+            return null;
+        }
+        final int size = x.length;
+        final double[] y = Arrays.copyOf(x, length);
+        if (v != 0) {
+            Arrays.fill(y, size, length, v);
+        }
+        return y;
+    }
+
+    /**
+     * Gets the group index of the key. The key is added if not present.
+     *
+     * @param key Key.
+     * @return the index
+     */
+    private int getOrAdd(int key) {
+        final int i = groups.getOrAdd(key);
+        if (i == n.length) {
+            // Grow all the arrays
+            final int length = i << 1;
+            n = Arrays.copyOf(n, length);
+            min = extend(min, length, Double.POSITIVE_INFINITY);
+            max = extend(max, length, Double.NEGATIVE_INFINITY);
+            sum = extend(sum, length, 0);
+            comp = extend(comp, length, 0);
+            m1 = extend(m1, length, 0);
+            nonFinite = extend(nonFinite, length, 0);
+            ss = extend(ss, length, 0);
+        }
+        return i;
+    }
+
+    /**
+     * Updates the state of the statistics of the group with the {@code key} to reflect
+     * the addition of {@code value}.
+     *
+     * @param key Key.
+     * @param value Value.
+     */
+    public void accept(int key, double value) {
+        final int i = getOrAdd(key);
+        if (m1 != null) {
+            addMoment(i, value);
+        } else {
+            n[i]++;
+        }
+        if (min != null) {
+            min[i] = Math.min(min[i], value);
+        }
+        if (max != null) {
+            max[i] = Math.max(max[i], value);
+        }
+        if (sum != null) {
+            addSum(i, value);
+        }
+    }
+
+    /**
+     * Updates the state of the statistics to reflect the addition of the paired
+     * keys and values {@code (keys[i], values[i])}.
+     *
+     * <p>The values are processed in chunks. The group index of each key in the chunk
+     * is identified and then each statistic is updated in turn for all the values of
+     * the chunk.
+     *
+     * @param keys Keys.
+     * @param values Values.
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public void accept(int[] keys, double[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Length mismatch: " + keys.length + " != " + values.length);
+        }
+        final int length = keys.length;
+        final int[] index = new int[Math.min(CHUNK_SIZE, length)];
+        for (int from = 0; from < length; from += CHUNK_SIZE) {
+            final int to = Math.min(length, from + CHUNK_SIZE);
+            final int size = to - from;
+            for (int j = 0; j < size; j++) {
+                index[j] = getOrAdd(keys[from + j]);
+            }
+            // Note: Arrays are read after all groups in the chunk have been added
+            if (m1 != null) {
+                for (int j = 0; j < size; j++) {
+                    addMoment(index[j], values[from + j]);
+                }
+            } else {
+                final long[] c = n;
+                for (int j = 0; j < size; j++) {
+                    c[index[j]]++;
+                }
+            }
+            final double[] lo = min;
+            if (lo != null) {
+                for (int j = 0; j < size; j++) {
+                    final int i = index[j];
+                    lo[i] = Math.min(lo[i], values[from + j]);
+                }
+            }
+            final double[] hi = max;
+            if (hi != null) {
+                for (int j = 0; j < size; j++) {
+                    final int i = index[j];
+                    hi[i] = Math.max(hi[i], values[from + j]);
+                }
+            }
+            if (sum != null) {
+                for (int j = 0; j < size; j++) {
+                    addSum(index[j], values[from + j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the value to the moment of the group. This increments the count.
+     *
+     * <p>This uses the same computation as {@link SumOfSquaredDeviations#accept(double)}.
+     *
+     * @param i Group index.
+     * @param value Value.
+     */
+    private void addMoment(int i, double value) {
+        nonFinite[i] += value * Double.MIN_NORMAL;
+        final double m = m1[i];
+        final double dev = value * DOWNSCALE - m;
+        final long c = ++n[i];
+        final double nDev = dev / c;
+        m1[i] = m + nDev;
+        if (ss != null) {
+            // Note: account for the half-deviation representation by scaling by 4=2^2
+            ss[i] += (c - 1) * dev * nDev * 4;
+        }
+    }
+
+    /**
+     * Adds the value to the sum of the group.
+     *
+     * <p>This uses the same extended precision summation as {@link Sum}.
+     *
+     * @param i Group index.
+     * @param value Value.
+     */
+    private void addSum(int i, double value) {
+        final double s = sum[i];
+        final double t = s + value;
+        // Low part of the two-sum
+        final double bv = t - s;
+        comp[i] += (s - (t - bv)) + (value - bv);
+        sum[i] = t;
+    }
+
+    /**
+     * Gets the number of groups.
+     *
+     * @return the number of groups
+     */
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Gets the keys of the groups. The keys are in the order they were first added.
+     *
+     * @return the keys
+     * @see #getResults(Statistic)
+     */
+    public int[] getKeys() {
+        return groups.getKeys();
+    }
+
+    /**
+     * Return the count of values recorded for the group with the {@code key}.
+     *
+     * @param key Key.
+     * @return the count of values
+     */
+    public long getCount(int key) {
+        final int i = groups.get(key);
+        return i < 0 ? 0 : n[i];
+    }
+
+    /**
+     * Check if the specified {@code statistic} is supported.
+     *
+     * @param statistic Statistic.
+     * @return {@code true} if supported
+     * @throws NullPointerException if the {@code statistic} is {@code null}
+     */
+    public boolean isSupported(Statistic statistic) {
+        switch (statistic) {
+        case MAX:
+            return max != null;
+        case MEAN:
+            return m1 != null;
+        case MIN:
+            return min != null;
+        case STANDARD_DEVIATION:
+        case VARIANCE:
+            return ss != null;
+        case SUM:
+            return sum != null;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Gets the value of the specified {@code statistic} for the group with the {@code key}.
+     *
+     * <p>If the key has not been added the result is the value of the statistic
+     * when no values have been added.
+     *
+     * @param statistic Statistic.
+     * @param key Key.
+     * @return the value
+     * @throws IllegalArgumentException if the {@code statistic} is not supported
+     * @see #isSupported(Statistic)
+     */
+    public double getAsDouble(Statistic statistic, int key) {
+        if (!isSupported(statistic)) {
+            throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + statistic);
+        }
+        final int i = groups.get(key);
+        if (i < 0) {
+            return getEmptyValue(statistic);
+        }
+        return getAsDouble(statistic, i, config.isBiased());
+    }
+
+    /**
+     * Gets the values of the specified {@code statistic} for all groups.
+     * The values are in the same order as the keys returned by {@link #getKeys()}.
+     *
+     * @param statistic Statistic.
+     * @return the values
+     * @throws IllegalArgumentException if the {@code statistic} is not supported
+     * @see #isSupported(Statistic)
+     * @see #getKeys()
+     */
+    public double[] getResults(Statistic statistic) {
+        if (!isSupported(statistic)) {
+            throw new IllegalArgumentException(UNSUPPORTED_STATISTIC + statistic);
+        }
+        final boolean biased = config.isBiased();
+        final double[] r = new double[groups.size()];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = getAsDouble(statistic, i, biased);
+        }
+        return r;
+    }
+
+    /**
+     * Gets the value of the statistic when no values have been added.
+     *
+     * @param statistic Statistic.
+     * @return the value
+     */
+    private static double getEmptyValue(Statistic statistic) {
+        switch (statistic) {
+        case MAX:
+            return Double.NEGATIVE_INFINITY;
+        case MIN:
+            return Double.POSITIVE_INFINITY;
+        case SUM:
+            return 0;
+        default:
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Gets the value of the supported {@code statistic} for the group.
+     *
+     * @param statistic Statistic.
+     * @param i Group index.
+     * @param biased Set to true to compute the biased variance.
+     * @return the value
+     */
+    private double getAsDouble(Statistic statistic, int i, boolean biased) {
+        switch (statistic) {
+        case MAX:
+            return max[i];
+        case MEAN:
+            return getMean(i);
+        case MIN:
+            return min[i];
+        case STANDARD_DEVIATION:
+            return Math.sqrt(getVariance(i, biased));
+        case VARIANCE:
+            return getVariance(i, biased);
+        default:
+            // SUM
+            final double s = sum[i] + comp[i];
+            return Double.isFinite(s) ? s : sum[i];
+        }
+    }
+
+    /**
+     * Gets the mean of the group.
+     *
+     * <p>This uses the same computation as {@link FirstMoment#getFirstMoment()}.
+     *
+     * @param i Group index.
+     * @return the mean
+     */
+    private double getMean(int i) {
+        final double m = m1[i] * RESCALE;
+        if (Double.isFinite(m)) {
+            return n[i] == 0 ? Double.NaN : m;
+        }
+        return nonFinite[i];
+    }
+
+    /**
+     * Gets the variance of the group.
+     *
+     * <p>This uses the same computation as {@link Variance#getAsDouble()}.
+     *
+     * @param i Group index.
+     * @param biased Set to true to compute the biased variance.
+     * @return the variance
+     */
+    private double getVariance(int i, boolean biased) {
+        if (!Double.isFinite(getMean(i))) {
+            return Double.NaN;
+        }
+        final double m2 = ss[i];
+        if (!Double.isFinite(m2)) {
+            return Double.NaN;
+        }
+        final long c = n[i];
+        // Avoid a divide by zero
+        if (c == 1) {
+            return 0;
+        }
+        return biased ? m2 / c : m2 / (c - 1);
+    }
+
+    /**
+     * Combines the state of the {@code other} statistics into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * <p>The statistics of each group of the {@code other} instance are combined with the
+     * statistics of the group with the same key in {@code this} instance. Groups not
+     * present in {@code this} instance are added.
+     *
+     * <p>The {@code other} instance must be <em>compatible</em>. This is {@code true} if the
+     * {@code other} instance returns {@code true} for {@link #isSupported(Statistic)} for
+     * all values of the {@link Statistic} enum which are supported by {@code this}
+     * instance. In the event that the {@code other} instance is not compatible then an
+     * exception is raised before any state is modified.
+     *
+     * @param other Another set of statistics to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the {@code other} is not compatible
+     */
+    public GroupedDoubleStatistics combine(GroupedDoubleStatistics other) {
+        checkCompatible(min, other.min);
+        checkCompatible(max, other.max);
+        checkCompatible(sum, other.sum);
+        checkCompatible(m1, other.m1);
+        checkCompatible(ss, other.ss);
+        final int size = other.groups.size();
+        for (int j = 0; j < size; j++) {
+            // Note: Supports other == this as the group index is unchanged
+            final int i = getOrAdd(other.groups.getKey(j));
+            final long n1 = n[i];
+            final long n2 = other.n[j];
+            if (min != null) {
+                min[i] = Math.min(min[i], other.min[j]);
+            }
+            if (max != null) {
+                max[i] = Math.max(max[i], other.max[j]);
+            }
+            if (sum != null) {
+                final double c = other.comp[j];
+                addSum(i, other.sum[j]);
+                comp[i] += c;
+            }
+            if (m1 != null) {
+                combineMoment(i, other, j, n1, n2);
+            }
+            n[i] = n1 + n2;
+        }
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistics to the initial state with no values.
+     *
+     * <p>All groups are removed. The configured statistics and the capacity of the
+     * group storage are not changed.
+     */
+    public void reset() {
+        final int size = groups.size();
+        groups.reset();
+        Arrays.fill(n, 0, size, 0);
+        fill(min, size, Double.POSITIVE_INFINITY);
+        fill(max, size, Double.NEGATIVE_INFINITY);
+        fill(sum, size, 0);
+        fill(comp, size, 0);
+        fill(m1, size, 0);
+        fill(nonFinite, size, 0);
+        fill(ss, size, 0);
+    }
+
+    /**
+     * Combine the moment of group {@code j} of the {@code other} instance into group {@code i}.
+     *
+     * <p>This uses the same computation as {@link SumOfSquaredDeviations#combine(SumOfSquaredDeviations)}.
+     *
+     * @param i Group index.
+     * @param other Other statistics.
+     * @param j Group index of the other statistics.
+     * @param n1 Count of group {@code i}.
+     * @param n2 Count of group {@code j}.
+     */
+    private void combineMoment(int i, GroupedDoubleStatistics other, int j, long n1, long n2) {
+        final double mu1 = m1[i];
+        final double mu2 = other.m1[j];
+        if (ss != null) {
+            if (n1 == 0) {
+                ss[i] = other.ss[j];
+            } else if (n2 != 0) {
+                final double diffOfMean = (mu1 - mu2) * RESCALE;
+                ss[i] = (ss[i] + other.ss[j]) +
+                    diffOfMean * diffOfMean * (((double) n1 * n2) / ((double) n1 + n2));
+            }
+        }
+        nonFinite[i] += other.nonFinite[j];
+        if (n1 == n2) {
+            m1[i] = (mu1 + mu2) * 0.5;
+        } else {
+            m1[i] = n2 < n1 ?
+                mu1 + (mu2 - mu1) * ((double) n2 / (n1 + n2)) :
+                mu2 + (mu1 - mu2) * ((double) n1 / (n1 + n2));
+        }
+    }
+
+    /**
+     * Check the state of the {@code other} statistics is present if the state of
+     * {@code this} statistics is present.
+     *
+     * @param a State of this statistics.
+     * @param b State of the other statistics.
+     * @throws IllegalArgumentException if the objects cannot be combined
+     */
+    private static void checkCompatible(double[] a, double[] b) {
+        if (a != null && b == null) {
+            throw new IllegalArgumentException(INCOMPATIBLE_STATISTICS);
+        }
+    }
+
+    /**
+     * Sets the statistics configuration.
+     *
+     * <p>These options only control the final computation of statistics. The configuration
+     * will not affect compatibility between instances during a
+     * {@link #combine(GroupedDoubleStatistics) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @throws NullPointerException if the value is null
+     */
+    public GroupedDoubleStatistics setConfiguration(StatisticsConfiguration v) {
+        config = Objects.requireNonNull(v);
+        return this;
+    }
+}
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import org.apache.commons.numbers.core.DD;
@@ -123,6 +126,14 @@ final class Int128 {
         hi += h;
     }
 
+    /**
+     * Resets the value to zero.
+     */
+    void reset() {
+        lo = 0;
+        hi = 0;
+    }
+
     /**
      * Compute the square of the low 64-bits of this number.
      *
@@ -296,4 +307,29 @@ final class Int128 {
     long hi64() {
         return hi;
     }
+
+    /**
+     * Writes the value to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(hi);
+        out.writeLong(lo);
+    }
+
+    /**
+     * Creates an instance using the value read from the input.
+     *
+     * @param in Input.
+     * @return {@code Int128} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Int128 readState(DataInput in) throws IOException {
+        final long h = in.readLong();
+        return new Int128(h, in.readLong());
+    }
 }
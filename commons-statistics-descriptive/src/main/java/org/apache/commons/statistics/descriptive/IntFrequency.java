@@ -0,0 +1,518 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Computes a frequency table of {@code int} values.
+ *
+ * <p>The table counts each distinct value, for example a category code. It provides the
+ * count and proportion of each value, the mode(s), the most frequent values and the
+ * cumulative distribution.
+ *
+ * <p>The counts are stored in primitive arrays without boxing of the values. Values within
+ * a small range (up to {@value #DENSE_LIMIT} consecutive values) are counted in a dense array
+ * indexed by the value. If the observed range becomes larger the counts are moved to an
+ * open-addressing hash table with linear probing.
+ *
+ * <ul>
+ *   <li>The mode is the value(s) with the largest count. There is no mode if no values are added.
+ *   <li>The proportions are {@code NaN} if no values are added.
+ * </ul>
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations, and up to 2<sup>30</sup>
+ * distinct values. This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(int) accept} or
+ * {@link #combine(IntFrequency) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(int) accept}
+ * and {@link #combine(IntFrequency) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Frequency_distribution">Frequency distribution (Wikipedia)</a>
+ * @since 1.1
+ */
+public final class IntFrequency implements IntConsumer {
+    /** Maximum range of values counted using the dense array. */
+    private static final int DENSE_LIMIT = 1 << 12;
+    /** Initial capacity of the hash table. Must be a power of 2. */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Maximum capacity of the hash table. */
+    private static final int MAX_CAPACITY = 1 << 30;
+    /** An empty array. */
+    private static final long[] EMPTY = {};
+
+    /** Count of values. */
+    private long n;
+    /** Number of distinct values. */
+    private int size;
+    /** Dense counts of the values in {@code [offset, offset + dense.length)}.
+     * This is {@code null} when using the hash table. */
+    private long[] dense;
+    /** Value of the first dense count. */
+    private int offset;
+    /** Hash table values. */
+    private int[] keys;
+    /** Hash table counts. A count of zero is an empty slot. */
+    private long[] counts;
+
+    /**
+     * Create an instance.
+     */
+    private IntFrequency() {
+        dense = EMPTY;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial table is empty.
+     *
+     * @return {@code IntFrequency} instance.
+     */
+    public static IntFrequency create() {
+        return new IntFrequency();
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code IntFrequency} instance.
+     */
+    public static IntFrequency of(int... values) {
+        return Statistics.add(create(), values);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntFrequency} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntFrequency of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(create(), values, from, to);
+    }
+
+    /**
+     * Updates the state of the table to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(int value) {
+        add(value, 1);
+    }
+
+    /**
+     * Adds the {@code count} to the {@code value}.
+     *
+     * @param value Value.
+     * @param count Count (must be positive).
+     */
+    private void add(int value, long count) {
+        n += count;
+        if (dense != null) {
+            if (value >= offset && Long.compareUnsigned((long) value - offset, dense.length) < 0) {
+                final int i = value - offset;
+                if (dense[i] == 0) {
+                    size++;
+                }
+                dense[i] += count;
+                return;
+            }
+            if (growDense(value)) {
+                final int i = value - offset;
+                size++;
+                dense[i] = count;
+                return;
+            }
+            toHashTable();
+        }
+        put(value, count);
+    }
+
+    /**
+     * Grow the dense array to include the {@code value}. Returns {@code false} if the
+     * range of values is too large.
+     *
+     * @param value Value outside the current dense range.
+     * @return true if the dense array contains the value
+     */
+    private boolean growDense(int value) {
+        final int length = dense.length;
+        final int lo;
+        final int hi;
+        if (length == 0) {
+            lo = value;
+            hi = value;
+        } else {
+            lo = Integer.min(offset, value);
+            hi = Integer.max(offset + length - 1, value);
+        }
+        // Detect the range exceeds the limit (or overflows)
+        final long range = (long) hi - lo;
+        if (range < 0 || range >= DENSE_LIMIT) {
+            return false;
+        }
+        // At least double the length to amortise the copy
+        final int newLength = (int) Math.min(DENSE_LIMIT, Math.max(range + 1, 2L * length));
+        final int extra = newLength - 1;
+        final int newOffset;
+        if (value == lo && length != 0) {
+            // Extend down from the upper value
+            newOffset = hi < Integer.MIN_VALUE + extra ? Integer.MIN_VALUE : hi - extra;
+        } else {
+            // Extend up from the lower value
+            newOffset = lo > Integer.MAX_VALUE - extra ? Integer.MAX_VALUE - extra : lo;
+        }
+        final long[] d = new long[newLength];
+        if (length != 0) {
+            System.arraycopy(dense, 0, d, offset - newOffset, length);
+        }
+        dense = d;
+        offset = newOffset;
+        return true;
+    }
+
+    /**
+     * Move the dense counts to the hash table.
+     */
+    private void toHashTable() {
+        final long[] d = dense;
+        int capacity = INITIAL_CAPACITY;
+        while (capacity >>> 1 <= size) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        counts = new long[capacity];
+        dense = null;
+        size = 0;
+        for (int i = 0; i < d.length; i++) {
+            if (d[i] != 0) {
+                put(offset + i, d[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds the {@code count} to the {@code value} in the hash table.
+     *
+     * @param value Value.
+     * @param count Count (must be positive).
+     */
+    private void put(int value, long count) {
+        final int[] k = keys;
+        final long[] c = counts;
+        final int mask = k.length - 1;
+        for (int i = hash(value) & mask;; i = (i + 1) & mask) {
+            if (c[i] == 0) {
+                k[i] = value;
+                c[i] = count;
+                if (++size > (k.length >>> 1)) {
+                    resize();
+                }
+                return;
+            }
+            if (k[i] == value) {
+                c[i] += count;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Double the capacity of the hash table.
+     *
+     * @throws IllegalStateException if the capacity exceeds the maximum
+     */
+    private void resize() {
+        final int[] k = keys;
+        final long[] c = counts;
+        if (k.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Too many distinct values: " + size);
+        }
+        keys = new int[k.length << 1];
+        counts = new long[k.length << 1];
+        size = 0;
+        for (int i = 0; i < k.length; i++) {
+            if (c[i] != 0) {
+                put(k[i], c[i]);
+            }
+        }
+    }
+
+    /**
+     * Compute the hash of the value. This spreads the bits of sequential values
+     * across the hash table.
+     *
+     * @param value Value.
+     * @return the hash
+     */
+    private static int hash(int value) {
+        final int h = value * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the count of the values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the count of the specified {@code value}.
+     *
+     * @param value Value.
+     * @return the count
+     */
+    public long getCount(int value) {
+        if (dense != null) {
+            if (value >= offset && Long.compareUnsigned((long) value - offset, dense.length) < 0) {
+                return dense[value - offset];
+            }
+            return 0;
+        }
+        final int[] k = keys;
+        final long[] c = counts;
+        final int mask = k.length - 1;
+        for (int i = hash(value) & mask;; i = (i + 1) & mask) {
+            if (c[i] == 0) {
+                return 0;
+            }
+            if (k[i] == value) {
+                return c[i];
+            }
+        }
+    }
+
+    /**
+     * Gets the proportion of the values equal to the specified {@code value}.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param value Value.
+     * @return the proportion
+     */
+    public double getProportion(int value) {
+        return (double) getCount(value) / n;
+    }
+
+    /**
+     * Gets the number of distinct values.
+     *
+     * @return the number of distinct values
+     */
+    public int getDistinctCount() {
+        return size;
+    }
+
+    /**
+     * Gets the distinct values in ascending order.
+     *
+     * @return the values
+     * @see #getCounts()
+     */
+    public int[] getValues() {
+        final int[] v = new int[size];
+        int j = 0;
+        if (dense != null) {
+            for (int i = 0; i < dense.length; i++) {
+                if (dense[i] != 0) {
+                    v[j++] = offset + i;
+                }
+            }
+        } else {
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0) {
+                    v[j++] = keys[i];
+                }
+            }
+            Arrays.sort(v);
+        }
+        return v;
+    }
+
+    /**
+     * Gets the counts of the distinct values. The counts are in the same order as the
+     * values returned by {@link #getValues()}.
+     *
+     * @return the counts
+     * @see #getValues()
+     */
+    public long[] getCounts() {
+        return getCounts(getValues());
+    }
+
+    /**
+     * Gets the counts of the distinct values.
+     *
+     * @param values Values.
+     * @return the counts
+     */
+    private long[] getCounts(int[] values) {
+        final long[] c = new long[values.length];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = getCount(values[i]);
+        }
+        return c;
+    }
+
+    /**
+     * Gets the mode(s): the value(s) with the largest count. Values are returned in
+     * ascending order.
+     *
+     * <p>When no values have been added, the result is an empty array.
+     *
+     * @return the modes
+     */
+    public int[] getModes() {
+        final int[] v = getValues();
+        final long[] c = getCounts(v);
+        final long max = Arrays.stream(c).max().orElse(0);
+        int j = 0;
+        for (int i = 0; i < v.length; i++) {
+            if (c[i] == max) {
+                v[j++] = v[i];
+            }
+        }
+        return Arrays.copyOf(v, j);
+    }
+
+    /**
+     * Gets the {@code k} most frequent values. The values are in order of decreasing
+     * count; values with the same count are in ascending order.
+     *
+     * <p>If {@code k} is larger than the number of distinct values then all values
+     * are returned.
+     *
+     * @param k Number of values.
+     * @return the most frequent values
+     * @throws IllegalArgumentException if {@code k < 0}
+     */
+    public int[] getMostFrequent(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Invalid number of values: " + k);
+        }
+        final int[] v = getValues();
+        final int[] index = Frequencies.largest(getCounts(v), k);
+        final int[] result = new int[index.length];
+        for (int i = 0; i < index.length; i++) {
+            result[i] = v[index[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Gets the cumulative count of the values less than or equal to the
+     * specified {@code value}.
+     *
+     * @param value Value.
+     * @return the cumulative count
+     */
+    public long getCumulativeCount(int value) {
+        long sum = 0;
+        if (dense != null) {
+            if (value >= offset) {
+                final long end = Math.min(dense.length - 1L, (long) value - offset);
+                for (int i = 0; i <= end; i++) {
+                    sum += dense[i];
+                }
+            }
+        } else {
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0 && keys[i] <= value) {
+                    sum += counts[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the cumulative proportion of the values less than or equal to the
+     * specified {@code value}. This is the empirical cumulative distribution function.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param value Value.
+     * @return the cumulative proportion
+     */
+    public double getCumulativeProportion(int value) {
+        return (double) getCumulativeCount(value) / n;
+    }
+
+    /**
+     * Combines the state of the {@code other} table into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * @param other Another table to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     */
+    public IntFrequency combine(IntFrequency other) {
+        if (other.dense != null) {
+            final long[] d = other.dense;
+            final int o = other.offset;
+            for (int i = 0; i < d.length; i++) {
+                if (d[i] != 0) {
+                    add(o + i, d[i]);
+                }
+            }
+        } else {
+            final int[] k = other.keys;
+            final long[] c = other.counts;
+            for (int i = 0; i < k.length; i++) {
+                if (c[i] != 0) {
+                    add(k[i], c[i]);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The capacity of the hash table is not reduced.
+     */
+    public void reset() {
+        if (dense != null) {
+            // Restart the dense range from the next value
+            dense = EMPTY;
+        } else {
+            Arrays.fill(counts, 0);
+        }
+        n = 0;
+        size = 0;
+    }
+}
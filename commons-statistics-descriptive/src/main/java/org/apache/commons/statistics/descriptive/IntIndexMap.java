@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * A map of {@code int} keys to a dense index in {@code [0, size)}. The index is
+ * assigned in the order the keys are added.
+ *
+ * <p>The map uses an open-addressing hash table with linear probing stored in
+ * primitive arrays. Keys cannot be removed.
+ *
+ * @since 1.1
+ */
+final class IntIndexMap {
+    /** Initial capacity of the hash table. Must be a power of 2. */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Maximum capacity of the hash table. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** Hash table keys. */
+    private int[] table;
+    /** Hash table index of the key plus 1. Zero is an empty slot. */
+    private int[] index;
+    /** Keys in order of the index. */
+    private int[] keys;
+    /** Number of keys. */
+    private int size;
+
+    /**
+     * Create an instance.
+     */
+    IntIndexMap() {
+        table = new int[INITIAL_CAPACITY];
+        index = new int[INITIAL_CAPACITY];
+        keys = new int[INITIAL_CAPACITY >>> 1];
+    }
+
+    /**
+     * Gets the number of keys.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the key with the specified index.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param i Index.
+     * @return the key
+     */
+    int getKey(int i) {
+        return keys[i];
+    }
+
+    /**
+     * Gets the keys in order of their index.
+     *
+     * @return the keys
+     */
+    int[] getKeys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Gets the index of the key.
+     *
+     * @param key Key.
+     * @return the index, or -1 if the key is not present
+     */
+    int get(int key) {
+        final int[] t = table;
+        final int[] ix = index;
+        final int mask = t.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            final int j = ix[i];
+            if (j == 0) {
+                return -1;
+            }
+            if (t[i] == key) {
+                return j - 1;
+            }
+        }
+    }
+
+    /**
+     * Gets the index of the key. If the key is not present it is added
+     * with an index equal to the current size.
+     *
+     * @param key Key.
+     * @return the index
+     * @throws IllegalStateException if the capacity exceeds the maximum
+     */
+    int getOrAdd(int key) {
+        final int[] t = table;
+        final int[] ix = index;
+        final int mask = t.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            final int j = ix[i];
+            if (j == 0) {
+                final int id = size++;
+                t[i] = key;
+                ix[i] = id + 1;
+                if (id == keys.length) {
+                    keys = Arrays.copyOf(keys, id << 1);
+                }
+                keys[id] = key;
+                if (size > (t.length >>> 1)) {
+                    resize();
+                }
+                return id;
+            }
+            if (t[i] == key) {
+                return j - 1;
+            }
+        }
+    }
+
+    /**
+     * Removes all the keys from the map. The capacity is not changed.
+     */
+    void reset() {
+        Arrays.fill(index, 0);
+        size = 0;
+    }
+
+    /**
+     * Double the capacity of the hash table.
+     *
+     * @throws IllegalStateException if the capacity exceeds the maximum
+     */
+    private void resize() {
+        final int length = table.length;
+        if (length == MAX_CAPACITY) {
+            throw new IllegalStateException("Too many keys: " + size);
+        }
+        final int[] t = new int[length << 1];
+        final int[] ix = new int[length << 1];
+        final int mask = t.length - 1;
+        for (int j = 0; j < size; j++) {
+            final int key = keys[j];
+            int i = hash(key) & mask;
+            while (ix[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            t[i] = key;
+            ix[i] = j + 1;
+        }
+        table = t;
+        index = ix;
+    }
+
+    /**
+     * Compute the hash of the key. This spreads the bits of sequential keys
+     * across the hash table.
+     *
+     * @param key Key.
+     * @return the hash
+     */
+    private static int hash(int key) {
+        final int h = key * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
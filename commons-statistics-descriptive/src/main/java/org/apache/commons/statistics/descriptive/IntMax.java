@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 
 /**
@@ -81,6 +84,23 @@ public final class IntMax implements IntStatistic, StatisticAccumulator<IntMax>
         return Statistics.add(new IntMax(), values);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>When the range is empty, the result is
+     * {@link Integer#MIN_VALUE}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Max} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntMax of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(new IntMax(), values, from, to);
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -124,4 +144,36 @@ public final class IntMax implements IntStatistic, StatisticAccumulator<IntMax>
         accept(other.getAsInt());
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        maximum = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(maximum);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code IntMax} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static IntMax readState(DataInput in) throws IOException {
+        final IntMax s = new IntMax();
+        s.maximum = in.readInt();
+        return s;
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the arithmetic mean of the available values. Uses the following definition
  * of the <em>sample mean</em>:
@@ -73,7 +77,7 @@ public final class IntMean implements IntStatistic, StatisticAccumulator<IntMean
      * @param sum Sum of the values.
      * @param n Count of values that have been added.
      */
-    private IntMean(Int128 sum, int n) {
+    private IntMean(Int128 sum, long n) {
         this.sum = sum;
         this.n = n;
     }
@@ -96,13 +100,42 @@ public final class IntMean implements IntStatistic, StatisticAccumulator<IntMean
      * @return {@code IntMean} instance.
      */
     public static IntMean of(int... values) {
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntMean} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntMean of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntMean} instance.
+     */
+    private static IntMean create(int[] values, int from, int to) {
+        final int n = to - from;
         // Sum of an array cannot exceed a 64-bit long
         long s = 0;
-        for (final int x : values) {
-            s += x;
+        for (int i = from; i < to; i++) {
+            s += values[i];
         }
         // Convert
-        return new IntMean(Int128.of(s), values.length);
+        return new IntMean(Int128.of(s), n);
     }
 
     /**
@@ -154,4 +187,37 @@ public final class IntMean implements IntStatistic, StatisticAccumulator<IntMean
         n += other.n;
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        sum.reset();
+        n = 0;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sum.writeState(out);
+        out.writeLong(n);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code IntMean} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static IntMean readState(DataInput in) throws IOException {
+        final Int128 sum = Int128.readState(in);
+        return new IntMean(sum, in.readLong());
+    }
 }
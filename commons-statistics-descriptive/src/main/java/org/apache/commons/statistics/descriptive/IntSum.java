@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 
 /**
@@ -96,13 +99,58 @@ public final class IntSum implements IntStatistic, StatisticAccumulator<IntSum>
      * @return {@code IntSum} instance.
      */
     public static IntSum of(int... values) {
-        // Sum of an array cannot exceed a 64-bit long
-        long s = 0;
-        for (final int x : values) {
-            s += x;
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>When the range is empty, the result is zero.
+     *
+     * <p>The {@link #getAsLong()} result is valid for any input {@code int[]} length;
+     * the {@link #getAsInt()} result may overflow.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntSum} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntSum of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntSum} instance.
+     */
+    private static IntSum create(int[] values, int from, int to) {
+        // Sum of an array cannot exceed a 64-bit long.
+        // Use independent accumulators to shorten the dependency chain of the loop.
+        // Integer addition is exact so the order of summation is not relevant.
+        long s0 = 0;
+        long s1 = 0;
+        long s2 = 0;
+        long s3 = 0;
+        final int end = from + ((to - from) & ~0x3);
+        for (int i = from; i < end; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (int i = end; i < to; i++) {
+            s0 += values[i];
         }
         // Convert
-        return new IntSum(Int128.of(s));
+        return new IntSum(Int128.of((s0 + s1) + (s2 + s3)));
     }
 
     /**
@@ -193,4 +241,34 @@ public final class IntSum implements IntStatistic, StatisticAccumulator<IntSum>
         sum.add(other.sum);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        sum.reset();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sum.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code IntSum} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static IntSum readState(DataInput in) throws IOException {
+        return new IntSum(Int128.readState(in));
+    }
 }
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 
 /**
@@ -59,6 +62,8 @@ public final class IntSumOfSquares implements IntStatistic, StatisticAccumulator
     /** Small array sample size.
      * Used to avoid computing with UInt96 then converting to UInt128. */
     private static final int SMALL_SAMPLE = 10;
+    /** Mask for the lower 32-bits of a long. */
+    private static final long MASK32 = 0xffff_ffffL;
 
     /** Sum of the squared values. */
     private final UInt128 sumSq;
@@ -97,30 +102,72 @@ public final class IntSumOfSquares implements IntStatistic, StatisticAccumulator
      * @return {@code IntSumOfSquares} instance.
      */
     public static IntSumOfSquares of(int... values) {
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntSumOfSquares} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntSumOfSquares of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntSumOfSquares} instance.
+     */
+    private static IntSumOfSquares create(int[] values, int from, int to) {
+        final int n = to - from;
         // Small arrays can be processed using the object
-        if (values.length < SMALL_SAMPLE) {
+        if (n < SMALL_SAMPLE) {
             final IntSumOfSquares stat = new IntSumOfSquares();
-            for (final int x : values) {
-                stat.accept(x);
+            for (int i = from; i < to; i++) {
+                stat.accept(values[i]);
             }
             return stat;
         }
 
         // Arrays can be processed using specialised counts knowing the maximum limit
         // for an array is 2^31 values.
-        final UInt96 ss = UInt96.create();
-        // Process pairs as we know two maximum value int^2 will not overflow
-        // an unsigned long.
-        final int end = values.length & ~0x1;
-        for (int i = 0; i < end; i += 2) {
-            final long x = values[i];
-            final long y = values[i + 1];
-            ss.addPositive(x * x + y * y);
+        // Split each square x^2 < 2^62 into the upper and lower 32-bits and sum
+        // the parts using independent accumulators. This avoids the carry
+        // propagation of the UInt96 in the loop.
+        // Sum of lower parts:  n * (2^32 - 1) < 2^63
+        // Sum of higher parts: n * 2^30 < 2^61
+        long lo0 = 0;
+        long lo1 = 0;
+        long hi0 = 0;
+        long hi1 = 0;
+        final int end = from + (n & ~0x1);
+        for (int i = from; i < end; i += 2) {
+            final long x = (long) values[i] * values[i];
+            final long y = (long) values[i + 1] * values[i + 1];
+            lo0 += x & MASK32;
+            lo1 += y & MASK32;
+            hi0 += x >>> Integer.SIZE;
+            hi1 += y >>> Integer.SIZE;
         }
-        if (end < values.length) {
-            final long x = values[end];
-            ss.addPositive(x * x);
+        if (end < to) {
+            final long x = (long) values[end] * values[end];
+            lo0 += x & MASK32;
+            hi0 += x >>> Integer.SIZE;
         }
+        // Combine: value = hi * 2^32 + lo
+        final long lo = lo0 + lo1;
+        final UInt96 ss = new UInt96(hi0 + hi1 + (lo >>> Integer.SIZE), (int) lo);
 
         // Convert
         return new IntSumOfSquares(UInt128.of(ss));
@@ -214,4 +261,34 @@ public final class IntSumOfSquares implements IntStatistic, StatisticAccumulator
         sumSq.add(other.sumSq);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        sumSq.reset();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sumSq.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code IntSumOfSquares} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static IntSumOfSquares readState(DataInput in) throws IOException {
+        return new IntSumOfSquares(UInt128.readState(in));
+    }
 }
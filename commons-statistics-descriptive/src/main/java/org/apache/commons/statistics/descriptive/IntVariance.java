@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 
 /**
@@ -95,7 +98,7 @@ public final class IntVariance implements IntStatistic, StatisticAccumulator<Int
      * @param sum Sum of the values.
      * @param n Count of values that have been added.
      */
-    private IntVariance(UInt128 sumSq, Int128 sum, int n) {
+    private IntVariance(UInt128 sumSq, Int128 sum, long n) {
         this.sumSq = sumSq;
         this.sum = sum;
         this.n = n;
@@ -119,11 +122,40 @@ public final class IntVariance implements IntStatistic, StatisticAccumulator<Int
      * @return {@code IntVariance} instance.
      */
     public static IntVariance of(int... values) {
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntVariance} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static IntVariance of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntVariance} instance.
+     */
+    private static IntVariance create(int[] values, int from, int to) {
+        final int n = to - from;
         // Small arrays can be processed using the object
-        if (values.length < SMALL_SAMPLE) {
+        if (n < SMALL_SAMPLE) {
             final IntVariance stat = new IntVariance();
-            for (final int x : values) {
-                stat.accept(x);
+            for (int i = from; i < to; i++) {
+                stat.accept(values[i]);
             }
             return stat;
         }
@@ -134,21 +166,21 @@ public final class IntVariance implements IntStatistic, StatisticAccumulator<Int
         final UInt96 ss = UInt96.create();
         // Process pairs as we know two maximum value int^2 will not overflow
         // an unsigned long.
-        final int end = values.length & ~0x1;
-        for (int i = 0; i < end; i += 2) {
+        final int end = from + (n & ~0x1);
+        for (int i = from; i < end; i += 2) {
             final long x = values[i];
             final long y = values[i + 1];
             s += x + y;
             ss.addPositive(x * x + y * y);
         }
-        if (end < values.length) {
+        if (end < to) {
             final long x = values[end];
             s += x;
             ss.addPositive(x * x);
         }
 
         // Convert
-        return new IntVariance(UInt128.of(ss), Int128.of(s), values.length);
+        return new IntVariance(UInt128.of(ss), Int128.of(s), n);
     }
 
     /**
@@ -273,6 +305,17 @@ public final class IntVariance implements IntStatistic, StatisticAccumulator<Int
         return this;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} option is not changed.
+     */
+    public void reset() {
+        sumSq.reset();
+        sum.reset();
+        n = 0;
+    }
+
     /**
      * Sets the value of the biased flag. The default value is {@code false}.
      *
@@ -297,4 +340,33 @@ public final class IntVariance implements IntStatistic, StatisticAccumulator<Int
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sumSq.writeState(out);
+        sum.writeState(out);
+        out.writeLong(n);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code IntVariance} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static IntVariance readState(DataInput in) throws IOException {
+        final UInt128 sumSq = UInt128.readState(in);
+        final Int128 sum = Int128.readState(in);
+        final long n = in.readLong();
+        return new IntVariance(sumSq, sum, n).setBiased(in.readBoolean());
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the kurtosis of the available values. The kurtosis is defined as:
  *
@@ -148,6 +152,23 @@ public final class Kurtosis implements DoubleStatistic, StatisticAccumulator<Kur
         return new Kurtosis(SumOfFourthDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code Kurtosis} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Kurtosis} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Kurtosis of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Kurtosis(SumOfFourthDeviations.of(values, from, to));
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -161,6 +182,23 @@ public final class Kurtosis implements DoubleStatistic, StatisticAccumulator<Kur
         return new Kurtosis(SumOfFourthDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code Kurtosis} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Kurtosis} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Kurtosis of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Kurtosis(SumOfFourthDeviations.of(values, from, to));
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -174,6 +212,23 @@ public final class Kurtosis implements DoubleStatistic, StatisticAccumulator<Kur
         return new Kurtosis(SumOfFourthDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code Kurtosis} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Kurtosis} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Kurtosis of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Kurtosis(SumOfFourthDeviations.of(values, from, to));
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -227,6 +282,15 @@ public final class Kurtosis implements DoubleStatistic, StatisticAccumulator<Kur
         return this;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} option is not changed.
+     */
+    public void reset() {
+        sq.reset();
+    }
+
     /**
      * Sets the value of the biased flag. The default value is {@code false}.
      * See {@link Kurtosis} for details on the computing algorithm.
@@ -242,4 +306,28 @@ public final class Kurtosis implements DoubleStatistic, StatisticAccumulator<Kur
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sq.writeState(out);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Kurtosis} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Kurtosis readState(DataInput in) throws IOException {
+        return new Kurtosis(new SumOfFourthDeviations(in)).setBiased(in.readBoolean());
+    }
 }
@@ -0,0 +1,527 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.LongConsumer;
+
+/**
+ * Computes an approximation of the quantiles of the available values using a
+ * fixed-memory histogram with log-linear buckets.
+ *
+ * <p>The range of magnitudes is divided into powers of 2; each power of 2 is divided
+ * into \( 2^b \) buckets of equal width, where \( b \) is the precision. The bucket is
+ * identified directly from the exponent and the leading \( b \) bits of the significand
+ * of the IEEE 754 representation of the value. Positive and negative values are
+ * recorded in separate buckets. A quantile is estimated using the midpoint of the
+ * bucket that contains the value of the corresponding rank; this has a relative error of
+ * at most \( 2^{-(b+1)} \) for values within the range of the histogram.
+ *
+ * <p>Values with a magnitude below the lowest value of the histogram are recorded as zero.
+ * Values with a magnitude above the highest value of the histogram (including infinite
+ * values) are recorded in an overflow bucket; a quantile in the overflow bucket is
+ * estimated using the minimum or maximum value. The minimum and maximum values are
+ * retained exactly, and estimated quantiles are clipped to this range.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}.
+ * </ul>
+ *
+ * <p>The quantile of probability {@code p} is the value of rank
+ * \( \max(1, \lceil pn \rceil) \) in the sorted values.
+ * The default quantile reported by {@link #getAsDouble()} is the median.
+ *
+ * <p>The memory requirement is fixed when the histogram is created and is
+ * proportional to \( 2^b \log_2(h / l) \) for the highest value \( h \) and lowest value \( l \).
+ *
+ * <p>This class is designed to work with (though does not require)
+ * {@linkplain java.util.stream streams}.
+ *
+ * <p><strong>This implementation is thread safe.</strong> The bucket counts are stored
+ * in an atomic array and values can be recorded concurrently from multiple threads
+ * without locking. A result computed while values are recorded concurrently
+ * is computed from the counts observed during the computation and may not
+ * include all the values recorded before the result is returned.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Tene, G. HdrHistogram: A High Dynamic Range Histogram.
+ *       <a href="http://hdrhistogram.org/">http://hdrhistogram.org/</a>
+ *   <li>Masson, C., Rim, J.E. and Lee, H.K. (2019)
+ *       DDSketch: A Fast and Fully-Mergeable Quantile Sketch with Relative-Error Guarantees.
+ *       Proceedings of the VLDB Endowment, 12, 2195-2205.
+ *       <a href="https://doi.org/10.14778/3352063.3352135">doi: 10.14778/3352063.3352135</a>
+ * </ul>
+ *
+ * @see QuantileSketch
+ * @since 1.1
+ */
+public final class LogLinearHistogram implements DoubleStatistic, LongConsumer,
+        StatisticAccumulator<LogLinearHistogram> {
+    /** Default lowest value: 2^-32. */
+    private static final double DEFAULT_LOWEST = 0x1.0p-32;
+    /** Default highest value: 2^64. This supports all {@code long} values. */
+    private static final double DEFAULT_HIGHEST = 0x1.0p64;
+    /** Default precision. The relative error is 2^-7 (0.78%). */
+    private static final int DEFAULT_PRECISION = 6;
+    /** Maximum precision. */
+    private static final int MAX_PRECISION = 20;
+    /** Number of bits in the significand of a double. */
+    private static final int SIGNIFICAND_BITS = 52;
+    /** Maximum number of buckets. */
+    private static final int MAX_BUCKETS = Integer.MAX_VALUE - 8;
+    /** The median. */
+    private static final double MEDIAN = 0.5;
+
+    /** Shift to obtain the bucket from the bits of the magnitude. */
+    private final int shift;
+    /** Bits of the lowest magnitude (a power of 2). */
+    private final long lowBits;
+    /** Bits of the magnitude above the highest bucket (a power of 2). */
+    private final long highBits;
+    /** Offset to subtract from the shifted bits of the magnitude to obtain the bucket. */
+    private final long offset;
+    /** Index of the overflow bucket in the magnitude buckets. */
+    private final int overflow;
+    /** Index of the zero bucket in the counts. Positive buckets follow; negative buckets precede. */
+    private final int zero;
+    /** Bucket counts in ascending order of value. */
+    private final AtomicLongArray counts;
+    /** Minimum value. */
+    private final DoubleAccumulator min = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+    /** Maximum value. */
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+
+    /**
+     * Create an instance.
+     *
+     * @param lowExponent Exponent of the lowest magnitude.
+     * @param highExponent Exponent of the magnitude above the highest bucket.
+     * @param precision Precision.
+     * @param size Number of magnitude buckets (including the overflow bucket).
+     */
+    private LogLinearHistogram(int lowExponent, int highExponent, int precision, int size) {
+        shift = SIGNIFICAND_BITS - precision;
+        lowBits = Double.doubleToRawLongBits(Math.scalb(1.0, lowExponent));
+        // The high bits may be infinity
+        highBits = (long) (highExponent + Double.MAX_EXPONENT) << SIGNIFICAND_BITS;
+        offset = lowBits >>> shift;
+        overflow = size - 1;
+        zero = size;
+        counts = new AtomicLongArray(2 * size + 1);
+    }
+
+    /**
+     * Creates an instance with the default configuration.
+     *
+     * <ul>
+     *   <li>Lowest value: 2<sup>-32</sup>
+     *   <li>Highest value: 2<sup>64</sup>
+     *   <li>Precision: 6 (relative error 2<sup>-7</sup>)
+     * </ul>
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code LogLinearHistogram} instance.
+     */
+    public static LogLinearHistogram create() {
+        return create(DEFAULT_LOWEST, DEFAULT_HIGHEST, DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates an instance with the specified configuration.
+     *
+     * <p>The histogram covers the magnitudes from the largest power of 2 below or equal to the
+     * {@code lowest} value, to the smallest power of 2 above the {@code highest} value. Each
+     * power of 2 is divided into 2<sup>precision</sup> buckets. The relative error of an
+     * estimated quantile is at most 2<sup>-(precision+1)</sup>.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param lowest Lowest magnitude to distinguish from zero.
+     * @param highest Highest magnitude to distinguish from the overflow bucket.
+     * @param precision Number of bits of the significand used to identify a bucket.
+     * @return {@code LogLinearHistogram} instance.
+     * @throws IllegalArgumentException if {@code lowest} is not a finite normal number;
+     * {@code highest} is not finite or is below {@code lowest}; the {@code precision} is not
+     * in the range {@code [0, 20]}; or the number of buckets is too large
+     */
+    public static LogLinearHistogram create(double lowest, double highest, int precision) {
+        // Also rejects NaN
+        if (!(lowest >= Double.MIN_NORMAL && lowest <= Double.MAX_VALUE)) {
+            throw new IllegalArgumentException("Invalid lowest value: " + lowest);
+        }
+        if (!(highest >= lowest && highest <= Double.MAX_VALUE)) {
+            throw new IllegalArgumentException("Invalid highest value: " + highest);
+        }
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid precision: " + precision);
+        }
+        final int lowExponent = Math.getExponent(lowest);
+        final int highExponent = Math.getExponent(highest) + 1;
+        final long size = ((long) (highExponent - lowExponent) << precision) + 1;
+        if (2 * size + 1 > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Too many buckets: " + (2 * size + 1));
+        }
+        return new LogLinearHistogram(lowExponent, highExponent, precision, (int) size);
+    }
+
+    /**
+     * Returns an instance with the default configuration populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code LogLinearHistogram} instance.
+     * @see #create()
+     */
+    public static LogLinearHistogram of(double... values) {
+        final LogLinearHistogram h = create();
+        for (final double x : values) {
+            h.accept(x);
+        }
+        return h;
+    }
+
+    /**
+     * Returns an instance with the default configuration populated using the
+     * specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LogLinearHistogram} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #create()
+     */
+    public static LogLinearHistogram of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        final LogLinearHistogram h = create();
+        for (int i = from; i < to; i++) {
+            h.accept(values[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Returns an instance with the default configuration populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code LogLinearHistogram} instance.
+     * @see #create()
+     */
+    public static LogLinearHistogram of(long... values) {
+        final LogLinearHistogram h = create();
+        for (final long x : values) {
+            h.accept(x);
+        }
+        return h;
+    }
+
+    /**
+     * Returns an instance with the default configuration populated using the
+     * specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LogLinearHistogram} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     * @see #create()
+     */
+    public static LogLinearHistogram of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        final LogLinearHistogram h = create();
+        for (int i = from; i < to; i++) {
+            h.accept(values[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        if (value != value) {
+            // NaN is not stored. The min records the NaN for the result.
+            min.accumulate(value);
+            return;
+        }
+        // Update the limits before the count. A concurrent result that observes
+        // the count then observes limits that include the value.
+        min.accumulate(value);
+        max.accumulate(value);
+        counts.getAndIncrement(index(value));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(long value) {
+        accept((double) value);
+    }
+
+    /**
+     * Gets the index of the bucket for the (non-NaN) {@code value}.
+     *
+     * @param value Value.
+     * @return the index
+     */
+    private int index(double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long magnitude = bits & Long.MAX_VALUE;
+        if (magnitude < lowBits) {
+            return zero;
+        }
+        final int i = magnitude >= highBits ? overflow : (int) ((magnitude >>> shift) - offset);
+        return bits < 0 ? zero - 1 - i : zero + 1 + i;
+    }
+
+    /**
+     * Gets the number of values that have been added.
+     *
+     * @return the count
+     */
+    public long getN() {
+        long n = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            n += counts.get(i);
+        }
+        return n;
+    }
+
+    /**
+     * Gets the number of values that have been recorded in the bucket that contains
+     * the {@code value}. This is the number of values that are indistinguishable from
+     * the {@code value} at the precision of the histogram.
+     *
+     * @param value Value.
+     * @return the count
+     */
+    public long getCount(double value) {
+        return value != value ? 0 : counts.get(index(value));
+    }
+
+    /**
+     * Gets the median of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the median
+     */
+    @Override
+    public double getAsDouble() {
+        return getQuantile(MEDIAN);
+    }
+
+    /**
+     * Gets the estimated quantile of all input values for the probability {@code p}.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probability for the quantile to estimate.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public double getQuantile(double p) {
+        return getQuantiles(p)[0];
+    }
+
+    /**
+     * Gets the estimated quantiles of all input values for the probabilities {@code p}.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * <p>The quantiles are computed from a single snapshot of the bucket counts.
+     *
+     * @param p Probabilities for the quantiles to estimate.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public double[] getQuantiles(double... p) {
+        for (final double pp : p) {
+            Statistics.checkProbability(pp);
+        }
+        final long[] c = new long[counts.length()];
+        long n = 0;
+        for (int i = 0; i < c.length; i++) {
+            c[i] = counts.get(i);
+            n += c[i];
+        }
+        // Read the limits after the counts. The limits are updated before the count
+        // so they include all counted values.
+        final double lo = min.get();
+        final double hi = max.get();
+        final double[] q = new double[p.length];
+        for (int i = 0; i < p.length; i++) {
+            q[i] = n == 0 || lo != lo ? Double.NaN : estimate(c, n, p[i], lo, hi);
+        }
+        return q;
+    }
+
+    /**
+     * Estimate the quantile from the bucket counts.
+     *
+     * @param c Bucket counts.
+     * @param n Total count (must be positive).
+     * @param p Probability for the quantile to estimate.
+     * @param lo Minimum value.
+     * @param hi Maximum value.
+     * @return the quantile
+     */
+    private double estimate(long[] c, long n, double p, double lo, double hi) {
+        final double rank = Math.ceil(p * n);
+        if (rank <= 1) {
+            return lo;
+        }
+        if (rank >= n) {
+            return hi;
+        }
+        long sum = 0;
+        for (int i = 0; i < c.length; i++) {
+            sum += c[i];
+            if (sum >= rank) {
+                // Note: Math.min/max propagate NaN (which is not possible for the bucket value)
+                return Math.min(hi, Math.max(lo, bucketValue(i, lo, hi)));
+            }
+        }
+        // Not possible: the cumulative count reaches n
+        return hi;
+    }
+
+    /**
+     * Gets the representative value of the bucket. This is the midpoint of the bucket
+     * bounds, or the minimum or maximum value for the overflow buckets.
+     *
+     * @param index Bucket index.
+     * @param lo Minimum value.
+     * @param hi Maximum value.
+     * @return the value
+     */
+    private double bucketValue(int index, double lo, double hi) {
+        if (index == zero) {
+            return 0;
+        }
+        final int i = index > zero ? index - zero - 1 : zero - 1 - index;
+        if (i == overflow) {
+            return index > zero ? hi : lo;
+        }
+        final double lower = Double.longBitsToDouble((i + offset) << shift);
+        // Add half the bucket width: ulp(lower) * 2^(shift - 1).
+        // This avoids overflow of the upper bound.
+        final double mid = lower + Math.ulp(lower) * (1L << (shift - 1));
+        return index > zero ? mid : -mid;
+    }
+
+    @Override
+    public LogLinearHistogram combine(LogLinearHistogram other) {
+        if (shift != other.shift || lowBits != other.lowBits || highBits != other.highBits) {
+            throw new IllegalArgumentException("Incompatible histogram configuration");
+        }
+        // Update the limits before the counts (see accept)
+        min.accumulate(other.min.get());
+        max.accumulate(other.max.get());
+        for (int i = 0; i < counts.length(); i++) {
+            final long c = other.counts.get(i);
+            if (c != 0) {
+                counts.getAndAdd(i, c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The bucket configuration is not changed.
+     *
+     * <p>This method is not atomic. It should only be used when there are no concurrent
+     * updates; values recorded concurrently with the reset may be partially included.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        min.reset();
+        max.reset();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        // Configuration
+        out.writeInt(Math.getExponent(Double.longBitsToDouble(lowBits)));
+        out.writeInt((int) (highBits >>> SIGNIFICAND_BITS) - Double.MAX_EXPONENT);
+        out.writeInt(SIGNIFICAND_BITS - shift);
+        out.writeDouble(min.get());
+        out.writeDouble(max.get());
+        // Sparse bucket counts
+        final long[] c = new long[counts.length()];
+        int size = 0;
+        for (int i = 0; i < c.length; i++) {
+            c[i] = counts.get(i);
+            if (c[i] != 0) {
+                size++;
+            }
+        }
+        out.writeInt(size);
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(c[i]);
+            }
+        }
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code LogLinearHistogram} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static LogLinearHistogram readState(DataInput in) throws IOException {
+        final int lowExponent = in.readInt();
+        final int highExponent = in.readInt();
+        final int precision = in.readInt();
+        final LogLinearHistogram h = create(Math.scalb(1.0, lowExponent),
+            Math.scalb(1.0, highExponent - 1), precision);
+        h.min.accumulate(in.readDouble());
+        h.max.accumulate(in.readDouble());
+        final int length = h.counts.length();
+        final int size = StatisticStates.checkSize(in.readInt(), length);
+        for (int i = 0; i < size; i++) {
+            h.counts.set(StatisticStates.checkIndex(in.readInt(), length), in.readLong());
+        }
+        return h;
+    }
+}
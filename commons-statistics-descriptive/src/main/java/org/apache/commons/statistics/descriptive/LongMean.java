@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the arithmetic mean of the available values. Uses the following definition
  * of the <em>sample mean</em>:
@@ -72,7 +76,7 @@ public final class LongMean implements LongStatistic, StatisticAccumulator<LongM
      * @param sum Sum of the values.
      * @param n Count of values that have been added.
      */
-    private LongMean(Int128 sum, int n) {
+    private LongMean(Int128 sum, long n) {
         this.sum = sum;
         this.n = n;
     }
@@ -95,11 +99,40 @@ public final class LongMean implements LongStatistic, StatisticAccumulator<LongM
      * @return {@code IntMean} instance.
      */
     public static LongMean of(long... values) {
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code IntMean} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static LongMean of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LongMean} instance.
+     */
+    private static LongMean create(long[] values, int from, int to) {
+        final int n = to - from;
         final Int128 s = Int128.create();
-        for (final long x : values) {
-            s.add(x);
+        for (int i = from; i < to; i++) {
+            s.add(values[i]);
         }
-        return new LongMean(s, values.length);
+        return new LongMean(s, n);
     }
 
     /**
@@ -151,4 +184,37 @@ public final class LongMean implements LongStatistic, StatisticAccumulator<LongM
         n += other.n;
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        sum.reset();
+        n = 0;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sum.writeState(out);
+        out.writeLong(n);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code LongMean} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static LongMean readState(DataInput in) throws IOException {
+        final Int128 sum = Int128.readState(in);
+        return new LongMean(sum, in.readLong());
+    }
 }
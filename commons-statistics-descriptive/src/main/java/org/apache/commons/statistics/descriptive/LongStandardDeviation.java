@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the standard deviation of the available values. The default implementation uses the
  * following definition of the <em>sample standard deviation</em>:
@@ -93,7 +97,7 @@ public final class LongStandardDeviation implements LongStatistic, StatisticAccu
      * @param sum Sum of the values.
      * @param n Count of values that have been added.
      */
-    private LongStandardDeviation(UInt192 sumSq, Int128 sum, int n) {
+    private LongStandardDeviation(UInt192 sumSq, Int128 sum, long n) {
         this.sumSq = sumSq;
         this.sum = sum;
         this.n = n;
@@ -117,16 +121,46 @@ public final class LongStandardDeviation implements LongStatistic, StatisticAccu
      * @return {@code LongStandardDeviation} instance.
      */
     public static LongStandardDeviation of(long... values) {
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LongStandardDeviation} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static LongStandardDeviation of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LongStandardDeviation} instance.
+     */
+    private static LongStandardDeviation create(long[] values, int from, int to) {
+        final int n = to - from;
         // Note: Arrays could be processed using specialised counts knowing the maximum limit
         // for an array is 2^31 values. Requires a UInt160.
 
         final Int128 s = Int128.create();
         final UInt192 ss = UInt192.create();
-        for (final long x : values) {
+        for (int i = from; i < to; i++) {
+            final long x = values[i];
             s.add(x);
             ss.addSquare(x);
         }
-        return new LongStandardDeviation(ss, s, values.length);
+        return new LongStandardDeviation(ss, s, n);
     }
 
     /**
@@ -161,6 +195,17 @@ public final class LongStandardDeviation implements LongStatistic, StatisticAccu
         return this;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} option is not changed.
+     */
+    public void reset() {
+        sumSq.reset();
+        sum.reset();
+        n = 0;
+    }
+
     /**
      * Sets the value of the biased flag. The default value is {@code false}. The bias
      * term refers to the computation of the variance; the standard deviation is returned
@@ -180,4 +225,33 @@ public final class LongStandardDeviation implements LongStatistic, StatisticAccu
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sumSq.writeState(out);
+        sum.writeState(out);
+        out.writeLong(n);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code LongStandardDeviation} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static LongStandardDeviation readState(DataInput in) throws IOException {
+        final UInt192 sumSq = UInt192.readState(in);
+        final Int128 sum = Int128.readState(in);
+        final long n = in.readLong();
+        return new LongStandardDeviation(sumSq, sum, n).setBiased(in.readBoolean());
+    }
 }
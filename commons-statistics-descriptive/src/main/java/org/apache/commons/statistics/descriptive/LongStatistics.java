@@ -16,11 +16,15 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.LongBuffer;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.DoubleConsumer;
-import java.util.function.Function;
 import java.util.function.LongConsumer;
 
 /**
@@ -59,6 +63,10 @@ public final class LongStatistics implements LongConsumer {
     private final LongSumOfSquares sumOfSquares;
     /** The {@link SumOfLogs} implementation. */
     private final SumOfLogs sumOfLogs;
+    /** The {@link QuantileSketch} implementation. */
+    private final QuantileSketch quantiles;
+    /** The {@link DistinctCount} implementation. */
+    private final DistinctCount distinct;
     /** Configuration options for computation of statistics. */
     private StatisticsConfiguration config;
 
@@ -70,19 +78,23 @@ public final class LongStatistics implements LongConsumer {
         private static final long[] NO_VALUES = {};
 
         /** The {@link LongMin} constructor. */
-        private Function<long[], LongMin> min;
+        private RangeFunction<long[], LongMin> min;
         /** The {@link LongMax} constructor. */
-        private Function<long[], LongMax> max;
+        private RangeFunction<long[], LongMax> max;
         /** The moment constructor. May return any instance of {@link FirstMoment}. */
-        private Function<long[], FirstMoment> moment;
+        private RangeFunction<long[], FirstMoment> moment;
         /** The {@link LongSum} constructor. */
-        private Function<long[], LongSum> sum;
+        private RangeFunction<long[], LongSum> sum;
         /** The {@link Product} constructor. */
-        private Function<long[], Product> product;
+        private RangeFunction<long[], Product> product;
         /** The {@link LongSumOfSquares} constructor. */
-        private Function<long[], LongSumOfSquares> sumOfSquares;
+        private RangeFunction<long[], LongSumOfSquares> sumOfSquares;
         /** The {@link SumOfLogs} constructor. */
-        private Function<long[], SumOfLogs> sumOfLogs;
+        private RangeFunction<long[], SumOfLogs> sumOfLogs;
+        /** The {@link QuantileSketch} constructor. */
+        private RangeFunction<long[], QuantileSketch> quantiles;
+        /** The {@link DistinctCount} constructor. */
+        private RangeFunction<long[], DistinctCount> distinct;
         /** The order of the moment. It corresponds to the power computed by the {@link FirstMoment}
          * instance constructed by {@link #moment}. This should only be increased from the default
          * of zero (corresponding to no moment computation). */
@@ -105,6 +117,9 @@ public final class LongStatistics implements LongConsumer {
          */
         Builder add(Statistic statistic) {
             switch (statistic) {
+            case DISTINCT_COUNT:
+                distinct = DistinctCount::of;
+                break;
             case GEOMETRIC_MEAN:
             case SUM_OF_LOGS:
                 sumOfLogs = SumOfLogs::of;
@@ -115,6 +130,10 @@ public final class LongStatistics implements LongConsumer {
             case MAX:
                 max = LongMax::of;
                 break;
+            case MEDIAN:
+            case QUANTILE:
+                quantiles = QuantileSketch::of;
+                break;
             case MIN:
                 min = LongMin::of;
                 break;
@@ -193,29 +212,129 @@ public final class LongStatistics implements LongConsumer {
          */
         public LongStatistics build(long... values) {
             Objects.requireNonNull(values, "values");
+            return create(values, 0, values.length);
+        }
+
+        /**
+         * Builds a {@code LongStatistics} instance using the specified range of {@code values}.
+         *
+         * <p>Note: {@code LongStatistics} computed using
+         * {@link LongStatistics#accept(long) accept} may be
+         * different from this instance.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code LongStatistics} instance.
+         * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+         */
+        public LongStatistics build(long[] values, int from, int to) {
+            Statistics.checkFromToIndex(from, to, values.length);
+            return create(values, from, to);
+        }
+
+        /**
+         * Builds a {@code LongStatistics} instance using the remaining values in the {@code buffer}
+         * (the values between the position and the limit).
+         *
+         * <p>A buffer backed by an accessible array is computed as the equivalent range of
+         * the array. Otherwise the values of the buffer, for example a direct or memory-mapped
+         * buffer, are computed in chunks and the results are
+         * {@link LongStatistics#combine(LongStatistics) combined}. The position of the buffer is not modified.
+         *
+         * <p>Note: {@code LongStatistics} computed using this method from a buffer without an
+         * accessible array may be different from the instance computed using the values
+         * in a single array due to the different order of floating-point operations. The
+         * {@link Statistic#PRODUCT product} of the chunks may be {@code NaN} when the product
+         * of the array is zero; see {@link #buildParallel(long[], ForkJoinPool)}.
+         *
+         * @param buffer Buffer.
+         * @return {@code LongStatistics} instance.
+         */
+        public LongStatistics build(LongBuffer buffer) {
+            Objects.requireNonNull(buffer, "buffer");
+            return Buffers.apply(buffer, this::create, LongStatistics::combine);
+        }
+
+        /**
+         * Builds a {@code LongStatistics} instance using the input {@code values}. The
+         * computation uses the {@link ForkJoinPool#commonPool() common pool}.
+         *
+         * <p>See {@link #buildParallel(long[], ForkJoinPool)} for details.
+         *
+         * @param values Values.
+         * @return {@code LongStatistics} instance.
+         */
+        public LongStatistics buildParallel(long[] values) {
+            return buildParallel(values, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Builds a {@code LongStatistics} instance using the input {@code values}. The
+         * computation uses the specified {@code pool}.
+         *
+         * <p>Large arrays are split into ranges that are computed in parallel and the
+         * results are {@link LongStatistics#combine(LongStatistics) combined}. Arrays below a
+         * threshold length are computed sequentially in the calling thread.
+         *
+         * <p>Note: {@code LongStatistics} computed using this method may be different from the
+         * instance computed by {@link #build(long...)} due to the different order of
+         * floating-point operations.
+         *
+         * <p>The {@link Statistic#PRODUCT product} of the values is the product of the partial
+         * products of each range. This may be {@code NaN} when the sequential result is zero:
+         * a range that contains zero has a partial product of zero, and a range where the product
+         * overflows has a partial product of infinity; their product is {@code NaN}. The sequential
+         * result is zero if a zero is encountered before the running product overflows.
+         *
+         * @param values Values.
+         * @param pool Pool used to execute parallel tasks.
+         * @return {@code LongStatistics} instance.
+         */
+        public LongStatistics buildParallel(long[] values, ForkJoinPool pool) {
+            Objects.requireNonNull(values, "values");
+            Objects.requireNonNull(pool, "pool");
+            return RangeTask.evaluate(pool, this::create, LongStatistics::combine, values, 0, values.length);
+        }
+
+        /**
+         * Builds a {@code LongStatistics} instance using the specified range of {@code values}.
+         *
+         * <p>Warning: No range checks are performed.
+         *
+         * @param values Values.
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
+         * @return {@code LongStatistics} instance.
+         */
+        private LongStatistics create(long[] values, int from, int to) {
             return new LongStatistics(
-                values.length,
-                create(min, values),
-                create(max, values),
-                create(moment, values),
-                create(sum, values),
-                create(product, values),
-                create(sumOfSquares, values),
-                create(sumOfLogs, values),
+                to - from,
+                create(min, values, from, to),
+                create(max, values, from, to),
+                create(moment, values, from, to),
+                create(sum, values, from, to),
+                create(product, values, from, to),
+                create(sumOfSquares, values, from, to),
+                create(sumOfLogs, values, from, to),
+                create(quantiles, values, from, to),
+                create(distinct, values, from, to),
                 config);
         }
 
         /**
-         * Creates the object from the {@code values}.
+         * Creates the object from the specified range of {@code values}.
          *
          * @param <T> object type
          * @param constructor Constructor.
          * @param values Values
+         * @param from Inclusive start of the range.
+         * @param to Exclusive end of the range.
          * @return the instance
          */
-        private static <T> T create(Function<long[], T> constructor, long[] values) {
+        private static <T> T create(RangeFunction<long[], T> constructor, long[] values, int from, int to) {
             if (constructor != null) {
-                return constructor.apply(values);
+                return constructor.apply(values, from, to);
             }
             return null;
         }
@@ -232,11 +351,13 @@ public final class LongStatistics implements LongConsumer {
      * @param product Product implementation.
      * @param sumOfSquares Sum of squares implementation.
      * @param sumOfLogs Sum of logs implementation.
+     * @param quantiles Quantile sketch implementation.
+     * @param distinct Distinct count implementation.
      * @param config Statistics configuration.
      */
     LongStatistics(long count, LongMin min, LongMax max, FirstMoment moment, LongSum sum,
                   Product product, LongSumOfSquares sumOfSquares, SumOfLogs sumOfLogs,
-                  StatisticsConfiguration config) {
+                  QuantileSketch quantiles, DistinctCount distinct, StatisticsConfiguration config) {
         this.count = count;
         this.min = min;
         this.max = max;
@@ -245,11 +366,13 @@ public final class LongStatistics implements LongConsumer {
         this.product = product;
         this.sumOfSquares = sumOfSquares;
         this.sumOfLogs = sumOfLogs;
+        this.quantiles = quantiles;
+        this.distinct = distinct;
         this.config = config;
         // The final consumer should never be null as the builder is created
         // with at least one statistic.
-        consumer = Statistics.compose(min, max, sum, sumOfSquares,
-                                      composeAsLong(moment, product, sumOfLogs));
+        consumer = Statistics.compose(min, max, sum, sumOfSquares, distinct,
+                                      composeAsLong(moment, product, sumOfLogs, quantiles));
     }
 
     /**
@@ -308,6 +431,47 @@ public final class LongStatistics implements LongConsumer {
         return b.build(values);
     }
 
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * populated using the specified range of {@code values}.
+     *
+     * @param statistics Statistics to compute.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the instance
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static LongStatistics of(Set<Statistic> statistics, long[] values, int from, int to) {
+        if (statistics.isEmpty()) {
+            throw new IllegalArgumentException(NO_CONFIGURED_STATISTICS);
+        }
+        final Builder b = new Builder();
+        statistics.forEach(b::add);
+        return b.build(values, from, to);
+    }
+
+    /**
+     * Returns a new instance configured to compute the specified {@code statistics}
+     * populated using the input {@code values}. Large arrays are computed in parallel
+     * using the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param statistics Statistics to compute.
+     * @param values Values.
+     * @return the instance
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     * @see Builder#buildParallel(long[], ForkJoinPool)
+     */
+    public static LongStatistics ofParallel(Set<Statistic> statistics, long... values) {
+        if (statistics.isEmpty()) {
+            throw new IllegalArgumentException(NO_CONFIGURED_STATISTICS);
+        }
+        final Builder b = new Builder();
+        statistics.forEach(b::add);
+        return b.buildParallel(values);
+    }
+
     /**
      * Returns a new builder configured to create instances to compute the specified
      * {@code statistics}.
@@ -401,6 +565,8 @@ public final class LongStatistics implements LongConsumer {
     public boolean isSupported(Statistic statistic) {
         // Check for the appropriate underlying implementation
         switch (statistic) {
+        case DISTINCT_COUNT:
+            return distinct != null;
         case GEOMETRIC_MEAN:
         case SUM_OF_LOGS:
             return sumOfLogs != null;
@@ -408,6 +574,9 @@ public final class LongStatistics implements LongConsumer {
             return moment instanceof SumOfFourthDeviations;
         case MAX:
             return max != null;
+        case MEDIAN:
+        case QUANTILE:
+            return quantiles != null;
         case MIN:
             return min != null;
         case PRODUCT:
@@ -506,6 +675,9 @@ public final class LongStatistics implements LongConsumer {
         // be updated with new values by casting the result and calling accept(long).
         StatisticResult stat = null;
         switch (statistic) {
+        case DISTINCT_COUNT:
+            stat = Statistics.getResultAsLongOrNull(distinct);
+            break;
         case GEOMETRIC_MEAN:
             stat = getGeometricMean();
             break;
@@ -518,12 +690,18 @@ public final class LongStatistics implements LongConsumer {
         case MEAN:
             stat = getMean();
             break;
+        case MEDIAN:
+            stat = getMedian();
+            break;
         case MIN:
             stat = Statistics.getResultAsLongOrNull(min);
             break;
         case PRODUCT:
             stat = Statistics.getResultAsDoubleOrNull(product);
             break;
+        case QUANTILE:
+            stat = getQuantile();
+            break;
         case SKEWNESS:
             stat = getSkewness();
             break;
@@ -591,6 +769,31 @@ public final class LongStatistics implements LongConsumer {
         return null;
     }
 
+    /**
+     * Gets the median.
+     *
+     * @return a median supplier (or null if unsupported)
+     */
+    private StatisticResult getMedian() {
+        if (quantiles != null) {
+            return () -> quantiles.getQuantile(0.5);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the quantile.
+     *
+     * @return a quantile supplier (or null if unsupported)
+     */
+    private StatisticResult getQuantile() {
+        if (quantiles != null) {
+            final double p = config.getQuantile();
+            return () -> quantiles.getQuantile(p);
+        }
+        return null;
+    }
+
     /**
      * Gets the skewness.
      *
@@ -664,6 +867,8 @@ public final class LongStatistics implements LongConsumer {
         Statistics.checkCombineCompatible(product, other.product);
         Statistics.checkCombineCompatible(sumOfSquares, other.sumOfSquares);
         Statistics.checkCombineCompatible(sumOfLogs, other.sumOfLogs);
+        Statistics.checkCombineCompatible(quantiles, other.quantiles);
+        Statistics.checkCombineCompatible(distinct, other.distinct);
         Statistics.checkCombineAssignable(moment, other.moment);
         // Combine
         count += other.count;
@@ -673,10 +878,50 @@ public final class LongStatistics implements LongConsumer {
         Statistics.combine(product, other.product);
         Statistics.combine(sumOfSquares, other.sumOfSquares);
         Statistics.combine(sumOfLogs, other.sumOfLogs);
+        Statistics.combine(quantiles, other.quantiles);
+        Statistics.combine(distinct, other.distinct);
         Statistics.combineMoment(moment, other.moment);
         return this;
     }
 
+    /**
+     * Resets the state of the statistics to the initial state with no values.
+     *
+     * <p>The configured statistics and the {@link #setConfiguration(StatisticsConfiguration)
+     * configuration} are not changed. Any previously created result supplier will return
+     * the result for the statistics after the reset.
+     */
+    public void reset() {
+        count = 0;
+        if (min != null) {
+            min.reset();
+        }
+        if (max != null) {
+            max.reset();
+        }
+        if (moment != null) {
+            moment.reset();
+        }
+        if (sum != null) {
+            sum.reset();
+        }
+        if (product != null) {
+            product.reset();
+        }
+        if (sumOfSquares != null) {
+            sumOfSquares.reset();
+        }
+        if (sumOfLogs != null) {
+            sumOfLogs.reset();
+        }
+        if (quantiles != null) {
+            quantiles.reset();
+        }
+        if (distinct != null) {
+            distinct.reset();
+        }
+    }
+
     /**
      * Sets the statistics configuration.
      *
@@ -696,4 +941,68 @@ public final class LongStatistics implements LongConsumer {
         config = Objects.requireNonNull(v);
         return this;
     }
+
+    /**
+     * Writes the state of the statistics to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeByte(StatisticStates.mask(min, max, sum, product, sumOfSquares, sumOfLogs, quantiles,
+            distinct));
+        if (min != null) {
+            min.writeState(out);
+        }
+        if (max != null) {
+            max.writeState(out);
+        }
+        if (sum != null) {
+            sum.writeState(out);
+        }
+        if (product != null) {
+            product.writeState(out);
+        }
+        if (sumOfSquares != null) {
+            sumOfSquares.writeState(out);
+        }
+        if (sumOfLogs != null) {
+            sumOfLogs.writeState(out);
+        }
+        if (quantiles != null) {
+            quantiles.writeState(out);
+        }
+        if (distinct != null) {
+            distinct.writeState(out);
+        }
+        StatisticStates.writeMoment(moment, out);
+        config.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code LongStatistics} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static LongStatistics readState(DataInput in) throws IOException {
+        final long count = in.readLong();
+        final int mask = in.readUnsignedByte();
+        final LongMin min = (mask & 0x1) != 0 ? LongMin.readState(in) : null;
+        final LongMax max = (mask & 0x2) != 0 ? LongMax.readState(in) : null;
+        final LongSum sum = (mask & 0x4) != 0 ? LongSum.readState(in) : null;
+        final Product product = (mask & 0x8) != 0 ? Product.readState(in) : null;
+        final LongSumOfSquares sumOfSquares = (mask & 0x10) != 0 ? LongSumOfSquares.readState(in) : null;
+        final SumOfLogs sumOfLogs = (mask & 0x20) != 0 ? SumOfLogs.readState(in) : null;
+        final QuantileSketch quantiles = (mask & 0x40) != 0 ? QuantileSketch.readState(in) : null;
+        final DistinctCount distinct = (mask & 0x80) != 0 ? DistinctCount.readState(in) : null;
+        final FirstMoment moment = StatisticStates.readMoment(in);
+        final StatisticsConfiguration config = StatisticsConfiguration.readState(in);
+        return new LongStatistics(count, min, max, moment, sum, product, sumOfSquares, sumOfLogs,
+            quantiles, distinct, config);
+    }
 }
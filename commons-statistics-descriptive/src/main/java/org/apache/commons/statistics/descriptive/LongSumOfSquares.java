@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 
 /**
@@ -94,9 +97,37 @@ public final class LongSumOfSquares implements LongStatistic, StatisticAccumulat
      * @return {@code LongSumOfSquares} instance.
      */
     public static LongSumOfSquares of(long... values) {
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LongSumOfSquares} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static LongSumOfSquares of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code LongSumOfSquares} instance.
+     */
+    private static LongSumOfSquares create(long[] values, int from, int to) {
         final UInt192 ss = UInt192.create();
-        for (final long x : values) {
-            ss.addSquare(x);
+        for (int i = from; i < to; i++) {
+            ss.addSquare(values[i]);
         }
         return new LongSumOfSquares(ss);
     }
@@ -189,4 +220,34 @@ public final class LongSumOfSquares implements LongStatistic, StatisticAccumulat
         sumSq.add(other.sumSq);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        sumSq.reset();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sumSq.writeState(out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code LongSumOfSquares} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static LongSumOfSquares readState(DataInput in) throws IOException {
+        return new LongSumOfSquares(UInt192.readState(in));
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Computes statistics of the values stored in a binary file using memory-mapped
+ * I/O.
+ *
+ * <p>The file is a sequence of {@code double}, {@code int} or {@code long} values with
+ * the specified {@link ByteOrder byte order} and no header. The file is mapped into
+ * memory in consecutive regions; a result is computed for each region and the results
+ * are combined. This supports files that are larger than the available heap memory and
+ * the 2<sup>31</sup> element limit of a single buffer.
+ *
+ * <p>For example:
+ *
+ * <pre>{@code
+ * DoubleStatistics stats = MappedFiles.ofDoubles(path, ByteOrder.LITTLE_ENDIAN,
+ *     DoubleStatistics.builder(Statistic.MIN, Statistic.MAX, Statistic.VARIANCE));
+ *
+ * // Any statistic that can be combined
+ * Max max = MappedFiles.reduceDoubles(path, ByteOrder.BIG_ENDIAN, b -> {
+ *     Max m = Max.create();
+ *     while (b.hasRemaining()) {
+ *         m.accept(b.get());
+ *     }
+ *     return m;
+ * }, Max::combine);
+ * }</pre>
+ *
+ * @since 1.1
+ */
+public final class MappedFiles {
+    /** Default size in bytes of a mapped region of the file (256 MiB). */
+    private static final long REGION = 1L << 28;
+
+    /** No instances. */
+    private MappedFiles() {}
+
+    /**
+     * Computes statistics of the {@code double} values in the {@code file}.
+     *
+     * <p>Each mapped region of the file is computed using {@link DoubleStatistics.Builder#build(DoubleBuffer)}
+     * and the results are {@link DoubleStatistics#combine(DoubleStatistics) combined}.
+     *
+     * @param file File.
+     * @param order Byte order of the values.
+     * @param builder Builder of the statistics.
+     * @return the statistics
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the size of the file is not a multiple of the size of a value
+     */
+    public static DoubleStatistics ofDoubles(Path file, ByteOrder order, DoubleStatistics.Builder builder)
+            throws IOException {
+        Objects.requireNonNull(builder, "builder");
+        return reduceDoubles(file, order, builder::build, DoubleStatistics::combine);
+    }
+
+    /**
+     * Computes statistics of the {@code int} values in the {@code file}.
+     *
+     * <p>Each mapped region of the file is computed using {@link IntStatistics.Builder#build(IntBuffer)}
+     * and the results are {@link IntStatistics#combine(IntStatistics) combined}.
+     *
+     * @param file File.
+     * @param order Byte order of the values.
+     * @param builder Builder of the statistics.
+     * @return the statistics
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the size of the file is not a multiple of the size of a value
+     */
+    public static IntStatistics ofInts(Path file, ByteOrder order, IntStatistics.Builder builder)
+            throws IOException {
+        Objects.requireNonNull(builder, "builder");
+        return reduceInts(file, order, builder::build, IntStatistics::combine);
+    }
+
+    /**
+     * Computes statistics of the {@code long} values in the {@code file}.
+     *
+     * <p>Each mapped region of the file is computed using {@link LongStatistics.Builder#build(LongBuffer)}
+     * and the results are {@link LongStatistics#combine(LongStatistics) combined}.
+     *
+     * @param file File.
+     * @param order Byte order of the values.
+     * @param builder Builder of the statistics.
+     * @return the statistics
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the size of the file is not a multiple of the size of a value
+     */
+    public static LongStatistics ofLongs(Path file, ByteOrder order, LongStatistics.Builder builder)
+            throws IOException {
+        Objects.requireNonNull(builder, "builder");
+        return reduceLongs(file, order, builder::build, LongStatistics::combine);
+    }
+
+    /**
+     * Computes a result for each mapped region of {@code double} values in the {@code file}
+     * and combines the results.
+     *
+     * <p>The function is invoked at least once; an empty file is passed as an empty buffer.
+     *
+     * @param <R> Type of the result.
+     * @param file File.
+     * @param order Byte order of the values.
+     * @param function Function to compute the result of the values in a buffer.
+     * @param combiner Function to combine two results.
+     * @return the result
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the size of the file is not a multiple of the size of a value
+     */
+    public static <R> R reduceDoubles(Path file, ByteOrder order,
+            Function<DoubleBuffer, R> function, BinaryOperator<R> combiner) throws IOException {
+        return reduce(file, order, Double.BYTES, b -> function.apply(b.asDoubleBuffer()), combiner, REGION);
+    }
+
+    /**
+     * Computes a result for each mapped region of {@code int} values in the {@code file}
+     * and combines the results.
+     *
+     * <p>The function is invoked at least once; an empty file is passed as an empty buffer.
+     *
+     * @param <R> Type of the result.
+     * @param file File.
+     * @param order Byte order of the values.
+     * @param function Function to compute the result of the values in a buffer.
+     * @param combiner Function to combine two results.
+     * @return the result
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the size of the file is not a multiple of the size of a value
+     */
+    public static <R> R reduceInts(Path file, ByteOrder order,
+            Function<IntBuffer, R> function, BinaryOperator<R> combiner) throws IOException {
+        return reduce(file, order, Integer.BYTES, b -> function.apply(b.asIntBuffer()), combiner, REGION);
+    }
+
+    /**
+     * Computes a result for each mapped region of {@code long} values in the {@code file}
+     * and combines the results.
+     *
+     * <p>The function is invoked at least once; an empty file is passed as an empty buffer.
+     *
+     * @param <R> Type of the result.
+     * @param file File.
+     * @param order Byte order of the values.
+     * @param function Function to compute the result of the values in a buffer.
+     * @param combiner Function to combine two results.
+     * @return the result
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the size of the file is not a multiple of the size of a value
+     */
+    public static <R> R reduceLongs(Path file, ByteOrder order,
+            Function<LongBuffer, R> function, BinaryOperator<R> combiner) throws IOException {
+        return reduce(file, order, Long.BYTES, b -> function.apply(b.asLongBuffer()), combiner, REGION);
+    }
+
+    /**
+     * Computes a result for each mapped region of the {@code file} and combines the results.
+     *
+     * <p>This method is package-private for testing.
+     *
+     * @param <R> Type of the result.
+     * @param file File.
+     * @param order Byte order of the values.
+     * @param bytes Size of a value in bytes.
+     * @param function Function to compute the result of the values in a buffer.
+     * @param combiner Function to combine two results.
+     * @param region Maximum size in bytes of a mapped region. Must be a multiple of {@code bytes}.
+     * @return the result
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the size of the file is not a multiple of the size of a value
+     */
+    static <R> R reduce(Path file, ByteOrder order, int bytes,
+            Function<ByteBuffer, R> function, BinaryOperator<R> combiner, long region) throws IOException {
+        Objects.requireNonNull(order, "order");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(combiner, "combiner");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size % bytes != 0) {
+                throw new IllegalArgumentException(
+                    "File size " + size + " is not a multiple of the value size " + bytes);
+            }
+            R result = null;
+            long position = 0;
+            do {
+                final long length = Math.min(region, size - position);
+                final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(order);
+                final R r = function.apply(buffer);
+                result = result == null ? r : combiner.apply(result, r);
+                position += length;
+            } while (position < size);
+            return result;
+        }
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Returns the maximum of the available values. Uses {@link Math#max(double, double) Math.max} as an
  * underlying function to compute the {@code maximum}.
@@ -80,7 +84,74 @@ public final class Max implements DoubleStatistic, StatisticAccumulator<Max> {
      * @return {@code Max} instance.
      */
     public static Max of(double... values) {
-        return Statistics.add(new Max(), values);
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The result is {@code NaN} if any of the values is {@code NaN}.
+     *
+     * <p>When the range is empty, the result is
+     * {@link Double#NEGATIVE_INFINITY negative infinity}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Max} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Max of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Max} instance.
+     */
+    private static Max create(double[] values, int from, int to) {
+        final Max stat = new Max();
+        stat.maximum = max(values, from, to);
+        return stat;
+    }
+
+    /**
+     * Compute the maximum of the specified range of {@code values}.
+     *
+     * <p>Uses independent accumulators for interleaved values to shorten the dependency
+     * chain of the loop. The {@link Math#max(double, double) Math.max} function is
+     * commutative and associative, including the handling of {@code NaN} and signed zeros,
+     * so the result is identical to a sequential evaluation.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the maximum
+     */
+    private static double max(double[] values, int from, int to) {
+        // Process blocks of 4 values
+        double m0 = Double.NEGATIVE_INFINITY;
+        double m1 = Double.NEGATIVE_INFINITY;
+        double m2 = Double.NEGATIVE_INFINITY;
+        double m3 = Double.NEGATIVE_INFINITY;
+        final int end = from + ((to - from) & ~0x3);
+        for (int i = from; i < end; i += 4) {
+            m0 = Math.max(m0, values[i]);
+            m1 = Math.max(m1, values[i + 1]);
+            m2 = Math.max(m2, values[i + 2]);
+            m3 = Math.max(m3, values[i + 3]);
+        }
+        for (int i = end; i < to; i++) {
+            m0 = Math.max(m0, values[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
     }
 
     /**
@@ -111,4 +182,36 @@ public final class Max implements DoubleStatistic, StatisticAccumulator<Max> {
         accept(other.getAsDouble());
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        maximum = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeDouble(maximum);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Max} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Max readState(DataInput in) throws IOException {
+        final Max s = new Max();
+        s.maximum = in.readDouble();
+        return s;
+    }
 }
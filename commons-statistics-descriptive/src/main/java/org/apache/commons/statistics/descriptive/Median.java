@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Returns the median of the available values.
+ *
+ * <p>For values of length {@code n}, let {@code k = n / 2}:
+ * <ul>
+ *   <li>The result is {@code NaN} if {@code n = 0}.
+ *   <li>The result is {@code values[k]} if {@code n} is odd.
+ *   <li>The result is {@code (values[k - 1] + values[k]) / 2} if {@code n} is even.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}.
+ * </ul>
+ *
+ * <p>The {@code values} above refer to the values in sorted order.
+ *
+ * <p>The median is computed using a partial sort of the values. The values are
+ * rearranged using an introselect algorithm until the middle value is in its sorted
+ * position; this has an average runtime of {@code O(n)}.
+ *
+ * <p>By default the computation is performed on a copy of the values. The computation
+ * can be performed in-place (which will modify the order of the input values) using
+ * {@link #withCopy(boolean) withCopy(false)}.
+ *
+ * <p>This class is immutable and thread safe.
+ *
+ * @see Quantile
+ * @since 1.1
+ */
+public final class Median {
+    /** Default instance. */
+    private static final Median DEFAULT = new Median(true);
+
+    /** Flag to indicate if the data should be copied. */
+    private final boolean copy;
+
+    /**
+     * @param copy Flag to indicate if the data should be copied.
+     */
+    private Median(boolean copy) {
+        this.copy = copy;
+    }
+
+    /**
+     * Return an instance with the default options.
+     *
+     * <ul>
+     *   <li>{@linkplain #withCopy(boolean) Copy = true}
+     * </ul>
+     *
+     * @return the median implementation
+     * @see #withCopy(boolean)
+     */
+    public static Median withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the median; otherwise
+     * the computation uses a copy of the data.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public Median withCopy(boolean v) {
+        return new Median(v);
+    }
+
+    /**
+     * Evaluate the median of the values.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @return the median
+     */
+    public double evaluate(double[] values) {
+        final int n = values.length;
+        if (n == 0 || Quantile.containsNaN(values)) {
+            return Double.NaN;
+        }
+        final double[] x = copy ? values.clone() : values;
+        final int k = n >>> 1;
+        Selection.select(x, k);
+        if ((n & 0x1) == 1) {
+            return x[k];
+        }
+        // Even length: the lower middle value is the maximum of the lower partition
+        double lower = x[0];
+        for (int i = 1; i < k; i++) {
+            lower = Math.max(lower, x[i]);
+        }
+        return Statistics.interpolate(lower, x[k], 0.5);
+    }
+}
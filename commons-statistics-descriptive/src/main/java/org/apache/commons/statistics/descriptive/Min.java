@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Returns the minimum of the available values. Uses {@link Math#min(double, double) Math.min} as an
  * underlying function to compute the {@code minimum}.
@@ -80,7 +84,74 @@ public final class Min implements DoubleStatistic, StatisticAccumulator<Min> {
      * @return {@code Min} instance.
      */
     public static Min of(double... values) {
-        return Statistics.add(new Min(), values);
+        return create(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The result is {@code NaN} if any of the values is {@code NaN}.
+     *
+     * <p>When the range is empty, the result is
+     * {@link Double#POSITIVE_INFINITY positive infinity}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Min} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Min of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return create(values, from, to);
+    }
+
+    /**
+     * Create an instance using the specified range of {@code values}.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Min} instance.
+     */
+    private static Min create(double[] values, int from, int to) {
+        final Min stat = new Min();
+        stat.minimum = min(values, from, to);
+        return stat;
+    }
+
+    /**
+     * Compute the minimum of the specified range of {@code values}.
+     *
+     * <p>Uses independent accumulators for interleaved values to shorten the dependency
+     * chain of the loop. The {@link Math#min(double, double) Math.min} function is
+     * commutative and associative, including the handling of {@code NaN} and signed zeros,
+     * so the result is identical to a sequential evaluation.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the minimum
+     */
+    private static double min(double[] values, int from, int to) {
+        // Process blocks of 4 values
+        double m0 = Double.POSITIVE_INFINITY;
+        double m1 = Double.POSITIVE_INFINITY;
+        double m2 = Double.POSITIVE_INFINITY;
+        double m3 = Double.POSITIVE_INFINITY;
+        final int end = from + ((to - from) & ~0x3);
+        for (int i = from; i < end; i += 4) {
+            m0 = Math.min(m0, values[i]);
+            m1 = Math.min(m1, values[i + 1]);
+            m2 = Math.min(m2, values[i + 2]);
+            m3 = Math.min(m3, values[i + 3]);
+        }
+        for (int i = end; i < to; i++) {
+            m0 = Math.min(m0, values[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
     }
 
     /**
@@ -111,4 +182,36 @@ public final class Min implements DoubleStatistic, StatisticAccumulator<Min> {
         accept(other.getAsDouble());
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        minimum = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeDouble(minimum);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Min} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Min readState(DataInput in) throws IOException {
+        final Min s = new Min();
+        s.minimum = in.readDouble();
+        return s;
+    }
 }
@@ -0,0 +1,472 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * Computes the mean vector and covariance matrix of multivariate values. The default
+ * implementation uses the following definition of the <em>sample covariance</em>:
+ *
+ * <p>\[ C_{jk} = \tfrac{1}{n-1} \sum_{i=1}^n (x_{ij}-\overline{x}_j)(x_{ik}-\overline{x}_k) \]
+ *
+ * <p>where \( \overline{x}_j \) is the sample mean of the variable {@code j}, and
+ * \( n \) is the number of observations (rows).
+ *
+ * <ul>
+ *   <li>The results are {@code NaN} if no values are added.
+ *   <li>The mean and covariance of a variable that contains a {@code NaN} or infinite
+ *       value are not finite.
+ *   <li>The covariance is zero if there is one observation.
+ * </ul>
+ *
+ * <p>The {@link #setBiased(boolean) biased} option changes the normalisation factor
+ * to \( \frac{1}{n} \). See {@link Variance} for details.
+ *
+ * <p>The state is stored in flat primitive arrays. Rows are copied to a buffer and
+ * added to the state in blocks. For each block the mean is computed and the sum of
+ * products of the deviations from the block mean is added to the state using a
+ * symmetric rank-k update; the block is combined with the existing state using the
+ * pairwise updating formula of Chan <i>et al</i> (1983). The rank-k update traverses the
+ * upper triangle of the matrix in square tiles to limit the memory traffic for a
+ * large number of variables.
+ *
+ * <p>Pending rows in the buffer are added to the state when a result is computed, or
+ * before a {@link #combine(MultivariateCovariance) combine} operation.
+ *
+ * <p>The memory requirement is {@code O(d^2)} where {@code d} is the number of variables.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, it must be
+ * synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double[]) accept}
+ * and {@link #combine(MultivariateCovariance) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a>
+ *   <li>Schubert and Gertz (2018)
+ *       Numerically stable parallel computation of (co-)variance.
+ *       Proceedings of the 30th International Conference on Scientific and Statistical
+ *       Database Management, 1-12.
+ *       <a href="https://doi.org/10.1145/3221269.3223036">doi: 10.1145/3221269.3223036</a>
+ * </ul>
+ *
+ * @see Covariance
+ * @see <a href="https://en.wikipedia.org/wiki/Covariance_matrix">Covariance matrix (Wikipedia)</a>
+ * @since 1.1
+ */
+public final class MultivariateCovariance {
+    /** Tile size for the rank-k update. A tile of 64 x 64 doubles uses 32 KiB. */
+    private static final int TILE = 64;
+    /** Maximum number of rows in a block. */
+    private static final int BLOCK_ROWS = 64;
+    /** Maximum size of the block buffer. The number of rows is reduced for large dimensions. */
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    /** Number of variables. */
+    private final int d;
+    /** Mean of each variable. */
+    private final double[] mean;
+    /** Sum of the products of the deviations from the means (d x d, row-major).
+     * Only the upper triangle is computed. */
+    private final double[] sp;
+    /** Buffer of pending rows (row-major). */
+    private final double[] block;
+    /** Mean of the pending rows. */
+    private final double[] blockMean;
+    /** Maximum number of rows in the buffer. */
+    private final int blockRows;
+    /** Count of the rows in the buffer. */
+    private int pending;
+    /** Count of the rows added to the state. */
+    private long n;
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     *
+     * @param dimension Number of variables.
+     */
+    private MultivariateCovariance(int dimension) {
+        d = dimension;
+        mean = new double[d];
+        sp = new double[d * d];
+        blockRows = Math.max(1, Math.min(BLOCK_ROWS, BLOCK_SIZE / d));
+        block = new double[blockRows * d];
+        blockMean = new double[d];
+    }
+
+    /**
+     * Creates an instance for the specified number of variables.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param dimension Number of variables.
+     * @return {@code MultivariateCovariance} instance.
+     * @throws IllegalArgumentException if the {@code dimension} is not strictly positive,
+     * or the covariance matrix is too large to be stored in an array
+     */
+    public static MultivariateCovariance create(int dimension) {
+        if (dimension <= 0 || (long) dimension * dimension > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid dimension: " + dimension);
+        }
+        return new MultivariateCovariance(dimension);
+    }
+
+    /**
+     * Gets the number of variables.
+     *
+     * @return the dimension
+     */
+    public int getDimension() {
+        return d;
+    }
+
+    /**
+     * Gets the number of observations (rows) that have been added.
+     *
+     * @return the count
+     */
+    public long getN() {
+        return n + pending;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the {@code row}.
+     *
+     * @param row Values of each variable.
+     * @throws IllegalArgumentException if the length of the row is not the dimension
+     */
+    public void accept(double[] row) {
+        checkLength(row.length);
+        add(row, 0);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the {@code rows}.
+     *
+     * @param rows Rows of values of each variable.
+     * @throws IllegalArgumentException if the length of any row is not the dimension
+     */
+    public void accept(double[][] rows) {
+        // Validate before any modification
+        for (final double[] row : rows) {
+            checkLength(row.length);
+        }
+        for (final double[] row : rows) {
+            add(row, 0);
+        }
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of a block of {@code count}
+     * rows stored in row-major order in the {@code values} starting from {@code offset}.
+     * The row {@code i} is {@code values[offset + i * d]} to {@code values[offset + (i + 1) * d - 1]}
+     * where {@code d} is the dimension.
+     *
+     * @param values Values.
+     * @param offset Offset of the first row.
+     * @param count Number of rows.
+     * @throws IndexOutOfBoundsException if the block is not within the bounds of {@code values}
+     */
+    public void accept(double[] values, int offset, int count) {
+        final long end = offset + (long) count * d;
+        if (offset < 0 || count < 0 || end > values.length) {
+            throw new IndexOutOfBoundsException("Block [" + offset + ", " + end + ") out of bounds for length " +
+                values.length);
+        }
+        for (int i = 0; i < count; i++) {
+            add(values, offset + i * d);
+        }
+    }
+
+    /**
+     * Check the length of a row.
+     *
+     * @param length Length.
+     * @throws IllegalArgumentException if the length is not the dimension
+     */
+    private void checkLength(int length) {
+        if (length != d) {
+            throw new IllegalArgumentException("Invalid row length: " + length + " != " + d);
+        }
+    }
+
+    /**
+     * Copy the row starting at the {@code offset} to the block buffer. The buffer is
+     * added to the state when full.
+     *
+     * @param values Values.
+     * @param offset Offset of the row.
+     */
+    private void add(double[] values, int offset) {
+        System.arraycopy(values, offset, block, pending * d, d);
+        if (++pending == blockRows) {
+            flush();
+        }
+    }
+
+    /**
+     * Add the pending rows in the block buffer to the state.
+     */
+    private void flush() {
+        final int k = pending;
+        if (k == 0) {
+            return;
+        }
+        pending = 0;
+        computeBlockMean(k);
+        // Centre the block
+        for (int r = 0; r < k; r++) {
+            final int o = r * d;
+            for (int j = 0; j < d; j++) {
+                block[o + j] -= blockMean[j];
+            }
+        }
+        // "Updating one-pass algorithm"
+        // See: Chan et al (1983) Equation 1.5b (modified for the mean)
+        // Here the mean difference is stored in blockMean
+        final double f = ((double) n * k) / ((double) n + k);
+        final double w = (double) k / ((double) n + k);
+        for (int j = 0; j < d; j++) {
+            final double delta = blockMean[j] - mean[j];
+            blockMean[j] = delta;
+            mean[j] += delta * w;
+        }
+        rankUpdate(k, f);
+        n += k;
+    }
+
+    /**
+     * Compute the mean of each variable in the block of {@code k} rows.
+     *
+     * @param k Number of rows.
+     */
+    private void computeBlockMean(int k) {
+        // In the typical use-case a sum of values will not overflow and
+        // is faster than the rolling algorithm
+        Arrays.fill(blockMean, 0);
+        for (int r = 0; r < k; r++) {
+            final int o = r * d;
+            for (int j = 0; j < d; j++) {
+                blockMean[j] += block[o + j];
+            }
+        }
+        for (int j = 0; j < d; j++) {
+            final double m = blockMean[j] / k;
+            if (Double.isFinite(m)) {
+                blockMean[j] = m;
+            } else {
+                // Overflow: use the scaled rolling algorithm of FirstMoment
+                double m1 = 0;
+                for (int r = 0; r < k; r++) {
+                    m1 += (block[r * d + j] * 0.5 - m1) / (r + 1);
+                }
+                blockMean[j] = m1 * 2;
+            }
+        }
+    }
+
+    /**
+     * Update the sum of products with the centred block of {@code k} rows and the
+     * difference of the means using the factor {@code f}:
+     *
+     * <pre>
+     * sp += B^T B + f * delta delta^T
+     * </pre>
+     *
+     * <p>Only the upper triangle is computed. The triangle is processed in tiles so
+     * the tile of the matrix is retained in the cache for all the rows of the block.
+     *
+     * @param k Number of rows.
+     * @param f Factor for the difference of the means.
+     */
+    private void rankUpdate(int k, double f) {
+        final double[] delta = blockMean;
+        for (int ib = 0; ib < d; ib += TILE) {
+            final int iEnd = Math.min(ib + TILE, d);
+            for (int jb = ib; jb < d; jb += TILE) {
+                final int jEnd = Math.min(jb + TILE, d);
+                if (f != 0) {
+                    for (int i = ib; i < iEnd; i++) {
+                        final int ci = i * d;
+                        final double fi = f * delta[i];
+                        for (int j = Math.max(i, jb); j < jEnd; j++) {
+                            sp[ci + j] += fi * delta[j];
+                        }
+                    }
+                }
+                for (int r = 0; r < k; r++) {
+                    final int o = r * d;
+                    for (int i = ib; i < iEnd; i++) {
+                        final int ci = i * d;
+                        final double bi = block[o + i];
+                        for (int j = Math.max(i, jb); j < jEnd; j++) {
+                            sp[ci + j] += bi * block[o + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the mean of each variable.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the means
+     */
+    public double[] getMean() {
+        flush();
+        if (n == 0) {
+            return nans(d);
+        }
+        return mean.clone();
+    }
+
+    /**
+     * Gets the covariance matrix. The matrix is symmetric.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the covariance matrix
+     */
+    public double[][] getCovariance() {
+        flush();
+        final double[][] c = new double[d][];
+        if (n == 0) {
+            for (int i = 0; i < d; i++) {
+                c[i] = nans(d);
+            }
+            return c;
+        }
+        // Avoid a divide by zero
+        final double divisor = n == 1 ? 1 : (biased ? n : n - 1);
+        for (int i = 0; i < d; i++) {
+            c[i] = new double[d];
+            for (int j = i; j < d; j++) {
+                c[i][j] = sp[i * d + j] / divisor;
+            }
+            // Lower triangle
+            for (int j = 0; j < i; j++) {
+                c[i][j] = c[j][i];
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Create an array filled with {@code NaN}.
+     *
+     * @param length Length.
+     * @return the array
+     */
+    private static double[] nans(int length) {
+        final double[] x = new double[length];
+        Arrays.fill(x, Double.NaN);
+        return x;
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the dimension of the {@code other} instance is different
+     */
+    public MultivariateCovariance combine(MultivariateCovariance other) {
+        if (other.d != d) {
+            throw new IllegalArgumentException("Incompatible dimension: " + other.d + " != " + d);
+        }
+        flush();
+        other.flush();
+        final long m = other.n;
+        if (m == 0) {
+            return this;
+        }
+        if (n == 0) {
+            System.arraycopy(other.mean, 0, mean, 0, d);
+            System.arraycopy(other.sp, 0, sp, 0, sp.length);
+            n = m;
+            return this;
+        }
+        // "Updating one-pass algorithm"
+        // See: Chan et al (1983) Equation 1.5b (modified for the mean)
+        final double f = ((double) n * m) / ((double) n + m);
+        final double w = (double) m / ((double) n + m);
+        // Note: Use the block mean as working space for the difference of the means
+        final double[] delta = blockMean;
+        for (int j = 0; j < d; j++) {
+            delta[j] = other.mean[j] - mean[j];
+        }
+        // Note: Each element of the other state is read before this state is written
+        // to support combine with self
+        for (int i = 0; i < d; i++) {
+            final int ci = i * d;
+            final double fi = f * delta[i];
+            for (int j = i; j < d; j++) {
+                sp[ci + j] += other.sp[ci + j] + fi * delta[j];
+            }
+        }
+        for (int j = 0; j < d; j++) {
+            mean[j] += delta[j] * w;
+        }
+        n += m;
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The dimension and the {@link #setBiased(boolean) biased} option are not changed.
+     */
+    public void reset() {
+        Arrays.fill(mean, 0);
+        Arrays.fill(sp, 0);
+        pending = 0;
+        n = 0;
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     * See {@link Variance#setBiased(boolean)} for details.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a
+     * {@link #combine(MultivariateCovariance) combine} operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @see Variance#setBiased(boolean)
+     */
+    public MultivariateCovariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
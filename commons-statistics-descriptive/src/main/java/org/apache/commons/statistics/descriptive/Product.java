@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Returns the product of the available values.
  *
@@ -80,6 +84,25 @@ public final class Product implements DoubleStatistic, StatisticAccumulator<Prod
         return Statistics.add(new Product(), values);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The result is {@code NaN} if any of the values is {@code NaN}
+     * or the product at any point is a {@code NaN}.
+     *
+     * <p>When the range is empty, the result is one.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Product} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Product of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(new Product(), values, from, to);
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -92,6 +115,22 @@ public final class Product implements DoubleStatistic, StatisticAccumulator<Prod
         return Statistics.add(new Product(), values);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>When the range is empty, the result is one.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Product} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Product of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(new Product(), values, from, to);
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -104,6 +143,22 @@ public final class Product implements DoubleStatistic, StatisticAccumulator<Prod
         return Statistics.add(new Product(), values);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>When the range is empty, the result is one.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Product} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Product of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(new Product(), values, from, to);
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -131,4 +186,36 @@ public final class Product implements DoubleStatistic, StatisticAccumulator<Prod
         productValue *= other.productValue;
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        productValue = 1;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeDouble(productValue);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Product} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Product readState(DataInput in) throws IOException {
+        final Product s = new Product();
+        s.productValue = in.readDouble();
+        return s;
+    }
 }
@@ -0,0 +1,377 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Provides quantile computation.
+ *
+ * <p>For values of length {@code n}, the quantile of probability {@code p} is
+ * estimated from the order statistics {@code x[1], ..., x[n]} of the sample using
+ * the configured {@link EstimationMethod estimation method}.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are present.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}.
+ * </ul>
+ *
+ * <p>The quantile is computed using a partial sort of the values. The values are
+ * rearranged using an introselect algorithm until the order statistics required for
+ * the estimate are in their sorted position; this has an average runtime of
+ * {@code O(n)}. When multiple quantiles are requested the order statistics are selected
+ * together so that partitioning work is shared.
+ *
+ * <p>By default the computation is performed on a copy of the values. The computation
+ * can be performed in-place (which will modify the order of the input values) using
+ * {@link #withCopy(boolean) withCopy(false)}.
+ *
+ * <p>This class is immutable and thread safe.
+ *
+ * <p>References:
+ * <ol>
+ *   <li>Hyndman, R.J. and Fan, Y. (1996)
+ *       Sample Quantiles in Statistical Packages.
+ *       The American Statistician 50, 361-365.
+ *       <a href="https://doi.org/10.2307/2684934">doi: 10.2307/2684934</a>
+ * </ol>
+ *
+ * @see Median
+ * @see QuantileSketch
+ * @since 1.1
+ */
+public final class Quantile {
+    /** Default instance. */
+    private static final Quantile DEFAULT = new Quantile(true, EstimationMethod.HF8);
+
+    /** Flag to indicate if the data should be copied. */
+    private final boolean copy;
+    /** Estimation type used to determine the value from the order statistics. */
+    private final EstimationMethod estimationType;
+
+    /**
+     * Estimation methods for a quantile. Provides the nine quantile algorithms
+     * defined in Hyndman and Fan (1996) as {@code HF1 - HF9}.
+     *
+     * <p>Sample quantiles are defined by:
+     *
+     * <p>\[ Q(p) = (1 - \gamma) x_j + \gamma x_{j+1} \]
+     *
+     * <p>where \( \frac{j-m}{n} \leq p \le \frac{j-m+1}{n} \), \( x_j \) is the \( j \)th
+     * order statistic, \( n \) is the sample size, the value of \( \gamma \) is a function
+     * of \( j = \lfloor np+m \rfloor \) and \( g = np + m - j \), and \( m \) is a constant
+     * determined by the sample quantile type.
+     *
+     * <p>Types 1-3 are discontinuous functions of \( p \); types 4-9 are continuous
+     * functions of \( p \) using linear interpolation between order statistics.
+     *
+     * <p>For the continuous functions, the probability \( p_k \) is provided for the
+     * \( k \)-th order statistic in size \( n \). Sample quantiles are equivalently
+     * obtained to \( Q(p) \) by linear interpolation between points
+     * \( (p_k, x_k) \) and \( (p_{k+1}, x_{k+1}) \) for any \( p_k \leq p \leq p_{k+1} \).
+     */
+    public enum EstimationMethod {
+        /**
+         * Inverse of the empirical distribution function.
+         *
+         * <p>\( m = 0 \). \( \gamma = 0 \) if \( g = 0 \), and 1 otherwise.
+         */
+        HF1 {
+            @Override
+            double index(double p, int n) {
+                // Position of the order statistic (1-based): ceil(np)
+                return Math.ceil(n * p);
+            }
+        },
+        /**
+         * Similar to {@link #HF1} with averaging at discontinuities.
+         *
+         * <p>\( m = 0 \). \( \gamma = 0.5 \) if \( g = 0 \), and 1 otherwise.
+         */
+        HF2 {
+            @Override
+            double index(double p, int n) {
+                final double pos = n * p;
+                final double j = Math.floor(pos);
+                return pos == j ? j + HALF : j + 1;
+            }
+        },
+        /**
+         * The observation closest to \( np \). Ties are resolved to the nearest even order
+         * statistic.
+         *
+         * <p>\( m = -1/2 \). \( \gamma = 0 \) if \( g = 0 \) and \( j \) is even, and 1 otherwise.
+         */
+        HF3 {
+            @Override
+            double index(double p, int n) {
+                final double pos = n * p - HALF;
+                final double j = Math.floor(pos);
+                if (pos == j && ((long) j & 0x1) == 0) {
+                    return j;
+                }
+                return j + 1;
+            }
+        },
+        /**
+         * Linear interpolation of the inverse of the empirical CDF.
+         *
+         * <p>\( m = 0 \). \( p_k = \frac{k}{n} \).
+         */
+        HF4 {
+            @Override
+            double index(double p, int n) {
+                return n * p;
+            }
+        },
+        /**
+         * A piecewise linear function where the knots are the values midway through the
+         * steps of the empirical CDF. This is also known as the Hazen estimator.
+         *
+         * <p>\( m = 1/2 \). \( p_k = (k - 1/2) / n \).
+         */
+        HF5 {
+            @Override
+            double index(double p, int n) {
+                return n * p + HALF;
+            }
+        },
+        /**
+         * The mean of the order statistic distribution \( p_k = E[F(x_k)] \).
+         * This is also known as the Weibull estimator.
+         *
+         * <p>\( m = p \). \( p_k = \frac{k}{n + 1} \).
+         */
+        HF6 {
+            @Override
+            double index(double p, int n) {
+                return (n + 1) * p;
+            }
+        },
+        /**
+         * The mode of the order statistic distribution \( p_k = mode[F(x_k)] \).
+         * This is the default in R and Excel.
+         *
+         * <p>\( m = 1 - p \). \( p_k = \frac{k - 1}{n - 1} \).
+         */
+        HF7 {
+            @Override
+            double index(double p, int n) {
+                return (n - 1) * p + 1;
+            }
+        },
+        /**
+         * The median of the order statistic distribution \( p_k \approx median[F(x_k)] \).
+         * The resulting quantile estimates are approximately median-unbiased regardless
+         * of the distribution of \( x \).
+         *
+         * <p>\( m = (p + 1)/3 \). \( p_k = \frac{k - 1/3}{n + 1/3} \).
+         */
+        HF8 {
+            @Override
+            double index(double p, int n) {
+                return (n + ONE_THIRD) * p + ONE_THIRD;
+            }
+        },
+        /**
+         * The resulting quantile estimates are approximately unbiased for the expected
+         * order statistics if \( x \) is normally distributed.
+         *
+         * <p>\( m = p/4 + 3/8 \). \( p_k = \frac{k - 3/8}{n + 1/4} \).
+         */
+        HF9 {
+            @Override
+            double index(double p, int n) {
+                return (n + ONE_FOURTH) * p + THREE_EIGHTHS;
+            }
+        };
+
+        /** 0.5. */
+        private static final double HALF = 0.5;
+        /** 1/3. */
+        private static final double ONE_THIRD = 1.0 / 3;
+        /** 1/4. */
+        private static final double ONE_FOURTH = 0.25;
+        /** 3/8. */
+        private static final double THREE_EIGHTHS = 0.375;
+
+        /**
+         * Finds the real-valued position of the quantile in the order statistics
+         * {@code x[1], ..., x[n]}. The position may be outside the range {@code [1, n]};
+         * it is clipped to the range by the caller.
+         *
+         * @param p Probability for the quantile, in {@code [0, 1]}.
+         * @param n Size of the sample.
+         * @return the real-valued (1-based) position
+         */
+        abstract double index(double p, int n);
+
+        /**
+         * Finds the real-valued index of the quantile in the zero-based sorted data
+         * {@code x[0], ..., x[n-1]}. The result is in the range {@code [0, n-1]}.
+         *
+         * @param p Probability for the quantile, in {@code [0, 1]}.
+         * @param n Size of the sample.
+         * @return the real-valued index
+         */
+        final double position(double p, int n) {
+            return Math.min(Math.max(index(p, n), 1), n) - 1;
+        }
+    }
+
+    /**
+     * @param copy Flag to indicate if the data should be copied.
+     * @param estimationType Estimation type.
+     */
+    private Quantile(boolean copy, EstimationMethod estimationType) {
+        this.copy = copy;
+        this.estimationType = estimationType;
+    }
+
+    /**
+     * Return an instance with the default options.
+     *
+     * <ul>
+     *   <li>{@linkplain #withCopy(boolean) Copy = true}
+     *   <li>{@linkplain #with(EstimationMethod) Estimation method = HF8}
+     * </ul>
+     *
+     * @return the quantile implementation
+     * @see #withCopy(boolean)
+     * @see #with(EstimationMethod)
+     */
+    public static Quantile withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the quantiles; otherwise
+     * the computation uses a copy of the data.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public Quantile withCopy(boolean v) {
+        return new Quantile(v, estimationType);
+    }
+
+    /**
+     * Return an instance with the configured estimation type.
+     *
+     * @param v Value.
+     * @return an instance
+     * @throws NullPointerException if the value is null
+     */
+    public Quantile with(EstimationMethod v) {
+        return new Quantile(copy, Objects.requireNonNull(v));
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantile of the values.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param p Probability for the quantile to compute.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     * @see #evaluate(double[], double...)
+     */
+    public double evaluate(double[] values, double p) {
+        Statistics.checkProbability(p);
+        final int n = values.length;
+        if (n == 0 || containsNaN(values)) {
+            return Double.NaN;
+        }
+        final double[] x = copy ? values.clone() : values;
+        final double pos = estimationType.position(p, n);
+        final int i = (int) pos;
+        final double t = pos - i;
+        if (t == 0) {
+            Selection.select(x, i);
+            return x[i];
+        }
+        Selection.select(x, new int[] {i, i + 1});
+        return Statistics.interpolate(x[i], x[i + 1], t);
+    }
+
+    /**
+     * Evaluate the {@code p}-th quantiles of the values.
+     *
+     * <p>The order statistics required for all the quantiles are selected
+     * together, sharing partitioning of the values.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param p Probabilities for the quantiles to compute.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public double[] evaluate(double[] values, double... p) {
+        for (final double pp : p) {
+            Statistics.checkProbability(pp);
+        }
+        final int n = values.length;
+        final double[] q = new double[p.length];
+        if (n == 0 || containsNaN(values)) {
+            Arrays.fill(q, Double.NaN);
+            return q;
+        }
+        final double[] x = copy ? values.clone() : values;
+        // Collect the indices of the order statistics
+        final double[] pos = new double[p.length];
+        int[] k = new int[p.length * 2];
+        int m = 0;
+        for (int i = 0; i < p.length; i++) {
+            pos[i] = estimationType.position(p[i], n);
+            final int j = (int) pos[i];
+            k[m++] = j;
+            if (pos[i] != j) {
+                k[m++] = j + 1;
+            }
+        }
+        k = Arrays.copyOf(k, m);
+        Arrays.sort(k);
+        Selection.select(x, k);
+        for (int i = 0; i < p.length; i++) {
+            final int j = (int) pos[i];
+            final double t = pos[i] - j;
+            q[i] = t == 0 ? x[j] : Statistics.interpolate(x[j], x[j + 1], t);
+        }
+        return q;
+    }
+
+    /**
+     * Test if the values contain {@code NaN}.
+     *
+     * @param values Values.
+     * @return true if a value is {@code NaN}
+     */
+    static boolean containsNaN(double[] values) {
+        for (final double v : values) {
+            if (v != v) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,638 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Computes an approximation of the quantiles of the available values using a
+ * bounded-memory sketch.
+ *
+ * <p>The implementation is a merging t-digest. Values are collected in a buffer and
+ * periodically sorted and merged into a set of weighted centroids. The size of each
+ * centroid is limited using the scale function:
+ *
+ * <p>\[ k(q) = \frac{\delta}{2 \pi} \sin^{-1}(2q - 1) \]
+ *
+ * <p>where \( \delta \) is the compression parameter and \( q \) is the quantile
+ * of the centroid. A centroid may only span a unit interval in \( k \). This limits the
+ * centroid size near the tails of the distribution and provides high relative
+ * accuracy for extreme quantiles. The number of centroids is bounded by
+ * \( 2 \lceil \delta \rceil \) independent of the number of values.
+ *
+ * <p>A quantile is estimated by linear interpolation between the centres of adjacent
+ * centroids; the minimum and maximum values are retained exactly. When the
+ * number of values is small enough that no centroids are merged the result is
+ * identical to the Hazen estimator (type 5 of Hyndman and Fan (1996)).
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}.
+ *   <li>The result may be infinite, or {@code NaN}, if the values include infinite values.
+ * </ul>
+ *
+ * <p>The default quantile reported by {@link #getAsDouble()} is the median. This can be
+ * changed using {@link #setQuantile(double)}. Any quantile can be obtained using
+ * {@link #getQuantile(double)}.
+ *
+ * <p>Note that the sketch is merged on demand when a quantile is computed. The
+ * result is approximate and may depend on the order of input values and the
+ * interleaving of calls to {@link #accept(double) accept} and {@link #getQuantile(double)}.
+ *
+ * <p>Supports up to 2<sup>53</sup> observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p>This class is designed to work with (though does not require)
+ * {@linkplain java.util.stream streams}.
+ *
+ * <p><strong>Note that this instance is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept},
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} or
+ * {@link #getQuantile(double) getQuantile} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel instance of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Dunning, T. and Ertl, O. (2019)
+ *       Computing Extremely Accurate Quantiles Using t-Digests.
+ *       <a href="https://arxiv.org/abs/1902.04023">arXiv:1902.04023</a>
+ *   <li>Hyndman, R.J. and Fan, Y. (1996)
+ *       Sample Quantiles in Statistical Packages.
+ *       The American Statistician, 50, 361-365.
+ *       <a href="https://doi.org/10.2307/2684934">doi: 10.2307/2684934</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Quantile">Quantile (Wikipedia)</a>
+ * @since 1.1
+ */
+public final class QuantileSketch implements DoubleStatistic, StatisticAccumulator<QuantileSketch> {
+    /** Default compression. */
+    private static final double DEFAULT_COMPRESSION = 100;
+    /** Minimum compression. */
+    private static final double MIN_COMPRESSION = 10;
+    /** Maximum compression. */
+    private static final double MAX_COMPRESSION = 1e6;
+    /** Additional centroid capacity to allow for rounding in the centroid size limit. */
+    private static final int EXTRA_CENTROIDS = 10;
+    /** Ratio of the buffer capacity to the centroid capacity. */
+    private static final int BUFFER_FACTOR = 5;
+    /** The median. */
+    private static final double MEDIAN = 0.5;
+
+    /** Compression. */
+    private final double compression;
+    /** Centroid means. */
+    private final double[] mean;
+    /** Centroid weights. */
+    private final double[] weight;
+    /** Number of centroids. */
+    private int centroids;
+    /** Buffer of unmerged values. Each value has a weight of 1. */
+    private final double[] buffer;
+    /** Number of unmerged values. */
+    private int buffered;
+    /** Working storage for centroid means during a merge. */
+    private double[] workMean;
+    /** Working storage for centroid weights during a merge. */
+    private double[] workWeight;
+    /** Minimum value. */
+    private double min = Double.POSITIVE_INFINITY;
+    /** Maximum value. */
+    private double max = Double.NEGATIVE_INFINITY;
+    /** Count of (non-NaN) values. */
+    private long n;
+    /** Quantile probability reported by {@link #getAsDouble()}. */
+    private double quantile = MEDIAN;
+
+    /**
+     * Create an instance.
+     *
+     * @param compression Compression.
+     */
+    private QuantileSketch(double compression) {
+        this.compression = compression;
+        final int capacity = 2 * (int) Math.ceil(compression) + EXTRA_CENTROIDS;
+        mean = new double[capacity];
+        weight = new double[capacity];
+        buffer = new double[capacity * BUFFER_FACTOR];
+        workMean = new double[capacity + buffer.length];
+        workWeight = new double[workMean.length];
+    }
+
+    /**
+     * Creates an instance with the default compression of 100.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code QuantileSketch} instance.
+     */
+    public static QuantileSketch create() {
+        return new QuantileSketch(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an instance with the specified {@code compression}.
+     *
+     * <p>The compression controls the trade-off between memory and accuracy. The
+     * number of centroids is approximately bounded by {@code 2 * compression}.
+     * Higher values retain more centroids and increase accuracy.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param compression Compression.
+     * @return {@code QuantileSketch} instance.
+     * @throws IllegalArgumentException if the {@code compression} is not in the range
+     * {@code [10, 1e6]}.
+     */
+    public static QuantileSketch create(double compression) {
+        // Also rejects NaN
+        if (!(compression >= MIN_COMPRESSION && compression <= MAX_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression: " + compression);
+        }
+        return new QuantileSketch(compression);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code QuantileSketch} instance.
+     */
+    public static QuantileSketch of(double... values) {
+        return Statistics.add(create(), values);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code QuantileSketch} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static QuantileSketch of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(create(), values, from, to);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code QuantileSketch} instance.
+     */
+    public static QuantileSketch of(int... values) {
+        return Statistics.add(create(), values);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code QuantileSketch} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static QuantileSketch of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(create(), values, from, to);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * @param values Values.
+     * @return {@code QuantileSketch} instance.
+     */
+    public static QuantileSketch of(long... values) {
+        return Statistics.add(create(), values);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code QuantileSketch} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static QuantileSketch of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(create(), values, from, to);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        if (value != value) {
+            // NaN is not stored. The min records the NaN for the result.
+            min = Double.NaN;
+            return;
+        }
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        n++;
+        add(value);
+    }
+
+    /**
+     * Adds the value to the buffer. The buffer is merged when full.
+     *
+     * @param value Value.
+     */
+    private void add(double value) {
+        if (buffered == buffer.length) {
+            merge();
+        }
+        buffer[buffered++] = value;
+    }
+
+    /**
+     * Gets the quantile of all input values using the configured
+     * {@link #setQuantile(double) quantile}. The default is the median.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return quantile of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return getQuantile(quantile);
+    }
+
+    /**
+     * Gets the estimated quantile of all input values for the probability {@code p}.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probability for the quantile to estimate.
+     * @return the quantile
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public double getQuantile(double p) {
+        Statistics.checkProbability(p);
+        if (n == 0 || Double.isNaN(min)) {
+            return Double.NaN;
+        }
+        merge();
+        return estimate(p);
+    }
+
+    /**
+     * Gets the estimated quantiles of all input values for the probabilities {@code p}.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @param p Probabilities for the quantiles to estimate.
+     * @return the quantiles
+     * @throws IllegalArgumentException if any probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public double[] getQuantiles(double... p) {
+        for (final double pp : p) {
+            Statistics.checkProbability(pp);
+        }
+        final double[] q = new double[p.length];
+        if (n == 0 || Double.isNaN(min)) {
+            Arrays.fill(q, Double.NaN);
+        } else {
+            merge();
+            for (int i = 0; i < p.length; i++) {
+                q[i] = estimate(p[i]);
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Estimate the quantile from the merged centroids.
+     *
+     * @param p Probability for the quantile to estimate.
+     * @return the quantile
+     */
+    private double estimate(double p) {
+        // Position of the quantile in the cumulative weight.
+        // Each centroid is centred at the midpoint of its weight.
+        final double total = n;
+        final double index = p * total;
+        final double w0 = weight[0] * 0.5;
+        if (index <= w0) {
+            // Between the minimum and the first centroid
+            return Statistics.interpolate(min, mean[0], index / w0);
+        }
+        final int last = centroids - 1;
+        final double wn = weight[last] * 0.5;
+        if (index >= total - wn) {
+            // Between the last centroid and the maximum
+            return Statistics.interpolate(mean[last], max, (index - (total - wn)) / wn);
+        }
+        double lower = w0;
+        for (int i = 0; i < last; i++) {
+            final double dw = (weight[i] + weight[i + 1]) * 0.5;
+            final double upper = lower + dw;
+            if (index <= upper) {
+                return Statistics.interpolate(mean[i], mean[i + 1], (index - lower) / dw);
+            }
+            lower = upper;
+        }
+        // Rounding error in the cumulative weight
+        return mean[last];
+    }
+
+    /**
+     * Merge the buffered values into the centroids.
+     */
+    private void merge() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        // Two-way merge of the sorted centroids and sorted buffer
+        final double[] m = mean;
+        final double[] w = weight;
+        final double[] b = buffer;
+        final int size1 = centroids;
+        final int size2 = buffered;
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size1 && j < size2) {
+            if (m[i] <= b[j]) {
+                workMean[k] = m[i];
+                workWeight[k] = w[i];
+                i++;
+            } else {
+                workMean[k] = b[j];
+                workWeight[k] = 1;
+                j++;
+            }
+            k++;
+        }
+        while (i < size1) {
+            workMean[k] = m[i];
+            workWeight[k] = w[i];
+            i++;
+            k++;
+        }
+        while (j < size2) {
+            workMean[k] = b[j];
+            workWeight[k] = 1;
+            j++;
+            k++;
+        }
+        buffered = 0;
+        compress(k);
+    }
+
+    /**
+     * Merge the centroids from the {@code other} sketch into the centroids.
+     * Assumes the buffered values of this sketch have been merged.
+     *
+     * @param other Other sketch.
+     */
+    private void merge(QuantileSketch other) {
+        final int size1 = centroids;
+        final int size2 = other.centroids;
+        if (size2 == 0) {
+            return;
+        }
+        // The working storage may not be large enough for a sketch with higher compression
+        ensureWorkCapacity(size1 + size2);
+        final double[] m1 = mean;
+        final double[] w1 = weight;
+        final double[] m2 = other.mean;
+        final double[] w2 = other.weight;
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size1 && j < size2) {
+            if (m1[i] <= m2[j]) {
+                workMean[k] = m1[i];
+                workWeight[k] = w1[i];
+                i++;
+            } else {
+                workMean[k] = m2[j];
+                workWeight[k] = w2[j];
+                j++;
+            }
+            k++;
+        }
+        while (i < size1) {
+            workMean[k] = m1[i];
+            workWeight[k] = w1[i];
+            i++;
+            k++;
+        }
+        while (j < size2) {
+            workMean[k] = m2[j];
+            workWeight[k] = w2[j];
+            j++;
+            k++;
+        }
+        compress(k);
+    }
+
+    /**
+     * Ensure the working storage has the specified capacity.
+     *
+     * @param capacity Capacity.
+     */
+    private void ensureWorkCapacity(int capacity) {
+        if (workMean.length < capacity) {
+            workMean = Arrays.copyOf(workMean, capacity);
+            workWeight = Arrays.copyOf(workWeight, capacity);
+        }
+    }
+
+    /**
+     * Compress the sorted centroids in the working storage into the centroids.
+     *
+     * @param size Number of centroids in the working storage.
+     */
+    private void compress(int size) {
+        final double[] wm = workMean;
+        final double[] ww = workWeight;
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += ww[i];
+        }
+        final double[] m = mean;
+        final double[] w = weight;
+        // Weight of the completed centroids
+        double wSoFar = 0;
+        // Weight limit for the current centroid
+        double wLimit = total * qk(1);
+        int out = 0;
+        m[0] = wm[0];
+        w[0] = ww[0];
+        for (int i = 1; i < size; i++) {
+            final double proposed = w[out] + ww[i];
+            if (wSoFar + proposed <= wLimit) {
+                // Merge. Avoid inf - inf when merging equal (infinite) values.
+                if (wm[i] != m[out]) {
+                    m[out] += (wm[i] - m[out]) * ww[i] / proposed;
+                }
+                w[out] = proposed;
+            } else {
+                // New centroid
+                wSoFar += w[out];
+                wLimit = total * qk(kq(wSoFar / total) + 1);
+                out++;
+                m[out] = wm[i];
+                w[out] = ww[i];
+            }
+        }
+        centroids = out + 1;
+    }
+
+    /**
+     * Compute the scale function {@code k} for the quantile {@code q}.
+     * This is the k1 scale function offset to the range {@code [0, compression]}.
+     *
+     * @param q Quantile.
+     * @return k
+     */
+    private double kq(double q) {
+        return compression * (Math.asin(2 * Math.min(1, q) - 1) / Math.PI + MEDIAN);
+    }
+
+    /**
+     * Compute the quantile {@code q} for the scale function {@code k}.
+     * This is the inverse of {@link #kq(double)}.
+     *
+     * @param k Scale.
+     * @return q
+     */
+    private double qk(double k) {
+        if (k >= compression) {
+            return 1;
+        }
+        return (1 - Math.cos(k * Math.PI / compression)) * MEDIAN;
+    }
+
+    @Override
+    public QuantileSketch combine(QuantileSketch other) {
+        // Merge this first. This handles other == this.
+        merge();
+        for (int i = 0; i < other.buffered; i++) {
+            add(other.buffer[i]);
+        }
+        merge();
+        merge(other);
+        // Note: Math.min propagates NaN
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        n += other.n;
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The compression and the {@link #setQuantile(double) quantile} are not changed.
+     */
+    public void reset() {
+        centroids = 0;
+        buffered = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        n = 0;
+    }
+
+    /**
+     * Sets the quantile probability reported by {@link #getAsDouble()}. The default
+     * value is {@code 0.5} (the median).
+     *
+     * <p>This value only controls the final computation of the statistic. The value
+     * will not affect compatibility between instances during a
+     * {@link #combine(QuantileSketch) combine} operation.
+     *
+     * @param p Probability for the quantile.
+     * @return {@code this} instance
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public QuantileSketch setQuantile(double p) {
+        quantile = Statistics.checkProbability(p);
+        return this;
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeDouble(compression);
+        out.writeDouble(quantile);
+        out.writeLong(n);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            out.writeDouble(mean[i]);
+            out.writeDouble(weight[i]);
+        }
+        out.writeInt(buffered);
+        for (int i = 0; i < buffered; i++) {
+            out.writeDouble(buffer[i]);
+        }
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code QuantileSketch} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static QuantileSketch readState(DataInput in) throws IOException {
+        final QuantileSketch s = create(in.readDouble()).setQuantile(in.readDouble());
+        s.n = in.readLong();
+        s.min = in.readDouble();
+        s.max = in.readDouble();
+        s.centroids = StatisticStates.checkSize(in.readInt(), s.mean.length);
+        for (int i = 0; i < s.centroids; i++) {
+            s.mean[i] = in.readDouble();
+            s.weight[i] = in.readDouble();
+        }
+        s.buffered = StatisticStates.checkSize(in.readInt(), s.buffer.length);
+        for (int i = 0; i < s.buffered; i++) {
+            s.buffer[i] = in.readDouble();
+        }
+        return s;
+    }
+}
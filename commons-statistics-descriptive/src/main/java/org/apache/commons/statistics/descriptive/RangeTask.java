@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Evaluates a function on a range of an array of values by recursively splitting
+ * the range into sub-ranges that are computed in parallel and combining the results.
+ *
+ * <p>The results of adjacent sub-ranges are combined in order from left to right.
+ *
+ * @param <T> Type of the array of values.
+ * @param <R> Type of the result.
+ * @since 1.1
+ */
+final class RangeTask<T, R> extends RecursiveTask<R> {
+    /** Minimum length of a range computed by a single task.
+     * Ranges smaller than twice this length are computed sequentially. */
+    static final int THRESHOLD = 1 << 16;
+    /** Number of tasks to create per thread of the pool. This allows work stealing
+     * to balance the load if tasks complete at different rates. */
+    private static final int TASKS_PER_THREAD = 4;
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261018L;
+
+    /** Function to compute the result of a range. */
+    private final transient RangeFunction<T, R> function;
+    /** Function to combine two results. */
+    private final transient BinaryOperator<R> combiner;
+    /** Values. */
+    private final transient T values;
+    /** Inclusive start of the range. */
+    private final int from;
+    /** Exclusive end of the range. */
+    private final int to;
+    /** Maximum length of a range computed by a single task. */
+    private final int size;
+
+    /**
+     * Create an instance.
+     *
+     * @param function Function to compute the result of a range.
+     * @param combiner Function to combine two results.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param size Maximum length of a range computed by a single task.
+     */
+    private RangeTask(RangeFunction<T, R> function, BinaryOperator<R> combiner,
+                      T values, int from, int to, int size) {
+        this.function = function;
+        this.combiner = combiner;
+        this.values = values;
+        this.from = from;
+        this.to = to;
+        this.size = size;
+    }
+
+    /**
+     * Evaluate the {@code function} on the specified range of {@code values} using the
+     * {@code pool}. If the range is smaller than twice the {@link #THRESHOLD} or the pool
+     * has a parallelism of 1 the range is computed sequentially in the calling thread.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param <T> Type of the array of values.
+     * @param <R> Type of the result.
+     * @param pool Pool used to execute the tasks.
+     * @param function Function to compute the result of a range.
+     * @param combiner Function to combine two results.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the result
+     */
+    static <T, R> R evaluate(ForkJoinPool pool, RangeFunction<T, R> function, BinaryOperator<R> combiner,
+                             T values, int from, int to) {
+        return evaluate(pool, function, combiner, values, from, to, THRESHOLD);
+    }
+
+    /**
+     * Evaluate the {@code function} on the specified range of {@code values} using the
+     * {@code pool}. If the range is smaller than twice the {@code threshold} or the pool
+     * has a parallelism of 1 the range is computed sequentially in the calling thread.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * <p>This method is package-private for testing.
+     *
+     * @param <T> Type of the array of values.
+     * @param <R> Type of the result.
+     * @param pool Pool used to execute the tasks.
+     * @param function Function to compute the result of a range.
+     * @param combiner Function to combine two results.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param threshold Minimum length of a range computed by a single task.
+     * @return the result
+     */
+    static <T, R> R evaluate(ForkJoinPool pool, RangeFunction<T, R> function, BinaryOperator<R> combiner,
+                             T values, int from, int to, int threshold) {
+        final int n = to - from;
+        final int parallelism = pool.getParallelism();
+        if (n < 2L * threshold || parallelism == 1) {
+            return function.apply(values, from, to);
+        }
+        // Split into approximately equal sized ranges
+        final long tasks = (long) parallelism * TASKS_PER_THREAD;
+        final int size = (int) Math.max(threshold, (n + tasks - 1) / tasks);
+        return pool.invoke(new RangeTask<>(function, combiner, values, from, to, size));
+    }
+
+    @Override
+    protected R compute() {
+        if (to - from <= size) {
+            return function.apply(values, from, to);
+        }
+        final int mid = (from + to) >>> 1;
+        final RangeTask<T, R> left = new RangeTask<>(function, combiner, values, from, mid, size);
+        left.fork();
+        final R right = new RangeTask<>(function, combiner, values, mid, to, size).compute();
+        return combiner.apply(left.join(), right);
+    }
+}
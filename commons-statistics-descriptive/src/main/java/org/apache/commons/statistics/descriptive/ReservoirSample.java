@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.sampling.distribution.ChengBetaSampler;
+
+/**
+ * Maintains a uniform random sample of up to {@code k} values from a stream of values.
+ * Each subset of {@code k} values of the stream has the same probability of being the
+ * sample.
+ *
+ * <ul>
+ *   <li>The sample is empty if no values are added.
+ *   <li>The sample contains all the values if fewer than {@code k} values are added.
+ * </ul>
+ *
+ * <p>The sample is maintained using Algorithm L of Li (1994). When the sample is full the
+ * number of values to skip before the next value is selected is drawn from its exact
+ * distribution. The expected number of random draws for a stream of length {@code n}
+ * is {@code O(k(1 + log(n/k)))}; all other values are skipped with a single comparison.
+ *
+ * <p>The {@link #combine(ReservoirSample) combine} method creates a uniform sample of the
+ * union of the two streams. The number of values taken from each sample has a hypergeometric
+ * distribution using the counts of the values in each stream.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double) accept} or
+ * {@link #combine(ReservoirSample) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double) accept}
+ * and {@link #combine(ReservoirSample) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution. Note that each instance requires its own source
+ * of randomness.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Li, K.-H. (1994)
+ *       Reservoir-Sampling Algorithms of Time Complexity O(n(1 + log(N/n))).
+ *       ACM Transactions on Mathematical Software, 20, 481-493.
+ *       <a href="https://doi.org/10.1145/198429.198435">doi: 10.1145/198429.198435</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Reservoir_sampling">Reservoir sampling (Wikipedia)</a>
+ * @see WeightedReservoirSample
+ * @since 1.1
+ */
+public final class ReservoirSample implements DoubleConsumer {
+    /** Sample values. */
+    private final double[] sample;
+    /** Source of randomness. */
+    private final UniformRandomProvider rng;
+    /** Count of values that have been added. */
+    private long n;
+    /** Threshold of the random keys of the sample. */
+    private double w;
+    /** Count of values when the next value is selected. */
+    private long next;
+
+    /**
+     * Create an instance.
+     *
+     * @param k Number of values to sample.
+     * @param rng Source of randomness.
+     */
+    private ReservoirSample(int k, UniformRandomProvider rng) {
+        sample = new double[Statistics.checkK(k)];
+        this.rng = rng;
+    }
+
+    /**
+     * Creates an instance to sample up to {@code k} values.
+     *
+     * <p>The initial sample is empty.
+     *
+     * @param k Number of values to sample.
+     * @param rng Source of randomness.
+     * @return {@code ReservoirSample} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     */
+    public static ReservoirSample create(int k, UniformRandomProvider rng) {
+        return new ReservoirSample(k, rng);
+    }
+
+    /**
+     * Returns an instance populated using a sample of the input {@code values}.
+     *
+     * <p>The values that are not selected are skipped without processing.
+     *
+     * @param k Number of values to sample.
+     * @param rng Source of randomness.
+     * @param values Values.
+     * @return {@code ReservoirSample} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     */
+    public static ReservoirSample of(int k, UniformRandomProvider rng, double... values) {
+        return of(k, rng, values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using a sample of the specified range of {@code values}.
+     *
+     * <p>The values that are not selected are skipped without processing.
+     *
+     * @param k Number of values to sample.
+     * @param rng Source of randomness.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code ReservoirSample} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static ReservoirSample of(int k, UniformRandomProvider rng, double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        final ReservoirSample s = new ReservoirSample(k, rng);
+        final double[] x = s.sample;
+        final int size = Math.min(k, to - from);
+        System.arraycopy(values, from, x, 0, size);
+        s.n = size;
+        if (size == k) {
+            s.initialise();
+            // Jump directly to the selected values.
+            // Note: next is the 1-based count of the selected value.
+            final long length = to - from;
+            while (s.next <= length) {
+                x[rng.nextInt(k)] = values[from + (int) s.next - 1];
+                s.n = s.next;
+                s.update();
+            }
+            s.n = length;
+        }
+        return s;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        final long c = ++n;
+        final int k = sample.length;
+        if (c <= k) {
+            sample[(int) c - 1] = value;
+            if (c == k) {
+                initialise();
+            }
+        } else if (c == next) {
+            sample[rng.nextInt(k)] = value;
+            update();
+        }
+    }
+
+    /**
+     * Initialise the threshold when the sample is full.
+     * This is the maximum of {@code k} uniform random keys.
+     */
+    private void initialise() {
+        w = Math.exp(Math.log(nextOpenDouble(rng)) / sample.length);
+        skip();
+    }
+
+    /**
+     * Update the threshold after a value is selected. The new key of the selected
+     * value is below the threshold; the threshold is the maximum of {@code k} uniform
+     * random keys below the previous threshold.
+     */
+    private void update() {
+        w *= Math.exp(Math.log(nextOpenDouble(rng)) / sample.length);
+        skip();
+    }
+
+    /**
+     * Compute the count of the next selected value. The number of skipped values is
+     * geometrically distributed with probability of success {@code w}.
+     */
+    private void skip() {
+        final double s = Math.floor(Math.log(nextOpenDouble(rng)) / Math.log1p(-w));
+        // Note: Handles s = infinite or NaN (w=0)
+        next = s < Long.MAX_VALUE - n ? n + (long) s + 1 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the count of the values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the maximum number of sampled values.
+     *
+     * @return k
+     */
+    public int getK() {
+        return sample.length;
+    }
+
+    /**
+     * Gets the sample. The length is the minimum of {@code k} and the count of values.
+     * The order of the values is not specified.
+     *
+     * <p>When no values have been added, the result is an empty array.
+     *
+     * @return the sample
+     */
+    public double[] getSample() {
+        return Arrays.copyOf(sample, size());
+    }
+
+    /**
+     * Gets the size of the sample.
+     *
+     * @return the size
+     */
+    private int size() {
+        return (int) Math.min(n, sample.length);
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * <p>The result is a uniform sample of the values of both statistics. The random
+     * selection uses the source of randomness of {@code this} instance.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the number of sampled values {@code k} is different
+     */
+    public ReservoirSample combine(ReservoirSample other) {
+        final int k = sample.length;
+        if (other.getK() != k) {
+            throw new IllegalArgumentException("Incompatible k: " + other.getK() + " != " + k);
+        }
+        final long n1 = n;
+        final long n2 = other.n;
+        if (n2 == 0) {
+            return this;
+        }
+        // Copy in case other == this
+        final double[] y = other.getSample();
+        if (n1 == 0) {
+            System.arraycopy(y, 0, sample, 0, y.length);
+        } else {
+            // Number of values from each sample has a hypergeometric distribution
+            final int size = (int) Math.min(k, n1 + n2);
+            long r1 = n1;
+            long r2 = n2;
+            int a = 0;
+            for (int i = 0; i < size; i++) {
+                if (rng.nextDouble() * ((double) r1 + r2) < r1) {
+                    a++;
+                    r1--;
+                } else {
+                    r2--;
+                }
+            }
+            // Select random subsets
+            shuffle(rng, sample, size(), a);
+            shuffle(rng, y, y.length, size - a);
+            System.arraycopy(y, 0, sample, a, size - a);
+        }
+        n = n1 + n2;
+        if (n >= k) {
+            // The threshold is the k-th smallest of n uniform random keys
+            w = ChengBetaSampler.of(rng, k, (double) n - k + 1).sample();
+            skip();
+        }
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The sample size {@code k} and the source of randomness are not changed.
+     */
+    public void reset() {
+        n = 0;
+        w = 0;
+        next = 0;
+    }
+
+    /**
+     * Move a random subset of {@code m} values from the first {@code size} values of
+     * the array to the start of the array using a partial Fisher-Yates shuffle.
+     *
+     * @param rng Source of randomness.
+     * @param x Values.
+     * @param size Number of values.
+     * @param m Size of the subset.
+     */
+    private static void shuffle(UniformRandomProvider rng, double[] x, int size, int m) {
+        for (int i = 0; i < m; i++) {
+            final int j = i + rng.nextInt(size - i);
+            final double v = x[i];
+            x[i] = x[j];
+            x[j] = v;
+        }
+    }
+
+    /**
+     * Generate a random {@code double} in the open interval {@code (0, 1)}.
+     *
+     * @param rng Source of randomness.
+     * @return the value
+     */
+    static double nextOpenDouble(UniformRandomProvider rng) {
+        return ((rng.nextLong() >>> 11) + 0.5) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * A robust statistic of location or scale computed from the order statistics of
+ * univariate data.
+ *
+ * <p>{@code RobustStatistic} is an enum representing the statistics that can be computed
+ * by {@link RobustStatistics}.
+ *
+ * @since 1.1
+ */
+public enum RobustStatistic {
+    /** Median. */
+    MEDIAN,
+    /** Trimmed mean. The mean of the values after removing a fraction of the smallest
+     * and largest values. */
+    TRIMMED_MEAN,
+    /** Winsorized mean. The mean of the values after replacing a fraction of the smallest
+     * and largest values with the nearest remaining value. */
+    WINSORIZED_MEAN,
+    /** Median absolute deviation from the median. */
+    MEDIAN_ABSOLUTE_DEVIATION,
+    /** Interquartile range. The difference between the upper and lower quartiles. */
+    INTERQUARTILE_RANGE
+}
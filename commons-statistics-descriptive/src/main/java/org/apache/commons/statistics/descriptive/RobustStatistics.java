@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Computes robust statistics of location and scale from the order statistics of the
+ * available values.
+ *
+ * <p>For values of length {@code n} in sorted order {@code x[0], ..., x[n-1]}:
+ * <ul>
+ *   <li>The {@link RobustStatistic#MEDIAN median} is computed as by {@link Median}.
+ *   <li>The {@link RobustStatistic#TRIMMED_MEAN trimmed mean} is the mean of the values
+ *       {@code x[g], ..., x[n-g-1]} where {@code g = floor(n * f)} and {@code f} is the
+ *       {@link #withTrim(double) trim fraction}.
+ *   <li>The {@link RobustStatistic#WINSORIZED_MEAN winsorized mean} is the mean of the
+ *       values after replacing {@code x[0], ..., x[g-1]} with {@code x[g]} and
+ *       {@code x[n-g], ..., x[n-1]} with {@code x[n-g-1]}.
+ *   <li>The {@link RobustStatistic#MEDIAN_ABSOLUTE_DEVIATION median absolute deviation}
+ *       is the median of the absolute deviations from the median {@code |x[i] - median|}.
+ *       This is not scaled to be a consistent estimator of the standard deviation. The
+ *       result is {@code NaN} if the median is infinite.
+ *   <li>The {@link RobustStatistic#INTERQUARTILE_RANGE interquartile range} is the difference
+ *       between the 0.75 and 0.25 quantiles computed as by {@link Quantile} using the
+ *       configured {@link #with(Quantile.EstimationMethod) estimation method}.
+ *   <li>The result is {@code NaN} if no values are present.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}.
+ * </ul>
+ *
+ * <p>The statistics are computed using a partial sort of the values. The values are
+ * rearranged using an introselect algorithm until the order statistics required for
+ * the statistics are in their sorted position; this has an average runtime of
+ * {@code O(n)}. When multiple statistics are requested the order statistics are
+ * selected together so that partitioning work is shared. The median absolute deviation
+ * requires a second selection on the deviations from the median.
+ *
+ * <p>By default the computation is performed on a copy of the values. The computation
+ * can be performed in-place (which will modify the order of the input values) using
+ * {@link #withCopy(boolean) withCopy(false)}. In this case the median absolute
+ * deviation is computed using a new array for the deviations; all other statistics
+ * do not allocate memory proportional to the number of values.
+ *
+ * <p>This class is immutable and thread safe.
+ *
+ * <p>References:
+ * <ol>
+ *   <li>Wilcox, R.R. (2012)
+ *       Introduction to Robust Estimation and Hypothesis Testing. 3rd ed.
+ *       Academic Press.
+ *       <a href="https://doi.org/10.1016/C2010-0-67044-1">doi: 10.1016/C2010-0-67044-1</a>
+ * </ol>
+ *
+ * @see Median
+ * @see Quantile
+ * @see <a href="https://en.wikipedia.org/wiki/Robust_statistics">Robust statistics (Wikipedia)</a>
+ * @since 1.1
+ */
+public final class RobustStatistics {
+    /** Default trim fraction. */
+    private static final double DEFAULT_TRIM = 0.1;
+    /** Default instance. */
+    private static final RobustStatistics DEFAULT =
+        new RobustStatistics(true, Quantile.EstimationMethod.HF8, DEFAULT_TRIM);
+    /** Probability of the lower quartile. */
+    private static final double LOWER_QUARTILE = 0.25;
+    /** Probability of the upper quartile. */
+    private static final double UPPER_QUARTILE = 0.75;
+
+    /** Flag to indicate if the data should be copied. */
+    private final boolean copy;
+    /** Estimation type used to determine the quartiles. */
+    private final Quantile.EstimationMethod estimationType;
+    /** Fraction of values to trim from each end. */
+    private final double trim;
+
+    /**
+     * @param copy Flag to indicate if the data should be copied.
+     * @param estimationType Estimation type.
+     * @param trim Fraction of values to trim from each end.
+     */
+    private RobustStatistics(boolean copy, Quantile.EstimationMethod estimationType, double trim) {
+        this.copy = copy;
+        this.estimationType = estimationType;
+        this.trim = trim;
+    }
+
+    /**
+     * Return an instance with the default options.
+     *
+     * <ul>
+     *   <li>{@linkplain #withCopy(boolean) Copy = true}
+     *   <li>{@linkplain #with(Quantile.EstimationMethod) Estimation method = HF8}
+     *   <li>{@linkplain #withTrim(double) Trim = 0.1}
+     * </ul>
+     *
+     * @return the implementation
+     * @see #withCopy(boolean)
+     * @see #with(Quantile.EstimationMethod)
+     * @see #withTrim(double)
+     */
+    public static RobustStatistics withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return an instance with the configured copy behaviour. If {@code false} then
+     * the input array will be modified by the call to evaluate the statistics; otherwise
+     * the computation uses a copy of the data.
+     *
+     * <p>Note: The values of the input array are never modified; only the order of the
+     * values may change.
+     *
+     * @param v Value.
+     * @return an instance
+     */
+    public RobustStatistics withCopy(boolean v) {
+        return new RobustStatistics(v, estimationType, trim);
+    }
+
+    /**
+     * Return an instance with the configured estimation type for the quartiles of
+     * the interquartile range.
+     *
+     * @param v Value.
+     * @return an instance
+     * @throws NullPointerException if the value is null
+     */
+    public RobustStatistics with(Quantile.EstimationMethod v) {
+        return new RobustStatistics(copy, Objects.requireNonNull(v), trim);
+    }
+
+    /**
+     * Return an instance with the configured fraction of values to trim from each end
+     * of the sorted values for the trimmed and winsorized means. A fraction of
+     * zero computes the mean of all the values.
+     *
+     * @param v Value.
+     * @return an instance
+     * @throws IllegalArgumentException if the fraction is not in the range {@code [0, 0.5)}
+     */
+    public RobustStatistics withTrim(double v) {
+        if (!(v >= 0 && v < 0.5)) {
+            throw new IllegalArgumentException("Invalid trim fraction: " + v);
+        }
+        return new RobustStatistics(copy, estimationType, v);
+    }
+
+    /**
+     * Evaluate the statistic of the values.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param statistic Statistic to compute.
+     * @return the statistic
+     * @throws NullPointerException if the statistic is null
+     * @see #evaluate(double[], RobustStatistic...)
+     */
+    public double evaluate(double[] values, RobustStatistic statistic) {
+        return evaluate(values, new RobustStatistic[] {Objects.requireNonNull(statistic)})[0];
+    }
+
+    /**
+     * Evaluate the statistics of the values. The results are returned in the same
+     * order as the requested statistics.
+     *
+     * <p>The order statistics required for all the statistics are selected
+     * together, sharing partitioning of the values.
+     *
+     * <p>Note: This method may partially sort the input values if not configured to
+     * {@link #withCopy(boolean) copy} the input data.
+     *
+     * @param values Values.
+     * @param statistics Statistics to compute.
+     * @return the statistics
+     * @throws NullPointerException if any statistic is null
+     */
+    public double[] evaluate(double[] values, RobustStatistic... statistics) {
+        boolean median = false;
+        boolean means = false;
+        boolean mad = false;
+        boolean iqr = false;
+        for (final RobustStatistic s : statistics) {
+            switch (Objects.requireNonNull(s)) {
+            case INTERQUARTILE_RANGE:
+                iqr = true;
+                break;
+            case MEDIAN:
+                median = true;
+                break;
+            case MEDIAN_ABSOLUTE_DEVIATION:
+                mad = true;
+                break;
+            case TRIMMED_MEAN:
+            case WINSORIZED_MEAN:
+                means = true;
+                break;
+            default:
+                throw new IllegalStateException(String.valueOf(s));
+            }
+        }
+        final double[] r = new double[statistics.length];
+        final int n = values.length;
+        if (n == 0 || Quantile.containsNaN(values)) {
+            Arrays.fill(r, Double.NaN);
+            return r;
+        }
+        final double[] x = copy ? values.clone() : values;
+
+        // Collect the indices of the order statistics
+        final int[] k = new int[8];
+        int m = 0;
+        final int mid = n >>> 1;
+        final boolean even = (n & 0x1) == 0;
+        if (median || mad) {
+            if (even) {
+                k[m++] = mid - 1;
+            }
+            k[m++] = mid;
+        }
+        final int g = (int) (n * trim);
+        if (means && g != 0) {
+            k[m++] = g;
+            k[m++] = n - g - 1;
+        }
+        final double p1 = estimationType.position(LOWER_QUARTILE, n);
+        final double p2 = estimationType.position(UPPER_QUARTILE, n);
+        if (iqr) {
+            m = addIndices(k, m, p1);
+            m = addIndices(k, m, p2);
+        }
+        final int[] kk = Arrays.copyOf(k, m);
+        Arrays.sort(kk);
+        Selection.select(x, kk);
+
+        // Compute the statistics from the order statistics
+        final double med = even ? Statistics.interpolate(x[mid - 1], x[mid], 0.5) : x[mid];
+        double trimmed = Double.NaN;
+        double winsorized = Double.NaN;
+        if (means) {
+            final double mean = Mean.of(x, g, n - g).getAsDouble();
+            trimmed = mean;
+            // Move the mean towards the replacement values.
+            // Note: The deviations from the mean do not overflow unless the range overflows.
+            // An infinite mean is not changed by the replacement values.
+            winsorized = g == 0 || !Double.isFinite(mean) ? mean :
+                mean + ((double) g / n) * ((x[g] - mean) + (x[n - g - 1] - mean));
+        }
+        final double range = iqr ? quantile(x, p2) - quantile(x, p1) : Double.NaN;
+        // The deviations overwrite the copy of the data; this must be the last computation
+        // An infinite median has undefined deviations
+        final double deviation = mad && Double.isFinite(med) ?
+            medianAbsoluteDeviation(copy ? x : new double[n], x, med) : Double.NaN;
+
+        for (int i = 0; i < r.length; i++) {
+            switch (statistics[i]) {
+            case INTERQUARTILE_RANGE:
+                r[i] = range;
+                break;
+            case MEDIAN:
+                r[i] = med;
+                break;
+            case MEDIAN_ABSOLUTE_DEVIATION:
+                r[i] = deviation;
+                break;
+            case TRIMMED_MEAN:
+                r[i] = trimmed;
+                break;
+            default:
+                r[i] = winsorized;
+                break;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Adds the indices of the order statistics required for the real-valued position.
+     *
+     * @param k Indices.
+     * @param m Number of indices.
+     * @param pos Position.
+     * @return the number of indices
+     */
+    private static int addIndices(int[] k, int m, double pos) {
+        final int j = (int) pos;
+        int c = m;
+        k[c++] = j;
+        if (pos != j) {
+            k[c++] = j + 1;
+        }
+        return c;
+    }
+
+    /**
+     * Compute the quantile at the real-valued position from the selected order statistics.
+     *
+     * @param x Values.
+     * @param pos Position.
+     * @return the quantile
+     */
+    private static double quantile(double[] x, double pos) {
+        final int j = (int) pos;
+        final double t = pos - j;
+        return t == 0 ? x[j] : Statistics.interpolate(x[j], x[j + 1], t);
+    }
+
+    /**
+     * Compute the median of the absolute deviations from the median.
+     * The destination for the deviations may be the same as the values.
+     *
+     * @param d Destination for the deviations.
+     * @param x Values.
+     * @param median Median.
+     * @return the median absolute deviation
+     */
+    private static double medianAbsoluteDeviation(double[] d, double[] x, double median) {
+        final int n = x.length;
+        for (int i = 0; i < n; i++) {
+            d[i] = Math.abs(x[i] - median);
+        }
+        final int mid = n >>> 1;
+        if ((n & 0x1) == 1) {
+            Selection.select(d, mid);
+            return d[mid];
+        }
+        Selection.select(d, new int[] {mid - 1, mid});
+        return Statistics.interpolate(d[mid - 1], d[mid], 0.5);
+    }
+}
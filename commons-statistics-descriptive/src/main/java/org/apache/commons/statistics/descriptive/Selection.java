@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+
+/**
+ * Support class for partial sorting of {@code double[]} data using selection.
+ *
+ * <p>Selection of the k-th smallest value uses an introselect algorithm: a quickselect
+ * using a three-way partition around a pivot value. The pivot is the median of 3 values
+ * for small ranges or the pseudo-median of 9 values (Tukey's ninther) for large ranges.
+ * The three-way partition efficiently handles repeated values. If the recursion
+ * exceeds a depth limit the range is sorted; this bounds the worst case runtime to
+ * {@code O(n log n)}.
+ *
+ * <p>Selection of multiple indices shares partitioning work. Each partition step
+ * divides the sorted indices into those below, within and above the pivot range;
+ * the algorithm then continues in each side that contains indices.
+ *
+ * <p>Data must not contain {@code NaN}. Signed zeros are treated as equal.
+ *
+ * <p>References:
+ * <ol>
+ *   <li>Musser, D.R. (1997)
+ *       Introspective Sorting and Selection Algorithms.
+ *       Software: Practice and Experience 27, 983-993.
+ *   <li>Bentley, J.L. and McIlroy, M.D. (1993)
+ *       Engineering a sort function.
+ *       Software: Practice and Experience 23, 1249-1265.
+ * </ol>
+ *
+ * @since 1.1
+ */
+final class Selection {
+    /** Threshold below which a range is sorted using insertion sort. */
+    private static final int SORT_THRESHOLD = 20;
+    /** Threshold above which the pivot is chosen using the ninther. */
+    private static final int NINTHER_THRESHOLD = 40;
+
+    /** No instances. */
+    private Selection() {}
+
+    /**
+     * Partition the array such that index {@code k} contains the value of the
+     * k-th smallest value. All values before {@code k} are less than or equal to the
+     * value at {@code k}; all values after {@code k} are greater than or equal to the
+     * value at {@code k}.
+     *
+     * @param a Values.
+     * @param k Index.
+     */
+    static void select(double[] a, int k) {
+        int l = 0;
+        int r = a.length - 1;
+        int budget = depthLimit(a.length);
+        final int[] bounds = new int[2];
+        while (r - l >= SORT_THRESHOLD) {
+            if (--budget < 0) {
+                Arrays.sort(a, l, r + 1);
+                return;
+            }
+            partition(a, l, r, pivot(a, l, r), bounds);
+            if (k < bounds[0]) {
+                r = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                l = bounds[1] + 1;
+            } else {
+                // Inside the range of values equal to the pivot
+                return;
+            }
+        }
+        insertionSort(a, l, r);
+    }
+
+    /**
+     * Partition the array such that each index {@code k} contains the value of the
+     * k-th smallest value. The indices must be sorted in ascending order; duplicates
+     * are allowed.
+     *
+     * @param a Values.
+     * @param k Indices.
+     * @see #select(double[], int)
+     */
+    static void select(double[] a, int[] k) {
+        if (k.length == 1) {
+            select(a, k[0]);
+        } else if (k.length != 0) {
+            select(a, 0, a.length - 1, k, 0, k.length - 1, depthLimit(a.length), new int[2]);
+        }
+    }
+
+    /**
+     * Partition the range {@code [l, r]} of the array such that each index {@code k}
+     * in the range {@code [ka, kb]} contains the value of the k-th smallest value.
+     *
+     * @param a Values.
+     * @param l Lower bound (inclusive).
+     * @param r Upper bound (inclusive).
+     * @param k Sorted indices.
+     * @param ka Lower bound of the indices (inclusive).
+     * @param kb Upper bound of the indices (inclusive).
+     * @param budget Remaining recursion depth.
+     * @param bounds Working space for the partition bounds.
+     */
+    private static void select(double[] a, int l, int r, int[] k, int ka, int kb, int budget, int[] bounds) {
+        int lo = l;
+        int hi = r;
+        int kl = ka;
+        int kh = kb;
+        int depth = budget;
+        while (hi - lo >= SORT_THRESHOLD) {
+            if (--depth < 0) {
+                Arrays.sort(a, lo, hi + 1);
+                return;
+            }
+            partition(a, lo, hi, pivot(a, lo, hi), bounds);
+            final int lt = bounds[0];
+            final int gt = bounds[1];
+            // Split the indices: [kl, i) < lt; [i, j) in [lt, gt]; [j, kh] > gt
+            int i = kl;
+            while (i <= kh && k[i] < lt) {
+                i++;
+            }
+            int j = i;
+            while (j <= kh && k[j] <= gt) {
+                j++;
+            }
+            if (i > kl) {
+                if (j > kh) {
+                    // Only the lower range
+                    hi = lt - 1;
+                    kh = i - 1;
+                    continue;
+                }
+                // Both ranges: recurse on the lower and continue with the upper
+                select(a, lo, lt - 1, k, kl, i - 1, depth, bounds);
+            } else if (j > kh) {
+                // All indices are within the pivot range
+                return;
+            }
+            lo = gt + 1;
+            kl = j;
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Partition the range {@code [l, r]} around the pivot {@code v} into three parts:
+     * {@code [l, lt)} less than the pivot; {@code [lt, gt]} equal to the pivot;
+     * and {@code (gt, r]} greater than the pivot.
+     *
+     * <p>The bounds {@code lt} and {@code gt} are returned in the {@code bounds} array.
+     *
+     * @param a Values.
+     * @param l Lower bound (inclusive).
+     * @param r Upper bound (inclusive).
+     * @param v Pivot value.
+     * @param bounds Partition bounds.
+     */
+    private static void partition(double[] a, int l, int r, double v, int[] bounds) {
+        int lt = l;
+        int gt = r;
+        int i = l;
+        while (i <= gt) {
+            final double x = a[i];
+            if (x < v) {
+                a[i++] = a[lt];
+                a[lt++] = x;
+            } else if (x > v) {
+                a[i] = a[gt];
+                a[gt--] = x;
+            } else {
+                i++;
+            }
+        }
+        bounds[0] = lt;
+        bounds[1] = gt;
+    }
+
+    /**
+     * Choose a pivot value from the range {@code [l, r]}.
+     *
+     * @param a Values.
+     * @param l Lower bound (inclusive).
+     * @param r Upper bound (inclusive).
+     * @return the pivot value
+     */
+    private static double pivot(double[] a, int l, int r) {
+        final int n = r - l + 1;
+        final int m = (l + r) >>> 1;
+        if (n < NINTHER_THRESHOLD) {
+            return med3(a[l], a[m], a[r]);
+        }
+        final int s = n >>> 3;
+        return med3(
+            med3(a[l], a[l + s], a[l + 2 * s]),
+            med3(a[m - s], a[m], a[m + s]),
+            med3(a[r - 2 * s], a[r - s], a[r]));
+    }
+
+    /**
+     * Return the median of the three values.
+     *
+     * @param x First value.
+     * @param y Second value.
+     * @param z Third value.
+     * @return the median
+     */
+    private static double med3(double x, double y, double z) {
+        if (x < y) {
+            if (y < z) {
+                return y;
+            }
+            return x < z ? z : x;
+        }
+        if (x < z) {
+            return x;
+        }
+        return y < z ? z : y;
+    }
+
+    /**
+     * Sort the range {@code [l, r]} using insertion sort.
+     *
+     * @param a Values.
+     * @param l Lower bound (inclusive).
+     * @param r Upper bound (inclusive).
+     */
+    private static void insertionSort(double[] a, int l, int r) {
+        for (int i = l; ++i <= r;) {
+            final double v = a[i];
+            int j = i;
+            while (--j >= l && v < a[j]) {
+                a[j + 1] = a[j];
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    /**
+     * Compute the recursion depth limit for introselect: {@code 2 * floor(log2(n))}.
+     *
+     * @param n Length of the data.
+     * @return the depth limit
+     */
+    private static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the skewness of the available values. The skewness is defined as:
  *
@@ -150,6 +154,23 @@ public final class Skewness implements DoubleStatistic, StatisticAccumulator<Ske
         return new Skewness(SumOfCubedDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code Skewness} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Skewness} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Skewness of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Skewness(SumOfCubedDeviations.of(values, from, to));
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -163,6 +184,23 @@ public final class Skewness implements DoubleStatistic, StatisticAccumulator<Ske
         return new Skewness(SumOfCubedDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code Skewness} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Skewness} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Skewness of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Skewness(SumOfCubedDeviations.of(values, from, to));
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -176,6 +214,23 @@ public final class Skewness implements DoubleStatistic, StatisticAccumulator<Ske
         return new Skewness(SumOfCubedDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code Skewness} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Skewness} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Skewness of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Skewness(SumOfCubedDeviations.of(values, from, to));
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -233,6 +288,15 @@ public final class Skewness implements DoubleStatistic, StatisticAccumulator<Ske
         return this;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} option is not changed.
+     */
+    public void reset() {
+        sc.reset();
+    }
+
     /**
      * Sets the value of the biased flag. The default value is {@code false}.
      * See {@link Skewness} for details on the computing algorithm.
@@ -248,4 +312,28 @@ public final class Skewness implements DoubleStatistic, StatisticAccumulator<Ske
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        sc.writeState(out);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Skewness} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Skewness readState(DataInput in) throws IOException {
+        return new Skewness(new SumOfCubedDeviations(in)).setBiased(in.readBoolean());
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the standard deviation of the available values. The default implementations uses
  * the following definition of the <em>sample standard deviation</em>:
@@ -141,6 +145,25 @@ public final class StandardDeviation implements DoubleStatistic, StatisticAccumu
         return new StandardDeviation(SumOfSquaredDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code StandardDeviation} computed using {@link #accept(double) accept} may be
+     * different from this standard deviation.
+     *
+     * <p>See {@link StandardDeviation} for details on the computing algorithm.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code StandardDeviation} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static StandardDeviation of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new StandardDeviation(SumOfSquaredDeviations.of(values, from, to));
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -181,6 +204,15 @@ public final class StandardDeviation implements DoubleStatistic, StatisticAccumu
         return this;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} option is not changed.
+     */
+    public void reset() {
+        ss.reset();
+    }
+
     /**
      * Sets the value of the biased flag. The default value is {@code false}. The bias
      * term refers to the computation of the variance; the standard deviation is returned
@@ -199,4 +231,28 @@ public final class StandardDeviation implements DoubleStatistic, StatisticAccumu
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        ss.writeState(out);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code StandardDeviation} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static StandardDeviation readState(DataInput in) throws IOException {
+        return new StandardDeviation(new SumOfSquaredDeviations(in)).setBiased(in.readBoolean());
+    }
 }
@@ -54,5 +54,13 @@ public enum Statistic {
     /** Sum of the squared values. */
     SUM_OF_SQUARES,
     /** Geometric mean. */
-    GEOMETRIC_MEAN
+    GEOMETRIC_MEAN,
+    /** Median. */
+    MEDIAN,
+    /** Quantile. The probability of the quantile is provided by the
+     * {@link StatisticsConfiguration#getQuantile() configuration}. */
+    QUANTILE,
+    /** Number of distinct values. This is an estimate computed using a fixed-memory
+     * {@link DistinctCount sketch}. */
+    DISTINCT_COUNT
 }
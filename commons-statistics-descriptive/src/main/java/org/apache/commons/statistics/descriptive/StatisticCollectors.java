@@ -0,0 +1,827 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Implementations of {@link Collector} that compute statistics of the values
+ * extracted from the elements of a stream.
+ *
+ * <p>Each collector extracts a primitive value from the input elements using a
+ * {@link ToDoubleFunction}, {@link ToIntFunction} or {@link ToLongFunction}; the
+ * value is passed to the statistic without boxing. The result container is the
+ * statistic and the collectors have the {@link Characteristics#IDENTITY_FINISH
+ * IDENTITY_FINISH} characteristic.
+ *
+ * <p>Statistics where the result does not depend on the encounter order of the
+ * values have the {@link Characteristics#UNORDERED UNORDERED} characteristic. Note
+ * that the result of a floating-point statistic may differ in the final digits when
+ * the values are added in a different order. The exponentially weighted statistics
+ * depend on the order of values and are ordered. The thread-safe
+ * {@link LogLinearHistogram} collector is also {@link Characteristics#CONCURRENT
+ * CONCURRENT}.
+ *
+ * <p>For example:
+ *
+ * <pre>{@code
+ * List<Item> items = ...
+ * Mean mean = items.stream().collect(StatisticCollectors.mean(Item::getPrice));
+ *
+ * // Compute multiple statistics in a single pass
+ * DoubleStatistics stats = items.parallelStream()
+ *     .collect(StatisticCollectors.doubleStatistics(Item::getPrice,
+ *         Statistic.MIN, Statistic.MAX, Statistic.VARIANCE));
+ *
+ * // Primitive streams
+ * IntStatistics intStats = StatisticCollectors.collect(IntStream.of(data),
+ *     Statistic.MEAN, Statistic.VARIANCE);
+ * }</pre>
+ *
+ * @since 1.1
+ */
+public final class StatisticCollectors {
+    /** Characteristics of an unordered statistic. */
+    private static final Characteristics[] UNORDERED = {Characteristics.UNORDERED};
+    /** Characteristics of an ordered statistic. */
+    private static final Characteristics[] ORDERED = {};
+    /** Characteristics of an unordered statistic with a thread-safe accumulator. */
+    private static final Characteristics[] CONCURRENT = {Characteristics.CONCURRENT, Characteristics.UNORDERED};
+    /** Name of the mapper argument. */
+    private static final String MAPPER = "mapper";
+
+    /** No instances. */
+    private StatisticCollectors() {}
+
+    /**
+     * Returns a {@code Collector} that computes a statistic of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * <p>The collector is ordered: the results of sub-streams are combined
+     * in encounter order.
+     *
+     * @param <T> Type of the input elements.
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     */
+    public static <T, S extends DoubleStatistic & StatisticAccumulator<S>> Collector<T, S, S> doubleStatistic(
+            Supplier<S> supplier, ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(supplier, mapper, ORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes a statistic of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * <p>The collector is ordered: the results of sub-streams are combined
+     * in encounter order.
+     *
+     * @param <T> Type of the input elements.
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     */
+    public static <T, S extends IntStatistic & StatisticAccumulator<S>> Collector<T, S, S> intStatistic(
+            Supplier<S> supplier, ToIntFunction<? super T> mapper) {
+        return intStatistic(supplier, mapper, ORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes a statistic of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * <p>The collector is ordered: the results of sub-streams are combined
+     * in encounter order.
+     *
+     * @param <T> Type of the input elements.
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     */
+    public static <T, S extends LongStatistic & StatisticAccumulator<S>> Collector<T, S, S> longStatistic(
+            Supplier<S> supplier, ToLongFunction<? super T> mapper) {
+        return longStatistic(supplier, mapper, ORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the minimum of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Min
+     */
+    public static <T> Collector<T, Min, Min> min(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Min::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the maximum of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Max
+     */
+    public static <T> Collector<T, Max, Max> max(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Max::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the mean of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Mean
+     */
+    public static <T> Collector<T, Mean, Mean> mean(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Mean::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the standard deviation of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see StandardDeviation
+     */
+    public static <T> Collector<T, StandardDeviation, StandardDeviation> standardDeviation(
+            ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(StandardDeviation::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the variance of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Variance
+     */
+    public static <T> Collector<T, Variance, Variance> variance(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Variance::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the skewness of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Skewness
+     */
+    public static <T> Collector<T, Skewness, Skewness> skewness(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Skewness::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the kurtosis of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Kurtosis
+     */
+    public static <T> Collector<T, Kurtosis, Kurtosis> kurtosis(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Kurtosis::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the product of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Product
+     */
+    public static <T> Collector<T, Product, Product> product(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Product::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the sum of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see Sum
+     */
+    public static <T> Collector<T, Sum, Sum> sum(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(Sum::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the sum of the natural logarithms of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see SumOfLogs
+     */
+    public static <T> Collector<T, SumOfLogs, SumOfLogs> sumOfLogs(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(SumOfLogs::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the sum of the squares of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see SumOfSquares
+     */
+    public static <T> Collector<T, SumOfSquares, SumOfSquares> sumOfSquares(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(SumOfSquares::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the geometric mean of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see GeometricMean
+     */
+    public static <T> Collector<T, GeometricMean, GeometricMean> geometricMean(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(GeometricMean::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the approximate quantiles of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see QuantileSketch
+     */
+    public static <T> Collector<T, QuantileSketch, QuantileSketch> quantileSketch(ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(QuantileSketch::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the minimum of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see IntMin
+     */
+    public static <T> Collector<T, IntMin, IntMin> intMin(ToIntFunction<? super T> mapper) {
+        return intStatistic(IntMin::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the maximum of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see IntMax
+     */
+    public static <T> Collector<T, IntMax, IntMax> intMax(ToIntFunction<? super T> mapper) {
+        return intStatistic(IntMax::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the mean of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see IntMean
+     */
+    public static <T> Collector<T, IntMean, IntMean> intMean(ToIntFunction<? super T> mapper) {
+        return intStatistic(IntMean::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the standard deviation of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see IntStandardDeviation
+     */
+    public static <T> Collector<T, IntStandardDeviation, IntStandardDeviation> intStandardDeviation(
+            ToIntFunction<? super T> mapper) {
+        return intStatistic(IntStandardDeviation::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the variance of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see IntVariance
+     */
+    public static <T> Collector<T, IntVariance, IntVariance> intVariance(ToIntFunction<? super T> mapper) {
+        return intStatistic(IntVariance::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the sum of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see IntSum
+     */
+    public static <T> Collector<T, IntSum, IntSum> intSum(ToIntFunction<? super T> mapper) {
+        return intStatistic(IntSum::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the sum of the squares of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see IntSumOfSquares
+     */
+    public static <T> Collector<T, IntSumOfSquares, IntSumOfSquares> intSumOfSquares(ToIntFunction<? super T> mapper) {
+        return intStatistic(IntSumOfSquares::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the minimum of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LongMin
+     */
+    public static <T> Collector<T, LongMin, LongMin> longMin(ToLongFunction<? super T> mapper) {
+        return longStatistic(LongMin::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the maximum of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LongMax
+     */
+    public static <T> Collector<T, LongMax, LongMax> longMax(ToLongFunction<? super T> mapper) {
+        return longStatistic(LongMax::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the mean of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LongMean
+     */
+    public static <T> Collector<T, LongMean, LongMean> longMean(ToLongFunction<? super T> mapper) {
+        return longStatistic(LongMean::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the standard deviation of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LongStandardDeviation
+     */
+    public static <T> Collector<T, LongStandardDeviation, LongStandardDeviation> longStandardDeviation(
+            ToLongFunction<? super T> mapper) {
+        return longStatistic(LongStandardDeviation::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the variance of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LongVariance
+     */
+    public static <T> Collector<T, LongVariance, LongVariance> longVariance(ToLongFunction<? super T> mapper) {
+        return longStatistic(LongVariance::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the sum of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LongSum
+     */
+    public static <T> Collector<T, LongSum, LongSum> longSum(ToLongFunction<? super T> mapper) {
+        return longStatistic(LongSum::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the sum of the squares of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LongSumOfSquares
+     */
+    public static <T> Collector<T, LongSumOfSquares, LongSumOfSquares> longSumOfSquares(
+            ToLongFunction<? super T> mapper) {
+        return longStatistic(LongSumOfSquares::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes an estimate of the number of distinct
+     * {@code long} values produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see DistinctCount
+     */
+    public static <T> Collector<T, DistinctCount, DistinctCount> distinctCount(ToLongFunction<? super T> mapper) {
+        return longStatistic(DistinctCount::create, mapper, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the exponentially weighted mean of the
+     * {@code double} values produced by the {@code mapper} function.
+     *
+     * <p>The result depends on the order of the values; the collector is ordered.
+     *
+     * @param <T> Type of the input elements.
+     * @param alpha Smoothing factor.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @throws IllegalArgumentException if {@code alpha} is not in the interval {@code (0, 1]}
+     * @see ExponentialMean#create(double)
+     */
+    public static <T> Collector<T, ExponentialMean, ExponentialMean> exponentialMean(
+            double alpha, ToDoubleFunction<? super T> mapper) {
+        // Validate the parameter before collection
+        ExponentialMean.create(alpha);
+        return doubleStatistic(() -> ExponentialMean.create(alpha), mapper, ORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the exponentially weighted variance of the
+     * {@code double} values produced by the {@code mapper} function.
+     *
+     * <p>The result depends on the order of the values; the collector is ordered.
+     *
+     * @param <T> Type of the input elements.
+     * @param alpha Smoothing factor.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @throws IllegalArgumentException if {@code alpha} is not in the interval {@code (0, 1]}
+     * @see ExponentialVariance#create(double)
+     */
+    public static <T> Collector<T, ExponentialVariance, ExponentialVariance> exponentialVariance(
+            double alpha, ToDoubleFunction<? super T> mapper) {
+        // Validate the parameter before collection
+        ExponentialVariance.create(alpha);
+        return doubleStatistic(() -> ExponentialVariance.create(alpha), mapper, ORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that records the {@code double} values produced by the
+     * {@code mapper} function in a {@link LogLinearHistogram} with the default configuration.
+     *
+     * <p>The histogram is thread-safe. The collector is
+     * {@link Characteristics#CONCURRENT CONCURRENT} and a parallel stream will
+     * record all values in a single histogram.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     * @see LogLinearHistogram#create()
+     */
+    public static <T> Collector<T, LogLinearHistogram, LogLinearHistogram> logLinearHistogram(
+            ToDoubleFunction<? super T> mapper) {
+        return logLinearHistogram(LogLinearHistogram::create, mapper);
+    }
+
+    /**
+     * Returns a {@code Collector} that records the {@code double} values produced by the
+     * {@code mapper} function in a {@link LogLinearHistogram}.
+     *
+     * <p>The histogram is thread-safe. The collector is
+     * {@link Characteristics#CONCURRENT CONCURRENT} and a parallel stream will
+     * record all values in a single histogram.
+     *
+     * @param <T> Type of the input elements.
+     * @param supplier Supplier of new instances of the histogram.
+     * @param mapper Function to extract the value to be computed.
+     * @return the collector
+     */
+    public static <T> Collector<T, LogLinearHistogram, LogLinearHistogram> logLinearHistogram(
+            Supplier<LogLinearHistogram> supplier, ToDoubleFunction<? super T> mapper) {
+        return doubleStatistic(supplier, mapper, CONCURRENT);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the covariance of the paired
+     * {@code double} values produced by the {@code x} and {@code y} functions.
+     *
+     * @param <T> Type of the input elements.
+     * @param x Function to extract the first value of the pair.
+     * @param y Function to extract the second value of the pair.
+     * @return the collector
+     * @see Covariance
+     */
+    public static <T> Collector<T, Covariance, Covariance> covariance(
+            ToDoubleFunction<? super T> x, ToDoubleFunction<? super T> y) {
+        Objects.requireNonNull(x, "x");
+        Objects.requireNonNull(y, "y");
+        return Collector.of(Covariance::create,
+            (s, t) -> s.accept(x.applyAsDouble(t), y.applyAsDouble(t)),
+            Covariance::combine, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the correlation of the paired
+     * {@code double} values produced by the {@code x} and {@code y} functions.
+     *
+     * @param <T> Type of the input elements.
+     * @param x Function to extract the first value of the pair.
+     * @param y Function to extract the second value of the pair.
+     * @return the collector
+     * @see Correlation
+     */
+    public static <T> Collector<T, Correlation, Correlation> correlation(
+            ToDoubleFunction<? super T> x, ToDoubleFunction<? super T> y) {
+        Objects.requireNonNull(x, "x");
+        Objects.requireNonNull(y, "y");
+        return Collector.of(Correlation::create,
+            (s, t) -> s.accept(x.applyAsDouble(t), y.applyAsDouble(t)),
+            Correlation::combine, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the specified {@code statistics} of the
+     * {@code double} values produced by the {@code mapper} function. All statistics
+     * are computed in a single pass over the values.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @param statistics Statistics to compute.
+     * @return the collector
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     * @see DoubleStatistics
+     */
+    public static <T> Collector<T, DoubleStatistics, DoubleStatistics> doubleStatistics(
+            ToDoubleFunction<? super T> mapper, Statistic... statistics) {
+        Objects.requireNonNull(mapper, MAPPER);
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(statistics);
+        return Collector.of(builder::build,
+            (s, t) -> s.accept(mapper.applyAsDouble(t)),
+            DoubleStatistics::combine, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the specified {@code statistics} of the
+     * {@code int} values produced by the {@code mapper} function. All statistics
+     * are computed in a single pass over the values.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @param statistics Statistics to compute.
+     * @return the collector
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     * @see IntStatistics
+     */
+    public static <T> Collector<T, IntStatistics, IntStatistics> intStatistics(
+            ToIntFunction<? super T> mapper, Statistic... statistics) {
+        Objects.requireNonNull(mapper, MAPPER);
+        final IntStatistics.Builder builder = IntStatistics.builder(statistics);
+        return Collector.of(builder::build,
+            (s, t) -> s.accept(mapper.applyAsInt(t)),
+            IntStatistics::combine, UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes the specified {@code statistics} of the
+     * {@code long} values produced by the {@code mapper} function. All statistics
+     * are computed in a single pass over the values.
+     *
+     * @param <T> Type of the input elements.
+     * @param mapper Function to extract the value to be computed.
+     * @param statistics Statistics to compute.
+     * @return the collector
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     * @see LongStatistics
+     */
+    public static <T> Collector<T, LongStatistics, LongStatistics> longStatistics(
+            ToLongFunction<? super T> mapper, Statistic... statistics) {
+        Objects.requireNonNull(mapper, MAPPER);
+        final LongStatistics.Builder builder = LongStatistics.builder(statistics);
+        return Collector.of(builder::build,
+            (s, t) -> s.accept(mapper.applyAsLong(t)),
+            LongStatistics::combine, UNORDERED);
+    }
+
+    /**
+     * Computes a statistic of the values of the {@code stream}.
+     *
+     * <p>This is a terminal operation on the stream.
+     *
+     * @param <S> Type of the statistic.
+     * @param stream Stream of values.
+     * @param supplier Supplier of new instances of the statistic.
+     * @return the statistic
+     */
+    public static <S extends DoubleStatistic & StatisticAccumulator<S>> S collect(
+            DoubleStream stream, Supplier<S> supplier) {
+        return stream.collect(supplier, DoubleStatistic::accept, StatisticAccumulator::combine);
+    }
+
+    /**
+     * Computes a statistic of the values of the {@code stream}.
+     *
+     * <p>This is a terminal operation on the stream.
+     *
+     * @param <S> Type of the statistic.
+     * @param stream Stream of values.
+     * @param supplier Supplier of new instances of the statistic.
+     * @return the statistic
+     */
+    public static <S extends IntStatistic & StatisticAccumulator<S>> S collect(
+            IntStream stream, Supplier<S> supplier) {
+        return stream.collect(supplier, IntStatistic::accept, StatisticAccumulator::combine);
+    }
+
+    /**
+     * Computes a statistic of the values of the {@code stream}.
+     *
+     * <p>This is a terminal operation on the stream.
+     *
+     * @param <S> Type of the statistic.
+     * @param stream Stream of values.
+     * @param supplier Supplier of new instances of the statistic.
+     * @return the statistic
+     */
+    public static <S extends LongStatistic & StatisticAccumulator<S>> S collect(
+            LongStream stream, Supplier<S> supplier) {
+        return stream.collect(supplier, LongStatistic::accept, StatisticAccumulator::combine);
+    }
+
+    /**
+     * Computes the specified {@code statistics} of the values of the {@code stream}.
+     * All statistics are computed in a single pass over the values.
+     *
+     * <p>This is a terminal operation on the stream.
+     *
+     * @param stream Stream of values.
+     * @param statistics Statistics to compute.
+     * @return the statistics
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     */
+    public static DoubleStatistics collect(DoubleStream stream, Statistic... statistics) {
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(statistics);
+        return stream.collect(builder::build, DoubleStatistics::accept, DoubleStatistics::combine);
+    }
+
+    /**
+     * Computes the specified {@code statistics} of the values of the {@code stream}.
+     * All statistics are computed in a single pass over the values.
+     *
+     * <p>This is a terminal operation on the stream.
+     *
+     * @param stream Stream of values.
+     * @param statistics Statistics to compute.
+     * @return the statistics
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     */
+    public static IntStatistics collect(IntStream stream, Statistic... statistics) {
+        final IntStatistics.Builder builder = IntStatistics.builder(statistics);
+        return stream.collect(builder::build, IntStatistics::accept, IntStatistics::combine);
+    }
+
+    /**
+     * Computes the specified {@code statistics} of the values of the {@code stream}.
+     * All statistics are computed in a single pass over the values.
+     *
+     * <p>This is a terminal operation on the stream.
+     *
+     * @param stream Stream of values.
+     * @param statistics Statistics to compute.
+     * @return the statistics
+     * @throws IllegalArgumentException if there are no {@code statistics} to compute.
+     */
+    public static LongStatistics collect(LongStream stream, Statistic... statistics) {
+        final LongStatistics.Builder builder = LongStatistics.builder(statistics);
+        return stream.collect(builder::build, LongStatistics::accept, LongStatistics::combine);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes a statistic of the {@code double} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param mapper Function to extract the value to be computed.
+     * @param characteristics Characteristics of the collector.
+     * @return the collector
+     */
+    private static <T, S extends DoubleStatistic & StatisticAccumulator<S>> Collector<T, S, S> doubleStatistic(
+            Supplier<S> supplier, ToDoubleFunction<? super T> mapper, Characteristics[] characteristics) {
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(mapper, MAPPER);
+        return Collector.of(supplier, (s, t) -> s.accept(mapper.applyAsDouble(t)), StatisticAccumulator::combine,
+            characteristics);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes a statistic of the {@code int} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param mapper Function to extract the value to be computed.
+     * @param characteristics Characteristics of the collector.
+     * @return the collector
+     */
+    private static <T, S extends IntStatistic & StatisticAccumulator<S>> Collector<T, S, S> intStatistic(
+            Supplier<S> supplier, ToIntFunction<? super T> mapper, Characteristics[] characteristics) {
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(mapper, MAPPER);
+        return Collector.of(supplier, (s, t) -> s.accept(mapper.applyAsInt(t)), StatisticAccumulator::combine,
+            characteristics);
+    }
+
+    /**
+     * Returns a {@code Collector} that computes a statistic of the {@code long} values
+     * produced by the {@code mapper} function.
+     *
+     * @param <T> Type of the input elements.
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param mapper Function to extract the value to be computed.
+     * @param characteristics Characteristics of the collector.
+     * @return the collector
+     */
+    private static <T, S extends LongStatistic & StatisticAccumulator<S>> Collector<T, S, S> longStatistic(
+            Supplier<S> supplier, ToLongFunction<? super T> mapper, Characteristics[] characteristics) {
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(mapper, MAPPER);
+        return Collector.of(supplier, (s, t) -> s.accept(mapper.applyAsLong(t)), StatisticAccumulator::combine,
+            characteristics);
+    }
+}
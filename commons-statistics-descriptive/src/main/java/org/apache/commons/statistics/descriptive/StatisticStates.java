@@ -0,0 +1,660 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes the state of statistics using a compact binary format.
+ *
+ * <p>The encoded state can be decoded to an equivalent instance of the statistic. The
+ * decoded instance computes exactly the same result as the encoded instance and can be
+ * combined with other instances of the same statistic. This supports the distributed
+ * computation of statistics where partial results are computed on separate nodes and
+ * combined in a single location.
+ *
+ * <p>Supported types are the statistics that implement {@link StatisticAccumulator}
+ * and the composite statistics {@link DoubleStatistics}, {@link IntStatistics} and
+ * {@link LongStatistics}. The encoding includes any configuration of the statistic, for
+ * example the {@code biased} option of the {@link Variance}.
+ *
+ * <p>The encoding starts with the version of the format and an identifier for the type
+ * of the statistic. This is followed by the state of the statistic. Values are written
+ * in big-endian byte order using the methods of {@link DataOutput}; this is independent
+ * of the {@link java.nio.ByteOrder ByteOrder} of a {@link ByteBuffer}.
+ *
+ * <p>For example:
+ *
+ * <pre>{@code
+ * // Node
+ * Variance v = Variance.of(values);
+ * StatisticStates.write(v, out);
+ *
+ * // Combine
+ * Variance total = Variance.create();
+ * for (DataInput in : inputs) {
+ *     total.combine(StatisticStates.read(in, Variance.class));
+ * }
+ * }</pre>
+ *
+ * <p>Note: The encoding of a {@link Sum} or {@link SumOfLogs} stores the current sum and
+ * an estimate of its round-off error. The decoded sum is exactly equal to the encoded
+ * sum; the error term of a future combination may differ from the original instance in
+ * the final bits.
+ *
+ * @since 1.1
+ */
+public final class StatisticStates {
+    /** Version of the encoding format. */
+    private static final int VERSION = 1;
+    /** Order of the moment for {@link SumOfFourthDeviations}. */
+    private static final int FOURTH = 4;
+    /** Order of the moment for {@link SumOfCubedDeviations}. */
+    private static final int THIRD = 3;
+    /** Order of the moment for {@link SumOfSquaredDeviations}. */
+    private static final int SECOND = 2;
+    /** Order of the moment for {@link FirstMoment}. */
+    private static final int FIRST = 1;
+
+    /**
+     * Writes the state of a statistic.
+     *
+     * @param <T> Type of the statistic.
+     */
+    @FunctionalInterface
+    private interface StateWriter<T> {
+        /**
+         * Writes the state of the statistic to the output.
+         *
+         * @param statistic Statistic.
+         * @param out Output.
+         * @throws IOException if an I/O error occurs
+         */
+        void write(T statistic, DataOutput out) throws IOException;
+    }
+
+    /**
+     * Reads the state of a statistic.
+     *
+     * @param <T> Type of the statistic.
+     */
+    @FunctionalInterface
+    private interface StateReader<T> {
+        /**
+         * Creates a statistic using the state read from the input.
+         *
+         * @param in Input.
+         * @return the statistic
+         * @throws IOException if an I/O error occurs
+         */
+        T read(DataInput in) throws IOException;
+    }
+
+    /**
+     * The type of the encoded statistic. Each type has a fixed identifier in the
+     * encoding; new types must use a new identifier.
+     */
+    private enum Type {
+        /** {@link Min}. */
+        MIN(1, Min.class, Min::writeState, Min::readState),
+        /** {@link Max}. */
+        MAX(2, Max.class, Max::writeState, Max::readState),
+        /** {@link Mean}. */
+        MEAN(3, Mean.class, Mean::writeState, Mean::readState),
+        /** {@link Variance}. */
+        VARIANCE(4, Variance.class, Variance::writeState, Variance::readState),
+        /** {@link StandardDeviation}. */
+        STANDARD_DEVIATION(5, StandardDeviation.class, StandardDeviation::writeState, StandardDeviation::readState),
+        /** {@link Skewness}. */
+        SKEWNESS(6, Skewness.class, Skewness::writeState, Skewness::readState),
+        /** {@link Kurtosis}. */
+        KURTOSIS(7, Kurtosis.class, Kurtosis::writeState, Kurtosis::readState),
+        /** {@link Product}. */
+        PRODUCT(8, Product.class, Product::writeState, Product::readState),
+        /** {@link Sum}. */
+        SUM(9, Sum.class, Sum::writeState, Sum::readState),
+        /** {@link SumOfLogs}. */
+        SUM_OF_LOGS(10, SumOfLogs.class, SumOfLogs::writeState, SumOfLogs::readState),
+        /** {@link SumOfSquares}. */
+        SUM_OF_SQUARES(11, SumOfSquares.class, SumOfSquares::writeState, SumOfSquares::readState),
+        /** {@link GeometricMean}. */
+        GEOMETRIC_MEAN(12, GeometricMean.class, GeometricMean::writeState, GeometricMean::readState),
+        /** {@link QuantileSketch}. */
+        QUANTILE_SKETCH(13, QuantileSketch.class, QuantileSketch::writeState, QuantileSketch::readState),
+        /** {@link LogLinearHistogram}. */
+        LOG_LINEAR_HISTOGRAM(14, LogLinearHistogram.class, LogLinearHistogram::writeState,
+            LogLinearHistogram::readState),
+        /** {@link ExponentialMean}. */
+        EXPONENTIAL_MEAN(15, ExponentialMean.class, ExponentialMean::writeState, ExponentialMean::readState),
+        /** {@link ExponentialVariance}. */
+        EXPONENTIAL_VARIANCE(16, ExponentialVariance.class, ExponentialVariance::writeState,
+            ExponentialVariance::readState),
+        /** {@link Covariance}. */
+        COVARIANCE(17, Covariance.class, Covariance::writeState, Covariance::readState),
+        /** {@link Correlation}. */
+        CORRELATION(18, Correlation.class, Correlation::writeState, Correlation::readState),
+        /** {@link IntMin}. */
+        INT_MIN(19, IntMin.class, IntMin::writeState, IntMin::readState),
+        /** {@link IntMax}. */
+        INT_MAX(20, IntMax.class, IntMax::writeState, IntMax::readState),
+        /** {@link IntMean}. */
+        INT_MEAN(21, IntMean.class, IntMean::writeState, IntMean::readState),
+        /** {@link IntVariance}. */
+        INT_VARIANCE(22, IntVariance.class, IntVariance::writeState, IntVariance::readState),
+        /** {@link IntStandardDeviation}. */
+        INT_STANDARD_DEVIATION(23, IntStandardDeviation.class, IntStandardDeviation::writeState,
+            IntStandardDeviation::readState),
+        /** {@link IntSum}. */
+        INT_SUM(24, IntSum.class, IntSum::writeState, IntSum::readState),
+        /** {@link IntSumOfSquares}. */
+        INT_SUM_OF_SQUARES(25, IntSumOfSquares.class, IntSumOfSquares::writeState, IntSumOfSquares::readState),
+        /** {@link LongMin}. */
+        LONG_MIN(26, LongMin.class, LongMin::writeState, LongMin::readState),
+        /** {@link LongMax}. */
+        LONG_MAX(27, LongMax.class, LongMax::writeState, LongMax::readState),
+        /** {@link LongMean}. */
+        LONG_MEAN(28, LongMean.class, LongMean::writeState, LongMean::readState),
+        /** {@link LongVariance}. */
+        LONG_VARIANCE(29, LongVariance.class, LongVariance::writeState, LongVariance::readState),
+        /** {@link LongStandardDeviation}. */
+        LONG_STANDARD_DEVIATION(30, LongStandardDeviation.class, LongStandardDeviation::writeState,
+            LongStandardDeviation::readState),
+        /** {@link LongSum}. */
+        LONG_SUM(31, LongSum.class, LongSum::writeState, LongSum::readState),
+        /** {@link LongSumOfSquares}. */
+        LONG_SUM_OF_SQUARES(32, LongSumOfSquares.class, LongSumOfSquares::writeState,
+            LongSumOfSquares::readState),
+        /** {@link DoubleStatistics}. */
+        DOUBLE_STATISTICS(33, DoubleStatistics.class, DoubleStatistics::writeState, DoubleStatistics::readState),
+        /** {@link IntStatistics}. */
+        INT_STATISTICS(34, IntStatistics.class, IntStatistics::writeState, IntStatistics::readState),
+        /** {@link LongStatistics}. */
+        LONG_STATISTICS(35, LongStatistics.class, LongStatistics::writeState, LongStatistics::readState),
+        /** {@link DistinctCount}. */
+        DISTINCT_COUNT(36, DistinctCount.class, DistinctCount::writeState, DistinctCount::readState);
+
+        /** Identifier in the encoding. */
+        private final int id;
+        /** Class of the statistic. */
+        private final Class<?> type;
+        /** Writer of the state. */
+        private final StateWriter<Object> writer;
+        /** Reader of the state. */
+        private final StateReader<?> reader;
+
+        /**
+         * Create an instance.
+         *
+         * @param <T> Type of the statistic.
+         * @param id Identifier in the encoding.
+         * @param type Class of the statistic.
+         * @param writer Writer of the state.
+         * @param reader Reader of the state.
+         */
+        @SuppressWarnings("unchecked")
+        <T> Type(int id, Class<T> type, StateWriter<T> writer, StateReader<T> reader) {
+            this.id = id;
+            this.type = type;
+            // Safe: the writer is only used for instances of the type
+            this.writer = (StateWriter<Object>) writer;
+            this.reader = reader;
+        }
+
+        /**
+         * Gets the type of the {@code statistic}.
+         *
+         * @param statistic Statistic.
+         * @return the type
+         * @throws IllegalArgumentException if the statistic is not supported
+         */
+        static Type of(Object statistic) {
+            final Class<?> c = statistic.getClass();
+            for (final Type t : values()) {
+                if (t.type == c) {
+                    return t;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported statistic: " + c.getName());
+        }
+
+        /**
+         * Gets the type with the identifier {@code id}.
+         *
+         * @param id Identifier.
+         * @return the type
+         * @throws IllegalArgumentException if the identifier is not recognised
+         */
+        static Type of(int id) {
+            for (final Type t : values()) {
+                if (t.id == id) {
+                    return t;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported statistic type: " + id);
+        }
+    }
+
+    /**
+     * An output stream that writes to a {@link ByteBuffer}.
+     */
+    private static final class BufferOutputStream extends OutputStream {
+        /** The buffer. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Create an instance.
+         *
+         * @param buffer Buffer.
+         */
+        BufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.put(b, off, len);
+        }
+    }
+
+    /**
+     * An input stream that reads from a {@link ByteBuffer}. Reading beyond the
+     * end of the buffer raises a {@link BufferUnderflowException}.
+     */
+    private static final class BufferInputStream extends InputStream {
+        /** The buffer. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Create an instance.
+         *
+         * @param buffer Buffer.
+         */
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                throw new BufferUnderflowException();
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    /** No instances. */
+    private StatisticStates() {}
+
+    /**
+     * Writes the state of the {@code statistic} to the output.
+     *
+     * @param statistic Statistic.
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the statistic is not supported
+     * @see #read(DataInput, Class)
+     */
+    public static void write(StatisticResult statistic, DataOutput out) throws IOException {
+        writeObject(statistic, out);
+    }
+
+    /**
+     * Writes the state of the {@code statistics} to the output.
+     *
+     * @param statistics Statistics.
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #read(DataInput, Class)
+     */
+    public static void write(DoubleStatistics statistics, DataOutput out) throws IOException {
+        writeObject(statistics, out);
+    }
+
+    /**
+     * Writes the state of the {@code statistics} to the output.
+     *
+     * @param statistics Statistics.
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #read(DataInput, Class)
+     */
+    public static void write(IntStatistics statistics, DataOutput out) throws IOException {
+        writeObject(statistics, out);
+    }
+
+    /**
+     * Writes the state of the {@code statistics} to the output.
+     *
+     * @param statistics Statistics.
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #read(DataInput, Class)
+     */
+    public static void write(LongStatistics statistics, DataOutput out) throws IOException {
+        writeObject(statistics, out);
+    }
+
+    /**
+     * Writes the state of the {@code statistic} to the buffer at the current position.
+     *
+     * <p>If there is insufficient space in the buffer then the position is unchanged.
+     *
+     * @param statistic Statistic.
+     * @param buffer Buffer.
+     * @throws BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @throws IllegalArgumentException if the statistic is not supported
+     * @see #read(ByteBuffer, Class)
+     */
+    public static void write(StatisticResult statistic, ByteBuffer buffer) {
+        writeObject(statistic, buffer);
+    }
+
+    /**
+     * Writes the state of the {@code statistics} to the buffer at the current position.
+     *
+     * <p>If there is insufficient space in the buffer then the position is unchanged.
+     *
+     * @param statistics Statistics.
+     * @param buffer Buffer.
+     * @throws BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @see #read(ByteBuffer, Class)
+     */
+    public static void write(DoubleStatistics statistics, ByteBuffer buffer) {
+        writeObject(statistics, buffer);
+    }
+
+    /**
+     * Writes the state of the {@code statistics} to the buffer at the current position.
+     *
+     * <p>If there is insufficient space in the buffer then the position is unchanged.
+     *
+     * @param statistics Statistics.
+     * @param buffer Buffer.
+     * @throws BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @see #read(ByteBuffer, Class)
+     */
+    public static void write(IntStatistics statistics, ByteBuffer buffer) {
+        writeObject(statistics, buffer);
+    }
+
+    /**
+     * Writes the state of the {@code statistics} to the buffer at the current position.
+     *
+     * <p>If there is insufficient space in the buffer then the position is unchanged.
+     *
+     * @param statistics Statistics.
+     * @param buffer Buffer.
+     * @throws BufferOverflowException if there is insufficient space in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @see #read(ByteBuffer, Class)
+     */
+    public static void write(LongStatistics statistics, ByteBuffer buffer) {
+        writeObject(statistics, buffer);
+    }
+
+    /**
+     * Reads the state of a statistic from the input and creates an equivalent instance.
+     *
+     * @param <T> Type of the statistic.
+     * @param in Input.
+     * @param type Expected type of the statistic.
+     * @return the statistic
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the version of the format or the type of the
+     * statistic is not supported; the statistic is not an instance of the expected
+     * {@code type}; or the state is invalid
+     */
+    public static <T> T read(DataInput in, Class<T> type) throws IOException {
+        final int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported version: " + version);
+        }
+        final Type t = Type.of(in.readUnsignedByte());
+        if (!type.isAssignableFrom(t.type)) {
+            throw new IllegalArgumentException("Statistic " + t.type.getName() +
+                " is not an instance of " + type.getName());
+        }
+        return type.cast(t.reader.read(in));
+    }
+
+    /**
+     * Reads the state of a statistic from the buffer at the current position and creates
+     * an equivalent instance.
+     *
+     * <p>If the buffer does not contain the entire state then the position is unchanged.
+     *
+     * @param <T> Type of the statistic.
+     * @param buffer Buffer.
+     * @param type Expected type of the statistic.
+     * @return the statistic
+     * @throws BufferUnderflowException if the buffer does not contain the entire state
+     * @throws IllegalArgumentException if the version of the format or the type of the
+     * statistic is not supported; the statistic is not an instance of the expected
+     * {@code type}; or the state is invalid
+     */
+    public static <T> T read(ByteBuffer buffer, Class<T> type) {
+        final int position = buffer.position();
+        try {
+            return read(new DataInputStream(new BufferInputStream(buffer)), type);
+        } catch (final IOException ex) {
+            // Not possible: the stream raises unchecked exceptions
+            throw new UncheckedIOException(ex);
+        } catch (final BufferUnderflowException ex) {
+            buffer.position(position);
+            throw ex;
+        }
+    }
+
+    /**
+     * Writes the version, type and state of the {@code statistic} to the output.
+     *
+     * @param statistic Statistic.
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the statistic is not supported
+     */
+    private static void writeObject(Object statistic, DataOutput out) throws IOException {
+        final Type t = Type.of(statistic);
+        out.writeByte(VERSION);
+        out.writeByte(t.id);
+        t.writer.write(statistic, out);
+    }
+
+    /**
+     * Writes the version, type and state of the {@code statistic} to the buffer.
+     *
+     * @param statistic Statistic.
+     * @param buffer Buffer.
+     * @throws BufferOverflowException if there is insufficient space in the buffer
+     * @throws IllegalArgumentException if the statistic is not supported
+     */
+    private static void writeObject(Object statistic, ByteBuffer buffer) {
+        final int position = buffer.position();
+        try {
+            writeObject(statistic, new DataOutputStream(new BufferOutputStream(buffer)));
+        } catch (final IOException ex) {
+            // Not possible: the stream raises unchecked exceptions
+            throw new UncheckedIOException(ex);
+        } catch (final BufferOverflowException ex) {
+            buffer.position(position);
+            throw ex;
+        }
+    }
+
+    /**
+     * Writes the state of the {@code sum} to the output.
+     *
+     * <p>The sum is written as the current value and the round-off error of the value.
+     * This is the full precision of the sum when the value is finite.
+     *
+     * @param sum Sum.
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readSum(DataInput)
+     */
+    static void writeSum(org.apache.commons.numbers.core.Sum sum, DataOutput out) throws IOException {
+        final double hi = sum.getAsDouble();
+        double lo = 0;
+        if (Double.isFinite(hi)) {
+            lo = org.apache.commons.numbers.core.Sum.create().add(sum).add(-hi).getAsDouble();
+        }
+        out.writeDouble(hi);
+        out.writeDouble(lo);
+    }
+
+    /**
+     * Creates a sum using the state read from the input.
+     *
+     * @param in Input.
+     * @return the sum
+     * @throws IOException if an I/O error occurs
+     * @see #writeSum(org.apache.commons.numbers.core.Sum, DataOutput)
+     */
+    static org.apache.commons.numbers.core.Sum readSum(DataInput in) throws IOException {
+        final double hi = in.readDouble();
+        final double lo = in.readDouble();
+        return org.apache.commons.numbers.core.Sum.of(hi).add(lo);
+    }
+
+    /**
+     * Writes the order and state of the {@code moment} to the output. The moment may be
+     * {@code null}.
+     *
+     * @param moment Moment.
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readMoment(DataInput)
+     */
+    static void writeMoment(FirstMoment moment, DataOutput out) throws IOException {
+        // Avoid reflection and use the simpler instanceof
+        if (moment instanceof SumOfFourthDeviations) {
+            out.writeByte(FOURTH);
+        } else if (moment instanceof SumOfCubedDeviations) {
+            out.writeByte(THIRD);
+        } else if (moment instanceof SumOfSquaredDeviations) {
+            out.writeByte(SECOND);
+        } else if (moment != null) {
+            out.writeByte(FIRST);
+        } else {
+            out.writeByte(0);
+            return;
+        }
+        moment.writeState(out);
+    }
+
+    /**
+     * Creates a moment using the order and state read from the input.
+     *
+     * @param in Input.
+     * @return the moment (or null)
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the order is not supported
+     * @see #writeMoment(FirstMoment, DataOutput)
+     */
+    static FirstMoment readMoment(DataInput in) throws IOException {
+        final int order = in.readUnsignedByte();
+        switch (order) {
+        case 0:
+            return null;
+        case FIRST:
+            return new FirstMoment(in);
+        case SECOND:
+            return new SumOfSquaredDeviations(in);
+        case THIRD:
+            return new SumOfCubedDeviations(in);
+        case FOURTH:
+            return new SumOfFourthDeviations(in);
+        default:
+            throw new IllegalArgumentException("Unsupported moment: " + order);
+        }
+    }
+
+    /**
+     * Creates a bit mask of the {@code statistics} that are not {@code null}. Bit
+     * {@code i} is set if statistic {@code i} is present.
+     *
+     * @param statistics Statistics.
+     * @return the mask
+     */
+    static int mask(Object... statistics) {
+        int mask = 0;
+        for (int i = 0; i < statistics.length; i++) {
+            if (statistics[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Check the encoded {@code size} is within the {@code capacity} of the statistic.
+     *
+     * @param size Size.
+     * @param capacity Capacity.
+     * @return the size
+     * @throws IllegalArgumentException if the size is not in the range {@code [0, capacity]}
+     */
+    static int checkSize(int size, int capacity) {
+        if (size < 0 || size > capacity) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Check the encoded {@code index} is within the {@code length} of the statistic.
+     *
+     * @param index Index.
+     * @param length Length.
+     * @return the index
+     * @throws IllegalArgumentException if the index is not in the range {@code [0, length)}
+     */
+    static int checkIndex(int index, int length) {
+        if (index < 0 || index >= length) {
+            throw new IllegalArgumentException("Invalid index: " + index);
+        }
+        return index;
+    }
+}
@@ -87,6 +87,23 @@ final class Statistics {
         return statistic;
     }
 
+    /**
+     * Add the {@code values} from the range {@code [from, to)} to the {@code statistic}.
+     *
+     * @param <T> Type of the statistic
+     * @param statistic Statistic.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the statistic
+     */
+    static <T extends DoubleConsumer> T add(T statistic, double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            statistic.accept(values[i]);
+        }
+        return statistic;
+    }
+
     /**
      * Add all the {@code values} to the {@code statistic}.
      *
@@ -102,6 +119,23 @@ final class Statistics {
         return statistic;
     }
 
+    /**
+     * Add the {@code values} from the range {@code [from, to)} to the {@code statistic}.
+     *
+     * @param <T> Type of the statistic
+     * @param statistic Statistic.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the statistic
+     */
+    static <T extends DoubleConsumer> T add(T statistic, int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            statistic.accept(values[i]);
+        }
+        return statistic;
+    }
+
     /**
      * Add all the {@code values} to the {@code statistic}.
      *
@@ -117,6 +151,23 @@ final class Statistics {
         return statistic;
     }
 
+    /**
+     * Add the {@code values} from the range {@code [from, to)} to the {@code statistic}.
+     *
+     * @param <T> Type of the statistic
+     * @param statistic Statistic.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the statistic
+     */
+    static <T extends DoubleConsumer> T add(T statistic, long[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            statistic.accept(values[i]);
+        }
+        return statistic;
+    }
+
     /**
      * Add all the {@code values} to the {@code statistic}.
      *
@@ -132,6 +183,23 @@ final class Statistics {
         return statistic;
     }
 
+    /**
+     * Add the {@code values} from the range {@code [from, to)} to the {@code statistic}.
+     *
+     * @param <T> Type of the statistic
+     * @param statistic Statistic.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the statistic
+     */
+    static <T extends IntConsumer> T add(T statistic, int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            statistic.accept(values[i]);
+        }
+        return statistic;
+    }
+
     /**
      * Add all the {@code values} to the {@code statistic}.
      *
@@ -147,6 +215,23 @@ final class Statistics {
         return statistic;
     }
 
+    /**
+     * Add the {@code values} from the range {@code [from, to)} to the {@code statistic}.
+     *
+     * @param <T> Type of the statistic
+     * @param statistic Statistic.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the statistic
+     */
+    static <T extends LongConsumer> T add(T statistic, long[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            statistic.accept(values[i]);
+        }
+        return statistic;
+    }
+
     /**
      * Returns {@code true} if the second central moment {@code m2} is effectively
      * zero given the magnitude of the first raw moment {@code m1}.
@@ -341,4 +426,104 @@ final class Statistics {
             a.combine(b);
         }
     }
+
+    /**
+     * Linear interpolation between {@code a} and {@code b} using the fraction {@code t}.
+     *
+     * @param a Lower value.
+     * @param b Upper value.
+     * @param t Fraction in {@code [0, 1]}.
+     * @return the interpolated value
+     */
+    static double interpolate(double a, double b, double t) {
+        if (t <= 0) {
+            return a;
+        }
+        if (t >= 1) {
+            return b;
+        }
+        // Use the weighted sum for non-finite bounds to avoid inf - inf
+        final double v = a + (b - a) * t;
+        return Double.isFinite(v) ? v : (1 - t) * a + t * b;
+    }
+
+    /**
+     * Check the probability {@code p} is in the range {@code [0, 1]}.
+     *
+     * @param p Probability for the quantile.
+     * @return p
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    static double checkProbability(double p) {
+        // Also rejects NaN
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Invalid probability: " + p);
+        }
+        return p;
+    }
+
+    /**
+     * Checks if the sub-range from {@code from} (inclusive) to {@code to} (exclusive) is
+     * within the bounds of the range from {@code 0} (inclusive) to {@code length} (exclusive).
+     *
+     * <p>This function provides the functionality of
+     * {@code java.util.Objects.checkFromToIndex} introduced in JDK 9.
+     *
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param length Exclusive end of the bounds.
+     * @return the length of the range
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    static int checkFromToIndex(int from, int to, int length) {
+        // Order of checks is relevant to avoid integer overflow
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(
+                "Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+        return to - from;
+    }
+
+    /**
+     * Check the window size is strictly positive.
+     *
+     * @param size Window size.
+     * @return the size
+     * @throws IllegalArgumentException if the {@code size} is not strictly positive
+     */
+    static int checkWindowSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid window size: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Check the number of retained values {@code k} is strictly positive.
+     *
+     * @param k Number of values.
+     * @return k
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     */
+    static int checkK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+        return k;
+    }
+
+    /**
+     * Check the arrays of paired values have the same length.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @return the length
+     * @throws IllegalArgumentException if the lengths are different
+     */
+    static int checkSameLength(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Length mismatch: " + x.length + " != " + y.length);
+        }
+        return x.length;
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Configuration for computation of statistics.
  *
@@ -25,18 +29,22 @@ package org.apache.commons.statistics.descriptive;
  */
 public final class StatisticsConfiguration {
     /** Default instance. */
-    private static final StatisticsConfiguration DEFAULT = new StatisticsConfiguration(false);
+    private static final StatisticsConfiguration DEFAULT = new StatisticsConfiguration(false, 0.5);
 
     /** Flag to control if the statistic is biased, or should use a bias correction. */
     private final boolean biased;
+    /** Probability for the quantile statistic. */
+    private final double quantile;
 
     /**
      * Create an instance.
      *
      * @param biased Biased option.
+     * @param quantile Quantile probability.
      */
-    private StatisticsConfiguration(boolean biased) {
+    private StatisticsConfiguration(boolean biased, double quantile) {
         this.biased = biased;
+        this.quantile = quantile;
     }
 
     /**
@@ -44,6 +52,7 @@ public final class StatisticsConfiguration {
      *
      * <ul>
      *  <li>{@linkplain #isBiased() Biased = false}
+     *  <li>{@linkplain #getQuantile() Quantile = 0.5}
      * </ul>
      *
      * @return default instance
@@ -70,7 +79,26 @@ public final class StatisticsConfiguration {
      * @return an instance
      */
     public StatisticsConfiguration withBiased(boolean v) {
-        return new StatisticsConfiguration(v);
+        return new StatisticsConfiguration(v, quantile);
+    }
+
+    /**
+     * Return an instance with the configured quantile option.
+     *
+     * <p>This is the probability {@code p} of the quantile computed for the
+     * {@link Statistic#QUANTILE} statistic.
+     *
+     * <p>This option is used by:
+     * <ul>
+     *  <li>{@link QuantileSketch}
+     * </ul>
+     *
+     * @param p Probability for the quantile.
+     * @return an instance
+     * @throws IllegalArgumentException if the probability {@code p} is not in the range {@code [0, 1]}
+     */
+    public StatisticsConfiguration withQuantile(double p) {
+        return new StatisticsConfiguration(biased, Statistics.checkProbability(p));
     }
 
     /**
@@ -82,4 +110,39 @@ public final class StatisticsConfiguration {
     public boolean isBiased() {
         return biased;
     }
+
+    /**
+     * Gets the probability {@code p} of the quantile computed for the
+     * {@link Statistic#QUANTILE} statistic.
+     *
+     * @return the quantile probability
+     */
+    public double getQuantile() {
+        return quantile;
+    }
+
+    /**
+     * Writes the configuration to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(biased);
+        out.writeDouble(quantile);
+    }
+
+    /**
+     * Creates an instance using the configuration read from the input.
+     *
+     * @param in Input.
+     * @return {@code StatisticsConfiguration} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static StatisticsConfiguration readState(DataInput in) throws IOException {
+        final boolean b = in.readBoolean();
+        return withDefaults().withBiased(b).withQuantile(in.readDouble());
+    }
 }
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Maintains a set of independent instances of an accumulator, each guarded by
+ * its own lock. Threads are spread across the stripes to reduce contention.
+ * The stripes are merged using a combiner function when a snapshot is requested.
+ *
+ * <p>A thread is assigned a home stripe using its identifier. If the lock of the
+ * stripe is held by another thread, the other stripes are tried in turn before
+ * waiting for the home stripe. Acquiring an unlocked stripe does not allocate memory;
+ * a thread that waits for the lock of the home stripe may allocate a queue node.
+ *
+ * @param <S> Type of the accumulator.
+ * @since 1.1
+ */
+final class StripedAccumulator<S> {
+    /** Maximum number of stripes. */
+    private static final int MAX_STRIPES = 1 << 16;
+    /** Golden ratio constant used to spread the thread identifiers. */
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+    /**
+     * A stripe containing an accumulator guarded by a lock.
+     *
+     * @param <S> Type of the accumulator.
+     */
+    static final class Stripe<S> {
+        /** Lock. */
+        private final ReentrantLock lock = new ReentrantLock();
+        /** Accumulator. */
+        private S value;
+
+        /**
+         * @param value Accumulator.
+         */
+        Stripe(S value) {
+            this.value = value;
+        }
+
+        /**
+         * Releases the lock on the stripe.
+         */
+        void unlock() {
+            lock.unlock();
+        }
+    }
+
+    /** Supplier of new accumulators. */
+    private final Supplier<S> supplier;
+    /** Function to combine two accumulators. */
+    private final BinaryOperator<S> combiner;
+    /** Stripes. */
+    private final Stripe<S>[] stripes;
+    /** Mask to convert a hash to a stripe index. */
+    private final int mask;
+
+    /**
+     * Create an instance.
+     *
+     * @param supplier Supplier of new accumulators.
+     * @param combiner Function to combine two accumulators. The function must update
+     * and return the first argument.
+     * @param stripes Number of stripes. This is rounded up to a power of 2.
+     * @throws IllegalArgumentException if the number of stripes is not strictly positive
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    StripedAccumulator(Supplier<S> supplier, BinaryOperator<S> combiner, int stripes) {
+        this.supplier = Objects.requireNonNull(supplier, "supplier");
+        this.combiner = Objects.requireNonNull(combiner, "combiner");
+        if (stripes <= 0 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("Invalid number of stripes: " + stripes);
+        }
+        // Round up to a power of 2
+        final int n = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            this.stripes[i] = new Stripe<>(Objects.requireNonNull(supplier.get(), "accumulator"));
+        }
+        mask = n - 1;
+    }
+
+    /**
+     * Gets the default number of stripes. This is twice the number of available
+     * processors.
+     *
+     * @return the number of stripes
+     */
+    static int defaultStripes() {
+        return Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors() << 1);
+    }
+
+    /**
+     * Gets the number of stripes.
+     *
+     * @return the number of stripes
+     */
+    int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Locks a stripe for the calling thread. The caller must release the lock using
+     * {@link Stripe#unlock()}.
+     *
+     * @return the locked stripe
+     */
+    Stripe<S> lock() {
+        // Spread the thread identifier
+        @SuppressWarnings("deprecation")
+        final int home = (int) ((Thread.currentThread().getId() * GOLDEN_RATIO) >>> 32);
+        // Try all stripes without blocking
+        for (int i = 0; i <= mask; i++) {
+            final Stripe<S> s = stripes[(home + i) & mask];
+            if (s.lock.tryLock()) {
+                return s;
+            }
+        }
+        // Wait for the home stripe
+        final Stripe<S> s = stripes[home & mask];
+        s.lock.lock();
+        return s;
+    }
+
+    /**
+     * Adds the {@code value} to the accumulator of a stripe locked for the calling thread.
+     *
+     * @param value Value.
+     * @param action Action to add the value to the accumulator.
+     */
+    void acceptDouble(double value, ObjDoubleConsumer<S> action) {
+        final Stripe<S> s = lock();
+        try {
+            action.accept(s.value, value);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Adds the {@code value} to the accumulator of a stripe locked for the calling thread.
+     *
+     * @param value Value.
+     * @param action Action to add the value to the accumulator.
+     */
+    void acceptInt(int value, ObjIntConsumer<S> action) {
+        final Stripe<S> s = lock();
+        try {
+            action.accept(s.value, value);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Adds the {@code value} to the accumulator of a stripe locked for the calling thread.
+     *
+     * @param value Value.
+     * @param action Action to add the value to the accumulator.
+     */
+    void acceptLong(long value, ObjLongConsumer<S> action) {
+        final Stripe<S> s = lock();
+        try {
+            action.accept(s.value, value);
+        } finally {
+            s.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the combined accumulators. All stripes are locked during the
+     * operation.
+     *
+     * @return the snapshot
+     */
+    S snapshot() {
+        final S result = supplier.get();
+        lockAll();
+        try {
+            for (final Stripe<S> s : stripes) {
+                combiner.apply(result, s.value);
+            }
+        } finally {
+            unlockAll();
+        }
+        return result;
+    }
+
+    /**
+     * Gets a snapshot of the combined accumulators and resets all stripes to a new
+     * accumulator. All stripes are locked while the accumulators are replaced;
+     * each value is included in exactly one snapshot.
+     *
+     * @return the snapshot
+     */
+    @SuppressWarnings("unchecked")
+    S snapshotAndReset() {
+        // Create replacements outside the lock
+        final Object[] next = new Object[stripes.length];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = Objects.requireNonNull(supplier.get(), "accumulator");
+        }
+        final Object[] previous = new Object[stripes.length];
+        lockAll();
+        try {
+            for (int i = 0; i < previous.length; i++) {
+                previous[i] = stripes[i].value;
+                stripes[i].value = (S) next[i];
+            }
+        } finally {
+            unlockAll();
+        }
+        // Combine outside the lock
+        final S result = (S) previous[0];
+        for (int i = 1; i < previous.length; i++) {
+            combiner.apply(result, (S) previous[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Locks all stripes in order.
+     */
+    private void lockAll() {
+        for (final Stripe<S> s : stripes) {
+            s.lock.lock();
+        }
+    }
+
+    /**
+     * Unlocks all stripes in reverse order.
+     */
+    private void unlockAll() {
+        for (int i = stripes.length; --i >= 0;) {
+            stripes[i].lock.unlock();
+        }
+    }
+}
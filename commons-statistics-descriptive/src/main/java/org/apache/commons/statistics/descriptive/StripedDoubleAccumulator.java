@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe accumulator of {@code double} values for a statistic that is not
+ * thread-safe.
+ *
+ * <p>The accumulator maintains a set of independent instances of the statistic
+ * (stripes), each guarded by its own lock. Threads adding values are spread across
+ * the stripes to reduce contention, in a similar manner to
+ * {@link java.util.concurrent.atomic.LongAdder LongAdder}. Adding a value does not
+ * allocate memory when the lock is uncontended.
+ *
+ * <p>The current state is obtained using {@link #snapshot()}. This merges the
+ * stripes into a new instance of the statistic using the {@code combine} operation.
+ * Periodic export of the statistic can use {@link #snapshotAndReset()}; each value
+ * is included in exactly one snapshot.
+ *
+ * <p>For example:
+ *
+ * <pre>
+ * StripedDoubleAccumulator&lt;Mean&gt; latency = StripedDoubleAccumulator.of(Mean::create);
+ *
+ * // Any thread
+ * latency.accept(x);
+ *
+ * // Periodic export
+ * Mean mean = latency.snapshotAndReset();
+ * </pre>
+ *
+ * <p>The snapshot is a point-in-time view: all stripes are locked while the snapshot
+ * is created. The snapshot is independent of the accumulator and is not thread-safe.
+ *
+ * @param <S> Type of the statistic.
+ * @since 1.1
+ */
+public final class StripedDoubleAccumulator<S extends DoubleConsumer> implements DoubleConsumer {
+    /** Striped instances of the statistic. */
+    private final StripedAccumulator<S> stripes;
+
+    /**
+     * Create an instance.
+     *
+     * @param stripes Striped instances of the statistic.
+     */
+    private StripedDoubleAccumulator(StripedAccumulator<S> stripes) {
+        this.stripes = stripes;
+    }
+
+    /**
+     * Creates an instance for the statistic created by the {@code supplier}.
+     *
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @return {@code StripedDoubleAccumulator} instance.
+     */
+    public static <S extends DoubleStatistic & StatisticAccumulator<S>> StripedDoubleAccumulator<S> of(
+            Supplier<S> supplier) {
+        return of(supplier, StatisticAccumulator::combine);
+    }
+
+    /**
+     * Creates an instance for the {@link DoubleStatistics} created by the {@code builder}.
+     *
+     * @param builder Builder of the statistics.
+     * @return {@code StripedDoubleAccumulator} instance.
+     */
+    public static StripedDoubleAccumulator<DoubleStatistics> of(DoubleStatistics.Builder builder) {
+        return of(builder::build, DoubleStatistics::combine);
+    }
+
+    /**
+     * Creates an instance for the statistic created by the {@code supplier}.
+     *
+     * <p>The {@code combiner} must update the first argument with the state of the
+     * second argument and return the first argument.
+     *
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param combiner Function to combine two instances.
+     * @return {@code StripedDoubleAccumulator} instance.
+     */
+    public static <S extends DoubleConsumer> StripedDoubleAccumulator<S> of(
+            Supplier<S> supplier, BinaryOperator<S> combiner) {
+        return of(supplier, combiner, StripedAccumulator.defaultStripes());
+    }
+
+    /**
+     * Creates an instance for the statistic created by the {@code supplier} using
+     * the specified number of stripes. The number of stripes is rounded up to a power
+     * of 2.
+     *
+     * <p>The {@code combiner} must update the first argument with the state of the
+     * second argument and return the first argument.
+     *
+     * @param <S> Type of the statistic.
+     * @param supplier Supplier of new instances of the statistic.
+     * @param combiner Function to combine two instances.
+     * @param stripes Number of stripes.
+     * @return {@code StripedDoubleAccumulator} instance.
+     * @throws IllegalArgumentException if {@code stripes < 1} or {@code stripes > 2^16}
+     */
+    public static <S extends DoubleConsumer> StripedDoubleAccumulator<S> of(
+            Supplier<S> supplier, BinaryOperator<S> combiner, int stripes) {
+        return new StripedDoubleAccumulator<>(new StripedAccumulator<>(supplier, combiner, stripes));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     *
+     * <p>This method is thread-safe.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        stripes.acceptDouble(value, DoubleConsumer::accept);
+    }
+
+    /**
+     * Gets the number of stripes.
+     *
+     * @return the number of stripes
+     */
+    public int getStripes() {
+        return stripes.getStripes();
+    }
+
+    /**
+     * Gets a snapshot of the statistic. The snapshot is a new instance of the
+     * statistic combined from all the stripes.
+     *
+     * @return the snapshot
+     */
+    public S snapshot() {
+        return stripes.snapshot();
+    }
+
+    /**
+     * Gets a snapshot of the statistic and resets the accumulator. Values added
+     * concurrently are included in either this snapshot or the next snapshot.
+     *
+     * @return the snapshot
+     */
+    public S snapshotAndReset() {
+        return stripes.snapshotAndReset();
+    }
+}
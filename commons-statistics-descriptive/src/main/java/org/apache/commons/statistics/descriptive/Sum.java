@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Returns the sum of the available values.
  *
@@ -52,7 +56,7 @@ package org.apache.commons.statistics.descriptive;
 public final class Sum implements DoubleStatistic, StatisticAccumulator<Sum> {
 
     /** {@link org.apache.commons.numbers.core.Sum Sum} used to compute the sum. */
-    private final org.apache.commons.numbers.core.Sum delegate;
+    private org.apache.commons.numbers.core.Sum delegate;
 
     /**
      * Create an instance.
@@ -96,6 +100,25 @@ public final class Sum implements DoubleStatistic, StatisticAccumulator<Sum> {
         return new Sum(org.apache.commons.numbers.core.Sum.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The result is {@code NaN} if any of the values is {@code NaN}
+     * or the sum at any point is a {@code NaN}.
+     *
+     * <p>When the range is empty, the result is zero.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Sum} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Sum of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Sum(Statistics.add(org.apache.commons.numbers.core.Sum.create(), values, from, to));
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -123,4 +146,34 @@ public final class Sum implements DoubleStatistic, StatisticAccumulator<Sum> {
         delegate.add(other.delegate);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        delegate = org.apache.commons.numbers.core.Sum.create();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        StatisticStates.writeSum(delegate, out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Sum} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Sum readState(DataInput in) throws IOException {
+        return new Sum(StatisticStates.readSum(in));
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the sum of cubed deviations from the sample mean. This
  * statistic is related to the third moment.
@@ -92,6 +96,18 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
         sumCubedDev = source.sumCubedDev;
     }
 
+    /**
+     * Create an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    SumOfCubedDeviations(DataInput in) throws IOException {
+        super(in);
+        sumCubedDev = in.readDouble();
+    }
+
     /**
      * Create an instance with the given sum of cubed and squared deviations.
      *
@@ -127,10 +143,27 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
      * @return {@code SumOfCubedDeviations} instance.
      */
     static SumOfCubedDeviations of(double... values) {
-        if (values.length == 0) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code SumOfCubedDeviations} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfCubedDeviations} instance.
+     */
+    static SumOfCubedDeviations of(double[] values, int from, int to) {
+        if (from == to) {
             return new SumOfCubedDeviations();
         }
-        return create(SumOfSquaredDeviations.of(values), values);
+        return create(SumOfSquaredDeviations.of(values, from, to), values, from, to);
     }
 
     /**
@@ -140,15 +173,20 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
      * This method is used by {@link DoubleStatistics} using a sum that can be reused
      * for the {@link Sum} statistic.
      *
+     * <p>Warning: No range checks are performed.
+     *
      * @param sum Sum of the values.
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return {@code SumOfCubedDeviations} instance.
      */
-    static SumOfCubedDeviations create(org.apache.commons.numbers.core.Sum sum, double[] values) {
-        if (values.length == 0) {
+    static SumOfCubedDeviations create(org.apache.commons.numbers.core.Sum sum,
+                                       double[] values, int from, int to) {
+        if (from == to) {
             return new SumOfCubedDeviations();
         }
-        return create(SumOfSquaredDeviations.create(sum, values), values);
+        return create(SumOfSquaredDeviations.create(sum, values, from, to), values, from, to);
     }
 
     /**
@@ -156,9 +194,11 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
      *
      * @param ss Sum of squared deviations.
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return {@code SumOfCubedDeviations} instance.
      */
-    private static SumOfCubedDeviations create(SumOfSquaredDeviations ss, double[] values) {
+    private static SumOfCubedDeviations create(SumOfSquaredDeviations ss, double[] values, int from, int to) {
         // Edge cases
         final double xbar = ss.getFirstMoment();
         if (!Double.isFinite(xbar)) {
@@ -170,16 +210,16 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
             // +/- values around a mean of zero, or approximately sqrt(MAX_VALUE / 2^31) = 2.89e149.
             // In this case the sum cubed could be finite due to cancellation
             // but this cannot be computed. Only a small array can be known to be zero.
-            return new SumOfCubedDeviations(values.length <= LENGTH_TWO ? 0 : Double.NaN, ss);
+            return new SumOfCubedDeviations(to - from <= LENGTH_TWO ? 0 : Double.NaN, ss);
         }
         // Compute the sum of cubed deviations.
         double s = 0;
         // n=1: no deviation
         // n=2: the two deviations from the mean are equal magnitude
         // and opposite sign. So the sum-of-cubed deviations is zero.
-        if (values.length > LENGTH_TWO) {
-            for (final double x : values) {
-                s += pow3(x - xbar);
+        if (to - from > LENGTH_TWO) {
+            for (int i = from; i < to; i++) {
+                s += pow3(values[i] - xbar);
             }
         }
         return new SumOfCubedDeviations(s, ss);
@@ -195,21 +235,39 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
      * @return {@code SumOfCubedDeviations} instance.
      */
     static SumOfCubedDeviations of(int... values) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code SumOfCubedDeviations} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfCubedDeviations} instance.
+     */
+    static SumOfCubedDeviations of(int[] values, int from, int to) {
         // Logic shared with the double[] version with int[] lower order moments
-        if (values.length == 0) {
+        if (from == to) {
             return new SumOfCubedDeviations();
         }
-        final IntVariance variance = IntVariance.of(values);
+        final int n = to - from;
+        final IntVariance variance = IntVariance.of(values, from, to);
         final double xbar = variance.computeMean();
         final double ss = variance.computeSumOfSquaredDeviations();
 
         double sc = 0;
-        if (values.length > LENGTH_TWO) {
-            for (final double x : values) {
-                sc += pow3(x - xbar);
+        if (n > LENGTH_TWO) {
+            for (int i = from; i < to; i++) {
+                sc += pow3(values[i] - xbar);
             }
         }
-        return new SumOfCubedDeviations(sc, ss, xbar, values.length);
+        return new SumOfCubedDeviations(sc, ss, xbar, n);
     }
 
     /**
@@ -222,21 +280,39 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
      * @return {@code SumOfCubedDeviations} instance.
      */
     static SumOfCubedDeviations of(long... values) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code SumOfCubedDeviations} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfCubedDeviations} instance.
+     */
+    static SumOfCubedDeviations of(long[] values, int from, int to) {
         // Logic shared with the double[] version with long[] lower order moments
-        if (values.length == 0) {
+        if (from == to) {
             return new SumOfCubedDeviations();
         }
-        final LongVariance variance = LongVariance.of(values);
+        final int n = to - from;
+        final LongVariance variance = LongVariance.of(values, from, to);
         final double xbar = variance.computeMean();
         final double ss = variance.computeSumOfSquaredDeviations();
 
         double sc = 0;
-        if (values.length > LENGTH_TWO) {
-            for (final double x : values) {
-                sc += pow3(x - xbar);
+        if (n > LENGTH_TWO) {
+            for (int i = from; i < to; i++) {
+                sc += pow3(values[i] - xbar);
             }
         }
-        return new SumOfCubedDeviations(sc, ss, xbar, values.length);
+        return new SumOfCubedDeviations(sc, ss, xbar, n);
     }
 
     /**
@@ -272,6 +348,12 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
             (np - 1.0) * np * nDev * nDev * dev * 8;
     }
 
+    @Override
+    void reset() {
+        super.reset();
+        sumCubedDev = 0;
+    }
+
     /**
      * Gets the sum of cubed deviations of all input values.
      *
@@ -329,4 +411,10 @@ class SumOfCubedDeviations extends SumOfSquaredDeviations {
         super.combine(other);
         return this;
     }
+
+    @Override
+    void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(sumCubedDev);
+    }
 }
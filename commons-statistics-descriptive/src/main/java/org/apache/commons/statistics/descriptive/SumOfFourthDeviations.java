@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the sum of fourth deviations from the sample mean. This
  * statistic is related to the fourth moment.
@@ -83,6 +87,18 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
         // No-op
     }
 
+    /**
+     * Create an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    SumOfFourthDeviations(DataInput in) throws IOException {
+        super(in);
+        sumFourthDev = in.readDouble();
+    }
+
     /**
      * Create an instance with the given sum of fourth and squared deviations.
      *
@@ -119,10 +135,27 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
      * @return {@code SumOfFourthDeviations} instance.
      */
     static SumOfFourthDeviations of(double... values) {
-        if (values.length == 0) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code SumOfFourthDeviations} computed using {@link #accept accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfFourthDeviations} instance.
+     */
+    static SumOfFourthDeviations of(double[] values, int from, int to) {
+        if (from == to) {
             return new SumOfFourthDeviations();
         }
-        return create(SumOfCubedDeviations.of(values), values);
+        return create(SumOfCubedDeviations.of(values, from, to), values, from, to);
     }
 
     /**
@@ -132,15 +165,20 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
      * This method is used by {@link DoubleStatistics} using a sum that can be reused
      * for the {@link Sum} statistic.
      *
+     * <p>Warning: No range checks are performed.
+     *
      * @param sum Sum of the values.
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return {@code SumOfFourthDeviations} instance.
      */
-    static SumOfFourthDeviations create(org.apache.commons.numbers.core.Sum sum, double[] values) {
-        if (values.length == 0) {
+    static SumOfFourthDeviations create(org.apache.commons.numbers.core.Sum sum,
+                                        double[] values, int from, int to) {
+        if (from == to) {
             return new SumOfFourthDeviations();
         }
-        return create(SumOfCubedDeviations.create(sum, values), values);
+        return create(SumOfCubedDeviations.create(sum, values, from, to), values, from, to);
     }
 
     /**
@@ -148,9 +186,11 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
      *
      * @param sc Sum of cubed deviations.
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return {@code SumOfFourthDeviations} instance.
      */
-    private static SumOfFourthDeviations create(SumOfCubedDeviations sc, double[] values) {
+    private static SumOfFourthDeviations create(SumOfCubedDeviations sc, double[] values, int from, int to) {
         // Edge cases
         final double xbar = sc.getFirstMoment();
         if (!Double.isFinite(xbar) ||
@@ -162,8 +202,8 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
         // Compute the sum of fourth (quad) deviations.
         // Note: This handles n=1.
         double s = 0;
-        for (final double x : values) {
-            s += pow4(x - xbar);
+        for (int i = from; i < to; i++) {
+            s += pow4(values[i] - xbar);
         }
         return new SumOfFourthDeviations(s, sc);
     }
@@ -190,11 +230,29 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
      * @return {@code SumOfCubedDeviations} instance.
      */
     static SumOfFourthDeviations of(int... values) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code SumOfCubedDeviations} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfCubedDeviations} instance.
+     */
+    static SumOfFourthDeviations of(int[] values, int from, int to) {
         // Logic shared with the double[] version with int[] lower order moments
-        if (values.length == 0) {
+        if (from == to) {
             return new SumOfFourthDeviations();
         }
-        final IntVariance variance = IntVariance.of(values);
+        final int n = to - from;
+        final IntVariance variance = IntVariance.of(values, from, to);
         final double xbar = variance.computeMean();
         final double ss = variance.computeSumOfSquaredDeviations();
         // Unlike the double[] case, overflow/NaN is not possible:
@@ -202,17 +260,17 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
         // Compute sum of cubed and fourth deviations together.
         double sc = 0;
         double sq = 0;
-        for (final double y : values) {
-            final double x = y - xbar;
+        for (int i = from; i < to; i++) {
+            final double x = values[i] - xbar;
             final double x2 = x * x;
             sc += x2 * x;
             sq += x2 * x2;
         }
         // Edge case to avoid floating-point error for zero
-        if (values.length <= SumOfCubedDeviations.LENGTH_TWO) {
+        if (n <= SumOfCubedDeviations.LENGTH_TWO) {
             sc = 0;
         }
-        return new SumOfFourthDeviations(sq, sc, ss, xbar, values.length);
+        return new SumOfFourthDeviations(sq, sc, ss, xbar, n);
     }
 
     /**
@@ -225,11 +283,29 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
      * @return {@code SumOfCubedDeviations} instance.
      */
     static SumOfFourthDeviations of(long... values) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code SumOfCubedDeviations} computed using {@link #accept(double) accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfCubedDeviations} instance.
+     */
+    static SumOfFourthDeviations of(long[] values, int from, int to) {
         // Logic shared with the double[] version with long[] lower order moments
-        if (values.length == 0) {
+        if (from == to) {
             return new SumOfFourthDeviations();
         }
-        final LongVariance variance = LongVariance.of(values);
+        final int n = to - from;
+        final LongVariance variance = LongVariance.of(values, from, to);
         final double xbar = variance.computeMean();
         final double ss = variance.computeSumOfSquaredDeviations();
         // Unlike the double[] case, overflow/NaN is not possible:
@@ -237,17 +313,17 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
         // Compute sum of cubed and fourth deviations together.
         double sc = 0;
         double sq = 0;
-        for (final double y : values) {
-            final double x = y - xbar;
+        for (int i = from; i < to; i++) {
+            final double x = values[i] - xbar;
             final double x2 = x * x;
             sc += x2 * x;
             sq += x2 * x2;
         }
         // Edge case to avoid floating-point error for zero
-        if (values.length <= SumOfCubedDeviations.LENGTH_TWO) {
+        if (n <= SumOfCubedDeviations.LENGTH_TWO) {
             sc = 0;
         }
-        return new SumOfFourthDeviations(sq, sc, ss, xbar, values.length);
+        return new SumOfFourthDeviations(sq, sc, ss, xbar, n);
     }
 
     /**
@@ -277,6 +353,12 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
             np * (np1 * np1 - 3 * np) * nDev * nDev * nDev * dev * 16;
     }
 
+    @Override
+    void reset() {
+        super.reset();
+        sumFourthDev = 0;
+    }
+
     /**
      * Gets the sum of fourth deviations of all input values.
      *
@@ -339,4 +421,10 @@ class SumOfFourthDeviations extends SumOfCubedDeviations {
         super.combine(other);
         return this;
     }
+
+    @Override
+    void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(sumFourthDev);
+    }
 }
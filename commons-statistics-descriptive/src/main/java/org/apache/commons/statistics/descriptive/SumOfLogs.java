@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Returns the sum of the {@link Math#log(double) natural logarithm} of available values.
  *
@@ -59,14 +63,22 @@ package org.apache.commons.statistics.descriptive;
 public final class SumOfLogs implements DoubleStatistic, StatisticAccumulator<SumOfLogs> {
 
     /** {@link org.apache.commons.numbers.core.Sum Sum} used to compute the sum. */
-    private final org.apache.commons.numbers.core.Sum delegate =
-            org.apache.commons.numbers.core.Sum.create();
+    private org.apache.commons.numbers.core.Sum delegate;
 
     /**
      * Create an instance.
      */
     private SumOfLogs() {
-        // No-op
+        this(org.apache.commons.numbers.core.Sum.create());
+    }
+
+    /**
+     * Create an instance using the specified {@code sum}.
+     *
+     * @param sum Sum of the logs.
+     */
+    private SumOfLogs(org.apache.commons.numbers.core.Sum sum) {
+        delegate = sum;
     }
 
     /**
@@ -95,6 +107,25 @@ public final class SumOfLogs implements DoubleStatistic, StatisticAccumulator<Su
         return Statistics.add(new SumOfLogs(), values);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The result is {@code NaN} if any of the values is {@code NaN}
+     * or negative; or the sum at any point is a {@code NaN}.
+     *
+     * <p>When the range is empty, the result is zero.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfLogs} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static SumOfLogs of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(new SumOfLogs(), values, from, to);
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -109,6 +140,24 @@ public final class SumOfLogs implements DoubleStatistic, StatisticAccumulator<Su
         return Statistics.add(new SumOfLogs(), values);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The result is {@code NaN} if any of the values is negative.
+     *
+     * <p>When the range is empty, the result is zero.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfLogs} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static SumOfLogs of(int[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(new SumOfLogs(), values, from, to);
+    }
+
     /**
      * Returns an instance populated using the input {@code values}.
      *
@@ -123,6 +172,24 @@ public final class SumOfLogs implements DoubleStatistic, StatisticAccumulator<Su
         return Statistics.add(new SumOfLogs(), values);
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The result is {@code NaN} if any of the values is negative.
+     *
+     * <p>When the range is empty, the result is zero.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfLogs} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static SumOfLogs of(long[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return Statistics.add(new SumOfLogs(), values, from, to);
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -150,4 +217,34 @@ public final class SumOfLogs implements DoubleStatistic, StatisticAccumulator<Su
         delegate.add(other.delegate);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        delegate = org.apache.commons.numbers.core.Sum.create();
+    }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        StatisticStates.writeSum(delegate, out);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code SumOfLogs} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static SumOfLogs readState(DataInput in) throws IOException {
+        return new SumOfLogs(StatisticStates.readSum(in));
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the sum of squared deviations from the sample mean. This
  * statistic is related to the second moment.
@@ -55,6 +59,10 @@ package org.apache.commons.statistics.descriptive;
  * </ul>
  */
 class SumOfSquaredDeviations extends FirstMoment {
+    /** Threshold for the relative reduction of the sum of squared deviations on removal
+     * of a value. Below this the round-off from the removal is significant. */
+    private static final double CANCELLATION_THRESHOLD = 0x1.0p-20;
+
     /** Sum of squared deviations of the values that have been added. */
     protected double sumSquaredDev;
 
@@ -75,6 +83,18 @@ class SumOfSquaredDeviations extends FirstMoment {
         sumSquaredDev = source.sumSquaredDev;
     }
 
+    /**
+     * Create an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    SumOfSquaredDeviations(DataInput in) throws IOException {
+        super(in);
+        sumSquaredDev = in.readDouble();
+    }
+
     /**
      * Create an instance with the given sum of squared deviations and first moment.
      *
@@ -110,10 +130,27 @@ class SumOfSquaredDeviations extends FirstMoment {
      * @return {@code SumOfSquaredDeviations} instance.
      */
     static SumOfSquaredDeviations of(double... values) {
-        if (values.length == 0) {
+        return of(values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code SumOfSquaredDeviations} computed using {@link #accept accept} may be
+     * different from this instance.
+     *
+     * <p>Warning: No range checks are performed.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code SumOfSquaredDeviations} instance.
+     */
+    static SumOfSquaredDeviations of(double[] values, int from, int to) {
+        if (from == to) {
             return new SumOfSquaredDeviations();
         }
-        return create(FirstMoment.of(values), values);
+        return create(FirstMoment.of(values, from, to), values, from, to);
     }
 
     /**
@@ -123,15 +160,20 @@ class SumOfSquaredDeviations extends FirstMoment {
      * This method is used by {@link DoubleStatistics} using a sum that can be reused
      * for the {@link Sum} statistic.
      *
+     * <p>Warning: No range checks are performed.
+     *
      * @param sum Sum of the values.
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return {@code SumOfSquaredDeviations} instance.
      */
-    static SumOfSquaredDeviations create(org.apache.commons.numbers.core.Sum sum, double[] values) {
-        if (values.length == 0) {
+    static SumOfSquaredDeviations create(org.apache.commons.numbers.core.Sum sum,
+                                         double[] values, int from, int to) {
+        if (from == to) {
             return new SumOfSquaredDeviations();
         }
-        return create(FirstMoment.create(sum, values), values);
+        return create(FirstMoment.create(sum, values, from, to), values, from, to);
     }
 
     /**
@@ -139,9 +181,11 @@ class SumOfSquaredDeviations extends FirstMoment {
      *
      * @param m1 First moment.
      * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
      * @return {@code SumOfSquaredDeviations} instance.
      */
-    private static SumOfSquaredDeviations create(FirstMoment m1, double[] values) {
+    private static SumOfSquaredDeviations create(FirstMoment m1, double[] values, int from, int to) {
         // "Corrected two-pass algorithm"
         // See: Chan et al (1983) Equation 1.7
 
@@ -151,8 +195,8 @@ class SumOfSquaredDeviations extends FirstMoment {
         }
         double s = 0;
         double ss = 0;
-        for (final double x : values) {
-            final double dx = x - xbar;
+        for (int i = from; i < to; i++) {
+            final double dx = values[i] - xbar;
             s += dx;
             ss += dx * dx;
         }
@@ -163,7 +207,7 @@ class SumOfSquaredDeviations extends FirstMoment {
         // when ss is infinite, assign it an infinite value which is its intended value.
         final double sumSquaredDev = ss == Double.POSITIVE_INFINITY ?
             Double.POSITIVE_INFINITY :
-            ss - (s * s / values.length);
+            ss - (s * s / (to - from));
         return new SumOfSquaredDeviations(sumSquaredDev, m1);
     }
 
@@ -181,6 +225,43 @@ class SumOfSquaredDeviations extends FirstMoment {
         sumSquaredDev += (n - 1) * dev * nDev * 4;
     }
 
+    @Override
+    void reset() {
+        super.reset();
+        sumSquaredDev = 0;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the removal of {@code value}.
+     *
+     * <p>This reverses the update performed by {@link #accept(double)}. The value must
+     * be finite and must have been previously added; otherwise the result is undefined.
+     *
+     * <p>Note: Removal is not supported by the higher order moments.
+     *
+     * <p>The result is not accurate if the sum of squared deviations is reduced by a
+     * large factor, for example when an outlier is removed.
+     *
+     * @param value Value.
+     * @return true if the updated moment is accurate
+     */
+    @Override
+    boolean remove(double value) {
+        super.remove(value);
+        if (n == 0) {
+            sumSquaredDev = 0;
+            return true;
+        }
+        // Reverse of the update: ss_{i-1} = ss_i - (x - m_{i-1}) * (x - m_i)
+        // Here dev = (x - m_i) / 2 and (dev + nDev) = (x - m_{i-1}) / 2.
+        // Note: account for the half-deviation representation by scaling by 4=2^2.
+        // Round-off may create a small negative value.
+        final double ss = sumSquaredDev;
+        sumSquaredDev = Math.max(0, ss - dev * (dev + nDev) * 4);
+        // The absolute error is relative to the previous value
+        return sumSquaredDev >= ss * CANCELLATION_THRESHOLD;
+    }
+
     /**
      * Gets the sum of squared deviations of all input values.
      *
@@ -212,4 +293,10 @@ class SumOfSquaredDeviations extends FirstMoment {
         super.combine(other);
         return this;
     }
+
+    @Override
+    void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(sumSquaredDev);
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Retains the {@code k} largest values and their indices.
+ *
+ * <p>Values are ordered using {@link Double#compare(double, double)}: {@code NaN} is
+ * larger than all other values and {@code -0.0} is smaller than {@code 0.0}. Equal values
+ * are ordered by ascending index.
+ *
+ * <ul>
+ *   <li>The result is empty if no values are added.
+ *   <li>{@code NaN} values are retained as the largest values.
+ * </ul>
+ *
+ * <p>The index of each value can be specified using {@link #accept(double, long)}.
+ * Values added using {@link #accept(double)} are assigned the index {@code n}, where
+ * {@code n} is the number of values previously added. The {@link #of(int, double[], int, int)}
+ * method assigns the position in the array as the index.
+ *
+ * <p>The {@link #combine(TopK) combine} method does not change the indices. The indices
+ * assigned by {@link #accept(double)} are positions within the values added to each
+ * instance; after combining instances that accepted parts of the same input (e.g. a parallel
+ * stream) they are not positions in the input. Specify the index in the input using
+ * {@link #accept(double, long)} or {@link #of(int, double[], int, int)}.
+ *
+ * <p>The retained values are stored in a bounded binary heap backed by primitive arrays
+ * allocated on construction. A new value is compared to the root of the heap and the
+ * update does not allocate memory. The {@link #of(int, double[]) of} method identifies
+ * the {@code k}-th largest value using a quickselect on a copy of the data and only adds
+ * the values that pass this threshold to the heap.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double) accept} or
+ * {@link #combine(TopK) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double) accept}
+ * and {@link #combine(TopK) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * @see Max
+ * @see BottomK
+ * @since 1.1
+ */
+public final class TopK implements DoubleConsumer {
+    /** Heap of the retained values. */
+    private final DoubleIndexHeap heap;
+    /** Count of values that have been added. */
+    private long n;
+
+    /**
+     * Create an instance.
+     *
+     * @param k Number of values to retain.
+     */
+    private TopK(int k) {
+        heap = new DoubleIndexHeap(k, true);
+    }
+
+    /**
+     * Creates an instance to retain the {@code k} largest values.
+     *
+     * <p>The initial result is empty.
+     *
+     * @param k Number of values to retain.
+     * @return {@code TopK} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     */
+    public static TopK create(int k) {
+        return new TopK(k);
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values}.
+     *
+     * <p>The index of each value is its position in the array.
+     *
+     * @param k Number of values to retain.
+     * @param values Values.
+     * @return {@code TopK} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     */
+    public static TopK of(int k, double... values) {
+        return of(k, values, 0, values.length);
+    }
+
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>The index of each value is its position in the array.
+     *
+     * @param k Number of values to retain.
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code TopK} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static TopK of(int k, double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        final TopK s = new TopK(k);
+        s.heap.add(values, from, to);
+        s.n = to - from;
+        return s;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * The index of the value is the number of values previously added.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        heap.add(value, n++);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code index}.
+     *
+     * @param value Value.
+     * @param index Index.
+     */
+    public void accept(double value, long index) {
+        n++;
+        heap.add(value, index);
+    }
+
+    /**
+     * Gets the count of the values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the maximum number of retained values.
+     *
+     * @return k
+     */
+    public int getK() {
+        return heap.getK();
+    }
+
+    /**
+     * Gets the retained values in descending order. The length is the minimum of
+     * {@code k} and the count of values.
+     *
+     * <p>When no values have been added, the result is an empty array.
+     *
+     * @return the values
+     * @see #getIndices()
+     */
+    public double[] getValues() {
+        final double[] values = new double[heap.size()];
+        heap.get(values, new long[values.length]);
+        return values;
+    }
+
+    /**
+     * Gets the indices of the retained values. The indices are in the same order as
+     * the values returned by {@link #getValues()}.
+     *
+     * <p>When no values have been added, the result is an empty array.
+     *
+     * @return the indices
+     * @see #getValues()
+     */
+    public long[] getIndices() {
+        final long[] indices = new long[heap.size()];
+        heap.get(new double[indices.length], indices);
+        return indices;
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * <p>The indices of the values are unchanged. Indices assigned by {@link #accept(double)}
+     * are not offset by the count of values added to this instance.
+     * The count is the sum of the counts.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the number of retained values {@code k} is different
+     */
+    public TopK combine(TopK other) {
+        if (other.getK() != getK()) {
+            throw new IllegalArgumentException("Incompatible k: " + other.getK() + " != " + getK());
+        }
+        // Combine with self retains the same values
+        if (other != this) {
+            heap.add(other.heap);
+        }
+        n += other.n;
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The size {@code k} is not changed.
+     */
+    public void reset() {
+        heap.reset();
+        n = 0;
+    }
+}
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
@@ -136,6 +139,15 @@ final class UInt128 {
         ab += (s >>> Integer.SIZE) + aabb;
     }
 
+    /**
+     * Resets the value to zero.
+     */
+    void reset() {
+        d = 0;
+        c = 0;
+        ab = 0;
+    }
+
     /**
      * Multiply by the unsigned value.
      * Any overflow bits are lost.
@@ -260,4 +272,29 @@ final class UInt128 {
     long hi64() {
         return ab;
     }
+
+    /**
+     * Writes the value to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(hi64());
+        out.writeLong(lo64());
+    }
+
+    /**
+     * Creates an instance using the value read from the input.
+     *
+     * @param in Input.
+     * @return {@code UInt128} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static UInt128 readState(DataInput in) throws IOException {
+        final long h = in.readLong();
+        return new UInt128(h, in.readLong());
+    }
 }
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
@@ -137,6 +140,17 @@ final class UInt192 {
         ab += (s >>> Integer.SIZE) + aabb;
     }
 
+    /**
+     * Resets the value to zero.
+     */
+    void reset() {
+        f = 0;
+        e = 0;
+        d = 0;
+        c = 0;
+        ab = 0;
+    }
+
 
     /**
      * Multiply by the unsigned value.
@@ -269,4 +283,31 @@ final class UInt192 {
     long hi64() {
         return ab;
     }
+
+    /**
+     * Writes the value to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(hi64());
+        out.writeLong(mid64());
+        out.writeLong(lo64());
+    }
+
+    /**
+     * Creates an instance using the value read from the input.
+     *
+     * @param in Input.
+     * @return {@code UInt192} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static UInt192 readState(DataInput in) throws IOException {
+        final long h = in.readLong();
+        final long m = in.readLong();
+        return new UInt192(h, m, in.readLong());
+    }
 }
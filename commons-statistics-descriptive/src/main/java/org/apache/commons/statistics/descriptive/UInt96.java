@@ -120,6 +120,14 @@ final class UInt96 {
         ab += (s >>> Integer.SIZE) + aabb;
     }
 
+    /**
+     * Resets the value to zero.
+     */
+    void reset() {
+        c = 0;
+        ab = 0;
+    }
+
     /**
      * Convert to a BigInteger.
      *
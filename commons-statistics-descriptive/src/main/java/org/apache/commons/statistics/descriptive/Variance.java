@@ -16,6 +16,10 @@
  */
 package org.apache.commons.statistics.descriptive;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Computes the variance of the available values. The default implementation uses the
  * following definition of the <em>sample variance</em>:
@@ -137,6 +141,25 @@ public final class Variance implements DoubleStatistic, StatisticAccumulator<Var
         return new Variance(SumOfSquaredDeviations.of(values));
     }
 
+    /**
+     * Returns an instance populated using the specified range of {@code values}.
+     *
+     * <p>Note: {@code Variance} computed using {@link #accept(double) accept} may be
+     * different from this variance.
+     *
+     * <p>See {@link Variance} for details on the computing algorithm.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return {@code Variance} instance.
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static Variance of(double[] values, int from, int to) {
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new Variance(SumOfSquaredDeviations.of(values, from, to));
+    }
+
     /**
      * Updates the state of the statistic to reflect the addition of {@code value}.
      *
@@ -177,6 +200,15 @@ public final class Variance implements DoubleStatistic, StatisticAccumulator<Var
         return this;
     }
 
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} option is not changed.
+     */
+    public void reset() {
+        ss.reset();
+    }
+
     /**
      * Sets the value of the biased flag. The default value is {@code false}.
      *
@@ -201,4 +233,28 @@ public final class Variance implements DoubleStatistic, StatisticAccumulator<Var
         biased = v;
         return this;
     }
+
+    /**
+     * Writes the state of the statistic to the output.
+     *
+     * @param out Output.
+     * @throws IOException if an I/O error occurs
+     * @see #readState(DataInput)
+     */
+    void writeState(DataOutput out) throws IOException {
+        ss.writeState(out);
+        out.writeBoolean(biased);
+    }
+
+    /**
+     * Creates an instance using the state read from the input.
+     *
+     * @param in Input.
+     * @return {@code Variance} instance.
+     * @throws IOException if an I/O error occurs
+     * @see #writeState(DataOutput)
+     */
+    static Variance readState(DataInput in) throws IOException {
+        return new Variance(new SumOfSquaredDeviations(in)).setBiased(in.readBoolean());
+    }
 }
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the weighted kurtosis of the available values {@code x} with weights {@code w}.
+ * The default implementation uses the following definition of the <em>sample kurtosis</em>:
+ *
+ * <p>\[ G_2 = \frac{N-1}{(N-2)\,(N-3)} \left[(N+1)\,\frac{m_4}{m_{2}^2} - 3\,(N-1) \right] \]
+ *
+ * <p>where \( m_k = \frac{1}{W} \sum_{i=1}^n w_i (x_i-\overline{x})^k \) is the \( k \)-th
+ * weighted sample moment about the weighted mean \( \overline{x} \), \( W \) is the sum of
+ * the weights, and \( N \) is the sample size.
+ *
+ * <p>For frequency weights the sample size is the sum of the weights \( N = W \); the result
+ * is the same as the {@link Kurtosis} of the expanded data. If the
+ * {@link #setReliabilityWeights(boolean) reliability weights} option is enabled the sample
+ * size is the effective sample size:
+ *
+ * <p>\[ N = \frac{W^2}{\sum_{i=1}^n w_i^2} \]
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if less than 2 values with a non-zero weight are added.
+ *   <li>The unbiased result is {@code NaN} if the sample size is not above 3.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.
+ *   <li>The result is {@code NaN} if the weighted sum of the fourth deviations from the mean is infinite.
+ * </ul>
+ *
+ * <p>If the {@link #setBiased(boolean) biased} option is enabled the following equation
+ * applies:
+ *
+ * <p>\[ g_2 = \frac{m_4}{m_2^2} - 3 \]
+ *
+ * <p>In this case the result does not depend on the sample size.
+ *
+ * <p>Note that the computation requires division by the second central moment \( m_2 \).
+ * If this is effectively zero then the result is {@code NaN}. This occurs when the value
+ * \( m_2 \) approaches the machine precision of the mean: \( m_2 \le (m_1 \times 10^{-15})^2 \).
+ *
+ * <p>Weights must be finite and non-negative. Values with a weight of zero are ignored.
+ * The sum of the weights must be finite; this implementation does not check for overflow
+ * of the sum of the weights.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm
+ * with the same scaled deviations as the {@link Mean}; this avoids overflow of the mean
+ * for all finite input.
+ *
+ * <p>The {@link #of(double[], double[])} method uses a two-pass algorithm, starting with
+ * computation of the weighted mean, and then computing the sums of deviations in a second pass.
+ *
+ * <p>Note that adding values using {@link #accept(double, double) accept} and then executing
+ * {@link #getAsDouble() getAsDouble} will
+ * sometimes give a different result than executing
+ * {@link #of(double[], double[]) of} with the full arrays of values. The former approach
+ * should only be used when the full arrays of values are not available.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Pébay (2008)
+ *       Formulas for Robust, One-Pass Parallel Computation of Covariances and
+ *       Arbitrary-Order Statistical Moments.
+ *       Technical Report SAND2008-6212, Sandia National Laboratories.
+ *       <a href="https://doi.org/10.2172/1028931">doi: 10.2172/1028931</a>
+ * </ul>
+ *
+ * @see Kurtosis
+ * @since 1.1
+ */
+public final class WeightedKurtosis implements StatisticResult, StatisticAccumulator<WeightedKurtosis> {
+    /** 2, the length limit where the kurtosis is undefined. */
+    private static final int LENGTH_TWO = 2;
+    /** 3, the sample size limit where the unbiased kurtosis is undefined. */
+    private static final int LENGTH_THREE = 3;
+
+    /** Weighted moments of the values. */
+    private final WeightedMoment moment;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /** Flag to control if the weights are reliability weights, or frequency weights. */
+    private boolean reliability;
+
+    /**
+     * Create an instance.
+     *
+     * @param moment Weighted moments of the values.
+     */
+    private WeightedKurtosis(WeightedMoment moment) {
+        this.moment = moment;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code WeightedKurtosis} instance.
+     */
+    public static WeightedKurtosis create() {
+        return new WeightedKurtosis(new WeightedMoment(4));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} with the
+     * corresponding {@code weights}.
+     *
+     * <p>Note: {@code WeightedKurtosis} computed using {@link #accept(double, double) accept} may be
+     * different from this kurtosis.
+     *
+     * <p>See {@link WeightedKurtosis} for details on the computing algorithm.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedKurtosis} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative or not finite
+     */
+    public static WeightedKurtosis of(double[] values, double[] weights) {
+        return new WeightedKurtosis(WeightedMoment.of(4, values, weights));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} with the
+     * corresponding {@code weights}.
+     *
+     * <p>Note: {@code WeightedKurtosis} computed using {@link #accept(double, double) accept} may be
+     * different from this kurtosis.
+     *
+     * <p>See {@link WeightedKurtosis} for details on the computing algorithm.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedKurtosis} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative
+     */
+    public static WeightedKurtosis of(double[] values, long[] weights) {
+        return new WeightedKurtosis(WeightedMoment.of(4, values, weights));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code weight}.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @throws IllegalArgumentException if the {@code weight} is negative or not finite
+     */
+    public void accept(double value, double weight) {
+        WeightedMoment.checkWeight(weight);
+        moment.accept(value, weight);
+    }
+
+    /**
+     * Gets the weighted kurtosis of all input values.
+     *
+     * <p>When fewer than 2 values with a non-zero weight have been added, the result is {@code NaN}.
+     *
+     * @return weighted kurtosis of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        // This method checks the sum of squared or fourth deviations is finite
+        // to provide a consistent NaN when the computation is not possible.
+
+        if (moment.getN() < LENGTH_TWO) {
+            return Double.NaN;
+        }
+        final double x2 = moment.getSumOfSquaredDeviations();
+        if (!Double.isFinite(x2)) {
+            return Double.NaN;
+        }
+        final double x4 = moment.getSumOfFourthDeviations();
+        if (!Double.isFinite(x4)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero; for a negligible variance return NaN.
+        final double w = moment.getSumOfWeights();
+        final double m2 = x2 / w;
+        if (Statistics.zeroVariance(moment.getFirstMoment(), m2)) {
+            return Double.NaN;
+        }
+        final double m4 = x4 / w;
+        if (biased) {
+            return m4 / (m2 * m2) - 3;
+        }
+        final double n = moment.getSampleSize(reliability);
+        if (!(n > LENGTH_THREE)) {
+            return Double.NaN;
+        }
+        return ((n * n - 1) * m4 / (m2 * m2) - 3 * (n - 1) * (n - 1)) / ((n - 2) * (n - 3));
+    }
+
+    @Override
+    public WeightedKurtosis combine(WeightedKurtosis other) {
+        moment.combine(other.moment);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} and
+     * {@link #setReliabilityWeights(boolean) reliability weights} options are not changed.
+     */
+    public void reset() {
+        moment.reset();
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     * See {@link WeightedKurtosis} for details on the computing algorithm.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(WeightedKurtosis) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public WeightedKurtosis setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+
+    /**
+     * Sets the value of the reliability weights flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the weights are frequency weights and the sample size of the
+     * bias correction is the sum of the weights. If {@code true} the weights are reliability
+     * weights and the sample size is the effective sample size.
+     * See {@link WeightedKurtosis} for details on the computing algorithm.
+     *
+     * <p>Note: This option only applies to the unbiased kurtosis.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(WeightedKurtosis) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public WeightedKurtosis setReliabilityWeights(boolean v) {
+        reliability = v;
+        return this;
+    }
+}
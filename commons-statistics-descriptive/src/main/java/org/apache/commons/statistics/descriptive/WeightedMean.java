@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the weighted arithmetic mean of the available values {@code x} with
+ * weights {@code w}. Uses the following definition:
+ *
+ * <p>\[ \overline{x} = \frac{\sum_{i=1}^n w_i x_i}{\sum_{i=1}^n w_i} \]
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values with a non-zero weight are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN}, or the values include
+ *       infinities of different sign.
+ *   <li>The result is +/- infinity if values include infinities of the same sign.
+ * </ul>
+ *
+ * <p>Weights must be finite and non-negative. Values with a weight of zero are ignored.
+ * The sum of the weights must be finite; this implementation does not check for overflow
+ * of the sum of the weights.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm
+ * (West, 1979) with the same scaled deviations as the {@link Mean}; this avoids overflow
+ * for all finite input.
+ *
+ * <p>Note that adding values using {@link #accept(double, double) accept} and then executing
+ * {@link #getAsDouble() getAsDouble} will
+ * sometimes give a different, less accurate, result than executing
+ * {@link #of(double[], double[]) of} with the full arrays of values. The former approach
+ * should only be used when the full arrays of values are not available.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>West (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Weighted_arithmetic_mean">Weighted arithmetic mean (Wikipedia)</a>
+ * @see Mean
+ * @since 1.1
+ */
+public final class WeightedMean implements StatisticResult, StatisticAccumulator<WeightedMean> {
+
+    /** Weighted moment of the values. */
+    private final WeightedMoment moment;
+
+    /**
+     * Create an instance.
+     *
+     * @param moment Weighted moment of the values.
+     */
+    private WeightedMean(WeightedMoment moment) {
+        this.moment = moment;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code WeightedMean} instance.
+     */
+    public static WeightedMean create() {
+        return new WeightedMean(new WeightedMoment(1));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} with the
+     * corresponding {@code weights}.
+     *
+     * <p>Note: {@code WeightedMean} computed using {@link #accept(double, double) accept} may be
+     * different from this mean.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedMean} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative or not finite
+     */
+    public static WeightedMean of(double[] values, double[] weights) {
+        return new WeightedMean(WeightedMoment.of(1, values, weights));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} with the
+     * corresponding {@code weights}.
+     *
+     * <p>Note: {@code WeightedMean} computed using {@link #accept(double, double) accept} may be
+     * different from this mean.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedMean} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative
+     */
+    public static WeightedMean of(double[] values, long[] weights) {
+        return new WeightedMean(WeightedMoment.of(1, values, weights));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code weight}.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @throws IllegalArgumentException if the {@code weight} is negative or not finite
+     */
+    public void accept(double value, double weight) {
+        WeightedMoment.checkWeight(weight);
+        moment.accept(value, weight);
+    }
+
+    /**
+     * Gets the weighted mean of all input values.
+     *
+     * <p>When no values with a non-zero weight have been added, the result is {@code NaN}.
+     *
+     * @return weighted mean of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return moment.getFirstMoment();
+    }
+
+    @Override
+    public WeightedMean combine(WeightedMean other) {
+        moment.combine(other.moment);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    public void reset() {
+        moment.reset();
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Computes the weighted mean and the weighted sums of the powers of the deviations
+ * from the weighted mean of the values {@code x} with weights {@code w}:
+ *
+ * <p>\[ \begin{aligned}
+ *       W &amp;= \sum_i w_i \\
+ *       \overline{x} &amp;= \frac{1}{W} \sum_i w_i x_i \\
+ *       S_p &amp;= \sum_i w_i (x_i - \overline{x})^p
+ *       \end{aligned} \]
+ *
+ * <p>The sums are computed up to a configured order {@code p <= 4}. The sum of the
+ * squared weights is retained (as a ratio to the sum of the weights) to compute the
+ * effective sample size of reliability weights.
+ *
+ * <p>The pairwise updating formulas of Pébay (2008) are used with real-valued weights in
+ * place of the sample sizes. Two states \( A \) and \( B \) are combined using:
+ *
+ * <p>\[ \begin{aligned}
+ *       S_2 &amp;= S_{2,A} + S_{2,B} + \delta^2 \frac{W_A W_B}{W} \\
+ *       S_3 &amp;= S_{3,A} + S_{3,B} + \delta^3 \frac{W_A W_B (W_A - W_B)}{W^2}
+ *                + 3 \delta \frac{W_A S_{2,B} - W_B S_{2,A}}{W} \\
+ *       S_4 &amp;= S_{4,A} + S_{4,B} + \delta^4 \frac{W_A W_B (W_A^2 - W_A W_B + W_B^2)}{W^3}
+ *                + 6 \delta^2 \frac{W_A^2 S_{2,B} + W_B^2 S_{2,A}}{W^2}
+ *                + 4 \delta \frac{W_A S_{3,B} - W_B S_{3,A}}{W}
+ *       \end{aligned} \]
+ *
+ * <p>where \( \delta = \overline{x}_B - \overline{x}_A \) and \( W = W_A + W_B \). Adding a
+ * weighted value is a combine with a state with a single value.
+ *
+ * <p>The deviations are computed using the same scaled representation as the
+ * {@link FirstMoment} to avoid overflow of the mean for all finite input.
+ *
+ * <p>Weights must be finite and non-negative. Values with a weight of zero are ignored.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link #combine(WeightedMoment) combine} method, it must be synchronized externally.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Pébay (2008)
+ *       Formulas for Robust, One-Pass Parallel Computation of Covariances and
+ *       Arbitrary-Order Statistical Moments.
+ *       Technical Report SAND2008-6212, Sandia National Laboratories.
+ *       <a href="https://doi.org/10.2172/1028931">doi: 10.2172/1028931</a>
+ *   <li>West (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a>
+ * </ul>
+ *
+ * @since 1.1
+ */
+final class WeightedMoment {
+    /** The downscale constant. Used to avoid overflow for all finite input. */
+    private static final double DOWNSCALE = 0.5;
+    /** The rescale constant. */
+    private static final double RESCALE = 2;
+
+    /** Order of the highest sum of the powers of the deviations. */
+    private final int order;
+    /** Count of values with a non-zero weight. */
+    private long n;
+    /** Sum of the weights. */
+    private double w1;
+    /** Sum of the squared weights divided by the sum of the weights. This is bounded by the
+     * maximum weight and avoids overflow of the sum of the squared weights. */
+    private double wq;
+    /** Half the weighted mean. */
+    private double m1;
+    /** Sum of values scaled by {@link Double#MIN_NORMAL}; used when the mean is not finite. */
+    private double nonFiniteValue;
+    /** Weighted sum of squared deviations. */
+    private double s2;
+    /** Weighted sum of cubed deviations. */
+    private double s3;
+    /** Weighted sum of fourth deviations. */
+    private double s4;
+
+    /**
+     * Create an instance.
+     *
+     * @param order Order of the highest sum of the powers of the deviations (in {@code [1, 4]}).
+     */
+    WeightedMoment(int order) {
+        this.order = order;
+    }
+
+    /**
+     * Returns an instance populated using the input values {@code x} with weights {@code w}.
+     *
+     * <p>Note: {@code WeightedMoment} computed using {@link #accept accept} may be
+     * different from this instance.
+     *
+     * @param order Order of the highest sum of the powers of the deviations (in {@code [1, 4]}).
+     * @param x Values.
+     * @param w Weights.
+     * @return {@code WeightedMoment} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative or not finite
+     */
+    static WeightedMoment of(int order, double[] x, double[] w) {
+        Statistics.checkSameLength(x, w);
+        for (final double v : w) {
+            checkWeight(v);
+        }
+        return create(order, x, i -> w[i]);
+    }
+
+    /**
+     * Returns an instance populated using the input values {@code x} with weights {@code w}.
+     *
+     * <p>Note: {@code WeightedMoment} computed using {@link #accept accept} may be
+     * different from this instance.
+     *
+     * @param order Order of the highest sum of the powers of the deviations (in {@code [1, 4]}).
+     * @param x Values.
+     * @param w Weights.
+     * @return {@code WeightedMoment} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative
+     */
+    static WeightedMoment of(int order, double[] x, long[] w) {
+        if (x.length != w.length) {
+            throw new IllegalArgumentException("Length mismatch: " + x.length + " != " + w.length);
+        }
+        for (final long v : w) {
+            if (v < 0) {
+                throw new IllegalArgumentException("Invalid weight: " + v);
+            }
+        }
+        return create(order, x, i -> w[i]);
+    }
+
+    /**
+     * Create an instance populated using the input values {@code x} with weights {@code w}.
+     *
+     * <p>Uses a rolling algorithm to compute the weighted mean. The sums of the powers of the
+     * deviations are computed using a second pass and corrected using the weighted sum of the
+     * deviations. For order 2 this is the corrected two-pass algorithm of
+     * Chan <i>et al</i> (1983).
+     *
+     * <p>Warning: No validation of the weights is performed.
+     *
+     * @param order Order of the highest sum of the powers of the deviations.
+     * @param x Values.
+     * @param w Weights.
+     * @return {@code WeightedMoment} instance.
+     */
+    private static WeightedMoment create(int order, double[] x, IntToDoubleFunction w) {
+        // First pass
+        final WeightedMoment m = new WeightedMoment(1);
+        for (int i = 0; i < x.length; i++) {
+            m.accept(x[i], w.applyAsDouble(i));
+        }
+        final WeightedMoment r = new WeightedMoment(order);
+        r.n = m.n;
+        r.w1 = m.w1;
+        r.wq = m.wq;
+        r.m1 = m.m1;
+        r.nonFiniteValue = m.nonFiniteValue;
+        final double xbar = m.getFirstMoment();
+        if (order == 1 || !Double.isFinite(xbar)) {
+            return r;
+        }
+        // Second pass
+        double t1 = 0;
+        double t2 = 0;
+        double t3 = 0;
+        double t4 = 0;
+        for (int i = 0; i < x.length; i++) {
+            final double wi = w.applyAsDouble(i);
+            if (wi == 0) {
+                continue;
+            }
+            final double d = x[i] - xbar;
+            final double d2 = d * d;
+            final double wd = wi * d;
+            t1 += wd;
+            t2 += wd * d;
+            t3 += wd * d2;
+            t4 += wd * d * d2;
+        }
+        // The weighted sum of the deviations ideally should be zero; in practice it is
+        // a good approximation of the error in the mean. Shift the deviations to the
+        // corrected mean.
+        final double weight = r.w1;
+        final double c = -t1 / weight;
+        if (c != 0 && Double.isFinite(c)) {
+            final double c2 = c * c;
+            r.s4 = t4 + 4 * c * t3 + 6 * c2 * t2 + 4 * c2 * c * t1 + c2 * c2 * weight;
+            r.s3 = t3 + 3 * c * t2 + 3 * c2 * t1 + c2 * c * weight;
+            r.s2 = t2 - t1 * t1 / weight;
+            // Down scale the correction to the half representation
+            r.m1 -= DOWNSCALE * c;
+        } else {
+            r.s4 = t4;
+            r.s3 = t3;
+            r.s2 = t2;
+        }
+        return r;
+    }
+
+    /**
+     * Check the weight is finite and non-negative.
+     *
+     * @param w Weight.
+     * @throws IllegalArgumentException if the weight is negative or not finite
+     */
+    static void checkWeight(double w) {
+        // Also rejects NaN
+        if (!(w >= 0 && w < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Invalid weight: " + w);
+        }
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of the value {@code x}
+     * with weight {@code w}.
+     *
+     * <p>Warning: No validation of the weight is performed.
+     *
+     * @param x Value.
+     * @param w Weight.
+     */
+    void accept(double x, double w) {
+        if (w == 0) {
+            return;
+        }
+        // Note: Maintain the correct non-finite result.
+        // Scaling down values prevents overflow of finites.
+        // The sign of the non-finite result is not changed by positive weights.
+        nonFiniteValue += x * Double.MIN_NORMAL;
+        n++;
+        final double wa = w1;
+        final double weight = wa + w;
+        w1 = weight;
+        wq = wq * (wa / weight) + w * (w / weight);
+        // Half the deviation from the previous mean
+        final double dev = x * DOWNSCALE - m1;
+        // Half the shift of the mean; and half the deviation from the new mean
+        final double wDev = dev * (w / weight);
+        final double qDev = dev - wDev;
+        m1 += wDev;
+        if (order >= 2) {
+            final double ss = s2;
+            if (order >= 3) {
+                final double sc = s3;
+                // Terms are arranged so that values that may be zero (wa, ss, sc) are first.
+                // Note: account for the half-deviation representation by scaling by
+                // 8=4*2; 24=6*2^2; 16=2^4
+                if (order == 4) {
+                    s4 = s4 -
+                        sc * wDev * 8 +
+                        ss * wDev * wDev * 24 +
+                        wa * dev * wDev * (dev * dev - 3 * qDev * wDev) * 16;
+                }
+                // Note: account for the half-deviation representation by scaling by 6=3*2; 8=2^3
+                s3 = sc -
+                    ss * wDev * 6 +
+                    (wa - w) * dev * qDev * wDev * 8;
+            }
+            // Note: account for the half-deviation representation by scaling by 4=2^2
+            s2 = ss + wa * dev * wDev * 4;
+        }
+    }
+
+    /**
+     * Gets the count of values with a non-zero weight.
+     *
+     * @return the count
+     */
+    long getN() {
+        return n;
+    }
+
+    /**
+     * Gets the sum of the weights.
+     *
+     * @return the sum of the weights
+     */
+    double getSumOfWeights() {
+        return w1;
+    }
+
+    /**
+     * Gets the sample size used for the bias correction of the statistics.
+     *
+     * <p>For frequency weights this is the sum of the weights. For reliability weights this is
+     * the effective sample size (Kish, 1965):
+     *
+     * <p>\[ n_{\text{eff}} = \frac{(\sum_i w_i)^2}{\sum_i w_i^2} \]
+     *
+     * @param reliability Set to true for reliability weights.
+     * @return the sample size
+     */
+    double getSampleSize(boolean reliability) {
+        return reliability ? w1 / wq : w1;
+    }
+
+    /**
+     * Gets the weighted mean of all input values.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return the weighted mean
+     */
+    double getFirstMoment() {
+        // Scale back to the original magnitude
+        final double m = m1 * RESCALE;
+        if (Double.isFinite(m)) {
+            return n == 0 ? Double.NaN : m;
+        }
+        // A non-finite value must have been encountered, return nonFiniteValue which represents m1.
+        return nonFiniteValue;
+    }
+
+    /**
+     * Gets the weighted sum of squared deviations.
+     *
+     * @return the sum; or {@code NaN} if empty or the mean is not finite
+     */
+    double getSumOfSquaredDeviations() {
+        return Double.isFinite(getFirstMoment()) ? s2 : Double.NaN;
+    }
+
+    /**
+     * Gets the weighted sum of cubed deviations.
+     *
+     * @return the sum; or {@code NaN} if empty or the mean is not finite
+     */
+    double getSumOfCubedDeviations() {
+        return Double.isFinite(getFirstMoment()) ? s3 : Double.NaN;
+    }
+
+    /**
+     * Gets the weighted sum of fourth deviations.
+     *
+     * @return the sum; or {@code NaN} if empty or the mean is not finite
+     */
+    double getSumOfFourthDeviations() {
+        return Double.isFinite(getFirstMoment()) ? s4 : Double.NaN;
+    }
+
+    /**
+     * Gets the weighted variance.
+     *
+     * <p>The biased variance is normalised by the sum of the weights \( W \).
+     * The unbiased variance is normalised by \( W - 1 \) for frequency weights and by
+     * \( W - \sum_i w_i^2 / W \) for reliability weights.
+     *
+     * @param biased Set to true for the biased variance.
+     * @param reliability Set to true for reliability weights.
+     * @return the variance; or {@code NaN} if empty, the sum of squared deviations is not finite,
+     * or the unbiased normalisation factor is not positive
+     */
+    double getVariance(boolean biased, boolean reliability) {
+        // Note: This checks for n=0 and returns NaN.
+        final double ss = getSumOfSquaredDeviations();
+        if (!Double.isFinite(ss)) {
+            return Double.NaN;
+        }
+        // Avoid a divide by zero
+        if (n == 1) {
+            return 0;
+        }
+        if (biased) {
+            return ss / w1;
+        }
+        final double d = reliability ? w1 - wq : w1 - 1;
+        return d > 0 ? ss / d : Double.NaN;
+    }
+
+    /**
+     * Combines the state of another {@code WeightedMoment} into this one.
+     *
+     * <p>The sums of the deviations are combined up to the order of {@code this} instance.
+     * The order of the {@code other} instance must be the same or higher.
+     *
+     * @param other Another {@code WeightedMoment} to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     */
+    WeightedMoment combine(WeightedMoment other) {
+        final double wa = w1;
+        final double wb = other.w1;
+        if (n == 0) {
+            s2 = other.s2;
+            s3 = other.s3;
+            s4 = other.s4;
+            m1 = other.m1;
+            wq = other.wq;
+        } else if (other.n != 0) {
+            final double weight = wa + wb;
+            final double ra = wa / weight;
+            final double rb = wb / weight;
+            // Avoid overflow to compute the difference.
+            // Half the difference of the means (other - this)
+            final double halfDelta = other.m1 - m1;
+            final double ss = s2;
+            final double ssb = other.s2;
+            if (order >= 3) {
+                final double sc = s3;
+                final double scb = other.s3;
+                // Note: account for the half-deviation representation by scaling by
+                // 16=2^4; 24=6*2^2; 8=4*2
+                if (order == 4) {
+                    final double d2 = halfDelta * halfDelta;
+                    s4 = (s4 + other.s4) +
+                        d2 * d2 * ra * rb * weight * (1 - 3 * ra * rb) * 16 +
+                        d2 * (ra * ra * ssb + rb * rb * ss) * 24 +
+                        halfDelta * (ra * scb - rb * sc) * 8;
+                }
+                // Note: account for the half-deviation representation by scaling by 8=2^3; 6=3*2
+                s3 = (sc + scb) +
+                    halfDelta * halfDelta * halfDelta * ra * rb * (wa - wb) * 8 +
+                    halfDelta * (ra * ssb - rb * ss) * 6;
+            }
+            // Note: account for the half-deviation representation by scaling by 4=2^2
+            s2 = (ss + ssb) + halfDelta * halfDelta * wa * rb * 4;
+            // Enforce symmetry
+            m1 = wb < wa ?
+                m1 + halfDelta * rb :
+                other.m1 - halfDelta * ra;
+            wq = wq * ra + other.wq * rb;
+        }
+        n += other.n;
+        w1 = wa + wb;
+        nonFiniteValue += other.nonFiniteValue;
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     */
+    void reset() {
+        n = 0;
+        w1 = 0;
+        wq = 0;
+        m1 = 0;
+        nonFiniteValue = 0;
+        s2 = 0;
+        s3 = 0;
+        s4 = 0;
+    }
+}
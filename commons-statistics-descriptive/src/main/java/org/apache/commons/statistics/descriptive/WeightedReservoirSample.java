@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import org.apache.commons.rng.UniformRandomProvider;
+
+/**
+ * Maintains a weighted random sample of up to {@code k} values from a stream of weighted
+ * values. The sample is drawn without replacement: each value is selected with probability
+ * proportional to its weight relative to the remaining values.
+ *
+ * <ul>
+ *   <li>The sample is empty if no values with a positive weight are added.
+ *   <li>The sample contains all the values with a positive weight if fewer than {@code k}
+ *       such values are added.
+ *   <li>A value with a weight of zero is never selected.
+ * </ul>
+ *
+ * <p>The sample is maintained using Algorithm A-ExpJ of Efraimidis and Spirakis (2006).
+ * Each selected value has a random key {@code u^(1/w)} where {@code u} is uniform in
+ * {@code (0, 1)} and {@code w} is the weight. The sample retains the values with the
+ * {@code k} largest keys in a binary heap. When the sample is full an exponential jump
+ * identifies the next selected value from the cumulative weight of the skipped values;
+ * the expected number of random draws for a stream of length {@code n} is
+ * {@code O(k log(n/k))}. The keys are stored as logarithms to avoid underflow.
+ *
+ * <p>The {@link #combine(WeightedReservoirSample) combine} method retains the values with the
+ * {@code k} largest keys from both samples. This is the weighted sample of the union of the
+ * two streams.
+ *
+ * <p>Supports up to 2<sup>63</sup> (exclusive) observations.
+ * This implementation does not check for overflow of the count.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link #combine(WeightedReservoirSample) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link #combine(WeightedReservoirSample) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution. Note that each instance requires its own source
+ * of randomness.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>Efraimidis, P.S. and Spirakis, P.G. (2006)
+ *       Weighted random sampling with a reservoir.
+ *       Information Processing Letters, 97, 181-185.
+ *       <a href="https://doi.org/10.1016/j.ipl.2005.11.003">doi: 10.1016/j.ipl.2005.11.003</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Reservoir_sampling">Reservoir sampling (Wikipedia)</a>
+ * @see ReservoirSample
+ * @since 1.1
+ */
+public final class WeightedReservoirSample implements DoubleConsumer {
+    /** Logarithm of the keys of the sample values. The heap root is the smallest key. */
+    private final double[] keys;
+    /** Sample values. */
+    private final double[] sample;
+    /** Source of randomness. */
+    private final UniformRandomProvider rng;
+    /** Number of values in the sample. */
+    private int size;
+    /** Count of values that have been added. */
+    private long n;
+    /** Remaining weight to skip before the next value is selected. */
+    private double jump;
+
+    /**
+     * Create an instance.
+     *
+     * @param k Number of values to sample.
+     * @param rng Source of randomness.
+     */
+    private WeightedReservoirSample(int k, UniformRandomProvider rng) {
+        keys = new double[Statistics.checkK(k)];
+        sample = new double[k];
+        this.rng = rng;
+    }
+
+    /**
+     * Creates an instance to sample up to {@code k} values.
+     *
+     * <p>The initial sample is empty.
+     *
+     * @param k Number of values to sample.
+     * @param rng Source of randomness.
+     * @return {@code WeightedReservoirSample} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive
+     */
+    public static WeightedReservoirSample create(int k, UniformRandomProvider rng) {
+        return new WeightedReservoirSample(k, rng);
+    }
+
+    /**
+     * Returns an instance populated using a sample of the input paired
+     * values and weights {@code (x[i], w[i])}.
+     *
+     * @param k Number of values to sample.
+     * @param rng Source of randomness.
+     * @param x Values.
+     * @param w Weights.
+     * @return {@code WeightedReservoirSample} instance.
+     * @throws IllegalArgumentException if {@code k} is not strictly positive; the arrays have
+     * different lengths; or any weight is negative or not finite
+     */
+    public static WeightedReservoirSample of(int k, UniformRandomProvider rng, double[] x, double[] w) {
+        final int length = Statistics.checkSameLength(x, w);
+        final WeightedReservoirSample s = new WeightedReservoirSample(k, rng);
+        for (int i = 0; i < length; i++) {
+            s.accept(x[i], w[i]);
+        }
+        return s;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with a weight of 1.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        accept(value, 1);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code weight}.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @throws IllegalArgumentException if the {@code weight} is negative or not finite
+     */
+    public void accept(double value, double weight) {
+        if (!(weight >= 0 && weight < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Invalid weight: " + weight);
+        }
+        n++;
+        if (weight == 0) {
+            return;
+        }
+        final int k = keys.length;
+        if (size < k) {
+            siftUp(size++, Math.log(ReservoirSample.nextOpenDouble(rng)) / weight, value);
+            if (size == k) {
+                jump();
+            }
+            return;
+        }
+        jump -= weight;
+        if (jump > 0) {
+            return;
+        }
+        // The new key is uniform in (t^w, 1) where t is the smallest key
+        final double tw = Math.exp(keys[0] * weight);
+        final double r = tw + (1 - tw) * ReservoirSample.nextOpenDouble(rng);
+        siftDown(Math.log(r) / weight, value);
+        jump();
+    }
+
+    /**
+     * Compute the weight to skip before the next value is selected.
+     * This is exponentially distributed with a rate of {@code -log(t)}
+     * where {@code t} is the smallest key.
+     */
+    private void jump() {
+        jump = Math.log(ReservoirSample.nextOpenDouble(rng)) / keys[0];
+    }
+
+    /**
+     * Move the value up the heap from position {@code i}.
+     *
+     * @param i Position.
+     * @param key Log key.
+     * @param value Value.
+     */
+    private void siftUp(int i, double key, double value) {
+        final double[] h = keys;
+        final double[] v = sample;
+        int c = i;
+        while (c > 0) {
+            final int p = (c - 1) >>> 1;
+            if (h[p] <= key) {
+                break;
+            }
+            h[c] = h[p];
+            v[c] = v[p];
+            c = p;
+        }
+        h[c] = key;
+        v[c] = value;
+    }
+
+    /**
+     * Replace the root of the heap and move the value down the heap.
+     *
+     * @param key Log key.
+     * @param value Value.
+     */
+    private void siftDown(double key, double value) {
+        final double[] h = keys;
+        final double[] v = sample;
+        final int m = size;
+        int p = 0;
+        for (;;) {
+            int c = 2 * p + 1;
+            if (c >= m) {
+                break;
+            }
+            if (c + 1 < m && h[c + 1] < h[c]) {
+                c++;
+            }
+            if (key <= h[c]) {
+                break;
+            }
+            h[p] = h[c];
+            v[p] = v[c];
+            p = c;
+        }
+        h[p] = key;
+        v[p] = value;
+    }
+
+    /**
+     * Gets the count of the values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * Gets the maximum number of sampled values.
+     *
+     * @return k
+     */
+    public int getK() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the sample. The order of the values is not specified.
+     *
+     * <p>When no values have been added, the result is an empty array.
+     *
+     * @return the sample
+     */
+    public double[] getSample() {
+        return Arrays.copyOf(sample, size);
+    }
+
+    /**
+     * Combines the state of the {@code other} statistic into this one.
+     * Only {@code this} instance is modified by the {@code combine} operation.
+     *
+     * <p>The result retains the values with the largest keys from both samples.
+     * Combining an instance with itself does not change the sample as the keys
+     * are the same; the count is doubled.
+     *
+     * @param other Another statistic to be combined.
+     * @return {@code this} instance after combining {@code other}.
+     * @throws IllegalArgumentException if the number of sampled values {@code k} is different
+     */
+    public WeightedReservoirSample combine(WeightedReservoirSample other) {
+        final int k = keys.length;
+        if (other.getK() != k) {
+            throw new IllegalArgumentException("Incompatible k: " + other.getK() + " != " + k);
+        }
+        if (other != this) {
+            final double[] h = other.keys;
+            final double[] v = other.sample;
+            for (int i = 0; i < other.size; i++) {
+                if (size < k) {
+                    siftUp(size++, h[i], v[i]);
+                } else if (h[i] > keys[0]) {
+                    siftDown(h[i], v[i]);
+                }
+            }
+            if (size == k) {
+                // The exponential jump is memoryless and can be redrawn
+                jump();
+            }
+        }
+        n += other.n;
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The sample size {@code k} and the source of randomness are not changed.
+     */
+    public void reset() {
+        size = 0;
+        n = 0;
+        jump = 0;
+    }
+}
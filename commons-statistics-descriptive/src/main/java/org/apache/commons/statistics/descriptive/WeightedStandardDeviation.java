@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the weighted standard deviation of the available values {@code x} with weights
+ * {@code w}. The default implementation uses the following definition of the
+ * <em>sample standard deviation</em> with frequency weights:
+ *
+ * <p>\[ \sqrt{ \frac{1}{W-1} \sum_{i=1}^n w_i (x_i-\overline{x})^2 } \]
+ *
+ * <p>where \( \overline{x} \) is the weighted mean, and \( W = \sum_{i=1}^n w_i \) is the
+ * sum of the weights.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values with a non-zero weight are added.
+ *   <li>The result is {@code NaN} if any of the values is {@code NaN} or infinite.
+ *   <li>The result is {@code NaN} if the weighted sum of the squared deviations from the mean is infinite.
+ *   <li>The result is zero if there is one finite value with a non-zero weight in the data set.
+ *   <li>The unbiased result is {@code NaN} if the normalisation factor is not positive.
+ * </ul>
+ *
+ * <p>Frequency weights represent the count of occurrences of each value; the result is
+ * the same as the {@link StandardDeviation} of the expanded data. If the
+ * {@link #setReliabilityWeights(boolean) reliability weights} option is enabled the
+ * normalisation factor of the variance is changed to:
+ *
+ * <p>\[ \frac{1}{W - \sum_{i=1}^n w_i^2 / W} \]
+ *
+ * <p>Reliability weights represent the relative importance of each value; the result is
+ * invariant to the scale of the weights. If the {@link #setBiased(boolean) biased} option
+ * is enabled the normalisation factor of the variance is \( \frac{1}{W} \) for both types of weights.
+ *
+ * <p>Weights must be finite and non-negative. Values with a weight of zero are ignored.
+ * The sum of the weights must be finite; this implementation does not check for overflow
+ * of the sum of the weights.
+ *
+ * <p>The {@link #accept(double, double)} method uses a recursive updating algorithm based on
+ * West's algorithm (1979) with the same scaled deviations as the {@link Mean}; this avoids
+ * overflow of the mean for all finite input.
+ *
+ * <p>The {@link #of(double[], double[])} method uses a weighted version of the corrected
+ * two-pass algorithm from Chan <i>et al</i>, (1983).
+ *
+ * <p>Note that adding values using {@link #accept(double, double) accept} and then executing
+ * {@link #getAsDouble() getAsDouble} will
+ * sometimes give a different, less accurate, result than executing
+ * {@link #of(double[], double[]) of} with the full arrays of values. The former approach
+ * should only be used when the full arrays of values are not available.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the {@link #accept(double, double) accept} or
+ * {@link StatisticAccumulator#combine(StatisticResult) combine} method, it must be synchronized externally.
+ *
+ * <p>However, it is safe to use {@link #accept(double, double) accept}
+ * and {@link StatisticAccumulator#combine(StatisticResult) combine}
+ * as {@code accumulator} and {@code combiner} functions of
+ * {@link java.util.stream.Collector Collector} on a parallel stream,
+ * because the parallel implementation of {@link java.util.stream.Stream#collect Stream.collect()}
+ * provides the necessary partitioning, isolation, and merging of results for
+ * safe and efficient parallel execution.
+ *
+ * <p>References:
+ * <ul>
+ *   <li>West (1979)
+ *       Updating mean and variance estimates: an improved method.
+ *       Communications of the ACM, 22, 532-535.
+ *       <a href="https://doi.org/10.1145/359146.359153">doi: 10.1145/359146.359153</a>
+ *   <li>Chan, Golub and Levesque (1983)
+ *       Algorithms for Computing the Sample Variance: Analysis and Recommendations.
+ *       American Statistician, 37, 242-247.
+ *       <a href="https://doi.org/10.2307/2683386">doi: 10.2307/2683386</a>
+ * </ul>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Weighted_arithmetic_mean#Weighted_sample_variance">
+ * Weighted sample variance (Wikipedia)</a>
+ * @see StandardDeviation
+ * @see WeightedVariance
+ * @since 1.1
+ */
+public final class WeightedStandardDeviation implements StatisticResult,
+        StatisticAccumulator<WeightedStandardDeviation> {
+
+    /** Weighted moments of the values. */
+    private final WeightedMoment moment;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /** Flag to control if the weights are reliability weights, or frequency weights. */
+    private boolean reliability;
+
+    /**
+     * Create an instance.
+     *
+     * @param moment Weighted moments of the values.
+     */
+    private WeightedStandardDeviation(WeightedMoment moment) {
+        this.moment = moment;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @return {@code WeightedStandardDeviation} instance.
+     */
+    public static WeightedStandardDeviation create() {
+        return new WeightedStandardDeviation(new WeightedMoment(2));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} with the
+     * corresponding {@code weights}.
+     *
+     * <p>Note: {@code WeightedStandardDeviation} computed using {@link #accept(double, double) accept} may be
+     * different from this standard deviation.
+     *
+     * <p>See {@link WeightedStandardDeviation} for details on the computing algorithm.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedStandardDeviation} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative or not finite
+     */
+    public static WeightedStandardDeviation of(double[] values, double[] weights) {
+        return new WeightedStandardDeviation(WeightedMoment.of(2, values, weights));
+    }
+
+    /**
+     * Returns an instance populated using the input {@code values} with the
+     * corresponding {@code weights}.
+     *
+     * <p>Note: {@code WeightedStandardDeviation} computed using {@link #accept(double, double) accept} may be
+     * different from this standard deviation.
+     *
+     * <p>See {@link WeightedStandardDeviation} for details on the computing algorithm.
+     *
+     * @param values Values.
+     * @param weights Weights.
+     * @return {@code WeightedStandardDeviation} instance.
+     * @throws IllegalArgumentException if the arrays have different lengths, or any weight
+     * is negative
+     */
+    public static WeightedStandardDeviation of(double[] values, long[] weights) {
+        return new WeightedStandardDeviation(WeightedMoment.of(2, values, weights));
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}
+     * with the specified {@code weight}.
+     *
+     * @param value Value.
+     * @param weight Weight.
+     * @throws IllegalArgumentException if the {@code weight} is negative or not finite
+     */
+    public void accept(double value, double weight) {
+        WeightedMoment.checkWeight(weight);
+        moment.accept(value, weight);
+    }
+
+    /**
+     * Gets the weighted standard deviation of all input values.
+     *
+     * <p>When no values with a non-zero weight have been added, the result is {@code NaN}.
+     *
+     * @return weighted standard deviation of all values.
+     */
+    @Override
+    public double getAsDouble() {
+        return Math.sqrt(moment.getVariance(biased, reliability));
+    }
+
+    @Override
+    public WeightedStandardDeviation combine(WeightedStandardDeviation other) {
+        moment.combine(other.moment);
+        return this;
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The {@link #setBiased(boolean) biased} and
+     * {@link #setReliabilityWeights(boolean) reliability weights} options are not changed.
+     */
+    public void reset() {
+        moment.reset();
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the weighted sum of squared deviations from the sample mean is
+     * normalised by {@code W - 1} for frequency weights, or {@code W - sum(w^2) / W} for
+     * reliability weights, where {@code W} is the sum of the weights. This is an unbiased
+     * estimator of the variance of a hypothetical infinite population. The standard deviation
+     * is the square root of the variance.
+     *
+     * <p>If {@code true} the sum is normalised by the sum of the weights {@code W}.
+     *
+     * <p>Note: This option only applies when more than one value has a non-zero weight.
+     * The standard deviation of a single value is always 0.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(WeightedStandardDeviation) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public WeightedStandardDeviation setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+
+    /**
+     * Sets the value of the reliability weights flag. The default value is {@code false}.
+     *
+     * <p>If {@code false} the weights are frequency weights; each weight is the count of
+     * occurrences of the value.
+     *
+     * <p>If {@code true} the weights are reliability weights; each weight is the relative
+     * importance of the value. The unbiased result is invariant to the scale of the weights.
+     *
+     * <p>Note: This option only applies to the unbiased standard deviation.
+     *
+     * <p>This flag only controls the final computation of the statistic. The value of this flag
+     * will not affect compatibility between instances during a {@link #combine(WeightedStandardDeviation) combine}
+     * operation.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     */
+    public WeightedStandardDeviation setReliabilityWeights(boolean v) {
+        reliability = v;
+        return this;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the arithmetic mean of the most recent values in a sliding window.
+ *
+ * <p>\[ \frac{1}{n} \sum_{i=1}^n x_i \]
+ *
+ * <p>where \( n \) is the number of samples in the window. The window contains
+ * the last {@code w} values, or all the values if fewer than {@code w} values have
+ * been added.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values in the window is {@code NaN}, or the
+ *       window includes infinite values of opposite sign.
+ *   <li>The result is {@code +/-infinity} if the window includes infinite values of same sign.
+ *   <li>The result is finite if all values in the window are finite.
+ * </ul>
+ *
+ * <p>The window values are stored in a ring buffer. Each update evicts the oldest
+ * value from the mean using the reverse of the recursive updating algorithm used by
+ * {@link Mean}, and then adds the new value. The update has an amortised cost of
+ * {@code O(1)} and does not allocate memory. To remove accumulated round-off the mean
+ * is periodically recomputed from the values in the window.
+ *
+ * <p><strong>This instance is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * method, it must be synchronized externally. The statistic cannot be combined
+ * with another instance as the window refers to the most recent values in the sequence.
+ *
+ * @see Mean
+ * @since 1.1
+ */
+public final class WindowedMean implements DoubleStatistic {
+
+    /** Moment over the window. */
+    private final WindowedMoment<FirstMoment> moment;
+
+    /**
+     * Create an instance.
+     *
+     * @param windowSize Window size.
+     */
+    private WindowedMean(int windowSize) {
+        moment = new WindowedMoment<>(windowSize, new FirstMoment());
+    }
+
+    /**
+     * Creates an instance with the specified window size.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param windowSize Window size.
+     * @return {@code WindowedMean} instance.
+     * @throws IllegalArgumentException if the {@code windowSize} is not strictly positive
+     */
+    public static WindowedMean create(int windowSize) {
+        return new WindowedMean(windowSize);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * If the window is full the oldest value is removed.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        moment.accept(value);
+    }
+
+    /**
+     * Gets the mean of the values in the window.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return mean of the values in the window.
+     */
+    @Override
+    public double getAsDouble() {
+        return moment.getFirstMoment();
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The window size is not changed.
+     */
+    public void reset() {
+        moment.reset();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Returns the minimum of the most recent values in a sliding window. The window contains
+ * the last {@code w} values, or all the values if fewer than {@code w} values have
+ * been added.
+ *
+ * <ul>
+ *   <li>The result is {@link Double#POSITIVE_INFINITY positive infinity} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values in the window is {@code NaN}.
+ *   <li>The value {@code -0.0} is considered strictly smaller than {@code 0.0}.
+ * </ul>
+ *
+ * <p>The candidate values for the minimum are stored in a monotonic double-ended queue
+ * backed by primitive arrays. A new value evicts all larger or equal values from the
+ * back of the queue as they can never be the minimum of the window; the front of the queue
+ * is the minimum and is evicted when it leaves the window. Each value is added and removed
+ * at most once so the update has an amortised cost of {@code O(1)} and does not allocate
+ * memory.
+ *
+ * <p><strong>This instance is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * method, it must be synchronized externally. The statistic cannot be combined
+ * with another instance as the window refers to the most recent values in the sequence.
+ *
+ * @see Min
+ * @since 1.1
+ */
+public final class WindowedMin implements DoubleStatistic {
+    /** Sequence number used when no {@code NaN} value has been added. */
+    private static final long NO_NAN = Long.MIN_VALUE;
+
+    /** Queue values. */
+    private final double[] values;
+    /** Sequence number of the queue values. */
+    private final long[] sequence;
+    /** Index of the front of the queue. */
+    private int head;
+    /** Number of values in the queue. */
+    private int size;
+    /** Count of values that have been added. */
+    private long n;
+    /** Sequence number of the most recent {@code NaN} value. */
+    private long nan = NO_NAN;
+
+    /**
+     * Create an instance.
+     *
+     * @param windowSize Window size.
+     */
+    private WindowedMin(int windowSize) {
+        values = new double[Statistics.checkWindowSize(windowSize)];
+        sequence = new long[windowSize];
+    }
+
+    /**
+     * Creates an instance with the specified window size.
+     *
+     * <p>The initial result is {@link Double#POSITIVE_INFINITY positive infinity}.
+     *
+     * @param windowSize Window size.
+     * @return {@code WindowedMin} instance.
+     * @throws IllegalArgumentException if the {@code windowSize} is not strictly positive
+     */
+    public static WindowedMin create(int windowSize) {
+        return new WindowedMin(windowSize);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * If the window is full the oldest value is removed.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        final int capacity = values.length;
+        final long i = n++;
+        // Evict the front if it has left the window
+        if (size != 0 && sequence[head] <= i - capacity) {
+            if (++head == capacity) {
+                head = 0;
+            }
+            size--;
+        }
+        if (value != value) {
+            // NaN is not a candidate for the minimum
+            nan = i;
+            return;
+        }
+        // Evict larger values from the back.
+        // Double.compare orders -0.0 below 0.0.
+        int tail = head + size - 1;
+        while (size != 0) {
+            if (tail < 0) {
+                tail += capacity;
+            } else if (tail >= capacity) {
+                tail -= capacity;
+            }
+            if (Double.compare(values[tail], value) < 0) {
+                break;
+            }
+            tail--;
+            size--;
+        }
+        // Add to the back
+        tail = head + size;
+        if (tail >= capacity) {
+            tail -= capacity;
+        }
+        values[tail] = value;
+        sequence[tail] = i;
+        size++;
+    }
+
+    /**
+     * Gets the minimum of the values in the window.
+     *
+     * <p>When no values have been added, the result is {@link Double#POSITIVE_INFINITY positive infinity}.
+     *
+     * @return minimum of the values in the window.
+     */
+    @Override
+    public double getAsDouble() {
+        if (nan >= n - values.length) {
+            return Double.NaN;
+        }
+        return size == 0 ? Double.POSITIVE_INFINITY : values[head];
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The window size is not changed.
+     */
+    public void reset() {
+        head = 0;
+        size = 0;
+        n = 0;
+        nan = NO_NAN;
+    }
+}
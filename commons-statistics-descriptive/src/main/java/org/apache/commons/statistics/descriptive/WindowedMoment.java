@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Maintains a moment over a sliding window of the most recent values.
+ *
+ * <p>The values in the window are stored in a ring buffer. When the window is full the
+ * oldest value is evicted from the moment using the reverse of the updating
+ * algorithm (see {@link FirstMoment#remove(double)}), and the new value is added.
+ *
+ * <p>Non-finite values are not added to the moment. The number of {@code NaN} and
+ * infinite values in the window is counted to allow the non-finite result to be
+ * computed; the moment contains only the finite values.
+ *
+ * <p>The removal step accumulates round-off error. The moment is recomputed from
+ * the values in the window each time the window has been entirely replaced, or if the
+ * removal step reports a significant loss of accuracy (for example when an outlier
+ * leaves the window). Recomputation requires the window contains only finite values.
+ * This bounds the error and adds an amortised {@code O(1)} cost to each update.
+ * The recomputation is performed in-place and does not allocate memory.
+ *
+ * @param <T> Type of the moment.
+ * @since 1.1
+ */
+final class WindowedMoment<T extends FirstMoment> implements DoubleConsumer {
+    /** Values in the window. */
+    private final double[] values;
+    /** Moment of the finite values in the window. */
+    private final T moment;
+    /** Number of values in the window. */
+    private int size;
+    /** Index of the oldest value when the window is full. */
+    private int index;
+    /** Number of values removed from the moment since it was created (up to the window size). */
+    private int removed;
+    /** Count of {@code NaN} values in the window. */
+    private int nan;
+    /** Count of positive infinite values in the window. */
+    private int positiveInfinity;
+    /** Count of negative infinite values in the window. */
+    private int negativeInfinity;
+
+    /**
+     * Create an instance.
+     *
+     * @param windowSize Window size.
+     * @param moment Moment with no values.
+     * @throws IllegalArgumentException if the {@code windowSize} is not strictly positive
+     */
+    WindowedMoment(int windowSize, T moment) {
+        values = new double[Statistics.checkWindowSize(windowSize)];
+        this.moment = moment;
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * If the window is full the oldest value is removed.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        if (size == values.length) {
+            final double old = values[index];
+            if (Double.isFinite(old)) {
+                if (!moment.remove(old)) {
+                    // Force recomputation
+                    removed = size;
+                }
+            } else {
+                count(old, -1);
+            }
+            values[index] = value;
+            if (++index == size) {
+                index = 0;
+            }
+            // Count is limited to avoid overflow
+            removed = Math.min(removed + 1, size);
+        } else {
+            values[size++] = value;
+        }
+        if (Double.isFinite(value)) {
+            moment.accept(value);
+        } else {
+            count(value, 1);
+        }
+        // Periodically reset the round-off from the removal updates.
+        // This requires all the values in the window are finite.
+        if (removed >= size && !isNonFinite()) {
+            moment.reset();
+            for (final double x : values) {
+                moment.accept(x);
+            }
+            removed = 0;
+        }
+    }
+
+    /**
+     * Resets the window to the initial state with no values.
+     */
+    void reset() {
+        moment.reset();
+        size = 0;
+        index = 0;
+        removed = 0;
+        nan = 0;
+        positiveInfinity = 0;
+        negativeInfinity = 0;
+    }
+
+    /**
+     * Update the count of the non-finite {@code value}.
+     *
+     * @param value Value.
+     * @param increment Count increment.
+     */
+    private void count(double value, int increment) {
+        if (value > 0) {
+            positiveInfinity += increment;
+        } else if (value < 0) {
+            negativeInfinity += increment;
+        } else {
+            nan += increment;
+        }
+    }
+
+    /**
+     * Gets the number of values in the window.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Test if the window contains a non-finite value.
+     *
+     * @return true if the window contains a non-finite value
+     */
+    boolean isNonFinite() {
+        return (nan | positiveInfinity | negativeInfinity) != 0;
+    }
+
+    /**
+     * Gets the moment of the finite values in the window.
+     *
+     * @return the moment
+     */
+    T getMoment() {
+        return moment;
+    }
+
+    /**
+     * Gets the first moment of the values in the window.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return {@code First moment} of the values, if it is finite;
+     *         {@code +/-Infinity}, if infinities of the same sign are in the window;
+     *         {@code NaN} otherwise.
+     */
+    double getFirstMoment() {
+        if (nan != 0 || (positiveInfinity != 0 && negativeInfinity != 0)) {
+            return Double.NaN;
+        }
+        if (positiveInfinity != 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (negativeInfinity != 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return moment.getFirstMoment();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+/**
+ * Computes the variance of the most recent values in a sliding window. The default
+ * implementation uses the following definition:
+ *
+ * <p>\[ \tfrac{1}{n-1} \sum_{i=1}^n (x_i-\overline{x})^2 \]
+ *
+ * <p>where \( \overline{x} \) is the mean of the window, and \( n \) is the number of samples
+ * in the window. The window contains the last {@code w} values, or all the values if fewer
+ * than {@code w} values have been added.
+ *
+ * <ul>
+ *   <li>The result is {@code NaN} if no values are added.
+ *   <li>The result is {@code NaN} if any of the values in the window is {@code NaN} or infinite.
+ *   <li>The result is {@code NaN} if the sum of the squared deviations from the mean is infinite.
+ *   <li>The result is zero if there is one finite value in the window.
+ * </ul>
+ *
+ * <p>The {@link #setBiased(boolean) biased} option changes the normalisation factor
+ * to \( \frac{1}{n} \). See {@link Variance} for details.
+ *
+ * <p>The window values are stored in a ring buffer. Each update evicts the oldest
+ * value from the sum of squared deviations using the reverse of the recursive updating
+ * algorithm used by {@link Variance}, and then adds the new value. The update has an
+ * amortised cost of {@code O(1)} and does not allocate memory. To remove accumulated
+ * round-off the sum of squared deviations is periodically recomputed from the values in the
+ * window.
+ *
+ * <p><strong>This instance is not thread safe.</strong>
+ * If multiple threads access an instance of this class concurrently,
+ * and at least one of the threads invokes the {@link java.util.function.DoubleConsumer#accept(double) accept}
+ * method, it must be synchronized externally. The statistic cannot be combined
+ * with another instance as the window refers to the most recent values in the sequence.
+ *
+ * @see Variance
+ * @since 1.1
+ */
+public final class WindowedVariance implements DoubleStatistic {
+
+    /** Sum of squared deviations over the window. */
+    private final WindowedMoment<SumOfSquaredDeviations> moment;
+
+    /** Flag to control if the statistic is biased, or should use a bias correction. */
+    private boolean biased;
+
+    /**
+     * Create an instance.
+     *
+     * @param windowSize Window size.
+     */
+    private WindowedVariance(int windowSize) {
+        moment = new WindowedMoment<>(windowSize, new SumOfSquaredDeviations());
+    }
+
+    /**
+     * Creates an instance with the specified window size.
+     *
+     * <p>The initial result is {@code NaN}.
+     *
+     * @param windowSize Window size.
+     * @return {@code WindowedVariance} instance.
+     * @throws IllegalArgumentException if the {@code windowSize} is not strictly positive
+     */
+    public static WindowedVariance create(int windowSize) {
+        return new WindowedVariance(windowSize);
+    }
+
+    /**
+     * Updates the state of the statistic to reflect the addition of {@code value}.
+     * If the window is full the oldest value is removed.
+     *
+     * @param value Value.
+     */
+    @Override
+    public void accept(double value) {
+        moment.accept(value);
+    }
+
+    /**
+     * Gets the variance of the values in the window.
+     *
+     * <p>When no values have been added, the result is {@code NaN}.
+     *
+     * @return variance of the values in the window.
+     */
+    @Override
+    public double getAsDouble() {
+        if (moment.isNonFinite()) {
+            return Double.NaN;
+        }
+        // Note: The SS checks for n=0 and returns NaN.
+        final double m2 = moment.getMoment().getSumOfSquaredDeviations();
+        if (!Double.isFinite(m2)) {
+            return Double.NaN;
+        }
+        final long n = moment.size();
+        // Avoid a divide by zero
+        if (n == 1) {
+            return 0;
+        }
+        return biased ? m2 / n : m2 / (n - 1);
+    }
+
+    /**
+     * Resets the state of the statistic to the initial state with no values.
+     *
+     * <p>The window size and the {@link #setBiased(boolean) biased} option are not changed.
+     */
+    public void reset() {
+        moment.reset();
+    }
+
+    /**
+     * Sets the value of the biased flag. The default value is {@code false}.
+     * See {@link Variance#setBiased(boolean)} for details.
+     *
+     * <p>This flag only controls the final computation of the statistic.
+     *
+     * @param v Value.
+     * @return {@code this} instance
+     * @see Variance#setBiased(boolean)
+     */
+    public WindowedVariance setBiased(boolean v) {
+        biased = v;
+        return this;
+    }
+}
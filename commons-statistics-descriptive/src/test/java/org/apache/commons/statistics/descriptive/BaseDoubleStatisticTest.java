@@ -399,6 +399,23 @@ abstract class BaseDoubleStatisticTest<S extends DoubleStatistic & StatisticAccu
      */
     protected abstract S create(double... values);
 
+    /**
+     * Creates the statistic from the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the statistic
+     */
+    protected abstract S create(double[] values, int from, int to);
+
+    /**
+     * Resets the statistic using its {@code reset()} method.
+     *
+     * @param statistic Statistic.
+     */
+    protected abstract void reset(S statistic);
+
     /**
      * Get the maximum number of values that can be added where the statistic is
      * considered empty.
@@ -1012,6 +1029,33 @@ abstract class BaseDoubleStatisticTest<S extends DoubleStatistic & StatisticAccu
         assertStatistic(this::create, values, expected, tol);
     }
 
+    /**
+     * Test the computation of the statistic using the {@link #create(double[], int, int)} method.
+     */
+    @ParameterizedTest
+    @MethodSource(value = "testArray")
+    final void testArrayRange(double[] values, double expected, DoubleTolerance tol) {
+        final double[] x = new double[values.length + 5];
+        // Pad with values that change the result
+        Arrays.fill(x, Double.NaN);
+        System.arraycopy(values, 0, x, 3, values.length);
+        assertStatistic(v -> create(x, 3, 3 + v.length), values, expected, tol);
+    }
+
+    /**
+     * Test the {@link #create(double[], int, int)} method with an empty or invalid range.
+     */
+    @Test
+    final void testArrayRangeEmptyOrInvalid() {
+        final double[] x = new double[5];
+        assertEmpty(create(x, 2, 2), getToleranceArray());
+        assertEmpty(create(x, 5, 5), getToleranceArray());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, -1, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, 0, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, 6, 6));
+    }
+
     /**
      * Test the computation of the statistic using the
      * {@link java.util.function.DoubleConsumer#accept(double) accept} method for each
@@ -1066,6 +1110,24 @@ abstract class BaseDoubleStatisticTest<S extends DoubleStatistic & StatisticAccu
             () -> statisticName + " nonEmpty.combine(empty)");
     }
 
+    /**
+     * Test the {@code reset} method. A statistic that is reset must compute the same
+     * result as a new instance.
+     */
+    @ParameterizedTest
+    @MethodSource(value = "testAccept")
+    final void testReset(double[] values) {
+        final S stat = create(values);
+        reset(stat);
+        Assertions.assertEquals(getEmptyValue(), stat.getAsDouble(), () -> statisticName + " reset");
+        // Use different values
+        Statistics.add(stat, V1);
+        reset(stat);
+        final double expected = Statistics.add(create(), values).getAsDouble();
+        Assertions.assertEquals(expected, Statistics.add(stat, values).getAsDouble(),
+            () -> statisticName + " reset: " + format(values));
+    }
+
     /**
      * Test the computation of the statistic using a parallel stream of {@code double}
      * values. The accumulator is the
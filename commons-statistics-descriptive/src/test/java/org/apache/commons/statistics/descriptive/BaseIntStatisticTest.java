@@ -368,6 +368,23 @@ abstract class BaseIntStatisticTest<S extends IntStatistic & StatisticAccumulato
      */
     protected abstract S create(int... values);
 
+    /**
+     * Creates the statistic from the specified range of {@code values}.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @return the statistic
+     */
+    protected abstract S create(int[] values, int from, int to);
+
+    /**
+     * Resets the statistic using its {@code reset()} method.
+     *
+     * @param statistic Statistic.
+     */
+    protected abstract void reset(S statistic);
+
     /**
      * Map the {@code value} to the valid domain of the statistic. This method is called
      * with the example data before {@link #getExpectedValue(int[])}. It can be used by
@@ -886,6 +903,34 @@ abstract class BaseIntStatisticTest<S extends IntStatistic & StatisticAccumulato
         assertStatistic(this::create, values, expected, tol);
     }
 
+    /**
+     * Test the computation of the statistic using the {@link #create(int[], int, int)} method.
+     */
+    @ParameterizedTest
+    @MethodSource(value = "testArray")
+    final void testArrayRange(int[] values, StatisticResult expected, DoubleTolerance tol) {
+        final int[] x = new int[values.length + 5];
+        // Pad with values that change the result
+        Arrays.fill(x, 0, 3, Integer.MIN_VALUE);
+        Arrays.fill(x, 3, x.length, Integer.MAX_VALUE);
+        System.arraycopy(values, 0, x, 3, values.length);
+        assertStatistic(v -> create(x, 3, 3 + v.length), values, expected, tol);
+    }
+
+    /**
+     * Test the {@link #create(int[], int, int)} method with an empty or invalid range.
+     */
+    @Test
+    final void testArrayRangeEmptyOrInvalid() {
+        final int[] x = new int[5];
+        assertEmpty(create(x, 2, 2), getToleranceArray());
+        assertEmpty(create(x, 5, 5), getToleranceArray());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, -1, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, 0, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> create(x, 6, 6));
+    }
+
     /**
      * Test the computation of the statistic against the equivalent {@link DoubleStatistic}.
      * The result is tested as a {@code double} using the configured {@link #getToleranceAsDouble()}.
@@ -958,6 +1003,24 @@ abstract class BaseIntStatisticTest<S extends IntStatistic & StatisticAccumulato
             () -> statisticName + " nonEmpty.combine(empty)");
     }
 
+    /**
+     * Test the {@code reset} method. A statistic that is reset must compute the same
+     * result as a new instance.
+     */
+    @ParameterizedTest
+    @MethodSource(value = "testAccept")
+    final void testReset(int[] values) {
+        final S stat = create(values);
+        reset(stat);
+        TestHelper.assertEquals(getEmptyValue(), stat, null, () -> statisticName + " reset");
+        // Use different values
+        Statistics.add(stat, V1);
+        reset(stat);
+        final StatisticResult expected = Statistics.add(create(), values);
+        TestHelper.assertEquals(expected, Statistics.add(stat, values), null,
+            () -> statisticName + " reset: " + format(values));
+    }
+
     /**
      * Test the computation of the statistic using a parallel stream of {@code double}
      * values. The accumulator is the
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link Buffers}.
+ */
+final class BuffersTest {
+    @Test
+    void testDoubleBufferWithArray() {
+        final double[] values = {1, 2, 3, 4, 5, 6, 7};
+        final DoubleBuffer buffer = DoubleBuffer.wrap(values, 1, 5).slice();
+        buffer.position(1);
+        final List<int[]> ranges = new ArrayList<>();
+        final Sum s = Buffers.apply(buffer, (x, from, to) -> {
+            // The backing array is used directly
+            Assertions.assertSame(values, x);
+            ranges.add(new int[] {from, to});
+            return Sum.of(x, from, to);
+        }, Sum::combine, 2);
+        Assertions.assertEquals(3 + 4 + 5 + 6, s.getAsDouble());
+        Assertions.assertEquals(1, ranges.size());
+        Assertions.assertArrayEquals(new int[] {2, 6}, ranges.get(0));
+        Assertions.assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void testIntBufferWithArray() {
+        final int[] values = {1, 2, 3, 4, 5, 6, 7};
+        final IntBuffer buffer = IntBuffer.wrap(values, 1, 5).slice();
+        buffer.position(1);
+        final IntSum s = Buffers.apply(buffer, (x, from, to) -> {
+            Assertions.assertSame(values, x);
+            return IntSum.of(x, from, to);
+        }, IntSum::combine, 2);
+        Assertions.assertEquals(3 + 4 + 5 + 6, s.getAsInt());
+        Assertions.assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void testLongBufferWithArray() {
+        final long[] values = {1, 2, 3, 4, 5, 6, 7};
+        final LongBuffer buffer = LongBuffer.wrap(values, 1, 5).slice();
+        buffer.position(1);
+        final LongSum s = Buffers.apply(buffer, (x, from, to) -> {
+            Assertions.assertSame(values, x);
+            return LongSum.of(x, from, to);
+        }, LongSum::combine, 2);
+        Assertions.assertEquals(3 + 4 + 5 + 6, s.getAsLong());
+        Assertions.assertEquals(1, buffer.position());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 10",
+        "1, 10",
+        "9, 10",
+        "10, 10",
+        "11, 10",
+        "95, 10",
+        "100, 10",
+        "100, 1000",
+    })
+    void testDirectBuffers(int n, int chunk) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final long[] values = rng.longs(n + 3, -1000, 1000).toArray();
+        final int size = values.length * Long.BYTES;
+        final DoubleBuffer db = ByteBuffer.allocateDirect(size).asDoubleBuffer();
+        final IntBuffer ib = ByteBuffer.allocateDirect(size).asIntBuffer();
+        final LongBuffer lb = ByteBuffer.allocateDirect(size).asLongBuffer();
+        for (final long v : values) {
+            db.put(v);
+            ib.put((int) v);
+            lb.put(v);
+        }
+        // Compute the range [2, n + 2)
+        db.limit(n + 2).position(2);
+        ib.limit(n + 2).position(2);
+        lb.limit(n + 2).position(2);
+        Assertions.assertFalse(db.hasArray());
+
+        final long expected = Arrays.stream(values, 2, n + 2).sum();
+        final List<Integer> sizes = new ArrayList<>();
+        final Sum s1 = Buffers.apply(db, (x, from, to) -> {
+            sizes.add(to - from);
+            return Sum.of(x, from, to);
+        }, Sum::combine, chunk);
+        Assertions.assertEquals(expected, s1.getAsDouble());
+        Assertions.assertEquals(expected, Buffers.apply(ib, IntSum::of, IntSum::combine, chunk).getAsLong());
+        Assertions.assertEquals(expected, Buffers.apply(lb, LongSum::of, LongSum::combine, chunk).getAsLong());
+        // Buffers are not modified
+        Assertions.assertEquals(2, db.position());
+        Assertions.assertEquals(2, ib.position());
+        Assertions.assertEquals(2, lb.position());
+        // Chunks
+        final int[] expectedSizes = new int[Math.max(1, (n + chunk - 1) / chunk)];
+        Arrays.fill(expectedSizes, chunk);
+        expectedSizes[expectedSizes.length - 1] = n - (expectedSizes.length - 1) * chunk;
+        Assertions.assertArrayEquals(expectedSizes, sizes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Test
+    void testReadOnlyBuffer() {
+        final double[] values = {1, 2, 3, 4, 5};
+        final DoubleBuffer buffer = DoubleBuffer.wrap(values).asReadOnlyBuffer();
+        Assertions.assertFalse(buffer.hasArray());
+        Assertions.assertEquals(Max.of(values).getAsDouble(),
+            Buffers.apply(buffer, Max::of, Max::combine, 2).getAsDouble());
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.statistics.distribution.DoubleTolerance;
+import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.apache.commons.statistics.distribution.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link CentralMoments}.
+ */
+final class CentralMomentsTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 1, 33, Integer.MAX_VALUE})
+    void testInvalidOrderThrows(int k) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CentralMoments.create(k));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CentralMoments.of(k, 1, 2, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CentralMoments.of(k, new double[3], 0, 3));
+    }
+
+    @Test
+    void testInvalidArgumentsThrows() {
+        final CentralMoments m = CentralMoments.of(4, 1, 2, 3);
+        Assertions.assertEquals(4, m.getOrder());
+        for (final int p : new int[] {0, 5}) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> m.getSumOfDeviations(p));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> m.getCentralMoment(p));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> m.getStandardizedMoment(p));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> m.combine(CentralMoments.create(5)));
+        final double[] values = new double[3];
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> CentralMoments.of(4, values, -1, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> CentralMoments.of(4, values, 2, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> CentralMoments.of(4, values, 0, 4));
+    }
+
+    @Test
+    void testEmpty() {
+        for (final CentralMoments m : new CentralMoments[] {
+            CentralMoments.create(6), CentralMoments.of(6), CentralMoments.of(6, new double[3], 1, 1)}) {
+            Assertions.assertEquals(0, m.getN());
+            Assertions.assertEquals(Double.NaN, m.getMean());
+            for (int p = 1; p <= 6; p++) {
+                Assertions.assertEquals(Double.NaN, m.getSumOfDeviations(p));
+                Assertions.assertEquals(Double.NaN, m.getCentralMoment(p));
+                Assertions.assertEquals(Double.NaN, m.getStandardizedMoment(p));
+            }
+            final double[] mu = m.getCentralMoments();
+            Assertions.assertEquals(7, mu.length);
+            Assertions.assertTrue(Arrays.stream(mu).allMatch(Double::isNaN));
+            m.combine(CentralMoments.create(6));
+            Assertions.assertEquals(0, m.getN());
+        }
+    }
+
+    @Test
+    void testSingleValue() {
+        final CentralMoments m1 = CentralMoments.create(5);
+        m1.accept(3.5);
+        final CentralMoments m2 = CentralMoments.of(5, 3.5);
+        for (final CentralMoments m : new CentralMoments[] {m1, m2}) {
+            Assertions.assertEquals(1, m.getN());
+            Assertions.assertEquals(3.5, m.getMean());
+            Assertions.assertArrayEquals(new double[] {1, 0, 0, 0, 0, 0}, m.getCentralMoments());
+            Assertions.assertEquals(Double.NaN, m.getStandardizedMoment(3));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    void testNonFinite(double x) {
+        final double[] values = {1, 2, x, 4};
+        final CentralMoments m1 = CentralMoments.create(4);
+        Arrays.stream(values).forEach(m1);
+        final CentralMoments m2 = CentralMoments.of(4, values);
+        for (final CentralMoments m : new CentralMoments[] {m1, m2}) {
+            Assertions.assertEquals(4, m.getN());
+            for (int p = 1; p <= 4; p++) {
+                Assertions.assertEquals(Double.NaN, m.getSumOfDeviations(p));
+            }
+        }
+    }
+
+    @Test
+    void testExtremeFiniteValues() {
+        // The mean does not overflow. The sums of the powers of the deviations overflow.
+        final double[] values = {Double.MAX_VALUE, -Double.MAX_VALUE};
+        final CentralMoments m1 = CentralMoments.create(3);
+        Arrays.stream(values).forEach(m1);
+        final CentralMoments m2 = CentralMoments.of(3, values);
+        final CentralMoments m3 = CentralMoments.of(3, values, 0, 1).combine(CentralMoments.of(3, values, 1, 2));
+        for (final CentralMoments m : new CentralMoments[] {m1, m2, m3}) {
+            Assertions.assertEquals(0, m.getMean());
+            Assertions.assertEquals(Double.POSITIVE_INFINITY, m.getSumOfDeviations(2));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testMoments(double[] values, int order, double eps) {
+        final int n = values.length;
+        final BigDecimal[][] expected = computeExpectedSums(values, order);
+
+        final CentralMoments m1 = CentralMoments.create(order);
+        Arrays.stream(values).forEach(m1);
+        final CentralMoments m2 = CentralMoments.of(order, values);
+        final double[] padded = TestHelper.concatenate(new double[] {42}, values, new double[] {-13});
+        final CentralMoments m3 = CentralMoments.of(order, padded, 1, n + 1);
+        for (final CentralMoments m : new CentralMoments[] {m1, m2, m3}) {
+            assertMoments(expected, n, order, m, eps);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testMoments")
+    void testCombine(double[] values, int order, double eps) {
+        final int n = values.length;
+        final BigDecimal[][] expected = computeExpectedSums(values, order);
+        for (final int k : new int[] {0, 1, n / 3, n / 2, n - 1, n}) {
+            // Combine instances created using different methods
+            final CentralMoments m1 = CentralMoments.of(order, values, 0, k);
+            final CentralMoments m2 = CentralMoments.create(order);
+            Arrays.stream(values, k, n).forEach(m2);
+            Assertions.assertSame(m1, m1.combine(m2));
+            assertMoments(expected, n, order, m1, eps);
+        }
+        // Combine many small parts
+        final CentralMoments m = CentralMoments.create(order);
+        for (int i = 0; i < n; i += 7) {
+            m.combine(CentralMoments.of(order, values, i, Math.min(n, i + 7)));
+        }
+        assertMoments(expected, n, order, m, eps);
+    }
+
+    static Stream<Arguments> testMoments() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4, 5}, 6, 1e-15));
+        builder.add(Arguments.of(new double[] {1, 1, 1, 1, 1, 1, 1, 7}, 8, 1e-15));
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {2, 3, 10, 100, 500}) {
+            for (final int order : new int[] {2, 4, 5, 8}) {
+                // Skewed data
+                builder.add(Arguments.of(rng.doubles(n).map(x -> x * x * x).toArray(), order, 1e-13));
+                builder.add(Arguments.of(rng.doubles(n, -10, 5).map(x -> Math.exp(x)).toArray(), order, 1e-13));
+                // Data with a large offset from zero
+                builder.add(Arguments.of(rng.doubles(n).map(x -> x * 10 + 1e4).toArray(), order, 1e-10));
+                builder.add(Arguments.of(rng.doubles(n).map(x -> x * 1e30 - 1e31).toArray(), order, 1e-13));
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testCombineWithSelf() {
+        final double[] values = TestHelper.createRNG().doubles(50, -3, 7).toArray();
+        final CentralMoments m = CentralMoments.of(6, values);
+        Assertions.assertSame(m, m.combine(m));
+        final double[] doubled = TestHelper.concatenate(values, values);
+        assertMoments(computeExpectedSums(doubled, 6), doubled.length, 6, m, 1e-14);
+    }
+
+    @Test
+    void testLowerOrderStatistics() {
+        final double[] values = TestHelper.createRNG().doubles(100).map(x -> x * x).toArray();
+        final CentralMoments m = CentralMoments.of(4, values);
+        final DoubleTolerance tol = DoubleTolerances.relative(1e-14);
+        TestUtils.assertEquals(Mean.of(values).getAsDouble(), m.getMean(), tol, "mean");
+        TestUtils.assertEquals(Variance.of(values).setBiased(true).getAsDouble(), m.getCentralMoment(2), tol,
+            "variance");
+        TestUtils.assertEquals(Skewness.of(values).setBiased(true).getAsDouble(), m.getStandardizedMoment(3), tol,
+            "skewness");
+        TestUtils.assertEquals(Kurtosis.of(values).setBiased(true).getAsDouble() + 3, m.getStandardizedMoment(4), tol,
+            "kurtosis");
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final CentralMoments m = CentralMoments.create(5);
+        rng.doubles(100).forEach(m);
+        m.reset();
+        Assertions.assertEquals(0, m.getN());
+        Assertions.assertEquals(5, m.getOrder());
+        Assertions.assertEquals(Double.NaN, m.getMean());
+        final CentralMoments expected = CentralMoments.create(5);
+        rng.doubles(10, -2, 5).forEach(x -> {
+            m.accept(x);
+            expected.accept(x);
+        });
+        Assertions.assertEquals(10, m.getN());
+        Assertions.assertEquals(expected.getMean(), m.getMean());
+        Assertions.assertArrayEquals(expected.getCentralMoments(), m.getCentralMoments());
+    }
+
+    /**
+     * Assert the moments are equal to the expected sums of the powers of the deviations.
+     * The error of the sum of order {@code p} is relative to the sum of the absolute
+     * deviations raised to the power {@code p}.
+     *
+     * @param expected Expected sums (index 0) and scale of the error (index 1).
+     * @param n Count of values.
+     * @param order Order.
+     * @param m Moments.
+     * @param eps Relative error.
+     */
+    private static void assertMoments(BigDecimal[][] expected, int n, int order, CentralMoments m, double eps) {
+        Assertions.assertEquals(n, m.getN());
+        Assertions.assertEquals(order, m.getOrder());
+        final double mean = expected[0][1].doubleValue();
+        Assertions.assertEquals(mean, m.getMean(), Math.abs(mean) * 4e-15 + expected[1][1].doubleValue() * 1e-15);
+        final double[] mu = m.getCentralMoments();
+        Assertions.assertEquals(1, mu[0]);
+        Assertions.assertEquals(0, mu[1]);
+        Assertions.assertEquals(0, m.getSumOfDeviations(1));
+        for (int p = 2; p <= order; p++) {
+            final double s = expected[0][p].doubleValue();
+            final double delta = expected[1][p].doubleValue() * eps;
+            final int pp = p;
+            Assertions.assertEquals(s, m.getSumOfDeviations(p), delta, () -> "Sum of deviations " + pp);
+            Assertions.assertEquals(s / n, m.getCentralMoment(p), delta / n, () -> "Central moment " + pp);
+            Assertions.assertEquals(s / n, mu[p], delta / n, () -> "Central moments " + pp);
+        }
+    }
+
+    /**
+     * Compute the expected sums of the powers of the deviations from the mean using BigDecimal.
+     * The first array contains the mean (index 1) and the sums (index p).
+     * The second array contains the scale of the error: the mean absolute deviation (index 1),
+     * and the sums of the absolute deviations raised to the power {@code p} (index p).
+     *
+     * @param values Values.
+     * @param order Order.
+     * @return the expected sums and scale
+     */
+    private static BigDecimal[][] computeExpectedSums(double[] values, int order) {
+        final MathContext mc = MathContext.DECIMAL128;
+        final BigDecimal mean = TestHelper.computeExpectedMean(values);
+        final BigDecimal[] s = new BigDecimal[order + 1];
+        final BigDecimal[] a = new BigDecimal[order + 1];
+        Arrays.fill(s, BigDecimal.ZERO);
+        Arrays.fill(a, BigDecimal.ZERO);
+        for (final double x : values) {
+            final BigDecimal d = new BigDecimal(x, mc).subtract(mean, mc);
+            final BigDecimal ad = d.abs();
+            for (int p = 1; p <= order; p++) {
+                s[p] = s[p].add(d.pow(p, mc), mc);
+                a[p] = a[p].add(ad.pow(p, mc), mc);
+            }
+        }
+        s[1] = mean;
+        a[1] = a[1].divide(BigDecimal.valueOf(values.length), mc);
+        return new BigDecimal[][] {s, a};
+    }
+}
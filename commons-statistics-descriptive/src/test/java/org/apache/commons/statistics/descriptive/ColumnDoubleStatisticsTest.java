@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ColumnDoubleStatistics}.
+ */
+final class ColumnDoubleStatisticsTest {
+    /** All statistics. */
+    private static final Statistic[] ALL = Statistic.values();
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidColumnsThrows(int columns) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ColumnDoubleStatistics.of(columns, ALL));
+    }
+
+    @Test
+    void testInvalidArgumentsThrows() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ColumnDoubleStatistics.of(2));
+        Assertions.assertThrows(NullPointerException.class, () -> ColumnDoubleStatistics.of(2, Statistic.MIN, null));
+        final ColumnDoubleStatistics c = ColumnDoubleStatistics.of(3, Statistic.MIN);
+        Assertions.assertEquals(3, c.getColumnCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.getAsDouble(Statistic.MAX, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.getResults(Statistic.MAX));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.getAsDouble(Statistic.MIN, -1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.getAsDouble(Statistic.MIN, 3));
+        Assertions.assertThrows(NullPointerException.class, () -> c.setConfiguration(null));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> c.acceptParallel(new double[0][], null));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> c.acceptParallel(new double[0], 0, 3, 0, null));
+    }
+
+    @Test
+    void testInvalidRowThrows() {
+        final ColumnDoubleStatistics c = ColumnDoubleStatistics.of(3, Statistic.MIN);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.accept(new double[2]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.accept(new double[4]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> c.accept(new double[][] {new double[3], new double[2]}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> c.acceptParallel(new double[][] {new double[3], new double[2]}, ForkJoinPool.commonPool()));
+        // No partial update
+        Assertions.assertEquals(0, c.getCount());
+        final double[] values = new double[10];
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.accept(values, 0, 2, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, -1, 3, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 0, 3, -1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 0, 4, 3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 2, 3, 3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 0, 3, Integer.MAX_VALUE));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+            () -> c.acceptParallel(values, 2, 3, 3, ForkJoinPool.commonPool()));
+        Assertions.assertEquals(0, c.getCount());
+        // The last row does not require the full stride
+        c.accept(values, 3, 4, 2);
+        Assertions.assertEquals(2, c.getCount());
+        c.accept(values, 10, 3, 0);
+        Assertions.assertEquals(2, c.getCount());
+    }
+
+    @Test
+    void testIsSupported() {
+        for (final Statistic s : ALL) {
+            final ColumnDoubleStatistics c = ColumnDoubleStatistics.of(2, s);
+            final DoubleStatistics expected = DoubleStatistics.of(s);
+            for (final Statistic t : ALL) {
+                Assertions.assertEquals(expected.isSupported(t), c.isSupported(t), () -> s + " " + t);
+            }
+        }
+    }
+
+    @Test
+    void testIncompatibleCombineThrows() {
+        final ColumnDoubleStatistics c1 = ColumnDoubleStatistics.of(2, Statistic.MIN, Statistic.VARIANCE);
+        c1.accept(new double[] {1, 2});
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> c1.combine(ColumnDoubleStatistics.of(3, Statistic.MIN, Statistic.VARIANCE)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> c1.combine(ColumnDoubleStatistics.of(2, Statistic.MIN)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> c1.combine(ColumnDoubleStatistics.of(2, Statistic.MIN, Statistic.MEAN)));
+        // Unchanged
+        Assertions.assertEquals(1, c1.getCount());
+        // A superset is compatible
+        final ColumnDoubleStatistics c2 = ColumnDoubleStatistics.of(2, Statistic.MIN, Statistic.KURTOSIS);
+        c2.accept(new double[] {0, 3});
+        c1.combine(c2);
+        Assertions.assertEquals(2, c1.getCount());
+        Assertions.assertArrayEquals(new double[] {0, 2}, c1.getResults(Statistic.MIN));
+        Assertions.assertArrayEquals(new double[] {0.5, 0.5}, c1.getResults(Statistic.VARIANCE));
+    }
+
+    @Test
+    void testEmpty() {
+        final ColumnDoubleStatistics c = ColumnDoubleStatistics.of(3, ALL);
+        Assertions.assertEquals(0, c.getCount());
+        assertValues(references(3), c);
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testStatistics(double[][] data) {
+        final int n = data.length;
+        final int d = data[0].length;
+        final DoubleStatistics[] expected = references(d);
+        for (final double[] row : data) {
+            for (int j = 0; j < d; j++) {
+                expected[j].accept(row[j]);
+            }
+        }
+
+        // Row input
+        final ColumnDoubleStatistics c1 = ColumnDoubleStatistics.of(d, ALL);
+        for (final double[] row : data) {
+            c1.accept(row);
+        }
+        // Array of rows input
+        final ColumnDoubleStatistics c2 = ColumnDoubleStatistics.of(d, ALL);
+        c2.accept(data);
+        // Flat row-major input with an offset and padding, added in blocks of different sizes
+        final int offset = 3;
+        final int stride = d + 2;
+        final double[] flat = new double[offset + n * stride];
+        Arrays.fill(flat, Double.NaN);
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(data[i], 0, flat, offset + i * stride, d);
+        }
+        final ColumnDoubleStatistics c3 = ColumnDoubleStatistics.of(d, ALL);
+        for (int i = 0, k = 1; i < n; k = k * 2 + 1) {
+            final int count = Math.min(k, n - i);
+            c3.accept(flat, offset + i * stride, stride, count);
+            i += count;
+        }
+        // Small input is computed sequentially
+        final ColumnDoubleStatistics c4 = ColumnDoubleStatistics.of(d, ALL);
+        c4.acceptParallel(data, ForkJoinPool.commonPool());
+        final ColumnDoubleStatistics c5 = ColumnDoubleStatistics.of(d, ALL);
+        c5.acceptParallel(flat, offset, stride, n, ForkJoinPool.commonPool());
+
+        for (final ColumnDoubleStatistics c : new ColumnDoubleStatistics[] {c1, c2, c3, c4, c5}) {
+            assertValues(expected, c);
+            // Configuration
+            final StatisticsConfiguration config = StatisticsConfiguration.withDefaults()
+                .withBiased(true).withQuantile(0.25);
+            Assertions.assertSame(c, c.setConfiguration(config));
+            for (final DoubleStatistics s : expected) {
+                s.setConfiguration(config);
+            }
+            assertValues(expected, c);
+            c.setConfiguration(StatisticsConfiguration.withDefaults());
+            for (final DoubleStatistics s : expected) {
+                s.setConfiguration(StatisticsConfiguration.withDefaults());
+            }
+        }
+    }
+
+    static Stream<Arguments> testStatistics() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of((Object) new double[][] {{1, 2}, {2, 4}, {3, 6}, {4, 8}}));
+        builder.add(Arguments.of((Object) new double[][] {{1, -0.0, Double.NaN}, {2, 0.0, 1}, {3, 0.0, 2}}));
+        builder.add(Arguments.of((Object) new double[][] {
+            {1, Double.POSITIVE_INFINITY, Double.MAX_VALUE},
+            {2, 3, Double.MAX_VALUE},
+            {3, Double.NEGATIVE_INFINITY, -Double.MAX_VALUE}}));
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int d : new int[] {1, 3, 10}) {
+            for (final int n : new int[] {1, 2, 5, 64, 200}) {
+                final double[][] data = new double[n][d];
+                for (final double[] row : data) {
+                    for (int j = 0; j < d; j++) {
+                        // Columns with different offsets and scales; some have negative values
+                        row[j] = rng.nextDouble() * (j + 1) + j * 100 - 50;
+                    }
+                }
+                builder.add(Arguments.of((Object) data));
+            }
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testStatistics")
+    void testCombine(double[][] data) {
+        final int n = data.length;
+        final int d = data[0].length;
+        for (final int k : new int[] {0, 1, n / 3, n / 2, n - 1, n}) {
+            final DoubleStatistics[] expected = references(d);
+            final DoubleStatistics[] expected2 = references(d);
+            final ColumnDoubleStatistics c1 = ColumnDoubleStatistics.of(d, ALL);
+            final ColumnDoubleStatistics c2 = ColumnDoubleStatistics.of(d, ALL);
+            for (int i = 0; i < n; i++) {
+                final double[] row = data[i];
+                final DoubleStatistics[] e = i < k ? expected : expected2;
+                for (int j = 0; j < d; j++) {
+                    e[j].accept(row[j]);
+                }
+                (i < k ? c1 : c2).accept(row);
+            }
+            for (int j = 0; j < d; j++) {
+                expected[j].combine(expected2[j]);
+            }
+            Assertions.assertSame(c1, c1.combine(c2));
+            assertValues(expected, c1);
+        }
+    }
+
+    @Test
+    void testParallel() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int d = 4;
+        final int n = 50000;
+        final double[][] data = new double[n][];
+        for (int i = 0; i < n; i++) {
+            data[i] = rng.doubles(d, -10, 20).toArray();
+        }
+        final double[] flat = new double[n * d];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(data[i], 0, flat, i * d, d);
+        }
+        final Statistic[] statistics = {
+            Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE, Statistic.SKEWNESS,
+            Statistic.KURTOSIS, Statistic.SUM, Statistic.SUM_OF_SQUARES,
+        };
+        final ColumnDoubleStatistics expected = ColumnDoubleStatistics.of(d, statistics);
+        expected.accept(data);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ColumnDoubleStatistics c1 = ColumnDoubleStatistics.of(d, statistics);
+            c1.acceptParallel(data, pool);
+            final ColumnDoubleStatistics c2 = ColumnDoubleStatistics.of(d, statistics);
+            c2.acceptParallel(flat, 0, d, n, pool);
+            for (final ColumnDoubleStatistics c : new ColumnDoubleStatistics[] {c1, c2}) {
+                Assertions.assertEquals(n, c.getCount());
+                for (final Statistic s : statistics) {
+                    final double[] e = expected.getResults(s);
+                    final double[] a = c.getResults(s);
+                    for (int j = 0; j < d; j++) {
+                        Assertions.assertEquals(e[j], a[j], Math.abs(e[j]) * 1e-10, s::toString);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final ColumnDoubleStatistics c = ColumnDoubleStatistics.of(3, ALL);
+        for (int i = 0; i < 100; i++) {
+            c.accept(rng.doubles(3).toArray());
+        }
+        c.reset();
+        Assertions.assertEquals(0, c.getCount());
+        Assertions.assertEquals(3, c.getColumnCount());
+        assertValues(references(3), c);
+        final DoubleStatistics[] expected = references(3);
+        for (int i = 0; i < 10; i++) {
+            final double[] row = rng.doubles(3, -2, 5).toArray();
+            c.accept(row);
+            for (int j = 0; j < 3; j++) {
+                expected[j].accept(row[j]);
+            }
+        }
+        assertValues(expected, c);
+    }
+
+    /**
+     * Create the reference statistics for each column.
+     *
+     * @param d Number of columns.
+     * @return the statistics
+     */
+    private static DoubleStatistics[] references(int d) {
+        final DoubleStatistics[] s = new DoubleStatistics[d];
+        Arrays.setAll(s, i -> DoubleStatistics.of(ALL));
+        return s;
+    }
+
+    /**
+     * Assert the statistics of each column are equal to the expected statistics.
+     *
+     * @param expected Expected statistics of each column.
+     * @param c Column statistics.
+     */
+    private static void assertValues(DoubleStatistics[] expected, ColumnDoubleStatistics c) {
+        Assertions.assertEquals(expected.length, c.getColumnCount());
+        Assertions.assertEquals(expected[0].getCount(), c.getCount());
+        for (final Statistic s : ALL) {
+            final double[] values = c.getResults(s);
+            for (int j = 0; j < expected.length; j++) {
+                final int column = j;
+                final double e = expected[j].getAsDouble(s);
+                Assertions.assertEquals(e, values[j], () -> s + " column " + column);
+                Assertions.assertEquals(e, c.getAsDouble(s, j), () -> s + " column " + column);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link Correlation}.
+ */
+final class CorrelationTest {
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, Correlation.create().getAsDouble());
+        Assertions.assertEquals(Double.NaN, Correlation.of(new double[0], new double[0]).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final Correlation s = Correlation.of(rng.doubles(50).toArray(), rng.doubles(50).toArray());
+        s.reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        final Correlation expected = Correlation.create();
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            final double y = x + rng.nextDouble();
+            s.accept(x, y);
+            expected.accept(x, y);
+        }
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @Test
+    void testSinglePair() {
+        final Correlation c = Correlation.create();
+        c.accept(1, 2);
+        Assertions.assertEquals(Double.NaN, c.getAsDouble());
+    }
+
+    @Test
+    void testLengthMismatchThrows() {
+        final double[] x = {1, 2, 3};
+        final double[] y = {1, 2};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Correlation.of(x, y));
+    }
+
+    @Test
+    void testZeroVariance() {
+        final double[] x = {1, 2, 3};
+        final double[] y = {4, 4, 4};
+        Assertions.assertEquals(Double.NaN, Correlation.of(x, y).getAsDouble());
+        Assertions.assertEquals(Double.NaN, Correlation.of(y, x).getAsDouble());
+    }
+
+    @Test
+    void testPerfectCorrelation() {
+        final double[] x = {1, 2, 3, 4, 5};
+        final double[] y = {0.1, 0.3, 0.5, 0.7, 0.9};
+        final double[] z = {10, 8, 6, 4, 2};
+        Assertions.assertEquals(1, Correlation.of(x, y).getAsDouble(), 1e-15);
+        Assertions.assertEquals(-1, Correlation.of(x, z).getAsDouble(), 1e-15);
+        Assertions.assertEquals(1, Correlation.of(x, x).getAsDouble(), 1e-15);
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testCorrelation(double[] x, double[] y) {
+        final double expected = correlation(x, y);
+        final Correlation c1 = Correlation.create();
+        for (int i = 0; i < x.length; i++) {
+            c1.accept(x[i], y[i]);
+        }
+        Assertions.assertEquals(expected, c1.getAsDouble(), 1e-9);
+        Assertions.assertEquals(expected, Correlation.of(x, y).getAsDouble(), 1e-13);
+        Assertions.assertEquals(expected, Correlation.of(y, x).getAsDouble(), 1e-13);
+        // Combine
+        final int n = x.length;
+        for (final int k : new int[] {0, 1, n / 2, n}) {
+            final Correlation c2 = Correlation.of(Arrays.copyOf(x, k), Arrays.copyOf(y, k));
+            final Correlation c3 = Correlation.of(Arrays.copyOfRange(x, k, n), Arrays.copyOfRange(y, k, n));
+            Assertions.assertSame(c2, c2.combine(c3));
+            Assertions.assertEquals(expected, c2.getAsDouble(), 1e-10);
+        }
+    }
+
+    static Stream<Arguments> testCorrelation() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new double[] {1, 2, 1, 2}, new double[] {1, 1, 2, 2}));
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4, 5}, new double[] {2, 1, 4, 3, 5}));
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {3, 10, 100, 1000}) {
+            final double[] x = rng.doubles(n, -10, 10).toArray();
+            final double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                y[i] = 0.5 * x[i] + rng.nextDouble() * 20 + 1e6;
+            }
+            builder.add(Arguments.of(x, y));
+            builder.add(Arguments.of(x, rng.doubles(n).toArray()));
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testCorrelation")
+    void testRange(double[] x, double[] y) {
+        final int n = x.length;
+        for (final int[] r : new int[][] {{0, n}, {1, n}, {0, n - 1}, {n / 3, n / 2 + 1}, {n / 2, n / 2}}) {
+            final int from = r[0];
+            final int to = r[1];
+            final double expected = Correlation.of(Arrays.copyOfRange(x, from, to), Arrays.copyOfRange(y, from, to))
+                .getAsDouble();
+            Assertions.assertEquals(expected, Correlation.of(x, y, from, to).getAsDouble(), () -> from + ", " + to);
+        }
+    }
+
+    @Test
+    void testRangeThrows() {
+        final double[] x = new double[5];
+        final double[] y = new double[5];
+        final double[] z = new double[6];
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Correlation.of(x, z, 0, 5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Correlation.of(x, y, -1, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Correlation.of(x, y, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Correlation.of(x, y, 0, 6));
+    }
+
+    @Test
+    void testNonFinite() {
+        final double[] x = {1, 2, Double.NaN};
+        final double[] y = {1, 2, 3};
+        Assertions.assertEquals(Double.NaN, Correlation.of(x, y).getAsDouble());
+        final Correlation c = Correlation.create();
+        c.accept(1, 2);
+        c.accept(2, Double.POSITIVE_INFINITY);
+        Assertions.assertEquals(Double.NaN, c.getAsDouble());
+    }
+
+    /**
+     * Compute the correlation using extended precision.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @return the correlation
+     */
+    private static double correlation(double[] x, double[] y) {
+        final BigDecimal[] d = CovarianceTest.deviations(x);
+        final BigDecimal[] e = CovarianceTest.deviations(y);
+        BigDecimal sxx = BigDecimal.ZERO;
+        BigDecimal syy = BigDecimal.ZERO;
+        BigDecimal sxy = BigDecimal.ZERO;
+        for (int i = 0; i < x.length; i++) {
+            sxx = sxx.add(d[i].multiply(d[i]));
+            syy = syy.add(e[i].multiply(e[i]));
+            sxy = sxy.add(d[i].multiply(e[i]));
+        }
+        return sxy.divide(sxx.multiply(syy).sqrt(MathContext.DECIMAL128), MathContext.DECIMAL128).doubleValue();
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link Covariance}.
+ */
+final class CovarianceTest {
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, Covariance.create().getAsDouble());
+        Assertions.assertEquals(Double.NaN, Covariance.of(new double[0], new double[0]).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final Covariance s = Covariance.of(rng.doubles(50).toArray(), rng.doubles(50).toArray());
+        s.reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        final Covariance expected = Covariance.create();
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            final double y = x + rng.nextDouble();
+            s.accept(x, y);
+            expected.accept(x, y);
+        }
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @Test
+    void testSinglePair() {
+        final Covariance c = Covariance.create();
+        c.accept(1, 2);
+        Assertions.assertEquals(0, c.getAsDouble());
+        Assertions.assertEquals(0, c.setBiased(true).getAsDouble());
+        Assertions.assertEquals(0, Covariance.of(new double[] {1}, new double[] {2}).getAsDouble());
+    }
+
+    @Test
+    void testLengthMismatchThrows() {
+        final double[] x = {1, 2, 3};
+        final double[] y = {1, 2};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Covariance.of(x, y));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Covariance.of(y, x));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testCovariance(double[] x, double[] y) {
+        final double expected = covariance(x, y, false);
+        final double expectedBiased = covariance(x, y, true);
+        final double scale = scale(x, y);
+        final Covariance c1 = Covariance.create();
+        for (int i = 0; i < x.length; i++) {
+            c1.accept(x[i], y[i]);
+        }
+        final Covariance c2 = Covariance.of(x, y);
+        assertEquals(expected, c1.getAsDouble(), 1e-9, scale);
+        assertEquals(expected, c2.getAsDouble(), 1e-13, scale);
+        Assertions.assertSame(c1, c1.setBiased(true));
+        assertEquals(expectedBiased, c1.getAsDouble(), 1e-9, scale);
+        assertEquals(expectedBiased, c2.setBiased(true).getAsDouble(), 1e-13, scale);
+        // Symmetric
+        assertEquals(expected, Covariance.of(y, x).getAsDouble(), 1e-13, scale);
+        // Consistent with the variance
+        assertEquals(Variance.of(x).getAsDouble(), Covariance.of(x, x).getAsDouble(), 1e-13, scale);
+    }
+
+    static Stream<Arguments> testCovariance() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4}, new double[] {2, 4, 6, 8}));
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4}, new double[] {8, 6, 4, 2}));
+        builder.add(Arguments.of(new double[] {1, 2, 1, 2}, new double[] {1, 1, 2, 2}));
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {2, 5, 10, 100, 1000}) {
+            final double[] x = rng.doubles(n, -10, 10).toArray();
+            final double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                y[i] = 3 * x[i] + rng.nextDouble() * 20 + 1e6;
+            }
+            builder.add(Arguments.of(x, y));
+            builder.add(Arguments.of(y, rng.doubles(n, 1000, 1001).toArray()));
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testCovariance")
+    void testCombine(double[] x, double[] y) {
+        final double expected = covariance(x, y, false);
+        final double scale = scale(x, y);
+        final int n = x.length;
+        for (final int k : new int[] {0, 1, n / 3, n / 2, n - 1, n}) {
+            final double[] x1 = Arrays.copyOf(x, k);
+            final double[] y1 = Arrays.copyOf(y, k);
+            final double[] x2 = Arrays.copyOfRange(x, k, n);
+            final double[] y2 = Arrays.copyOfRange(y, k, n);
+            final Covariance c1 = Covariance.of(x1, y1);
+            final Covariance c2 = Covariance.create();
+            for (int i = 0; i < x2.length; i++) {
+                c2.accept(x2[i], y2[i]);
+            }
+            Assertions.assertSame(c1, c1.combine(c2));
+            assertEquals(expected, c1.getAsDouble(), 1e-9, scale);
+            assertEquals(expected, Covariance.of(x2, y2).combine(Covariance.of(x1, y1)).getAsDouble(), 1e-9, scale);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testCovariance")
+    void testRange(double[] x, double[] y) {
+        final int n = x.length;
+        for (final int[] r : new int[][] {{0, n}, {1, n}, {0, n - 1}, {n / 3, n / 2 + 1}, {n / 2, n / 2}}) {
+            final int from = r[0];
+            final int to = r[1];
+            final double expected = Covariance.of(Arrays.copyOfRange(x, from, to), Arrays.copyOfRange(y, from, to))
+                .getAsDouble();
+            Assertions.assertEquals(expected, Covariance.of(x, y, from, to).getAsDouble(), () -> from + ", " + to);
+        }
+    }
+
+    @Test
+    void testRangeThrows() {
+        final double[] x = new double[5];
+        final double[] y = new double[5];
+        final double[] z = new double[6];
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Covariance.of(x, z, 0, 5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Covariance.of(x, y, -1, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Covariance.of(x, y, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Covariance.of(x, y, 0, 6));
+    }
+
+    @Test
+    void testNonFinite() {
+        final double[][] data = {
+            {1, 2, Double.NaN},
+            {1, 2, Double.POSITIVE_INFINITY},
+            {1, Double.NEGATIVE_INFINITY, 3},
+        };
+        final double[] y = {1, 2, 3};
+        for (final double[] x : data) {
+            Assertions.assertEquals(Double.NaN, Covariance.of(x, y).getAsDouble());
+            Assertions.assertEquals(Double.NaN, Covariance.of(y, x).getAsDouble());
+            final Covariance c = Covariance.create();
+            for (int i = 0; i < x.length; i++) {
+                c.accept(x[i], y[i]);
+            }
+            Assertions.assertEquals(Double.NaN, c.getAsDouble());
+        }
+    }
+
+    @Test
+    void testLargeValues() {
+        // The means do not overflow
+        final double max = Double.MAX_VALUE;
+        final double[] x = {max, max, max};
+        final double[] y = {-max, -max, -max};
+        final Covariance c = Covariance.create();
+        for (int i = 0; i < x.length; i++) {
+            c.accept(x[i], y[i]);
+        }
+        Assertions.assertEquals(0, c.getAsDouble());
+        Assertions.assertEquals(0, Covariance.of(x, y).getAsDouble());
+        // Overflow of the sum of products
+        final double[] z = {max, -max, max};
+        Assertions.assertEquals(Double.NaN, Covariance.of(z, z).getAsDouble());
+    }
+
+    /**
+     * Assert the actual value is equal to the expected value with a tolerance relative
+     * to the {@code scale} of the result.
+     *
+     * @param expected Expected.
+     * @param actual Actual.
+     * @param relativeError Relative error.
+     * @param scale Scale of the result.
+     */
+    private static void assertEquals(double expected, double actual, double relativeError, double scale) {
+        Assertions.assertEquals(expected, actual, scale * relativeError);
+    }
+
+    /**
+     * Gets the scale of the covariance. This is the product of the standard deviations.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @return the scale
+     */
+    private static double scale(double[] x, double[] y) {
+        return Math.sqrt(Variance.of(x).getAsDouble() * Variance.of(y).getAsDouble());
+    }
+
+    /**
+     * Compute the covariance using extended precision.
+     *
+     * @param x First values.
+     * @param y Second values.
+     * @param biased Set to true to compute the biased covariance.
+     * @return the covariance
+     */
+    static double covariance(double[] x, double[] y, boolean biased) {
+        final int n = x.length;
+        final BigDecimal[] d = deviations(x);
+        final BigDecimal[] e = deviations(y);
+        BigDecimal s = BigDecimal.ZERO;
+        for (int i = 0; i < n; i++) {
+            s = s.add(d[i].multiply(e[i]));
+        }
+        return s.divide(BigDecimal.valueOf(biased ? n : n - 1), MathContext.DECIMAL128).doubleValue();
+    }
+
+    /**
+     * Compute the deviations from the mean using extended precision.
+     *
+     * @param x Values.
+     * @return the deviations
+     */
+    static BigDecimal[] deviations(double[] x) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (final double v : x) {
+            sum = sum.add(new BigDecimal(v));
+        }
+        final BigDecimal mean = sum.divide(BigDecimal.valueOf(x.length), MathContext.DECIMAL128);
+        return Arrays.stream(x).mapToObj(v -> new BigDecimal(v).subtract(mean)).toArray(BigDecimal[]::new);
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link DistinctCount}.
+ */
+final class DistinctCountTest {
+    @Test
+    void testEmpty() {
+        final DistinctCount d = DistinctCount.create();
+        Assertions.assertEquals(14, d.getPrecision());
+        Assertions.assertEquals(0, d.getAsLong());
+        Assertions.assertEquals(0, d.getAsInt());
+        Assertions.assertEquals(0.0, d.getAsDouble());
+        Assertions.assertEquals(0, d.getAsBigInteger().signum());
+        Assertions.assertEquals(0, DistinctCount.of(new double[0]).getAsLong());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        // Registers only
+        "4, 10",
+        // Sparse
+        "14, 10",
+        // Sparse converted to registers
+        "14, 100000",
+    })
+    void testReset(int p, int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final DistinctCount d = DistinctCount.create(p);
+        rng.longs(n).forEach(d);
+        d.reset();
+        Assertions.assertEquals(p, d.getPrecision());
+        Assertions.assertEquals(0, d.getAsLong());
+        final long[] y = rng.longs(50).toArray();
+        Arrays.stream(y).forEach(d);
+        final DistinctCount expected = DistinctCount.create(p);
+        Arrays.stream(y).forEach(expected);
+        Assertions.assertEquals(expected.getAsLong(), d.getAsLong());
+        Assertions.assertEquals(expected.getAsDouble(), d.getAsDouble());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 19, Integer.MIN_VALUE, Integer.MAX_VALUE})
+    void testInvalidPrecision(int p) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DistinctCount.create(p));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 10, 14, 18})
+    void testRelativeStandardError(int p) {
+        final DistinctCount d = DistinctCount.create(p);
+        Assertions.assertEquals(p, d.getPrecision());
+        Assertions.assertEquals(1.04 / Math.sqrt(1 << p), d.getRelativeStandardError());
+    }
+
+    @Test
+    void testDuplicates() {
+        final DistinctCount d = DistinctCount.create();
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 100; j++) {
+                d.accept(j);
+            }
+        }
+        Assertions.assertEquals(100, d.getAsLong());
+    }
+
+    @Test
+    void testIntAndLongValues() {
+        final int[] x = {1, -1, 42, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        final long[] y = Arrays.stream(x).asLongStream().toArray();
+        final DistinctCount d = DistinctCount.of(x);
+        Assertions.assertEquals(x.length, d.getAsLong());
+        // The same values
+        d.combine(DistinctCount.of(y));
+        Assertions.assertEquals(x.length, d.getAsLong());
+        Assertions.assertEquals(x.length + 1, d.combine(DistinctCount.of(1L << 40)).getAsLong());
+    }
+
+    @Test
+    void testDoubleValues() {
+        // Equality is defined by Double.equals
+        final double[] x = {0.0, -0.0, 1.0, Double.NaN, Double.longBitsToDouble(0x7ff8000000000001L),
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, 1.0};
+        final Set<Double> set = new HashSet<>();
+        Arrays.stream(x).forEach(set::add);
+        Assertions.assertEquals(set.size(), DistinctCount.of(x).getAsLong());
+    }
+
+    @Test
+    void testArrayRange() {
+        final long[] x = {1, 2, 3, 4, 5, 5, 5};
+        Assertions.assertEquals(3, DistinctCount.of(x, 4, 7).getAsLong() + 2);
+        Assertions.assertEquals(4, DistinctCount.of(x, 1, 5).getAsLong());
+        Assertions.assertEquals(2, DistinctCount.of(new int[] {1, 2, 2, 1}, 1, 4).getAsLong());
+        Assertions.assertEquals(2, DistinctCount.of(new double[] {1, 2, 2, 1}, 0, 3).getAsLong());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> DistinctCount.of(x, 0, 8));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> DistinctCount.of(new int[2], 2, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> DistinctCount.of(new double[2], -1, 1));
+    }
+
+    /**
+     * Test the estimate is within the expected error. The estimate should be within
+     * 4 standard errors with very high probability; the test uses a fixed seed.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "14, 10",
+        "14, 1000",
+        "14, 20000",
+        "14, 100000",
+        "14, 1000000",
+        "10, 500",
+        "10, 5000",
+        "10, 100000",
+        "4, 10",
+        "4, 10000",
+        "18, 300000",
+    })
+    void testAccuracy(int p, int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final DistinctCount d = DistinctCount.create(p);
+        // Sequential identifiers with an offset; each value is added twice
+        final long offset = rng.nextLong();
+        for (int i = 0; i < n; i++) {
+            d.accept(offset + i);
+            d.accept(offset + i);
+        }
+        final double error = (d.getAsLong() - n) / (double) n;
+        Assertions.assertEquals(0, error, 4 * d.getRelativeStandardError(),
+            () -> "Estimate " + d.getAsLong());
+    }
+
+    @Test
+    void testSmallCardinality() {
+        // The sparse representation is exact unless two hashes share the 25-bit prefix.
+        // For n values the probability of a collision is approximately n^2 / 2^26.
+        // Use a fixed seed so the result is reproducible.
+        final DistinctCount d = DistinctCount.create();
+        final UniformRandomProvider rng = TestHelper.createRNG(new long[] {0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL});
+        // Collision probability 1e-3
+        for (int i = 1; i <= 256; i++) {
+            d.accept(rng.nextLong());
+            Assertions.assertEquals(i, d.getAsLong());
+        }
+        // Up to m / 8 the expected number of collisions is 1/16
+        for (int i = 257; i <= 2048; i++) {
+            d.accept(rng.nextLong());
+            Assertions.assertEquals(i, d.getAsLong(), 2.0);
+        }
+    }
+
+    /**
+     * Test the conversion of the sparse representation to the registers computes the
+     * same state as adding the values to the registers.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {6, 10, 14})
+    void testSparseToRegisters(int p) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        // Small enough to be sparse
+        final int n = (1 << p) / 32;
+        final long[] x = rng.longs(n).toArray();
+        // Sparse combined into the registers
+        final DistinctCount a = DistinctCount.create(p);
+        final DistinctCount b = DistinctCount.create(p);
+        final long[] y = rng.longs(1 << p).toArray();
+        add(a, y);
+        add(b, y);
+        a.combine(add(DistinctCount.create(p), x));
+        add(b, x);
+        Assertions.assertEquals(b.getAsLong(), a.getAsLong());
+        // Registers combined into the sparse
+        final DistinctCount c = add(DistinctCount.create(p), x).combine(b);
+        Assertions.assertEquals(b.getAsLong(), c.getAsLong());
+        // Sparse precision bits equal to zero in the remaining bits of the register.
+        // Values are added to the sparse representation and converted.
+        final DistinctCount d = DistinctCount.create(p);
+        final DistinctCount e = DistinctCount.create(p);
+        add(e, y);
+        for (long i = 0; i < 1L << 16; i++) {
+            final long v = i << 40;
+            d.accept(v);
+            e.accept(v);
+        }
+        add(d, y);
+        Assertions.assertEquals(e.getAsLong(), d.getAsLong());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000, 100000})
+    void testCombine(int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final long[] x = LongStream.range(0, n).map(i -> rng.nextLong(n)).toArray();
+        final DistinctCount expected = DistinctCount.of(x);
+        final int k = rng.nextInt(n + 1);
+        final DistinctCount a = DistinctCount.of(x, 0, k);
+        final DistinctCount b = DistinctCount.of(x, k, n);
+        Assertions.assertEquals(expected.getAsLong(), a.combine(b).getAsLong());
+        // Combine is idempotent
+        Assertions.assertEquals(expected.getAsLong(), a.combine(DistinctCount.of(x)).getAsLong());
+        Assertions.assertEquals(expected.getAsLong(), a.combine(a).getAsLong());
+    }
+
+    @Test
+    void testCombineThrows() {
+        final DistinctCount a = DistinctCount.create(10);
+        final DistinctCount b = DistinctCount.create(11);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> a.combine(b));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> b.combine(a));
+    }
+
+    @Test
+    void testHashIsBijective() {
+        // The mixing function of the lower bits should not collide for sequential values
+        final Set<Long> set = new HashSet<>();
+        for (long i = -1000; i < 1000; i++) {
+            Assertions.assertTrue(set.add(DistinctCount.hash(i)));
+        }
+    }
+
+    /**
+     * Adds the values to the statistic.
+     *
+     * @param d Statistic.
+     * @param values Values.
+     * @return the statistic
+     */
+    private static DistinctCount add(DistinctCount d, long[] values) {
+        for (final long x : values) {
+            d.accept(x);
+        }
+        return d;
+    }
+}
@@ -33,6 +33,8 @@ final class DoubleAsIntStatistic implements IntStatistic, StatisticAccumulator<D
     private final DoubleSupplier supplier;
     /** Combiner of statistic objects. */
     private final Consumer<Object> combiner;
+    /** Action to reset the statistic. */
+    private final Runnable resetter;
 
     /**
      * Create an instance.
@@ -41,13 +43,15 @@ final class DoubleAsIntStatistic implements IntStatistic, StatisticAccumulator<D
      * @param consumer Consumer of values.
      * @param supplier Supplier of the computed statistic.
      * @param combiner Combiner of statistic objects.
+     * @param resetter Action to reset the statistic.
      */
     private DoubleAsIntStatistic(Object stat, DoubleConsumer consumer,
-            DoubleSupplier supplier, Consumer<Object> combiner) {
+            DoubleSupplier supplier, Consumer<Object> combiner, Runnable resetter) {
         this.stat = stat;
         this.consumer = consumer;
         this.supplier = supplier;
         this.combiner = combiner;
+        this.resetter = resetter;
     }
 
     /**
@@ -55,12 +59,14 @@ final class DoubleAsIntStatistic implements IntStatistic, StatisticAccumulator<D
      *
      * @param <T> type of DoubleStatistic.
      * @param stat Statistic.
+     * @param reset Action to reset the statistic.
      * @return converted statistic
      */
-    static <T extends DoubleStatistic & StatisticAccumulator<T>> DoubleAsIntStatistic from(T stat) {
+    static <T extends DoubleStatistic & StatisticAccumulator<T>> DoubleAsIntStatistic from(T stat,
+            Consumer<T> reset) {
         @SuppressWarnings("unchecked")
         final Consumer<Object> combiner = other -> stat.combine((T) other);
-        return new DoubleAsIntStatistic(stat, stat::accept, stat::getAsDouble, combiner);
+        return new DoubleAsIntStatistic(stat, stat::accept, stat::getAsDouble, combiner, () -> reset.accept(stat));
     }
 
     @Override
@@ -78,4 +84,11 @@ final class DoubleAsIntStatistic implements IntStatistic, StatisticAccumulator<D
         combiner.accept(other.stat);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic.
+     */
+    void reset() {
+        resetter.run();
+    }
 }
@@ -33,6 +33,8 @@ final class DoubleAsLongStatistic implements LongStatistic, StatisticAccumulator
     private final DoubleSupplier supplier;
     /** Combiner of statistic objects. */
     private final Consumer<Object> combiner;
+    /** Action to reset the statistic. */
+    private final Runnable resetter;
 
     /**
      * Create an instance.
@@ -41,13 +43,15 @@ final class DoubleAsLongStatistic implements LongStatistic, StatisticAccumulator
      * @param consumer Consumer of values.
      * @param supplier Supplier of the computed statistic.
      * @param combiner Combiner of statistic objects.
+     * @param resetter Action to reset the statistic.
      */
     private DoubleAsLongStatistic(Object stat, DoubleConsumer consumer,
-            DoubleSupplier supplier, Consumer<Object> combiner) {
+            DoubleSupplier supplier, Consumer<Object> combiner, Runnable resetter) {
         this.stat = stat;
         this.consumer = consumer;
         this.supplier = supplier;
         this.combiner = combiner;
+        this.resetter = resetter;
     }
 
     /**
@@ -55,12 +59,14 @@ final class DoubleAsLongStatistic implements LongStatistic, StatisticAccumulator
      *
      * @param <T> type of DoubleStatistic.
      * @param stat Statistic.
+     * @param reset Action to reset the statistic.
      * @return converted statistic
      */
-    static <T extends DoubleStatistic & StatisticAccumulator<T>> DoubleAsLongStatistic from(T stat) {
+    static <T extends DoubleStatistic & StatisticAccumulator<T>> DoubleAsLongStatistic from(T stat,
+            Consumer<T> reset) {
         @SuppressWarnings("unchecked")
         final Consumer<Object> combiner = other -> stat.combine((T) other);
-        return new DoubleAsLongStatistic(stat, stat::accept, stat::getAsDouble, combiner);
+        return new DoubleAsLongStatistic(stat, stat::accept, stat::getAsDouble, combiner, () -> reset.accept(stat));
     }
 
     @Override
@@ -78,4 +84,11 @@ final class DoubleAsLongStatistic implements LongStatistic, StatisticAccumulator
         combiner.accept(other.stat);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic.
+     */
+    void reset() {
+        resetter.run();
+    }
 }
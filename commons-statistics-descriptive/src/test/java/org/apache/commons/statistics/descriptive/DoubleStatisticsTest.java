@@ -17,6 +17,8 @@
 
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
@@ -24,6 +26,7 @@ import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -167,11 +170,15 @@ class DoubleStatisticsTest {
         addExpected(Statistic.SUM_OF_LOGS, SumOfLogs::create, SumOfLogs::of);
         addExpected(Statistic.SUM_OF_SQUARES, SumOfSquares::create, SumOfSquares::of);
         addExpected(Statistic.GEOMETRIC_MEAN, GeometricMean::create, GeometricMean::of);
+        addExpected(Statistic.MEDIAN, QuantileSketch::create, QuantileSketch::of);
+        addExpected(Statistic.QUANTILE, QuantileSketch::create, QuantileSketch::of);
+        addExpected(Statistic.DISTINCT_COUNT, DistinctCount::create, DistinctCount::of);
         // Create co-computed statistics
         coComputed = new EnumMap<>(Statistic.class);
         Arrays.stream(Statistic.values()).forEach(s -> coComputed.put(s, EnumSet.of(s)));
         addCoComputed(Statistic.GEOMETRIC_MEAN, Statistic.SUM_OF_LOGS);
         addCoComputed(Statistic.VARIANCE, Statistic.STANDARD_DEVIATION);
+        addCoComputed(Statistic.MEDIAN, Statistic.QUANTILE);
         // Cascade moments up
         EnumSet<Statistic> m = coComputed.get(Statistic.MEAN);
         coComputed.get(Statistic.STANDARD_DEVIATION).addAll(m);
@@ -275,6 +282,35 @@ class DoubleStatisticsTest {
         assertStatistics(stats, data, builder::build, ExpectedResult::getArray);
     }
 
+    /**
+     * Test the {@link DoubleStatistics} when data is passed as a range of a {@code double[]} of values.
+     */
+    @ParameterizedTest
+    @MethodSource(value = {"streamTestData"})
+    void testArrayRange(EnumSet<Statistic> stats, TestData data) {
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(stats.toArray(EMPTY_STATISTIC_ARRAY));
+        assertStatistics(stats, data, values -> {
+            // Pad with values that change the result
+            final double[] x = new double[values.length + 5];
+            Arrays.fill(x, Double.NaN);
+            System.arraycopy(values, 0, x, 3, values.length);
+            return builder.build(x, 3, 3 + values.length);
+        }, ExpectedResult::getArray);
+    }
+
+    @Test
+    void testArrayRangeThrows() {
+        final double[] x = new double[5];
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(Statistic.MIN);
+        final EnumSet<Statistic> stats = EnumSet.of(Statistic.MIN);
+        Assertions.assertEquals(0, builder.build(x, 2, 2).getCount());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> builder.build(x, -1, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> builder.build(x, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> builder.build(x, 0, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> DoubleStatistics.of(stats, x, 0, 6));
+        Assertions.assertEquals(3, DoubleStatistics.of(stats, x, 1, 4).getCount());
+    }
+
     /**
      * Assert the computed statistics match the expected result.
      *
@@ -387,6 +423,110 @@ class DoubleStatisticsTest {
         return s1;
     }
 
+    @Test
+    void testBuildBuffer() {
+        final int n = Buffers.CHUNK * 2 + 13;
+        final double[] values = TestHelper.createRNG().doubles(n, 0.5, 2).toArray();
+        final Statistic[] statistics = Statistic.values();
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(statistics);
+        final DoubleStatistics expected = builder.build(values);
+        // Direct buffer is computed in chunks
+        final DoubleBuffer direct = ByteBuffer.allocateDirect(n * Double.BYTES).asDoubleBuffer();
+        direct.put(values).flip();
+        final DoubleStatistics[] results = {
+            builder.build(direct),
+            DoubleStatistics.builder(statistics).build(direct),
+        };
+        Assertions.assertEquals(0, direct.position());
+        for (final DoubleStatistics actual : results) {
+            Assertions.assertEquals(n, actual.getCount());
+            for (final Statistic s : statistics) {
+                final double e = expected.getAsDouble(s);
+                // The quantile is approximated by a sketch that depends on the order of merges
+                final double tol = s == Statistic.MEDIAN || s == Statistic.QUANTILE ?
+                    0.01 * (expected.getAsDouble(Statistic.MAX) - expected.getAsDouble(Statistic.MIN)) :
+                    1e-9 * Math.max(1, Math.abs(e));
+                Assertions.assertEquals(e, actual.getAsDouble(s), tol, s::toString);
+            }
+        }
+        // Array-backed buffer is computed using the array range
+        final DoubleBuffer wrapped = DoubleBuffer.wrap(values, 3, 100);
+        final DoubleStatistics s1 = builder.build(values, 3, 103);
+        final DoubleStatistics s2 = builder.build(wrapped);
+        Assertions.assertEquals(3, wrapped.position());
+        for (final Statistic s : statistics) {
+            Assertions.assertEquals(s1.getAsDouble(s), s2.getAsDouble(s), s::toString);
+        }
+        Assertions.assertThrows(NullPointerException.class, () -> builder.build((DoubleBuffer) null));
+    }
+
+    @Test
+    void testBuildParallel() {
+        final int n = RangeTask.THRESHOLD * 5 + 13;
+        final double[] values = TestHelper.createRNG().doubles(n, 0.5, 2).toArray();
+        final Statistic[] statistics = Statistic.values();
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(statistics);
+        final DoubleStatistics expected = builder.build(values);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final DoubleStatistics[] results = {
+                builder.buildParallel(values, pool),
+                builder.buildParallel(values),
+                DoubleStatistics.ofParallel(EnumSet.allOf(Statistic.class), values),
+            };
+            for (final DoubleStatistics actual : results) {
+                Assertions.assertEquals(n, actual.getCount());
+                for (final Statistic s : statistics) {
+                    final double e = expected.getAsDouble(s);
+                    // The quantile is approximated by a sketch that depends on the order of merges
+                    final double tol = s == Statistic.MEDIAN || s == Statistic.QUANTILE ?
+                        0.01 * (expected.getAsDouble(Statistic.MAX) - expected.getAsDouble(Statistic.MIN)) :
+                        1e-9 * Math.max(1, Math.abs(e));
+                    Assertions.assertEquals(e, actual.getAsDouble(s), tol, s::toString);
+                }
+            }
+            // Small arrays are computed sequentially
+            final double[] small = Arrays.copyOf(values, 100);
+            final DoubleStatistics s1 = builder.build(small);
+            final DoubleStatistics s2 = builder.buildParallel(small, pool);
+            for (final Statistic s : statistics) {
+                Assertions.assertEquals(s1.getAsDouble(s), s2.getAsDouble(s), s::toString);
+            }
+            Assertions.assertThrows(NullPointerException.class, () -> builder.buildParallel(null, pool));
+            Assertions.assertThrows(NullPointerException.class, () -> builder.buildParallel(small, null));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DoubleStatistics.ofParallel(EnumSet.noneOf(Statistic.class), small));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testReset() {
+        final double[] x = TestHelper.createRNG().doubles(50, -5, 10).toArray();
+        final double[] y = TestHelper.createRNG().doubles(30, 1, 3).toArray();
+        final Statistic[] statistics = Statistic.values();
+        final StatisticsConfiguration config = StatisticsConfiguration.withDefaults().withBiased(true);
+        final DoubleStatistics stats = DoubleStatistics.of(EnumSet.allOf(Statistic.class), x).setConfiguration(config);
+        final StatisticResult variance = stats.getResult(Statistic.VARIANCE);
+        stats.reset();
+        final DoubleStatistics empty = DoubleStatistics.of(statistics);
+        Assertions.assertEquals(0, stats.getCount());
+        for (final Statistic s : statistics) {
+            Assertions.assertEquals(empty.getAsDouble(s), stats.getAsDouble(s), s::toString);
+        }
+        // Reset must be equivalent to a new instance with the same configuration
+        final DoubleStatistics expected = DoubleStatistics.of(statistics).setConfiguration(config);
+        Arrays.stream(y).forEach(stats);
+        Arrays.stream(y).forEach(expected);
+        Assertions.assertEquals(y.length, stats.getCount());
+        for (final Statistic s : statistics) {
+            Assertions.assertEquals(expected.getAsDouble(s), stats.getAsDouble(s), s::toString);
+        }
+        // A result created before the reset uses the current state
+        Assertions.assertEquals(expected.getAsDouble(Statistic.VARIANCE), variance.getAsDouble());
+    }
+
     @Test
     void testOfThrows() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> DoubleStatistics.of());
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ExponentialMean}.
+ */
+final class ExponentialMeanTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -0.1, 1.1, Double.NaN})
+    void testInvalidAlphaThrows(double alpha) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExponentialMean.create(alpha));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -1, Double.NaN})
+    void testInvalidHalfLifeThrows(double halfLife) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExponentialMean.withHalfLife(halfLife));
+    }
+
+    @Test
+    void testInvalidTimeThrows() {
+        final ExponentialMean s = ExponentialMean.create(0.5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.accept(1, Double.NaN));
+    }
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, ExponentialMean.create(0.5).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final ExponentialMean s = ExponentialMean.create(0.25);
+        for (int i = 0; i < 50; i++) {
+            s.accept(rng.nextDouble(), i * 10.0);
+        }
+        s.reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        // The reference time is reset
+        final ExponentialMean expected = ExponentialMean.create(0.25);
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            s.accept(x, i);
+            expected.accept(x, i);
+            Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+        }
+        s.accept(42);
+        expected.accept(42);
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.1, 0.5, 0.99})
+    void testMean(double alpha) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = rng.doubles(500, -10, 100).toArray();
+        final ExponentialMean s = ExponentialMean.create(alpha);
+        for (int i = 0; i < values.length; i++) {
+            s.accept(values[i]);
+            final double[] x = Arrays.copyOf(values, i + 1);
+            final double[] t = IntStream.rangeClosed(0, i).asDoubleStream().toArray();
+            final double[] w = ExponentialTestData.weights(t, alpha);
+            ExponentialTestData.assertEquals(ExponentialTestData.mean(x, w), s.getAsDouble(), 1e-12, i);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.1, 0.5})
+    void testMeanWithTime(double alpha) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 200;
+        final double[] values = rng.doubles(n, -10, 100).toArray();
+        final double[] t = ExponentialTestData.createTimes(rng, n);
+        // Some values out-of-order
+        for (int i = 0; i < n / 10; i++) {
+            final int j = rng.nextInt(n);
+            final double tmp = t[j];
+            t[j] = t[i];
+            t[i] = tmp;
+        }
+        final ExponentialMean s = ExponentialMean.create(alpha);
+        for (int i = 0; i < n; i++) {
+            s.accept(values[i], t[i]);
+            final double[] x = Arrays.copyOf(values, i + 1);
+            final double[] w = ExponentialTestData.weights(Arrays.copyOf(t, i + 1), alpha);
+            ExponentialTestData.assertEquals(ExponentialTestData.mean(x, w), s.getAsDouble(), 1e-12, i);
+        }
+    }
+
+    @Test
+    void testHalfLife() {
+        final ExponentialMean s = ExponentialMean.withHalfLife(2);
+        s.accept(1, 10);
+        s.accept(0, 12);
+        // Weights 0.5 and 1
+        Assertions.assertEquals(1.0 / 3, s.getAsDouble(), 1e-15);
+        // Unit time step
+        s.accept(0);
+        Assertions.assertEquals(1.0 / (3 + 2 * Math.sqrt(2)), s.getAsDouble(), 1e-15);
+    }
+
+    @Test
+    void testAlphaOne() {
+        // Only the most recent value has weight
+        final ExponentialMean s = ExponentialMean.create(1);
+        s.accept(1);
+        s.accept(5);
+        Assertions.assertEquals(5, s.getAsDouble());
+        s.accept(3, 0.5);
+        Assertions.assertEquals(5, s.getAsDouble());
+        s.accept(3, 3);
+        Assertions.assertEquals(3, s.getAsDouble());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.1, 0.5})
+    void testCombine(double alpha) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 100;
+        final double[] values = rng.doubles(n, -10, 100).toArray();
+        final double[] t = ExponentialTestData.createTimes(rng, n);
+        final double[] ti = IntStream.range(0, n).asDoubleStream().toArray();
+        final double e1 = ExponentialTestData.mean(values, ExponentialTestData.weights(ti, alpha));
+        final double e2 = ExponentialTestData.mean(values, ExponentialTestData.weights(t, alpha));
+        for (final int k : new int[] {0, 1, n / 3, n - 1, n}) {
+            // Values without a time follow in order
+            final ExponentialMean a1 = ExponentialMean.create(alpha);
+            final ExponentialMean b1 = ExponentialMean.create(alpha);
+            // Values with a time can be partitioned in any order
+            final ExponentialMean a2 = ExponentialMean.create(alpha);
+            final ExponentialMean b2 = ExponentialMean.create(alpha);
+            for (int i = 0; i < n; i++) {
+                if (i < k) {
+                    a1.accept(values[i]);
+                    b2.accept(values[i], t[i]);
+                } else {
+                    b1.accept(values[i]);
+                    a2.accept(values[i], t[i]);
+                }
+            }
+            Assertions.assertSame(a1, a1.combine(b1));
+            ExponentialTestData.assertEquals(e1, a1.getAsDouble(), 1e-12, k);
+            ExponentialTestData.assertEquals(e2, a2.combine(b2).getAsDouble(), 1e-12, k);
+        }
+    }
+
+    @Test
+    void testCombineWithSelf() {
+        final ExponentialMean s1 = ExponentialMean.create(0.25);
+        final ExponentialMean s2 = ExponentialMean.create(0.25);
+        for (final double x : new double[] {1, 2, 3}) {
+            s1.accept(x);
+            s2.accept(x);
+        }
+        for (final double x : new double[] {1, 2, 3}) {
+            s2.accept(x);
+        }
+        Assertions.assertEquals(s2.getAsDouble(), s1.combine(s1).getAsDouble(), 1e-15);
+    }
+
+    @Test
+    void testCombineIncompatibleThrows() {
+        final ExponentialMean s1 = ExponentialMean.create(0.25);
+        final ExponentialMean s2 = ExponentialMean.create(0.5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s1.combine(s2));
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final ExponentialMean s = ExponentialMean.create(0.5);
+        s.accept(1);
+        s.accept(inf);
+        s.accept(2);
+        Assertions.assertEquals(inf, s.getAsDouble());
+        s.accept(-inf);
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        final ExponentialMean s2 = ExponentialMean.create(0.5);
+        s2.accept(Double.NaN);
+        Assertions.assertEquals(Double.NaN, s2.getAsDouble());
+    }
+
+    @Test
+    void testLargeValues() {
+        final double max = Double.MAX_VALUE;
+        final ExponentialMean s = ExponentialMean.create(0.5);
+        s.accept(-max);
+        s.accept(max);
+        // Weights 0.5 and 1
+        Assertions.assertEquals(max / 3, s.getAsDouble(), max * 1e-15);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Test data and reference computations for the exponentially weighted statistics.
+ */
+final class ExponentialTestData {
+    /** No instances. */
+    private ExponentialTestData() {}
+
+    /**
+     * Creates increasing times with random gaps in {@code [0, 3)}.
+     *
+     * @param rng Source of randomness.
+     * @param n Number of values.
+     * @return the times
+     */
+    static double[] createTimes(UniformRandomProvider rng, int n) {
+        final double[] t = new double[n];
+        for (int i = 1; i < n; i++) {
+            t[i] = t[i - 1] + rng.nextDouble() * 3;
+        }
+        return t;
+    }
+
+    /**
+     * Compute the weights of the values at the given times relative to the most
+     * recent time.
+     *
+     * @param t Times.
+     * @param alpha Smoothing factor.
+     * @return the weights
+     */
+    static double[] weights(double[] t, double alpha) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (final double v : t) {
+            max = Math.max(max, v);
+        }
+        final double[] w = new double[t.length];
+        for (int i = 0; i < w.length; i++) {
+            w[i] = Math.pow(1 - alpha, max - t[i]);
+        }
+        return w;
+    }
+
+    /**
+     * Compute the weighted mean.
+     *
+     * @param x Values.
+     * @param w Weights.
+     * @return the mean
+     */
+    static double mean(double[] x, double[] w) {
+        double s = 0;
+        double sw = 0;
+        for (int i = 0; i < x.length; i++) {
+            s += w[i] * x[i];
+            sw += w[i];
+        }
+        return s / sw;
+    }
+
+    /**
+     * Compute the weighted variance using the correction for reliability weights.
+     *
+     * <p>The correction {@code W - sum(w^2) / W} is computed as
+     * {@code 2 sum_{i<j}(w_i w_j) / W} to avoid cancellation.
+     *
+     * @param x Values.
+     * @param w Weights.
+     * @param biased Set to true to compute the biased variance.
+     * @return the variance
+     */
+    static double variance(double[] x, double[] w, boolean biased) {
+        final double m = mean(x, w);
+        double ss = 0;
+        double sw = 0;
+        double pairs = 0;
+        for (int i = 0; i < x.length; i++) {
+            final double dx = x[i] - m;
+            ss += w[i] * dx * dx;
+            pairs += w[i] * sw;
+            sw += w[i];
+        }
+        return biased ? ss / sw : ss / (2 * pairs / sw);
+    }
+
+    /**
+     * Assert the actual value is equal to the expected value with a relative
+     * tolerance. Non-finite values must be exactly equal.
+     *
+     * @param expected Expected.
+     * @param actual Actual.
+     * @param relativeError Relative error.
+     * @param index Index of the test case.
+     */
+    static void assertEquals(double expected, double actual, double relativeError, int index) {
+        if (Double.isFinite(expected)) {
+            Assertions.assertEquals(expected, actual, Math.abs(expected) * relativeError, () -> "index " + index);
+        } else {
+            Assertions.assertEquals(expected, actual, () -> "index " + index);
+        }
+    }
+}
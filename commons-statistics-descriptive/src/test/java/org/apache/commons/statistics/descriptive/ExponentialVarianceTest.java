@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ExponentialVariance}.
+ */
+final class ExponentialVarianceTest {
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -0.1, 1.1, Double.NaN})
+    void testInvalidAlphaThrows(double alpha) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExponentialVariance.create(alpha));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -1, Double.NaN})
+    void testInvalidHalfLifeThrows(double halfLife) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExponentialVariance.withHalfLife(halfLife));
+    }
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, ExponentialVariance.create(0.5).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final ExponentialVariance s = ExponentialVariance.create(0.25);
+        for (int i = 0; i < 50; i++) {
+            s.accept(rng.nextDouble(), i * 10.0);
+        }
+        s.reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        // The reference time is reset
+        final ExponentialVariance expected = ExponentialVariance.create(0.25);
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            s.accept(x, i);
+            expected.accept(x, i);
+            Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+        }
+        s.accept(42);
+        expected.accept(42);
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @Test
+    void testSingleValue() {
+        final ExponentialVariance s = ExponentialVariance.create(0.5);
+        s.accept(42);
+        Assertions.assertEquals(0, s.getAsDouble());
+        Assertions.assertEquals(0, s.setBiased(true).getAsDouble());
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.1, 0.5, 0.99})
+    void testVariance(double alpha) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = rng.doubles(500, -10, 100).toArray();
+        final ExponentialVariance s1 = ExponentialVariance.create(alpha);
+        final ExponentialVariance s2 = ExponentialVariance.create(alpha);
+        Assertions.assertSame(s2, s2.setBiased(true));
+        for (int i = 0; i < values.length; i++) {
+            s1.accept(values[i]);
+            s2.accept(values[i]);
+            if (i == 0) {
+                continue;
+            }
+            final double[] x = Arrays.copyOf(values, i + 1);
+            final double[] t = IntStream.rangeClosed(0, i).asDoubleStream().toArray();
+            final double[] w = ExponentialTestData.weights(t, alpha);
+            ExponentialTestData.assertEquals(ExponentialTestData.variance(x, w, false), s1.getAsDouble(), 1e-10, i);
+            ExponentialTestData.assertEquals(ExponentialTestData.variance(x, w, true), s2.getAsDouble(), 1e-10, i);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.1, 0.5})
+    void testVarianceWithTime(double alpha) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 200;
+        final double[] values = rng.doubles(n, -10, 100).toArray();
+        final double[] t = ExponentialTestData.createTimes(rng, n);
+        // Some values out-of-order
+        for (int i = 0; i < n / 10; i++) {
+            final int j = rng.nextInt(n);
+            final double tmp = t[j];
+            t[j] = t[i];
+            t[i] = tmp;
+        }
+        final ExponentialVariance s = ExponentialVariance.create(alpha);
+        for (int i = 0; i < n; i++) {
+            s.accept(values[i], t[i]);
+            if (i == 0) {
+                continue;
+            }
+            final double[] x = Arrays.copyOf(values, i + 1);
+            final double[] w = ExponentialTestData.weights(Arrays.copyOf(t, i + 1), alpha);
+            ExponentialTestData.assertEquals(ExponentialTestData.variance(x, w, false), s.getAsDouble(), 1e-10, i);
+        }
+    }
+
+    @Test
+    void testEqualWeights() {
+        // Values at the same time have equal weight: this is the sample variance
+        final double[] values = {1, 3, 4, 8, 13};
+        final ExponentialVariance s = ExponentialVariance.create(0.5);
+        for (final double x : values) {
+            s.accept(x, 7);
+        }
+        Assertions.assertEquals(Variance.of(values).getAsDouble(), s.getAsDouble(), 1e-14);
+        Assertions.assertEquals(Variance.of(values).setBiased(true).getAsDouble(),
+            s.setBiased(true).getAsDouble(), 1e-14);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.01, 0.1, 0.5})
+    void testCombine(double alpha) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 100;
+        final double[] values = rng.doubles(n, -10, 100).toArray();
+        final double[] t = ExponentialTestData.createTimes(rng, n);
+        final double[] ti = IntStream.range(0, n).asDoubleStream().toArray();
+        final double e1 = ExponentialTestData.variance(values, ExponentialTestData.weights(ti, alpha), false);
+        final double e2 = ExponentialTestData.variance(values, ExponentialTestData.weights(t, alpha), false);
+        for (final int k : new int[] {0, 1, n / 3, n - 1, n}) {
+            // Values without a time follow in order
+            final ExponentialVariance a1 = ExponentialVariance.create(alpha);
+            final ExponentialVariance b1 = ExponentialVariance.create(alpha);
+            // Values with a time can be partitioned in any order
+            final ExponentialVariance a2 = ExponentialVariance.create(alpha);
+            final ExponentialVariance b2 = ExponentialVariance.create(alpha);
+            for (int i = 0; i < n; i++) {
+                if (i < k) {
+                    a1.accept(values[i]);
+                    b2.accept(values[i], t[i]);
+                } else {
+                    b1.accept(values[i]);
+                    a2.accept(values[i], t[i]);
+                }
+            }
+            Assertions.assertSame(a1, a1.combine(b1));
+            ExponentialTestData.assertEquals(e1, a1.getAsDouble(), 1e-10, k);
+            ExponentialTestData.assertEquals(e2, a2.combine(b2).getAsDouble(), 1e-10, k);
+        }
+    }
+
+    @Test
+    void testCombineIncompatibleThrows() {
+        final ExponentialVariance s1 = ExponentialVariance.withHalfLife(10);
+        final ExponentialVariance s2 = ExponentialVariance.withHalfLife(20);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s1.combine(s2));
+    }
+
+    @Test
+    void testNonFinite() {
+        final ExponentialVariance s = ExponentialVariance.create(0.5);
+        s.accept(1);
+        s.accept(2);
+        Assertions.assertTrue(s.getAsDouble() > 0);
+        s.accept(Double.POSITIVE_INFINITY);
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        s.accept(3);
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+    }
+}
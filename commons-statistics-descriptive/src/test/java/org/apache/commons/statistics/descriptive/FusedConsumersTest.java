@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.function.DoubleConsumer;
+import java.util.stream.IntStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link FusedConsumers}.
+ */
+final class FusedConsumersTest {
+    @Test
+    void testNoStatistics() {
+        Assertions.assertNull(FusedConsumers.of(null, null, null, null, null, null, null, null, null));
+    }
+
+    @Test
+    void testSingleStatistic() {
+        final Min min = Min.create();
+        final Max max = Max.create();
+        final FirstMoment moment = new FirstMoment();
+        final Sum sum = Sum.create();
+        Assertions.assertSame(min, FusedConsumers.of(min, null, null, null, null, null, null, null, null));
+        Assertions.assertSame(max, FusedConsumers.of(null, max, null, null, null, null, null, null, null));
+        Assertions.assertSame(moment, FusedConsumers.of(null, null, moment, null, null, null, null, null, null));
+        Assertions.assertSame(sum, FusedConsumers.of(null, null, null, sum, null, null, null, null, null));
+    }
+
+    static IntStream testCombinations() {
+        return IntStream.range(1, 1 << 9);
+    }
+
+    /**
+     * Test the fused consumer updates the same statistics as a chained consumer.
+     *
+     * @param mask Bit mask of the statistics to include.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testCombinations(int mask) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = rng.doubles(50, 0.5, 10).toArray();
+        final Object[] a = create(mask);
+        final Object[] b = create(mask);
+        final DoubleConsumer fused = FusedConsumers.of((Min) a[0], (Max) a[1], (SumOfFourthDeviations) a[2],
+            (Sum) a[3], (Product) a[4], (SumOfSquares) a[5], (SumOfLogs) a[6], (QuantileSketch) a[7],
+            (DistinctCount) a[8]);
+        final DoubleConsumer chain = Statistics.compose((Min) b[0], (Max) b[1], (SumOfFourthDeviations) b[2],
+            (Sum) b[3], (Product) b[4], (SumOfSquares) b[5], (SumOfLogs) b[6], (QuantileSketch) b[7],
+            (DistinctCount) b[8]);
+        for (final double x : values) {
+            fused.accept(x);
+            chain.accept(x);
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == null) {
+                Assertions.assertNull(b[i]);
+            } else if (i == 2) {
+                final SumOfFourthDeviations m1 = (SumOfFourthDeviations) a[i];
+                final SumOfFourthDeviations m2 = (SumOfFourthDeviations) b[i];
+                Assertions.assertEquals(m2.getFirstMoment(), m1.getFirstMoment());
+                Assertions.assertEquals(m2.getSumOfSquaredDeviations(), m1.getSumOfSquaredDeviations());
+                Assertions.assertEquals(m2.getSumOfCubedDeviations(), m1.getSumOfCubedDeviations());
+                Assertions.assertEquals(m2.getSumOfFourthDeviations(), m1.getSumOfFourthDeviations());
+            } else {
+                final int index = i;
+                Assertions.assertEquals(((DoubleStatistic) b[i]).getAsDouble(),
+                    ((DoubleStatistic) a[i]).getAsDouble(), () -> "Statistic " + index);
+            }
+        }
+    }
+
+    /**
+     * Creates the statistics in the order of the arguments to
+     * {@link FusedConsumers#of(Min, Max, FirstMoment, Sum, Product, SumOfSquares, SumOfLogs, QuantileSketch,
+     * DistinctCount)}.
+     * A statistic is created if the corresponding bit of the mask is set.
+     *
+     * @param mask Bit mask.
+     * @return the statistics
+     */
+    private static Object[] create(int mask) {
+        final Object[] s = {
+            Min.create(),
+            Max.create(),
+            new SumOfFourthDeviations(),
+            Sum.create(),
+            Product.create(),
+            SumOfSquares.create(),
+            SumOfLogs.create(),
+            QuantileSketch.create(),
+            DistinctCount.create(),
+        };
+        for (int i = 0; i < s.length; i++) {
+            if ((mask & (1 << i)) == 0) {
+                s[i] = null;
+            }
+        }
+        return s;
+    }
+}
@@ -39,6 +39,16 @@ final class GeometricMeanTest extends BaseDoubleStatisticTest<GeometricMean> {
         return GeometricMean.of(values);
     }
 
+    @Override
+    protected GeometricMean create(double[] values, int from, int to) {
+        return GeometricMean.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(GeometricMean statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
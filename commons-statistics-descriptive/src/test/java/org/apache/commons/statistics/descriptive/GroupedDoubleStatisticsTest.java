@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link GroupedDoubleStatistics}.
+ */
+final class GroupedDoubleStatisticsTest {
+    /** The supported statistics. */
+    private static final Statistic[] SUPPORTED = {
+        Statistic.MIN, Statistic.MAX, Statistic.MEAN,
+        Statistic.STANDARD_DEVIATION, Statistic.VARIANCE, Statistic.SUM,
+    };
+
+    @Test
+    void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GroupedDoubleStatistics.of());
+        Assertions.assertThrows(NullPointerException.class, () -> GroupedDoubleStatistics.of(Statistic.MIN, null));
+        for (final Statistic s : Statistic.values()) {
+            if (!Arrays.asList(SUPPORTED).contains(s)) {
+                Assertions.assertThrows(IllegalArgumentException.class, () -> GroupedDoubleStatistics.of(s),
+                    () -> s.toString());
+            }
+        }
+        final GroupedDoubleStatistics g = GroupedDoubleStatistics.of(Statistic.MIN);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> g.accept(new int[2], new double[3]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> g.getAsDouble(Statistic.MAX, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> g.getResults(Statistic.MAX));
+        Assertions.assertThrows(NullPointerException.class, () -> g.setConfiguration(null));
+    }
+
+    @Test
+    void testIsSupported() {
+        for (final Statistic s : SUPPORTED) {
+            final GroupedDoubleStatistics g = GroupedDoubleStatistics.of(s);
+            for (final Statistic t : Statistic.values()) {
+                // The variance and standard deviation share the same state and include the mean
+                final boolean expected = s == t ||
+                    (s == Statistic.VARIANCE || s == Statistic.STANDARD_DEVIATION) &&
+                    (t == Statistic.VARIANCE || t == Statistic.STANDARD_DEVIATION || t == Statistic.MEAN);
+                Assertions.assertEquals(expected, g.isSupported(t), () -> s + " " + t);
+            }
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        final GroupedDoubleStatistics g = GroupedDoubleStatistics.of(SUPPORTED);
+        Assertions.assertEquals(0, g.getGroupCount());
+        Assertions.assertArrayEquals(new int[0], g.getKeys());
+        Assertions.assertEquals(0, g.getCount(42));
+        assertValues(new Reference(), g, 42);
+        for (final Statistic s : SUPPORTED) {
+            Assertions.assertArrayEquals(new double[0], g.getResults(s));
+        }
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final GroupedDoubleStatistics g = GroupedDoubleStatistics.of(SUPPORTED);
+        g.accept(rng.ints(500, 0, 100).toArray(), rng.doubles(500).toArray());
+        g.reset();
+        Assertions.assertEquals(0, g.getGroupCount());
+        Assertions.assertArrayEquals(new int[0], g.getKeys());
+        assertValues(new Reference(), g, 42);
+        final int[] keys = rng.ints(50, 90, 110).toArray();
+        final double[] values = rng.doubles(50).toArray();
+        g.accept(keys, values);
+        final GroupedDoubleStatistics expected = GroupedDoubleStatistics.of(SUPPORTED);
+        expected.accept(keys, values);
+        Assertions.assertArrayEquals(expected.getKeys(), g.getKeys());
+        for (final Statistic s : SUPPORTED) {
+            Assertions.assertArrayEquals(expected.getResults(s), g.getResults(s), s::toString);
+        }
+    }
+
+    @Test
+    void testIncompatible() {
+        final GroupedDoubleStatistics g1 = GroupedDoubleStatistics.of(Statistic.MIN, Statistic.MEAN);
+        g1.accept(1, 2);
+        final GroupedDoubleStatistics g2 = GroupedDoubleStatistics.of(Statistic.MIN);
+        g2.accept(1, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> g1.combine(g2));
+        // Unchanged
+        Assertions.assertEquals(1, g1.getCount(1));
+        // A superset is compatible
+        g2.combine(g1);
+        Assertions.assertEquals(2, g2.getCount(1));
+        Assertions.assertEquals(2, g2.getAsDouble(Statistic.MIN, 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testStatistics(int[] keys, double[] values) {
+        final Map<Integer, Reference> expected = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            expected.computeIfAbsent(keys[i], k -> new Reference()).accept(values[i]);
+        }
+        final int[] expectedKeys = expected.keySet().stream().mapToInt(Integer::intValue).toArray();
+
+        final GroupedDoubleStatistics g1 = GroupedDoubleStatistics.of(SUPPORTED);
+        for (int i = 0; i < keys.length; i++) {
+            g1.accept(keys[i], values[i]);
+        }
+        final GroupedDoubleStatistics g2 = GroupedDoubleStatistics.of(SUPPORTED);
+        g2.accept(keys, values);
+
+        // Split into parts and combine
+        final int half = keys.length >>> 1;
+        final GroupedDoubleStatistics g3 = GroupedDoubleStatistics.of(SUPPORTED);
+        g3.accept(Arrays.copyOf(keys, half), Arrays.copyOf(values, half));
+        final GroupedDoubleStatistics g4 = GroupedDoubleStatistics.of(SUPPORTED);
+        g4.accept(Arrays.copyOfRange(keys, half, keys.length), Arrays.copyOfRange(values, half, keys.length));
+        final Map<Integer, Reference> expected3 = new LinkedHashMap<>();
+        final Map<Integer, Reference> expected4 = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            (i < half ? expected3 : expected4).computeIfAbsent(keys[i], k -> new Reference()).accept(values[i]);
+        }
+        expected4.forEach((k, v) -> expected3.merge(k, v, Reference::combine));
+        g3.combine(g4);
+
+        for (final GroupedDoubleStatistics g : new GroupedDoubleStatistics[] {g1, g2}) {
+            assertGroups(expected, expectedKeys, g);
+        }
+        // Keys are in order of the first part, then the second part.
+        // This is the order of the merged map.
+        assertGroups(expected3, expectedKeys, g3);
+
+        // Self combine
+        g1.combine(g1);
+        expected.values().forEach(r -> r.combine(r.copy()));
+        assertGroups(expected, expectedKeys, g1);
+
+        // Biased
+        g2.setConfiguration(StatisticsConfiguration.withDefaults().withBiased(true));
+        for (final int k : expectedKeys) {
+            final Reference r = expected.get(k);
+            Assertions.assertEquals(r.variance.setBiased(true).getAsDouble(),
+                g2.getAsDouble(Statistic.VARIANCE, k));
+            Assertions.assertEquals(r.sd.setBiased(true).getAsDouble(),
+                g2.getAsDouble(Statistic.STANDARD_DEVIATION, k));
+        }
+    }
+
+    static Stream<Arguments> testStatistics() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new int[] {1}, new double[] {3}));
+        builder.add(Arguments.of(new int[] {1, 2, 1, 2, 3}, new double[] {3, 4, 5, 6, 7}));
+        builder.add(Arguments.of(new int[] {1, 1, 1, 2, 2, 2},
+            new double[] {1, Double.POSITIVE_INFINITY, 3, 4, Double.NaN, 6}));
+        builder.add(Arguments.of(new int[] {-1, 0, 0, -1},
+            new double[] {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE}));
+        builder.add(Arguments.of(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, Integer.MIN_VALUE},
+            new double[] {-0.0, 0.0, 0.0, 0.0}));
+        // Chunked processing with few and many groups
+        for (final int groups : new int[] {3, 100, 5000}) {
+            for (final int n : new int[] {1023, 1024, 3000}) {
+                builder.add(Arguments.of(rng.ints(n, -groups, groups).toArray(),
+                    rng.doubles(n, -1.5, 2.5).toArray()));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Assert the statistics match the reference statistics for all groups.
+     *
+     * @param expected Expected statistics.
+     * @param expectedKeys Expected keys.
+     * @param g Statistics.
+     */
+    private static void assertGroups(Map<Integer, Reference> expected, int[] expectedKeys,
+            GroupedDoubleStatistics g) {
+        Assertions.assertEquals(expectedKeys.length, g.getGroupCount());
+        Assertions.assertArrayEquals(expectedKeys, g.getKeys());
+        for (final int k : expectedKeys) {
+            final Reference r = expected.get(k);
+            Assertions.assertEquals(r.values.length, g.getCount(k));
+            assertValues(r, g, k);
+        }
+        for (final Statistic s : SUPPORTED) {
+            final double[] values = g.getResults(s);
+            Assertions.assertEquals(expectedKeys.length, values.length);
+            for (int i = 0; i < values.length; i++) {
+                Assertions.assertEquals(g.getAsDouble(s, expectedKeys[i]), values[i], s::toString);
+            }
+        }
+    }
+
+    /**
+     * Assert the statistics match the reference statistics for the key.
+     *
+     * @param r Reference statistics.
+     * @param g Statistics.
+     * @param key Key.
+     */
+    private static void assertValues(Reference r, GroupedDoubleStatistics g, int key) {
+        assertValue(r.min, g, Statistic.MIN, key);
+        assertValue(r.max, g, Statistic.MAX, key);
+        assertValue(r.mean, g, Statistic.MEAN, key);
+        assertValue(r.sd, g, Statistic.STANDARD_DEVIATION, key);
+        assertValue(r.variance, g, Statistic.VARIANCE, key);
+        assertValue(r.sum, g, Statistic.SUM, key);
+    }
+
+    /**
+     * Assert the statistic matches the reference statistic exactly.
+     *
+     * @param expected Expected statistic.
+     * @param g Statistics.
+     * @param s Statistic.
+     * @param key Key.
+     */
+    private static void assertValue(DoubleSupplier expected, GroupedDoubleStatistics g, Statistic s, int key) {
+        Assertions.assertEquals(expected.getAsDouble(), g.getAsDouble(s, key), () -> s + " key=" + key);
+    }
+
+    /**
+     * Reference statistics for a single group.
+     */
+    private static final class Reference {
+        /** Min. */
+        private final Min min = Min.create();
+        /** Max. */
+        private final Max max = Max.create();
+        /** Mean. */
+        private final Mean mean = Mean.create();
+        /** Standard deviation. */
+        private final StandardDeviation sd = StandardDeviation.create();
+        /** Variance. */
+        private final Variance variance = Variance.create();
+        /** Sum. */
+        private final Sum sum = Sum.create();
+        /** Values. */
+        private double[] values = new double[0];
+
+        /**
+         * Add the value.
+         *
+         * @param x Value.
+         */
+        void accept(double x) {
+            min.accept(x);
+            max.accept(x);
+            mean.accept(x);
+            sd.accept(x);
+            variance.accept(x);
+            sum.accept(x);
+            values = Arrays.copyOf(values, values.length + 1);
+            values[values.length - 1] = x;
+        }
+
+        /**
+         * Create a copy.
+         *
+         * @return the copy
+         */
+        Reference copy() {
+            final Reference r = new Reference();
+            Arrays.stream(values).forEach(r::accept);
+            return r;
+        }
+
+        /**
+         * Combine with the other statistics.
+         *
+         * @param other Other statistics.
+         * @return this instance
+         */
+        Reference combine(Reference other) {
+            min.combine(other.min);
+            max.combine(other.max);
+            mean.combine(other.mean);
+            sd.combine(other.sd);
+            variance.combine(other.variance);
+            sum.combine(other.sum);
+            values = Stream.of(values, other.values).flatMapToDouble(Arrays::stream).toArray();
+            return this;
+        }
+    }
+}
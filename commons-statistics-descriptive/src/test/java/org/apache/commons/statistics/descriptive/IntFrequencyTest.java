@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link IntFrequency}.
+ */
+final class IntFrequencyTest {
+
+    @Test
+    void testEmpty() {
+        final IntFrequency f = IntFrequency.create();
+        Assertions.assertEquals(0, f.getCount());
+        Assertions.assertEquals(0, f.getDistinctCount());
+        Assertions.assertEquals(0, f.getCount(0));
+        Assertions.assertEquals(Double.NaN, f.getProportion(0));
+        Assertions.assertEquals(0, f.getCumulativeCount(Integer.MAX_VALUE));
+        Assertions.assertEquals(Double.NaN, f.getCumulativeProportion(0));
+        Assertions.assertArrayEquals(new int[0], f.getValues());
+        Assertions.assertArrayEquals(new long[0], f.getCounts());
+        Assertions.assertArrayEquals(new int[0], f.getModes());
+        Assertions.assertArrayEquals(new int[0], f.getMostFrequent(3));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100000})
+    void testReset(int range) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        // Values in a small range use dense counts; otherwise a hash table
+        final IntFrequency f = IntFrequency.of(rng.ints(200, -range, range).toArray());
+        f.reset();
+        Assertions.assertEquals(0, f.getCount());
+        Assertions.assertEquals(0, f.getDistinctCount());
+        Assertions.assertArrayEquals(new int[0], f.getValues());
+        final int[] y = rng.ints(50, 1000, 1020).toArray();
+        Arrays.stream(y).forEach(f);
+        final IntFrequency expected = IntFrequency.of(y);
+        Assertions.assertEquals(y.length, f.getCount());
+        Assertions.assertArrayEquals(expected.getValues(), f.getValues());
+        Assertions.assertArrayEquals(expected.getCounts(), f.getCounts());
+        Assertions.assertArrayEquals(expected.getModes(), f.getModes());
+    }
+
+    @Test
+    void testInvalidMostFrequent() {
+        final IntFrequency f = IntFrequency.of(1, 2, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> f.getMostFrequent(-1));
+    }
+
+    @Test
+    void testOfRange() {
+        final int[] values = {1, 2, 2, 3, 3, 3, 4};
+        assertTable(reference(Arrays.copyOfRange(values, 2, 6)), IntFrequency.of(values, 2, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> IntFrequency.of(values, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> IntFrequency.of(values, 0, 8));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testFrequency(int[] values) {
+        final TreeMap<Integer, Long> expected = reference(values);
+        assertTable(expected, IntFrequency.of(values));
+        final IntFrequency f = IntFrequency.create();
+        Arrays.stream(values).forEach(f);
+        assertTable(expected, f);
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testFrequency")
+    void testCombine(int[] values) {
+        final TreeMap<Integer, Long> expected = reference(values);
+        for (final int i : new int[] {0, 1, values.length / 3, values.length / 2, values.length}) {
+            final IntFrequency f1 = IntFrequency.of(values, 0, i);
+            final IntFrequency f2 = IntFrequency.of(values, i, values.length);
+            assertTable(expected, IntFrequency.of(values, 0, i).combine(f2));
+            assertTable(expected, f2.combine(f1));
+        }
+        // Self combine doubles the counts
+        expected.replaceAll((k, v) -> v * 2);
+        final IntFrequency f = IntFrequency.of(values);
+        assertTable(expected, f.combine(f));
+    }
+
+    static Stream<Arguments> testFrequency() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new int[] {42}));
+        builder.add(Arguments.of(new int[] {1, 2, 2, 3, 3, 3}));
+        builder.add(Arguments.of(new int[] {3, 3, 2, 2, 1, 1}));
+        builder.add(Arguments.of(new int[] {5, -5, 5, -5, 0}));
+        // Growth of the dense range in both directions
+        builder.add(Arguments.of(new int[] {0, 100, -100, 1000, -1000, 4000, 0, 0}));
+        // Dense range at the limits of the type
+        builder.add(Arguments.of(new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE - 10, Integer.MAX_VALUE - 1}));
+        builder.add(Arguments.of(new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE + 10, Integer.MIN_VALUE + 1}));
+        builder.add(Arguments.of(new int[] {Integer.MAX_VALUE - 1, Integer.MAX_VALUE, 
+            Integer.MAX_VALUE - 4095}));
+        // Hash table
+        builder.add(Arguments.of(new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE, 0, Integer.MIN_VALUE}));
+        builder.add(Arguments.of(new int[] {0, 4096, 0}));
+        builder.add(Arguments.of(new int[] {0, 4095, 0}));
+        for (final int range : new int[] {10, 500, 5000, 100000}) {
+            builder.add(Arguments.of(rng.ints(200, -range, range).toArray()));
+            builder.add(Arguments.of(rng.ints(5000, 0, range).toArray()));
+        }
+        builder.add(Arguments.of(rng.ints(1000).toArray()));
+        // Mixture of a small range and outliers
+        builder.add(Arguments.of(rng.ints(1000, 0, 16).map(x -> x == 0 ? rng.nextInt() : x).toArray()));
+        return builder.build();
+    }
+
+    @Test
+    void testModesAndMostFrequent() {
+        final IntFrequency f = IntFrequency.of(7, 1, 3, 3, 1, 9, 9, 9, 1, 2);
+        Assertions.assertArrayEquals(new int[] {1, 9}, f.getModes());
+        Assertions.assertArrayEquals(new int[] {1}, f.getMostFrequent(1));
+        Assertions.assertArrayEquals(new int[] {1, 9, 3}, f.getMostFrequent(3));
+        Assertions.assertArrayEquals(new int[] {1, 9, 3, 2, 7}, f.getMostFrequent(10));
+        Assertions.assertArrayEquals(new int[0], f.getMostFrequent(0));
+        Assertions.assertEquals(0.3, f.getProportion(1));
+        Assertions.assertEquals(0.0, f.getProportion(4));
+        Assertions.assertEquals(6, f.getCumulativeCount(3));
+        Assertions.assertEquals(0.6, f.getCumulativeProportion(4));
+        Assertions.assertEquals(0, f.getCumulativeCount(0));
+        Assertions.assertEquals(10, f.getCumulativeCount(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Create the reference frequency table.
+     *
+     * @param values Values.
+     * @return the table
+     */
+    private static TreeMap<Integer, Long> reference(int[] values) {
+        final TreeMap<Integer, Long> map = new TreeMap<>();
+        for (final int v : values) {
+            map.merge(v, 1L, Long::sum);
+        }
+        return map;
+    }
+
+    /**
+     * Assert the table matches the expected counts.
+     *
+     * @param expected Expected counts.
+     * @param f Frequency table.
+     */
+    private static void assertTable(TreeMap<Integer, Long> expected, IntFrequency f) {
+        final long n = expected.values().stream().mapToLong(Long::longValue).sum();
+        Assertions.assertEquals(n, f.getCount(), "count");
+        Assertions.assertEquals(expected.size(), f.getDistinctCount(), "distinct count");
+        final int[] values = expected.keySet().stream().mapToInt(Integer::intValue).toArray();
+        final long[] counts = expected.values().stream().mapToLong(Long::longValue).toArray();
+        Assertions.assertArrayEquals(values, f.getValues(), "values");
+        Assertions.assertArrayEquals(counts, f.getCounts(), "counts");
+        long sum = 0;
+        for (final Map.Entry<Integer, Long> e : expected.entrySet()) {
+            final int v = e.getKey();
+            final long c = e.getValue();
+            Assertions.assertEquals(c, f.getCount(v), "count(value)");
+            Assertions.assertEquals((double) c / n, f.getProportion(v), "proportion");
+            sum += c;
+            Assertions.assertEquals(sum, f.getCumulativeCount(v), "cumulative count");
+            Assertions.assertEquals((double) sum / n, f.getCumulativeProportion(v), "cumulative proportion");
+            if (v != Integer.MIN_VALUE && !expected.containsKey(v - 1)) {
+                Assertions.assertEquals(0, f.getCount(v - 1), "count(missing)");
+                Assertions.assertEquals(sum - c, f.getCumulativeCount(v - 1), "cumulative count");
+            }
+        }
+        // Modes
+        final long max = Arrays.stream(counts).max().orElse(0);
+        final int[] modes = expected.entrySet().stream().filter(e -> e.getValue() == max)
+            .mapToInt(Map.Entry::getKey).toArray();
+        Assertions.assertArrayEquals(modes, f.getModes(), "modes");
+        // Most frequent: decreasing count, then ascending value
+        final int[] top = expected.entrySet().stream()
+            .sorted(Map.Entry.<Integer, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+            .mapToInt(Map.Entry::getKey).toArray();
+        for (final int k : new int[] {1, 2, 5, top.length / 2, top.length, top.length + 1}) {
+            Assertions.assertArrayEquals(Arrays.copyOf(top, Math.min(k, top.length)), f.getMostFrequent(k),
+                () -> "most frequent " + k);
+        }
+    }
+}
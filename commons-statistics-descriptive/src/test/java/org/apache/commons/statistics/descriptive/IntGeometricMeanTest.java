@@ -28,12 +28,22 @@ final class IntGeometricMeanTest extends BaseIntStatisticTest<DoubleAsIntStatist
 
     @Override
     protected DoubleAsIntStatistic create() {
-        return DoubleAsIntStatistic.from(GeometricMean.create());
+        return DoubleAsIntStatistic.from(GeometricMean.create(), GeometricMean::reset);
     }
 
     @Override
     protected DoubleAsIntStatistic create(int... values) {
-        return DoubleAsIntStatistic.from(GeometricMean.of(values));
+        return DoubleAsIntStatistic.from(GeometricMean.of(values), GeometricMean::reset);
+    }
+
+    @Override
+    protected DoubleAsIntStatistic create(int[] values, int from, int to) {
+        return DoubleAsIntStatistic.from(GeometricMean.of(values, from, to), GeometricMean::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsIntStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
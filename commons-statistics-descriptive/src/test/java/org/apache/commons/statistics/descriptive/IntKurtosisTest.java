@@ -28,12 +28,22 @@ final class IntKurtosisTest extends BaseIntStatisticTest<DoubleAsIntStatistic> {
 
     @Override
     protected DoubleAsIntStatistic create() {
-        return DoubleAsIntStatistic.from(Kurtosis.create());
+        return DoubleAsIntStatistic.from(Kurtosis.create(), Kurtosis::reset);
     }
 
     @Override
     protected DoubleAsIntStatistic create(int... values) {
-        return DoubleAsIntStatistic.from(Kurtosis.of(values));
+        return DoubleAsIntStatistic.from(Kurtosis.of(values), Kurtosis::reset);
+    }
+
+    @Override
+    protected DoubleAsIntStatistic create(int[] values, int from, int to) {
+        return DoubleAsIntStatistic.from(Kurtosis.of(values, from, to), Kurtosis::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsIntStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
@@ -41,6 +41,16 @@ final class IntMaxTest extends BaseIntStatisticTest<IntMax> {
         return IntMax.of(values);
     }
 
+    @Override
+    protected IntMax create(int[] values, int from, int to) {
+        return IntMax.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(IntMax statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(int... values) {
         return Max.of(Arrays.stream(values).asDoubleStream().toArray());
@@ -39,6 +39,16 @@ final class IntMeanTest extends BaseIntStatisticTest<IntMean> {
         return IntMean.of(values);
     }
 
+    @Override
+    protected IntMean create(int[] values, int from, int to) {
+        return IntMean.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(IntMean statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(int... values) {
         return Mean.of(Arrays.stream(values).asDoubleStream().toArray());
@@ -41,6 +41,16 @@ final class IntMinTest extends BaseIntStatisticTest<IntMin> {
         return IntMin.of(values);
     }
 
+    @Override
+    protected IntMin create(int[] values, int from, int to) {
+        return IntMin.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(IntMin statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(int... values) {
         return Min.of(Arrays.stream(values).asDoubleStream().toArray());
@@ -28,12 +28,22 @@ final class IntProductTest extends BaseIntStatisticTest<DoubleAsIntStatistic> {
 
     @Override
     protected DoubleAsIntStatistic create() {
-        return DoubleAsIntStatistic.from(Product.create());
+        return DoubleAsIntStatistic.from(Product.create(), Product::reset);
     }
 
     @Override
     protected DoubleAsIntStatistic create(int... values) {
-        return DoubleAsIntStatistic.from(Product.of(values));
+        return DoubleAsIntStatistic.from(Product.of(values), Product::reset);
+    }
+
+    @Override
+    protected DoubleAsIntStatistic create(int[] values, int from, int to) {
+        return DoubleAsIntStatistic.from(Product.of(values, from, to), Product::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsIntStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
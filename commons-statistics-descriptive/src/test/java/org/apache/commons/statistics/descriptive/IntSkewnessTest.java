@@ -28,12 +28,22 @@ final class IntSkewnessTest extends BaseIntStatisticTest<DoubleAsIntStatistic> {
 
     @Override
     protected DoubleAsIntStatistic create() {
-        return DoubleAsIntStatistic.from(Skewness.create());
+        return DoubleAsIntStatistic.from(Skewness.create(), Skewness::reset);
     }
 
     @Override
     protected DoubleAsIntStatistic create(int... values) {
-        return DoubleAsIntStatistic.from(Skewness.of(values));
+        return DoubleAsIntStatistic.from(Skewness.of(values), Skewness::reset);
+    }
+
+    @Override
+    protected DoubleAsIntStatistic create(int[] values, int from, int to) {
+        return DoubleAsIntStatistic.from(Skewness.of(values, from, to), Skewness::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsIntStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
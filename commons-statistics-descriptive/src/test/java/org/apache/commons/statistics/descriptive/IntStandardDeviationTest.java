@@ -44,6 +44,16 @@ final class IntStandardDeviationTest extends BaseIntStatisticTest<IntStandardDev
         return IntStandardDeviation.of(values);
     }
 
+    @Override
+    protected IntStandardDeviation create(int[] values, int from, int to) {
+        return IntStandardDeviation.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(IntStandardDeviation statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(int... values) {
         return StandardDeviation.of(Arrays.stream(values).asDoubleStream().toArray());
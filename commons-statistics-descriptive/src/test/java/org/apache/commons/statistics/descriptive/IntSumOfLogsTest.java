@@ -28,12 +28,22 @@ final class IntSumOfLogsTest extends BaseIntStatisticTest<DoubleAsIntStatistic>
 
     @Override
     protected DoubleAsIntStatistic create() {
-        return DoubleAsIntStatistic.from(SumOfLogs.create());
+        return DoubleAsIntStatistic.from(SumOfLogs.create(), SumOfLogs::reset);
     }
 
     @Override
     protected DoubleAsIntStatistic create(int... values) {
-        return DoubleAsIntStatistic.from(SumOfLogs.of(values));
+        return DoubleAsIntStatistic.from(SumOfLogs.of(values), SumOfLogs::reset);
+    }
+
+    @Override
+    protected DoubleAsIntStatistic create(int[] values, int from, int to) {
+        return DoubleAsIntStatistic.from(SumOfLogs.of(values, from, to), SumOfLogs::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsIntStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
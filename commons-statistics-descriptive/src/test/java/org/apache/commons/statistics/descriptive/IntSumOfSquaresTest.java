@@ -46,6 +46,16 @@ final class IntSumOfSquaresTest extends BaseIntStatisticTest<IntSumOfSquares> {
         return IntSumOfSquares.of(values);
     }
 
+    @Override
+    protected IntSumOfSquares create(int[] values, int from, int to) {
+        return IntSumOfSquares.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(IntSumOfSquares statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(int... values) {
         return SumOfSquares.of(Arrays.stream(values).asDoubleStream().toArray());
@@ -111,4 +121,22 @@ final class IntSumOfSquaresTest extends BaseIntStatisticTest<IntSumOfSquares> {
             Assertions.assertEquals(sum, s.getAsBigInteger());
         }
     }
+
+    /**
+     * Test the batch computation using extreme values. This exercises the carry of the
+     * partial sums of the upper and lower bits of each square.
+     */
+    @ParameterizedTest
+    @CsvSource({"11", "12", "101", "1024", "1025"})
+    void testArrayExtremeValues(int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] values = rng.ints(n).map(x -> (x & 0x3) == 0 ? Integer.MIN_VALUE : x | 0x7fff_0000).toArray();
+        final BigInteger expected = Arrays.stream(values)
+            .mapToObj(x -> BigInteger.valueOf((long) x * x))
+            .reduce(BigInteger.ZERO, BigInteger::add);
+        Assertions.assertEquals(expected, IntSumOfSquares.of(values).getAsBigInteger());
+        Arrays.fill(values, Integer.MIN_VALUE);
+        Assertions.assertEquals(BigInteger.ONE.shiftLeft(62).multiply(BigInteger.valueOf(n)),
+            IntSumOfSquares.of(values).getAsBigInteger());
+    }
 }
@@ -47,6 +47,16 @@ final class IntSumTest extends BaseIntStatisticTest<IntSum> {
         return IntSum.of(values);
     }
 
+    @Override
+    protected IntSum create(int[] values, int from, int to) {
+        return IntSum.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(IntSum statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(int... values) {
         return Sum.of(Arrays.stream(values).asDoubleStream().toArray());
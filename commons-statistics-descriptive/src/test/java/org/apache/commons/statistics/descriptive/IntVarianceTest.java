@@ -44,6 +44,16 @@ final class IntVarianceTest extends BaseIntStatisticTest<IntVariance> {
         return IntVariance.of(values);
     }
 
+    @Override
+    protected IntVariance create(int[] values, int from, int to) {
+        return IntVariance.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(IntVariance statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(int... values) {
         return Variance.of(Arrays.stream(values).asDoubleStream().toArray());
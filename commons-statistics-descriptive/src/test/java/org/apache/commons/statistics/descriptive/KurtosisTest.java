@@ -42,6 +42,16 @@ final class KurtosisTest extends BaseDoubleStatisticTest<Kurtosis> {
         return Kurtosis.of(values);
     }
 
+    @Override
+    protected Kurtosis create(double[] values, int from, int to) {
+        return Kurtosis.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(Kurtosis statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.statistics.distribution.DoubleTolerance;
+import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link LogLinearHistogram}.
+ *
+ * <p>The expected result is computed using the midpoint of the bucket of the value
+ * of the required rank, for the default histogram configuration.
+ */
+final class LogLinearHistogramTest extends BaseDoubleStatisticTest<LogLinearHistogram> {
+    /** Default lowest value. */
+    private static final double LOWEST = 0x1.0p-32;
+    /** Default limit of the highest bucket. */
+    private static final double HIGHEST = 0x1.0p65;
+    /** Default precision. */
+    private static final int PRECISION = 6;
+
+    @Override
+    protected LogLinearHistogram create() {
+        return LogLinearHistogram.create();
+    }
+
+    @Override
+    protected LogLinearHistogram create(double... values) {
+        return LogLinearHistogram.of(values);
+    }
+
+    @Override
+    protected LogLinearHistogram create(double[] values, int from, int to) {
+        return LogLinearHistogram.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LogLinearHistogram statistic) {
+        statistic.reset();
+    }
+
+    @Override
+    protected double getEmptyValue() {
+        return Double.NaN;
+    }
+
+    @Override
+    protected double getExpectedValue(double[] values) {
+        return quantile(values, 0.5, LOWEST, HIGHEST, PRECISION);
+    }
+
+    @Override
+    protected double getExpectedNonFiniteValue(double[] values) {
+        return quantile(values, 0.5, LOWEST, HIGHEST, PRECISION);
+    }
+
+    @Override
+    protected DoubleTolerance getTolerance() {
+        return DoubleTolerances.equals();
+    }
+
+    @Override
+    protected Stream<StatisticTestData> streamTestData() {
+        final Stream.Builder<StatisticTestData> builder = Stream.builder();
+        TestData.momentTestData().forEach(x -> builder.accept(addCase(x)));
+        // Bucket width for [4, 8) is 1/16
+        builder.accept(addReference(5.03125, DoubleTolerances.equals(), 1, 5, 5.05, 6, 7));
+        builder.accept(addReference(-5.03125, DoubleTolerances.equals(), -1, -5, -5.05, -6, -7));
+        // Zero bucket
+        builder.accept(addReference(0.0, DoubleTolerances.equals(), -1, 0, 1e-20, 1));
+        // Overflow bucket
+        builder.accept(addReference(1e30, DoubleTolerances.equals(), 1, 1e25, 1e30, 1e30, 1e30));
+        return builder.build();
+    }
+
+    /**
+     * Compute the expected quantile: the midpoint of the bucket containing the value
+     * of the nearest rank, clipped to the range of the values.
+     *
+     * @param values Values.
+     * @param p Probability.
+     * @param lowest Lowest magnitude (a power of 2).
+     * @param highest Upper limit of the highest bucket (a power of 2).
+     * @param precision Precision.
+     * @return the quantile
+     */
+    private static double quantile(double[] values, double p, double lowest, double highest, int precision) {
+        if (values.length == 0 || Arrays.stream(values).anyMatch(Double::isNaN)) {
+            return Double.NaN;
+        }
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        final int n = x.length;
+        final double rank = Math.ceil(p * n);
+        if (rank <= 1) {
+            return x[0];
+        }
+        if (rank >= n) {
+            return x[n - 1];
+        }
+        final double v = x[(int) rank - 1];
+        final double a = Math.abs(v);
+        final double mid;
+        if (a < lowest) {
+            mid = 0;
+        } else if (a >= highest) {
+            mid = v > 0 ? x[n - 1] : x[0];
+        } else {
+            final double width = Math.scalb(1.0, Math.getExponent(a) - precision);
+            mid = Math.copySign((Math.floor(a / width) + 0.5) * width, v);
+        }
+        return Math.min(x[n - 1], Math.max(x[0], mid));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testInvalidConfigurationThrows(double lowest, double highest, int precision) {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> LogLinearHistogram.create(lowest, highest, precision));
+    }
+
+    static Stream<Arguments> testInvalidConfigurationThrows() {
+        return Stream.of(
+            Arguments.of(0, 1, 3),
+            Arguments.of(Double.MIN_NORMAL / 2, 1, 3),
+            Arguments.of(Double.NaN, 1, 3),
+            Arguments.of(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 3),
+            Arguments.of(1, 0.5, 3),
+            Arguments.of(1, Double.NaN, 3),
+            Arguments.of(1, Double.POSITIVE_INFINITY, 3),
+            Arguments.of(1, 2, -1),
+            Arguments.of(1, 2, 21),
+            // Too many buckets
+            Arguments.of(Double.MIN_NORMAL, Double.MAX_VALUE, 20)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 1.1, Double.NaN})
+    void testInvalidProbabilityThrows(double p) {
+        final LogLinearHistogram h = LogLinearHistogram.of(1, 2, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.getQuantile(p));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> h.getQuantiles(0.5, p));
+    }
+
+    @Test
+    void testIncompatibleCombineThrows() {
+        final LogLinearHistogram h = LogLinearHistogram.create(1, 100, 3);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> h.combine(LogLinearHistogram.create(1, 100, 4)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> h.combine(LogLinearHistogram.create(0.5, 100, 3)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> h.combine(LogLinearHistogram.create(1, 200, 3)));
+        // Same bucket configuration
+        Assertions.assertSame(h, h.combine(LogLinearHistogram.create(1.5, 127, 3)));
+    }
+
+    @Test
+    void testEmptyQuantiles() {
+        final LogLinearHistogram h = LogLinearHistogram.create();
+        Assertions.assertEquals(0, h.getN());
+        Assertions.assertEquals(Double.NaN, h.getQuantile(0.25));
+        Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, h.getQuantiles(0.25, 0.75));
+    }
+
+    @Test
+    void testCounts() {
+        final LogLinearHistogram h = LogLinearHistogram.of(1, 1.005, 1.01, 2, -1, 0, 1e-20, -1e-20, Double.NaN, 1e100);
+        Assertions.assertEquals(9, h.getN());
+        Assertions.assertEquals(3, h.getCount(1));
+        // Bucket width for [1, 2) is 1/64
+        Assertions.assertEquals(3, h.getCount(1.015));
+        Assertions.assertEquals(0, h.getCount(1.02));
+        Assertions.assertEquals(1, h.getCount(2));
+        Assertions.assertEquals(1, h.getCount(-1));
+        Assertions.assertEquals(3, h.getCount(0));
+        Assertions.assertEquals(3, h.getCount(-0.0));
+        Assertions.assertEquals(1, h.getCount(Double.POSITIVE_INFINITY));
+        Assertions.assertEquals(0, h.getCount(Double.NEGATIVE_INFINITY));
+        Assertions.assertEquals(0, h.getCount(Double.NaN));
+        Assertions.assertEquals(Double.NaN, h.getAsDouble());
+    }
+
+    @Test
+    void testLongValues() {
+        final long[] values = {Long.MIN_VALUE, -1000000, 0, 1, 123456789, Long.MAX_VALUE};
+        final LogLinearHistogram h1 = LogLinearHistogram.of(values);
+        final LogLinearHistogram h2 = LogLinearHistogram.create();
+        Arrays.stream(values).forEach(h2);
+        final double[] x = Arrays.stream(values).asDoubleStream().toArray();
+        final double[] p = {0, 0.2, 0.4, 0.5, 0.6, 0.8, 1};
+        final double[] expected = Arrays.stream(p).map(pp -> quantile(x, pp, LOWEST, HIGHEST, PRECISION)).toArray();
+        Assertions.assertArrayEquals(expected, h1.getQuantiles(p));
+        Assertions.assertArrayEquals(expected, h2.getQuantiles(p));
+        Assertions.assertEquals(Long.MIN_VALUE, h1.getQuantile(0));
+        Assertions.assertEquals(Long.MAX_VALUE, h1.getQuantile(1));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testQuantiles(double lowest, double highest, int precision) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 2000;
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Skewed data over many powers of 2 with both signs
+            values[i] = Math.exp(rng.nextDouble() * 20 - 5) * (rng.nextInt(4) == 0 ? -1 : 1);
+        }
+        final LogLinearHistogram h = LogLinearHistogram.create(lowest, highest, precision);
+        Arrays.stream(values).forEach(h);
+        final double lo = Math.scalb(1.0, Math.getExponent(lowest));
+        final double hi = Math.scalb(1.0, Math.getExponent(highest) + 1);
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        final double[] p = {0, 1e-3, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+        final double[] q = h.getQuantiles(p);
+        final double eps = Math.scalb(1.0, -(precision + 1));
+        for (int i = 0; i < p.length; i++) {
+            Assertions.assertEquals(quantile(values, p[i], lo, hi, precision), q[i]);
+            Assertions.assertEquals(q[i], h.getQuantile(p[i]));
+            // Relative error bound for values within the range
+            final double v = x[Math.max(1, (int) Math.ceil(p[i] * n)) - 1];
+            if (Math.abs(v) >= lo && Math.abs(v) < hi) {
+                Assertions.assertEquals(v, q[i], Math.abs(v) * eps);
+            }
+        }
+    }
+
+    static Stream<Arguments> testQuantiles() {
+        return Stream.of(
+            Arguments.of(LOWEST, HIGHEST / 2, PRECISION),
+            Arguments.of(1e-3, 1e3, 0),
+            Arguments.of(1e-3, 1e3, 3),
+            Arguments.of(1, 100, 10),
+            Arguments.of(Double.MIN_NORMAL, Double.MAX_VALUE, 2),
+            Arguments.of(0.25, 0.25, 20)
+        );
+    }
+
+    @Test
+    void testMaxValue() {
+        final double max = Double.MAX_VALUE;
+        final LogLinearHistogram h = LogLinearHistogram.create(1, max, 2);
+        h.accept(1);
+        h.accept(max);
+        h.accept(max);
+        h.accept(max);
+        h.accept(Double.POSITIVE_INFINITY);
+        Assertions.assertEquals(3, h.getCount(max));
+        Assertions.assertEquals(1, h.getCount(Double.POSITIVE_INFINITY));
+        // Midpoint of the top bucket [1.75, 2) * 2^1023
+        Assertions.assertEquals(0x1.ep1023, h.getQuantile(0.5));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, h.getQuantile(1));
+    }
+
+    @Test
+    void testCombineWithSelf() {
+        final LogLinearHistogram h = LogLinearHistogram.of(1, 2, 3, 4);
+        h.combine(h);
+        Assertions.assertEquals(8, h.getN());
+        Assertions.assertEquals(2, h.getCount(3));
+        Assertions.assertArrayEquals(new double[] {1, 2.015625, 4}, h.getQuantiles(0, 0.5, 1));
+    }
+
+    @Test
+    void testConcurrentAccept() {
+        final int n = 100000;
+        final LogLinearHistogram h = LogLinearHistogram.create();
+        IntStream.range(0, n).parallel().forEach(i -> h.accept(i % 1000));
+        Assertions.assertEquals(n, h.getN());
+        Assertions.assertEquals(100, h.getCount(0));
+        Assertions.assertEquals(100, h.getCount(1));
+        Assertions.assertEquals(0, h.getQuantile(0));
+        Assertions.assertEquals(999, h.getQuantile(1));
+        final LogLinearHistogram h2 = LogLinearHistogram.create();
+        IntStream.range(0, n).forEach(i -> h2.accept(i % 1000));
+        final double[] p = {0.1, 0.5, 0.9, 0.99};
+        Assertions.assertArrayEquals(h2.getQuantiles(p), h.getQuantiles(p));
+    }
+
+    /**
+     * Test quantiles computed concurrently with the first values added to the histogram.
+     * Any counted value must be within the observed limits.
+     */
+    @Test
+    void testConcurrentQuantiles() throws InterruptedException {
+        final double[] p = {0, 0.25, 0.5, 0.75, 1};
+        for (int trial = 0; trial < 200; trial++) {
+            final LogLinearHistogram h = LogLinearHistogram.create();
+            final Thread t = new Thread(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    h.accept(i);
+                }
+            });
+            t.start();
+            do {
+                final double[] q = h.getQuantiles(p);
+                // All NaN when no values are counted
+                if (Double.isNaN(q[0])) {
+                    Assertions.assertTrue(Arrays.stream(q).allMatch(Double::isNaN), () -> Arrays.toString(q));
+                } else {
+                    for (final double x : q) {
+                        Assertions.assertTrue(x >= 1 && x <= 1000, () -> Arrays.toString(q));
+                    }
+                }
+            } while (t.isAlive());
+            t.join();
+            Assertions.assertArrayEquals(new double[] {1, 1000}, h.getQuantiles(0, 1));
+        }
+    }
+}
@@ -28,12 +28,22 @@ final class LongGeometricMeanTest extends BaseLongStatisticTest<DoubleAsLongStat
 
     @Override
     protected DoubleAsLongStatistic create() {
-        return DoubleAsLongStatistic.from(GeometricMean.create());
+        return DoubleAsLongStatistic.from(GeometricMean.create(), GeometricMean::reset);
     }
 
     @Override
     protected DoubleAsLongStatistic create(long... values) {
-        return DoubleAsLongStatistic.from(GeometricMean.of(values));
+        return DoubleAsLongStatistic.from(GeometricMean.of(values), GeometricMean::reset);
+    }
+
+    @Override
+    protected DoubleAsLongStatistic create(long[] values, int from, int to) {
+        return DoubleAsLongStatistic.from(GeometricMean.of(values, from, to), GeometricMean::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsLongStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
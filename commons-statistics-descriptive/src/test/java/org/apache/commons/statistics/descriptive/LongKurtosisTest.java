@@ -28,12 +28,22 @@ final class LongKurtosisTest extends BaseLongStatisticTest<DoubleAsLongStatistic
 
     @Override
     protected DoubleAsLongStatistic create() {
-        return DoubleAsLongStatistic.from(Kurtosis.create());
+        return DoubleAsLongStatistic.from(Kurtosis.create(), Kurtosis::reset);
     }
 
     @Override
     protected DoubleAsLongStatistic create(long... values) {
-        return DoubleAsLongStatistic.from(Kurtosis.of(values));
+        return DoubleAsLongStatistic.from(Kurtosis.of(values), Kurtosis::reset);
+    }
+
+    @Override
+    protected DoubleAsLongStatistic create(long[] values, int from, int to) {
+        return DoubleAsLongStatistic.from(Kurtosis.of(values, from, to), Kurtosis::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsLongStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
@@ -41,6 +41,16 @@ final class LongMaxTest extends BaseLongStatisticTest<LongMax> {
         return LongMax.of(values);
     }
 
+    @Override
+    protected LongMax create(long[] values, int from, int to) {
+        return LongMax.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LongMax statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(long... values) {
         return Max.of(Arrays.stream(values).asDoubleStream().toArray());
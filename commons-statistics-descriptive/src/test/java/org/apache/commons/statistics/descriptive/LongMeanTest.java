@@ -42,6 +42,16 @@ final class LongMeanTest extends BaseLongStatisticTest<LongMean> {
         return LongMean.of(values);
     }
 
+    @Override
+    protected LongMean create(long[] values, int from, int to) {
+        return LongMean.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LongMean statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected StatisticResult getEmptyValue() {
         return createStatisticResult(Double.NaN);
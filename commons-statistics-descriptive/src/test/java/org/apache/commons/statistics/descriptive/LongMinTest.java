@@ -41,6 +41,16 @@ final class LongMinTest extends BaseLongStatisticTest<LongMin> {
         return LongMin.of(values);
     }
 
+    @Override
+    protected LongMin create(long[] values, int from, int to) {
+        return LongMin.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LongMin statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(long... values) {
         return Min.of(Arrays.stream(values).asDoubleStream().toArray());
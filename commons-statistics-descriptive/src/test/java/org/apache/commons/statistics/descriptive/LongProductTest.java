@@ -28,12 +28,22 @@ final class LongProductTest extends BaseLongStatisticTest<DoubleAsLongStatistic>
 
     @Override
     protected DoubleAsLongStatistic create() {
-        return DoubleAsLongStatistic.from(Product.create());
+        return DoubleAsLongStatistic.from(Product.create(), Product::reset);
     }
 
     @Override
     protected DoubleAsLongStatistic create(long... values) {
-        return DoubleAsLongStatistic.from(Product.of(values));
+        return DoubleAsLongStatistic.from(Product.of(values), Product::reset);
+    }
+
+    @Override
+    protected DoubleAsLongStatistic create(long[] values, int from, int to) {
+        return DoubleAsLongStatistic.from(Product.of(values, from, to), Product::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsLongStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
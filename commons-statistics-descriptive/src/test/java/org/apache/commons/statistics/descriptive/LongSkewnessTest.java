@@ -28,12 +28,22 @@ final class LongSkewnessTest extends BaseLongStatisticTest<DoubleAsLongStatistic
 
     @Override
     protected DoubleAsLongStatistic create() {
-        return DoubleAsLongStatistic.from(Skewness.create());
+        return DoubleAsLongStatistic.from(Skewness.create(), Skewness::reset);
     }
 
     @Override
     protected DoubleAsLongStatistic create(long... values) {
-        return DoubleAsLongStatistic.from(Skewness.of(values));
+        return DoubleAsLongStatistic.from(Skewness.of(values), Skewness::reset);
+    }
+
+    @Override
+    protected DoubleAsLongStatistic create(long[] values, int from, int to) {
+        return DoubleAsLongStatistic.from(Skewness.of(values, from, to), Skewness::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsLongStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
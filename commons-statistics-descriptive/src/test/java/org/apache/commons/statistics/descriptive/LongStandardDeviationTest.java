@@ -44,6 +44,16 @@ final class LongStandardDeviationTest extends BaseLongStatisticTest<LongStandard
         return LongStandardDeviation.of(values);
     }
 
+    @Override
+    protected LongStandardDeviation create(long[] values, int from, int to) {
+        return LongStandardDeviation.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LongStandardDeviation statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(long... values) {
         return StandardDeviation.of(Arrays.stream(values).asDoubleStream().toArray());
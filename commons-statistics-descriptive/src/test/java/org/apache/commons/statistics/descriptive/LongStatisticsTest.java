@@ -17,6 +17,8 @@
 
 package org.apache.commons.statistics.descriptive;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
@@ -26,6 +28,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.DoubleSupplier;
@@ -172,28 +175,36 @@ class LongStatisticsTest {
         addExpected(Statistic.STANDARD_DEVIATION, LongStandardDeviation::create, LongStandardDeviation::of);
         addExpected(Statistic.VARIANCE, LongVariance::create, LongVariance::of);
         addExpected(Statistic.SKEWNESS,
-            () -> DoubleAsLongStatistic.from(Skewness.create()),
-            x -> DoubleAsLongStatistic.from(Skewness.of(x)));
+            () -> DoubleAsLongStatistic.from(Skewness.create(), Skewness::reset),
+            x -> DoubleAsLongStatistic.from(Skewness.of(x), Skewness::reset));
         addExpected(Statistic.KURTOSIS,
-            () -> DoubleAsLongStatistic.from(Kurtosis.create()),
-            x -> DoubleAsLongStatistic.from(Kurtosis.of(x)));
+            () -> DoubleAsLongStatistic.from(Kurtosis.create(), Kurtosis::reset),
+            x -> DoubleAsLongStatistic.from(Kurtosis.of(x), Kurtosis::reset));
         addExpected(Statistic.PRODUCT,
-            () -> DoubleAsLongStatistic.from(Product.create()),
-            x -> DoubleAsLongStatistic.from(Product.of(x)));
+            () -> DoubleAsLongStatistic.from(Product.create(), Product::reset),
+            x -> DoubleAsLongStatistic.from(Product.of(x), Product::reset));
         addExpected(Statistic.SUM, LongSum::create, LongSum::of);
         addExpected(Statistic.SUM_OF_LOGS,
-            () -> DoubleAsLongStatistic.from(SumOfLogs.create()),
-            x -> DoubleAsLongStatistic.from(SumOfLogs.of(x)));
+            () -> DoubleAsLongStatistic.from(SumOfLogs.create(), SumOfLogs::reset),
+            x -> DoubleAsLongStatistic.from(SumOfLogs.of(x), SumOfLogs::reset));
         addExpected(Statistic.SUM_OF_SQUARES, LongSumOfSquares::create, LongSumOfSquares::of);
         addExpected(Statistic.GEOMETRIC_MEAN,
-            () -> DoubleAsLongStatistic.from(GeometricMean.create()),
-            x -> DoubleAsLongStatistic.from(GeometricMean.of(x)));
+            () -> DoubleAsLongStatistic.from(GeometricMean.create(), GeometricMean::reset),
+            x -> DoubleAsLongStatistic.from(GeometricMean.of(x), GeometricMean::reset));
+        addExpected(Statistic.MEDIAN,
+            () -> DoubleAsLongStatistic.from(QuantileSketch.create(), QuantileSketch::reset),
+            x -> DoubleAsLongStatistic.from(QuantileSketch.of(x), QuantileSketch::reset));
+        addExpected(Statistic.QUANTILE,
+            () -> DoubleAsLongStatistic.from(QuantileSketch.create(), QuantileSketch::reset),
+            x -> DoubleAsLongStatistic.from(QuantileSketch.of(x), QuantileSketch::reset));
+        addExpected(Statistic.DISTINCT_COUNT, DistinctCount::create, DistinctCount::of);
         // Create co-computed statistics
         coComputed = new EnumMap<>(Statistic.class);
         Arrays.stream(Statistic.values()).forEach(s -> coComputed.put(s, EnumSet.of(s)));
         addCoComputed(Statistic.GEOMETRIC_MEAN, Statistic.SUM_OF_LOGS);
         addCoComputed(Statistic.VARIANCE, Statistic.STANDARD_DEVIATION);
         addCoComputed(Statistic.SUM, Statistic.MEAN);
+        addCoComputed(Statistic.MEDIAN, Statistic.QUANTILE);
         // Create statistics computed as part of the main statistic
         addComputedBy(Statistic.VARIANCE, Statistic.SUM, Statistic.MEAN, Statistic.SUM_OF_SQUARES);
         addComputedBy(Statistic.STANDARD_DEVIATION, Statistic.SUM, Statistic.MEAN, Statistic.SUM_OF_SQUARES);
@@ -308,6 +319,36 @@ class LongStatisticsTest {
         assertStatistics(stats, data, builder::build, ExpectedResult::getArray);
     }
 
+    /**
+     * Test the {@link LongStatistics} when data is passed as a range of a {@code long[]} of values.
+     */
+    @ParameterizedTest
+    @MethodSource(value = {"streamTestData"})
+    void testArrayRange(EnumSet<Statistic> stats, TestData data) {
+        final LongStatistics.Builder builder = LongStatistics.builder(stats.toArray(EMPTY_STATISTIC_ARRAY));
+        assertStatistics(stats, data, values -> {
+            // Pad with values that change the result
+            final long[] x = new long[values.length + 5];
+            Arrays.fill(x, 0, 3, Long.MIN_VALUE);
+            Arrays.fill(x, 3, x.length, Long.MAX_VALUE);
+            System.arraycopy(values, 0, x, 3, values.length);
+            return builder.build(x, 3, 3 + values.length);
+        }, ExpectedResult::getArray);
+    }
+
+    @Test
+    void testArrayRangeThrows() {
+        final long[] x = new long[5];
+        final LongStatistics.Builder builder = LongStatistics.builder(Statistic.MIN);
+        final EnumSet<Statistic> stats = EnumSet.of(Statistic.MIN);
+        Assertions.assertEquals(0, builder.build(x, 2, 2).getCount());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> builder.build(x, -1, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> builder.build(x, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> builder.build(x, 0, 6));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> LongStatistics.of(stats, x, 0, 6));
+        Assertions.assertEquals(3, LongStatistics.of(stats, x, 1, 4).getCount());
+    }
+
     /**
      * Assert the computed statistics match the expected result.
      *
@@ -439,6 +480,145 @@ class LongStatisticsTest {
         return s1;
     }
 
+    @Test
+    void testBuildBuffer() {
+        final int n = Buffers.CHUNK * 2 + 13;
+        final long[] values = TestHelper.createRNG().longs(n, -1000, 1000).toArray();
+        final Statistic[] statistics = Statistic.values();
+        final LongStatistics.Builder builder = LongStatistics.builder(statistics);
+        final LongStatistics expected = builder.build(values);
+        // Direct buffer is computed in chunks
+        final LongBuffer direct = ByteBuffer.allocateDirect(n * Long.BYTES).asLongBuffer();
+        direct.put(values).flip();
+        final LongStatistics[] results = {
+            builder.build(direct),
+            LongStatistics.builder(statistics).build(direct),
+        };
+        Assertions.assertEquals(0, direct.position());
+        for (final LongStatistics actual : results) {
+            Assertions.assertEquals(n, actual.getCount());
+            for (final Statistic s : statistics) {
+                final double e = expected.getAsDouble(s);
+                final double a = actual.getAsDouble(s);
+                if (!Double.isFinite(e)) {
+                    Assertions.assertEquals(e, a, s::toString);
+                    continue;
+                }
+                if (s == Statistic.PRODUCT && e == 0 && Double.isNaN(a)) {
+                    // Documented: a zero chunk combined with an overflowed chunk is NaN
+                    continue;
+                }
+                // The quantile is approximated by a sketch that depends on the order of merges
+                final double tol = s == Statistic.MEDIAN || s == Statistic.QUANTILE ?
+                    0.01 * (expected.getAsDouble(Statistic.MAX) - expected.getAsDouble(Statistic.MIN)) :
+                    1e-9 * Math.max(1, Math.abs(e));
+                Assertions.assertEquals(e, a, tol, s::toString);
+            }
+        }
+        // Array-backed buffer is computed using the array range
+        final LongBuffer wrapped = LongBuffer.wrap(values, 3, 100);
+        final LongStatistics s1 = builder.build(values, 3, 103);
+        final LongStatistics s2 = builder.build(wrapped);
+        Assertions.assertEquals(3, wrapped.position());
+        for (final Statistic s : statistics) {
+            Assertions.assertEquals(s1.getAsDouble(s), s2.getAsDouble(s), s::toString);
+        }
+        Assertions.assertThrows(NullPointerException.class, () -> builder.build((LongBuffer) null));
+    }
+
+    @Test
+    void testBuildParallel() {
+        final int n = RangeTask.THRESHOLD * 5 + 13;
+        final long[] values = TestHelper.createRNG().longs(n, -1000, 1000).toArray();
+        final Statistic[] statistics = Statistic.values();
+        final LongStatistics.Builder builder = LongStatistics.builder(statistics);
+        final LongStatistics expected = builder.build(values);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final LongStatistics[] results = {
+                builder.buildParallel(values, pool),
+                builder.buildParallel(values),
+                LongStatistics.ofParallel(EnumSet.allOf(Statistic.class), values),
+            };
+            for (final LongStatistics actual : results) {
+                Assertions.assertEquals(n, actual.getCount());
+                for (final Statistic s : statistics) {
+                    final double e = expected.getAsDouble(s);
+                    final double a = actual.getAsDouble(s);
+                    if (!Double.isFinite(e)) {
+                        Assertions.assertEquals(e, a, s::toString);
+                        continue;
+                    }
+                    if (s == Statistic.PRODUCT && e == 0 && Double.isNaN(a)) {
+                        // Documented: a zero range combined with an overflowed range is NaN
+                        continue;
+                    }
+                    // The quantile is approximated by a sketch that depends on the order of merges
+                    final double tol = s == Statistic.MEDIAN || s == Statistic.QUANTILE ?
+                        0.01 * (expected.getAsDouble(Statistic.MAX) - expected.getAsDouble(Statistic.MIN)) :
+                        1e-9 * Math.max(1, Math.abs(e));
+                    Assertions.assertEquals(e, a, tol, s::toString);
+                }
+            }
+            // Small arrays are computed sequentially
+            final long[] small = Arrays.copyOf(values, 100);
+            final LongStatistics s1 = builder.build(small);
+            final LongStatistics s2 = builder.buildParallel(small, pool);
+            for (final Statistic s : statistics) {
+                Assertions.assertEquals(s1.getAsDouble(s), s2.getAsDouble(s), s::toString);
+            }
+            Assertions.assertThrows(NullPointerException.class, () -> builder.buildParallel(null, pool));
+            Assertions.assertThrows(NullPointerException.class, () -> builder.buildParallel(small, null));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> LongStatistics.ofParallel(EnumSet.noneOf(Statistic.class), small));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBuildParallelProduct() {
+        // The sequential product is zero as the zero is encountered before overflow.
+        // The partial product of a range without the zero overflows to infinity.
+        final long[] values = new long[RangeTask.THRESHOLD * 4];
+        Arrays.fill(values, 1000);
+        values[0] = 0;
+        final LongStatistics.Builder builder = LongStatistics.builder(Statistic.PRODUCT);
+        Assertions.assertEquals(0.0, builder.build(values).getAsDouble(Statistic.PRODUCT));
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assertions.assertEquals(Double.NaN, builder.buildParallel(values, pool).getAsDouble(Statistic.PRODUCT));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testReset() {
+        final long[] x = TestHelper.createRNG().longs(50, -5, 10).toArray();
+        final long[] y = TestHelper.createRNG().longs(30, 1, 3).toArray();
+        final Statistic[] statistics = Statistic.values();
+        final StatisticsConfiguration config = StatisticsConfiguration.withDefaults().withBiased(true);
+        final LongStatistics stats = LongStatistics.of(EnumSet.allOf(Statistic.class), x).setConfiguration(config);
+        final StatisticResult variance = stats.getResult(Statistic.VARIANCE);
+        stats.reset();
+        final LongStatistics empty = LongStatistics.of(statistics);
+        Assertions.assertEquals(0, stats.getCount());
+        for (final Statistic s : statistics) {
+            Assertions.assertEquals(empty.getAsDouble(s), stats.getAsDouble(s), s::toString);
+        }
+        // Reset must be equivalent to a new instance with the same configuration
+        final LongStatistics expected = LongStatistics.of(statistics).setConfiguration(config);
+        Arrays.stream(y).forEach(stats);
+        Arrays.stream(y).forEach(expected);
+        Assertions.assertEquals(y.length, stats.getCount());
+        for (final Statistic s : statistics) {
+            Assertions.assertEquals(expected.getAsDouble(s), stats.getAsDouble(s), s::toString);
+        }
+        // A result created before the reset uses the current state
+        Assertions.assertEquals(expected.getAsDouble(Statistic.VARIANCE), variance.getAsDouble());
+    }
+
     @Test
     void testOfThrows() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> LongStatistics.of());
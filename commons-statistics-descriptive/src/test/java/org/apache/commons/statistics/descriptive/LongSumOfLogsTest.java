@@ -28,12 +28,22 @@ final class LongSumOfLogsTest extends BaseLongStatisticTest<DoubleAsLongStatisti
 
     @Override
     protected DoubleAsLongStatistic create() {
-        return DoubleAsLongStatistic.from(SumOfLogs.create());
+        return DoubleAsLongStatistic.from(SumOfLogs.create(), SumOfLogs::reset);
     }
 
     @Override
     protected DoubleAsLongStatistic create(long... values) {
-        return DoubleAsLongStatistic.from(SumOfLogs.of(values));
+        return DoubleAsLongStatistic.from(SumOfLogs.of(values), SumOfLogs::reset);
+    }
+
+    @Override
+    protected DoubleAsLongStatistic create(long[] values, int from, int to) {
+        return DoubleAsLongStatistic.from(SumOfLogs.of(values, from, to), SumOfLogs::reset);
+    }
+
+    @Override
+    protected void reset(DoubleAsLongStatistic statistic) {
+        statistic.reset();
     }
 
     @Override
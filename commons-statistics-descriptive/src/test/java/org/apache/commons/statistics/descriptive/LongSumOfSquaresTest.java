@@ -46,6 +46,16 @@ final class LongSumOfSquaresTest extends BaseLongStatisticTest<LongSumOfSquares>
         return LongSumOfSquares.of(values);
     }
 
+    @Override
+    protected LongSumOfSquares create(long[] values, int from, int to) {
+        return LongSumOfSquares.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LongSumOfSquares statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(long... values) {
         return SumOfSquares.of(Arrays.stream(values).asDoubleStream().toArray());
@@ -47,6 +47,16 @@ final class LongSumTest extends BaseLongStatisticTest<LongSum> {
         return LongSum.of(values);
     }
 
+    @Override
+    protected LongSum create(long[] values, int from, int to) {
+        return LongSum.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LongSum statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(long... values) {
         return Sum.of(Arrays.stream(values).asDoubleStream().toArray());
@@ -44,6 +44,16 @@ final class LongVarianceTest extends BaseLongStatisticTest<LongVariance> {
         return LongVariance.of(values);
     }
 
+    @Override
+    protected LongVariance create(long[] values, int from, int to) {
+        return LongVariance.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(LongVariance statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected DoubleStatistic createAsDoubleStatistic(long... values) {
         if (values.length == 0) {
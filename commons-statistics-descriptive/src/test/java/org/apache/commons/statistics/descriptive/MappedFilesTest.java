@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link MappedFiles}.
+ */
+final class MappedFilesTest {
+    /** Number of values for the test data. */
+    private static final int N = 1000;
+
+    /** Temporary directory for the test files. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Write the bytes to a file.
+     *
+     * @param name File name.
+     * @param buffer Buffer containing the bytes.
+     * @return the file
+     * @throws IOException if an I/O error occurs
+     */
+    private Path write(String name, ByteBuffer buffer) throws IOException {
+        final Path file = dir.resolve(name);
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    @Test
+    void testDoubles() throws IOException {
+        final double[] values = TestHelper.createRNG().doubles(N, -10, 10).toArray();
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final ByteBuffer bytes = ByteBuffer.allocate(N * Double.BYTES).order(order);
+            bytes.asDoubleBuffer().put(values);
+            final Path file = write("doubles" + order, bytes);
+            final DoubleStatistics.Builder builder = DoubleStatistics.builder(Statistic.values());
+            final DoubleStatistics expected = builder.build(values);
+            final DoubleStatistics actual = MappedFiles.ofDoubles(file, order, builder);
+            Assertions.assertEquals(N, actual.getCount());
+            for (final Statistic s : Statistic.values()) {
+                Assertions.assertEquals(expected.getAsDouble(s), actual.getAsDouble(s), s::toString);
+            }
+            // Multiple regions
+            final AtomicInteger count = new AtomicInteger();
+            final Max max = MappedFiles.reduce(file, order, Double.BYTES, b -> {
+                count.incrementAndGet();
+                return Buffers.apply(b.asDoubleBuffer(), Max::of, Max::combine);
+            }, Max::combine, 8 * 64);
+            Assertions.assertEquals((N + 63) / 64, count.get());
+            Assertions.assertEquals(expected.getAsDouble(Statistic.MAX), max.getAsDouble());
+        }
+    }
+
+    @Test
+    void testInts() throws IOException {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] values = rng.ints(N).toArray();
+        final ByteBuffer bytes = ByteBuffer.allocate(N * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(values);
+        final Path file = write("ints", bytes);
+        final IntStatistics.Builder builder = IntStatistics.builder(Statistic.MIN, Statistic.SUM, Statistic.MEAN);
+        final IntStatistics expected = builder.build(values);
+        final IntStatistics actual = MappedFiles.ofInts(file, ByteOrder.LITTLE_ENDIAN, builder);
+        Assertions.assertEquals(N, actual.getCount());
+        Assertions.assertEquals(expected.getAsInt(Statistic.MIN), actual.getAsInt(Statistic.MIN));
+        Assertions.assertEquals(expected.getAsDouble(Statistic.MEAN), actual.getAsDouble(Statistic.MEAN));
+        Assertions.assertEquals(expected.getResult(Statistic.SUM).getAsBigInteger(),
+            actual.getResult(Statistic.SUM).getAsBigInteger());
+        // Multiple regions are exact for an integer sum
+        final IntSum sum = MappedFiles.reduce(file, ByteOrder.LITTLE_ENDIAN, Integer.BYTES,
+            b -> Buffers.apply(b.asIntBuffer(), IntSum::of, IntSum::combine), IntSum::combine, 4 * 100);
+        Assertions.assertEquals(expected.getResult(Statistic.SUM).getAsBigInteger(), sum.getAsBigInteger());
+        // Public reduction
+        Assertions.assertEquals(N, MappedFiles.reduceInts(file, ByteOrder.LITTLE_ENDIAN,
+            b -> (long) b.remaining(), Long::sum).longValue());
+    }
+
+    @Test
+    void testLongs() throws IOException {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final long[] values = rng.longs(N).toArray();
+        final ByteBuffer bytes = ByteBuffer.allocate(N * Long.BYTES);
+        bytes.asLongBuffer().put(values);
+        final Path file = write("longs", bytes);
+        final LongStatistics.Builder builder = LongStatistics.builder(Statistic.MAX, Statistic.VARIANCE);
+        final LongStatistics expected = builder.build(values);
+        final LongStatistics actual = MappedFiles.ofLongs(file, ByteOrder.BIG_ENDIAN, builder);
+        Assertions.assertEquals(N, actual.getCount());
+        Assertions.assertEquals(expected.getAsLong(Statistic.MAX), actual.getAsLong(Statistic.MAX));
+        Assertions.assertEquals(expected.getAsDouble(Statistic.VARIANCE), actual.getAsDouble(Statistic.VARIANCE));
+        final LongStatistics regions = MappedFiles.reduce(file, ByteOrder.BIG_ENDIAN, Long.BYTES,
+            b -> builder.build(b.asLongBuffer()), LongStatistics::combine, 8 * 99);
+        Assertions.assertEquals(N, regions.getCount());
+        Assertions.assertEquals(expected.getAsDouble(Statistic.VARIANCE), regions.getAsDouble(Statistic.VARIANCE),
+            1e-12 * expected.getAsDouble(Statistic.VARIANCE));
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        final Path file = write("empty", ByteBuffer.allocate(0));
+        final DoubleStatistics stats = MappedFiles.ofDoubles(file, ByteOrder.nativeOrder(),
+            DoubleStatistics.builder(Statistic.MIN));
+        Assertions.assertEquals(0, stats.getCount());
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, stats.getAsDouble(Statistic.MIN));
+        Assertions.assertEquals(0, MappedFiles.ofLongs(file, ByteOrder.nativeOrder(),
+            LongStatistics.builder(Statistic.MIN)).getCount());
+        Assertions.assertEquals(0, MappedFiles.ofInts(file, ByteOrder.nativeOrder(),
+            IntStatistics.builder(Statistic.MIN)).getCount());
+    }
+
+    @Test
+    void testInvalidFile() throws IOException {
+        final Path file = write("invalid", ByteBuffer.allocate(12));
+        final DoubleStatistics.Builder builder = DoubleStatistics.builder(Statistic.MIN);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> MappedFiles.ofDoubles(file, ByteOrder.nativeOrder(), builder));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> MappedFiles.ofLongs(file, ByteOrder.nativeOrder(), LongStatistics.builder(Statistic.MIN)));
+        Assertions.assertEquals(3, MappedFiles.ofInts(file, ByteOrder.nativeOrder(),
+            IntStatistics.builder(Statistic.MIN)).getCount());
+        Assertions.assertThrows(NoSuchFileException.class,
+            () -> MappedFiles.ofDoubles(dir.resolve("missing"), ByteOrder.nativeOrder(), builder));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> MappedFiles.ofDoubles(file, null, builder));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> MappedFiles.ofDoubles(file, ByteOrder.nativeOrder(), null));
+        Assertions.assertEquals(0, builder.build(ByteBuffer.allocate(0).asDoubleBuffer()).getCount());
+    }
+}
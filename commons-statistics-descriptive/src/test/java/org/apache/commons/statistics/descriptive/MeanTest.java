@@ -40,6 +40,16 @@ final class MeanTest extends BaseDoubleStatisticTest<Mean> {
         return Mean.of(values);
     }
 
+    @Override
+    protected Mean create(double[] values, int from, int to) {
+        return Mean.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(Mean statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link Median}.
+ */
+final class MedianTest {
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, Median.withDefaults().evaluate(new double[0]));
+    }
+
+    @Test
+    void testNaN() {
+        final double[] x = {1, 2, Double.NaN, 4};
+        final double[] y = x.clone();
+        Assertions.assertEquals(Double.NaN, Median.withDefaults().withCopy(false).evaluate(x));
+        Assertions.assertArrayEquals(y, x, "Data with NaN should not be modified");
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testMedian(double[] values, double expected) {
+        final double[] x = values.clone();
+        Assertions.assertEquals(expected, Median.withDefaults().evaluate(x));
+        Assertions.assertArrayEquals(values, x, "Data should be copied");
+        Assertions.assertEquals(expected, Median.withDefaults().withCopy(false).evaluate(x));
+        // Consistent with the quantile (all continuous methods agree for the median)
+        Assertions.assertEquals(expected, Quantile.withDefaults().evaluate(values.clone(), 0.5));
+    }
+
+    static Stream<Arguments> testMedian() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final double max = Double.MAX_VALUE;
+        return Stream.of(
+            Arguments.of(new double[] {42}, 42),
+            Arguments.of(new double[] {1, 2}, 1.5),
+            Arguments.of(new double[] {3, 1, 2}, 2),
+            Arguments.of(new double[] {4, 3, 1, 2}, 2.5),
+            Arguments.of(new double[] {5, 9, 13, 14, 10, 12, 11, 15, 19}, 12),
+            Arguments.of(new double[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, 5.5),
+            // No overflow
+            Arguments.of(new double[] {max, max}, max),
+            Arguments.of(new double[] {-max, max}, 0),
+            // Non-finite
+            Arguments.of(new double[] {inf, inf}, inf),
+            Arguments.of(new double[] {-inf, 1, inf}, 1),
+            Arguments.of(new double[] {-inf, inf}, Double.NaN),
+            Arguments.of(new double[] {-inf, 1, 2, inf}, 1.5)
+        );
+    }
+
+    @Test
+    void testMedianVsSort() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {10, 11, 50, 51, 1000, 1001, 10000}) {
+            for (final int range : new int[] {3, 100, 1 << 30}) {
+                final double[] values = rng.ints(n, 0, range).asDoubleStream().toArray();
+                final double[] x = values.clone();
+                Arrays.sort(x);
+                final int k = n >>> 1;
+                final double expected = (n & 0x1) == 1 ? x[k] : (x[k - 1] + x[k]) / 2;
+                Assertions.assertEquals(expected, Median.withDefaults().evaluate(values));
+                Assertions.assertEquals(expected, Median.withDefaults().withCopy(false).evaluate(values));
+                Assertions.assertEquals(x[k], values[k], "In-place data should be partitioned");
+            }
+        }
+    }
+}
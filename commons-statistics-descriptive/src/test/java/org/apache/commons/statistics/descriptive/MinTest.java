@@ -36,6 +36,16 @@ final class MinTest extends BaseDoubleStatisticTest<Min> {
         return Min.of(values);
     }
 
+    @Override
+    protected Min create(double[] values, int from, int to) {
+        return Min.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(Min statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.POSITIVE_INFINITY;
@@ -64,6 +74,8 @@ final class MinTest extends BaseDoubleStatisticTest<Min> {
             addCase(-0.0, 0.0),
             addCase(-0.0, 0.0, 1, 2, 3, 4),
             addCase(-1, -0.0, 0.0, 1),
+            addCase(0.0, 1, 2, 3, 4, 5, -0.0, 7, 8),
+            addCase(1, 2, 3, 4, 5, 6, 7, 8, 0.0, -0.0, 0.0),
             // Differentiate MAX_VALUE from the default of +infinity
             addCase(Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE),
             addCase(1, 2, 3, 4, -Double.MAX_VALUE)
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link MultivariateCovariance}.
+ */
+final class MultivariateCovarianceTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE, 46341})
+    void testInvalidDimensionThrows(int d) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MultivariateCovariance.create(d));
+    }
+
+    @Test
+    void testInvalidRowThrows() {
+        final MultivariateCovariance c = MultivariateCovariance.create(3);
+        Assertions.assertEquals(3, c.getDimension());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.accept(new double[2]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.accept(new double[4]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> c.accept(new double[][] {new double[3], new double[2]}));
+        // No partial update
+        Assertions.assertEquals(0, c.getN());
+        final double[] values = new double[10];
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, -1, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 0, -1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 0, 4));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 2, 3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.accept(values, 1, Integer.MAX_VALUE));
+        c.accept(values, 1, 3);
+        Assertions.assertEquals(3, c.getN());
+    }
+
+    @Test
+    void testIncompatibleCombineThrows() {
+        final MultivariateCovariance c = MultivariateCovariance.create(3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.combine(MultivariateCovariance.create(2)));
+    }
+
+    @Test
+    void testEmpty() {
+        final MultivariateCovariance c = MultivariateCovariance.create(2);
+        Assertions.assertEquals(0, c.getN());
+        Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, c.getMean());
+        final double[][] cov = c.getCovariance();
+        Assertions.assertEquals(2, cov.length);
+        for (final double[] row : cov) {
+            Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, row);
+        }
+        c.combine(MultivariateCovariance.create(2));
+        Assertions.assertEquals(0, c.getN());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final MultivariateCovariance c = MultivariateCovariance.create(3).setBiased(true);
+        for (int i = 0; i < 100; i++) {
+            c.accept(rng.doubles(3).toArray());
+        }
+        c.reset();
+        Assertions.assertEquals(0, c.getN());
+        Assertions.assertEquals(3, c.getDimension());
+        Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN, Double.NaN}, c.getMean());
+        final MultivariateCovariance expected = MultivariateCovariance.create(3).setBiased(true);
+        for (int i = 0; i < 10; i++) {
+            final double[] row = rng.doubles(3, -2, 5).toArray();
+            c.accept(row);
+            expected.accept(row);
+        }
+        Assertions.assertEquals(10, c.getN());
+        Assertions.assertArrayEquals(expected.getMean(), c.getMean());
+        Assertions.assertArrayEquals(expected.getCovariance(), c.getCovariance());
+    }
+
+    @Test
+    void testSingleRow() {
+        final MultivariateCovariance c = MultivariateCovariance.create(3);
+        final double[] x = {1, 2, 3};
+        c.accept(x);
+        Assertions.assertEquals(1, c.getN());
+        Assertions.assertArrayEquals(x, c.getMean());
+        for (final double[] row : c.getCovariance()) {
+            Assertions.assertArrayEquals(new double[3], row);
+        }
+        for (final double[] row : c.setBiased(true).getCovariance()) {
+            Assertions.assertArrayEquals(new double[3], row);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testCovariance(double[][] data) {
+        final int n = data.length;
+        final int d = data[0].length;
+        final double[][] columns = columns(data);
+        final double[] expectedMean = Arrays.stream(columns).mapToDouble(x -> Mean.of(x).getAsDouble()).toArray();
+        final double[] sd = Arrays.stream(columns).mapToDouble(x -> StandardDeviation.of(x).getAsDouble()).toArray();
+
+        // Row input
+        final MultivariateCovariance c1 = MultivariateCovariance.create(d);
+        for (final double[] row : data) {
+            c1.accept(row);
+        }
+        // Array of rows input
+        final MultivariateCovariance c2 = MultivariateCovariance.create(d);
+        c2.accept(data);
+        // Flat row-major input with an offset, added in blocks of different sizes
+        final MultivariateCovariance c3 = MultivariateCovariance.create(d);
+        final double[] flat = new double[n * d + 3];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(data[i], 0, flat, 3 + i * d, d);
+        }
+        for (int i = 0, k = 1; i < n; k = k * 2 + 1) {
+            final int count = Math.min(k, n - i);
+            c3.accept(flat, 3 + i * d, count);
+            i += count;
+        }
+
+        for (final MultivariateCovariance c : new MultivariateCovariance[] {c1, c2, c3}) {
+            Assertions.assertEquals(n, c.getN());
+            final double[] mean = c.getMean();
+            for (int j = 0; j < d; j++) {
+                Assertions.assertEquals(expectedMean[j], mean[j], Math.abs(expectedMean[j]) * 1e-14 + sd[j] * 1e-14);
+            }
+            for (final boolean biased : new boolean[] {false, true}) {
+                Assertions.assertSame(c, c.setBiased(biased));
+                assertCovariance(columns, c.getCovariance(), biased, 1e-12);
+            }
+        }
+    }
+
+    static Stream<Arguments> testCovariance() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of((Object) new double[][] {{1, 2}, {2, 4}, {3, 6}, {4, 8}}));
+        builder.add(Arguments.of((Object) new double[][] {{1, 8, 1}, {2, 6, 1}, {3, 4, 2}, {4, 2, 2}}));
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        // Sizes either side of the block and tile size
+        for (final int d : new int[] {1, 3, 10, 63, 64, 65, 130}) {
+            for (final int n : new int[] {2, 5, 63, 64, 65, 200}) {
+                final double[][] data = new double[n][d];
+                for (final double[] row : data) {
+                    for (int j = 0; j < d; j++) {
+                        // Correlated variables with different offsets and scales
+                        row[j] = j == 0 ?
+                            rng.nextDouble(-10, 10) :
+                            row[j - 1] * 0.5 + rng.nextDouble() * (j + 1) + j * 100;
+                    }
+                }
+                builder.add(Arguments.of((Object) data));
+            }
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testCovariance")
+    void testCombine(double[][] data) {
+        final int n = data.length;
+        final int d = data[0].length;
+        final double[][] columns = columns(data);
+        for (final int k : new int[] {0, 1, n / 3, n / 2, n - 1, n}) {
+            final MultivariateCovariance c1 = MultivariateCovariance.create(d);
+            c1.accept(Arrays.copyOf(data, k));
+            final MultivariateCovariance c2 = MultivariateCovariance.create(d);
+            c2.accept(Arrays.copyOfRange(data, k, n));
+            Assertions.assertSame(c1, c1.combine(c2));
+            Assertions.assertEquals(n, c1.getN());
+            assertCovariance(columns, c1.getCovariance(), false, 1e-12);
+        }
+    }
+
+    @Test
+    void testCombineWithSelf() {
+        final double[][] data = {{1, 8, 1}, {2, 6, 1}, {3, 4, 2}, {4, 2, 2}};
+        final MultivariateCovariance c = MultivariateCovariance.create(3);
+        c.accept(data);
+        final double[] mean = c.getMean();
+        c.combine(c);
+        Assertions.assertEquals(8, c.getN());
+        Assertions.assertArrayEquals(mean, c.getMean());
+        final double[][] doubled = new double[8][];
+        for (int i = 0; i < 8; i++) {
+            doubled[i] = data[i & 3];
+        }
+        assertCovariance(columns(doubled), c.getCovariance(), false, 1e-14);
+    }
+
+    @Test
+    void testNonFinite() {
+        final MultivariateCovariance c = MultivariateCovariance.create(3);
+        c.accept(new double[] {1, 2, 3});
+        c.accept(new double[] {1, Double.NaN, 4});
+        c.accept(new double[] {2, 3, Double.POSITIVE_INFINITY});
+        final double[] mean = c.getMean();
+        Assertions.assertEquals(4.0 / 3, mean[0], 1e-15);
+        Assertions.assertEquals(Double.NaN, mean[1]);
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, mean[2]);
+        final double[][] cov = c.getCovariance();
+        Assertions.assertEquals(1.0 / 3, cov[0][0], 1e-15);
+        Assertions.assertEquals(Double.NaN, cov[0][1]);
+        Assertions.assertEquals(Double.NaN, cov[1][1]);
+        Assertions.assertEquals(Double.NaN, cov[2][2]);
+    }
+
+    @Test
+    void testLargeValues() {
+        // The means do not overflow
+        final double max = Double.MAX_VALUE;
+        final MultivariateCovariance c = MultivariateCovariance.create(2);
+        c.accept(new double[][] {{max, -max}, {max, -max}, {max, -max}});
+        Assertions.assertArrayEquals(new double[] {max, -max}, c.getMean());
+        for (final double[] row : c.getCovariance()) {
+            Assertions.assertArrayEquals(new double[2], row);
+        }
+    }
+
+    /**
+     * Assert the covariance matrix is symmetric and each element matches the
+     * bivariate covariance using a tolerance relative to the product of the
+     * standard deviations.
+     *
+     * @param columns Data columns.
+     * @param actual Covariance matrix.
+     * @param biased Set to true to compute the biased covariance.
+     * @param relativeError Relative error.
+     */
+    private static void assertCovariance(double[][] columns, double[][] actual, boolean biased,
+            double relativeError) {
+        final int d = columns.length;
+        Assertions.assertEquals(d, actual.length);
+        final double[] sd = Arrays.stream(columns).mapToDouble(x -> StandardDeviation.of(x).getAsDouble()).toArray();
+        for (int i = 0; i < d; i++) {
+            Assertions.assertEquals(d, actual[i].length);
+            for (int j = i; j < d; j++) {
+                final double expected = Covariance.of(columns[i], columns[j]).setBiased(biased).getAsDouble();
+                final int ii = i;
+                final int jj = j;
+                Assertions.assertEquals(expected, actual[i][j], sd[i] * sd[j] * relativeError,
+                    () -> ii + "," + jj);
+                Assertions.assertEquals(actual[i][j], actual[j][i], "Not symmetric");
+            }
+        }
+    }
+
+    /**
+     * Convert the row data to columns.
+     *
+     * @param data Data.
+     * @return the columns
+     */
+    private static double[][] columns(double[][] data) {
+        final int d = data[0].length;
+        final double[][] columns = new double[d][data.length];
+        for (int i = 0; i < data.length; i++) {
+            for (int j = 0; j < d; j++) {
+                columns[j][i] = data[i][j];
+            }
+        }
+        return columns;
+    }
+}
@@ -36,6 +36,16 @@ final class ProductTest extends BaseDoubleStatisticTest<Product> {
         return Product.of(values);
     }
 
+    @Override
+    protected Product create(double[] values, int from, int to) {
+        return Product.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(Product statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return 1;
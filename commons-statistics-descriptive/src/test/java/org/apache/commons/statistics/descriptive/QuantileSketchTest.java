@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.statistics.distribution.DoubleTolerance;
+import org.apache.commons.statistics.distribution.DoubleTolerances;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link QuantileSketch}.
+ *
+ * <p>The standard test data is small enough that no centroids are merged and the
+ * sketch is expected to compute the exact Hazen quantile.
+ */
+final class QuantileSketchTest extends BaseDoubleStatisticTest<QuantileSketch> {
+
+    @Override
+    protected QuantileSketch create() {
+        return QuantileSketch.create();
+    }
+
+    @Override
+    protected QuantileSketch create(double... values) {
+        return QuantileSketch.of(values);
+    }
+
+    @Override
+    protected QuantileSketch create(double[] values, int from, int to) {
+        return QuantileSketch.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(QuantileSketch statistic) {
+        statistic.reset();
+    }
+
+    @Override
+    protected double getEmptyValue() {
+        return Double.NaN;
+    }
+
+    @Override
+    protected double getExpectedValue(double[] values) {
+        return hazen(values, 0.5);
+    }
+
+    @Override
+    protected double getExpectedNonFiniteValue(double[] values) {
+        return hazen(values, 0.5);
+    }
+
+    @Override
+    protected DoubleTolerance getTolerance() {
+        return DoubleTolerances.equals();
+    }
+
+    @Override
+    protected Stream<StatisticTestData> streamTestData() {
+        final Stream.Builder<StatisticTestData> builder = Stream.builder();
+        TestData.momentTestData().forEach(x -> builder.accept(addCase(x)));
+        // R v4.3.1: quantile(x, 0.5, type=5)
+        builder.accept(addReference(2.5, DoubleTolerances.equals(), 1, 2, 3, 4));
+        builder.accept(addReference(12.0, DoubleTolerances.equals(), 5, 9, 13, 14, 10, 12, 11, 15, 19));
+        builder.accept(addReference(5.5, DoubleTolerances.equals(), 1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        return builder.build();
+    }
+
+    /**
+     * Compute the Hazen quantile (Hyndman and Fan type 5) of the values.
+     * The result is NaN if any value is NaN.
+     *
+     * @param values Values.
+     * @param p Probability.
+     * @return the quantile
+     */
+    private static double hazen(double[] values, double p) {
+        if (values.length == 0 || Arrays.stream(values).anyMatch(Double::isNaN)) {
+            return Double.NaN;
+        }
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        final int n = x.length;
+        // Quantile is interpolated between the values at positions (i + 0.5) / n
+        final double pos = p * n;
+        if (pos <= 0.5) {
+            return x[0];
+        }
+        if (pos >= n - 0.5) {
+            return x[n - 1];
+        }
+        final int i = (int) (pos - 0.5);
+        return Statistics.interpolate(x[i], x[i + 1], pos - (i + 0.5));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-1, 0, 9.99, 1e6 + 1, Double.NaN, Double.POSITIVE_INFINITY})
+    void testInvalidCompressionThrows(double compression) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> QuantileSketch.create(compression));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 1.1, Double.NaN})
+    void testInvalidProbabilityThrows(double p) {
+        final QuantileSketch s = QuantileSketch.of(1, 2, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getQuantile(p));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.getQuantiles(0.5, p));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.setQuantile(p));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testQuantiles(double[] values, double[] p, double[] expected) {
+        final QuantileSketch s = QuantileSketch.of(values);
+        Assertions.assertArrayEquals(expected, s.getQuantiles(p));
+        for (int i = 0; i < p.length; i++) {
+            Assertions.assertEquals(expected[i], s.getQuantile(p[i]));
+            Assertions.assertEquals(hazen(values, p[i]), s.getQuantile(p[i]));
+            Assertions.assertSame(s, s.setQuantile(p[i]));
+            Assertions.assertEquals(expected[i], s.getAsDouble());
+        }
+    }
+
+    static Stream<Arguments> testQuantiles() {
+        final double[] p = {0, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 1};
+        return Stream.of(
+            // R v4.3.1: quantile(x, p, type=5)
+            Arguments.of(new double[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, p,
+                new double[] {1, 1, 1.5, 3, 5.5, 8, 9.5, 10, 10}),
+            Arguments.of(new double[] {3, 1, 7}, p,
+                new double[] {1, 1, 1, 1.5, 3, 6, 7, 7, 7}),
+            Arguments.of(new double[] {42}, p,
+                new double[] {42, 42, 42, 42, 42, 42, 42, 42, 42})
+        );
+    }
+
+    @Test
+    void testEmptyQuantiles() {
+        final QuantileSketch s = QuantileSketch.create();
+        Assertions.assertEquals(Double.NaN, s.getQuantile(0.25));
+        Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, s.getQuantiles(0.25, 0.75));
+    }
+
+    @Test
+    void testCombineWithSelf() {
+        final QuantileSketch s = QuantileSketch.of(1, 2, 3, 4);
+        s.combine(s);
+        Assertions.assertArrayEquals(new double[] {1, 1.5, 2.5, 4}, s.getQuantiles(0, 0.25, 0.5, 1));
+    }
+
+    /**
+     * Test the sketch has a bounded error on large samples. The error is measured as the
+     * difference between the requested probability and the empirical cumulative
+     * probability of the estimated quantile.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1000, 100000})
+    void testAccuracy(int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Skewed data
+            values[i] = Math.exp(rng.nextDouble() * 10);
+        }
+        final double[] p = {0, 1e-3, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+        final QuantileSketch s1 = QuantileSketch.create();
+        Arrays.stream(values).forEach(s1);
+        final QuantileSketch s2 = QuantileSketch.of(values);
+        // Combine shards of unequal size
+        final QuantileSketch s3 = QuantileSketch.create();
+        for (int from = 0, size = 7; from < n; from += size, size = size * 2 + 1) {
+            s3.combine(QuantileSketch.of(Arrays.copyOfRange(values, from, Math.min(n, from + size))));
+        }
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        for (final QuantileSketch s : new QuantileSketch[] {s1, s2, s3}) {
+            final double[] q = s.getQuantiles(p);
+            Assertions.assertEquals(x[0], q[0], "min");
+            Assertions.assertEquals(x[n - 1], q[p.length - 1], "max");
+            for (int i = 0; i < p.length; i++) {
+                final double cdf = cdf(x, q[i]);
+                // Absolute error is lower at the tails.
+                // Allow for the discrete empirical cumulative probability.
+                final double eps = Math.max(5.0 / n, Math.min(2e-3, 0.5 * Math.min(p[i], 1 - p[i])));
+                final int j = i;
+                Assertions.assertEquals(p[i], cdf, eps, () -> "p=" + p[j]);
+            }
+        }
+    }
+
+    /**
+     * Compute the empirical cumulative probability of the value.
+     *
+     * @param x Sorted values.
+     * @param v Value.
+     * @return the cumulative probability
+     */
+    private static double cdf(double[] x, double v) {
+        int i = Arrays.binarySearch(x, v);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return (double) i / x.length;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link Quantile}.
+ */
+final class QuantileTest {
+    /** Probabilities used for testing. */
+    private static final double[] PROBABILITIES = {0, 0.01, 0.1, 0.25, 1.0 / 3, 0.5, 0.75, 0.9, 0.99, 1};
+
+    @Test
+    void testDefaults() {
+        final Quantile q = Quantile.withDefaults();
+        final double[] x = {5, 4, 3, 2, 1};
+        final double[] y = x.clone();
+        // HF8: (n + 1/3) p + 1/3 = 19/9 for p = 1/3
+        Assertions.assertEquals(19.0 / 9, q.evaluate(x, 1.0 / 3), 1e-15);
+        Assertions.assertArrayEquals(y, x, "Data should be copied");
+    }
+
+    @Test
+    void testNullEstimationMethodThrows() {
+        final Quantile q = Quantile.withDefaults();
+        Assertions.assertThrows(NullPointerException.class, () -> q.with(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 1.1, Double.NaN})
+    void testInvalidProbabilityThrows(double p) {
+        final Quantile q = Quantile.withDefaults();
+        final double[] x = {1, 2, 3};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(x, p));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(x, 0.5, p));
+        // Also invalid for empty data
+        final double[] empty = {};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(empty, p));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> q.evaluate(empty, 0.5, p));
+    }
+
+    @Test
+    void testEmpty() {
+        final double[] x = {};
+        for (final EstimationMethod m : EstimationMethod.values()) {
+            final Quantile q = Quantile.withDefaults().with(m);
+            Assertions.assertEquals(Double.NaN, q.evaluate(x, 0.5));
+            Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, q.evaluate(x, 0.25, 0.75));
+            Assertions.assertArrayEquals(new double[0], q.evaluate(x, new double[0]));
+        }
+    }
+
+    @Test
+    void testNaN() {
+        final double[] x = {1, 2, Double.NaN, 4};
+        final double[] y = x.clone();
+        for (final EstimationMethod m : EstimationMethod.values()) {
+            final Quantile q = Quantile.withDefaults().with(m).withCopy(false);
+            Assertions.assertEquals(Double.NaN, q.evaluate(x, 0.5));
+            Assertions.assertArrayEquals(new double[] {Double.NaN, Double.NaN}, q.evaluate(x, 0, 1));
+            Assertions.assertArrayEquals(y, x, "Data with NaN should not be modified");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testQuantile(double[] values, double[] p, EstimationMethod method, double[] expected, double delta) {
+        final Quantile q = Quantile.withDefaults().with(method);
+        final double[] actual = q.evaluate(values, p);
+        for (int i = 0; i < p.length; i++) {
+            final String msg = method + " p=" + p[i];
+            Assertions.assertEquals(expected[i], actual[i], delta, msg);
+            Assertions.assertEquals(expected[i], q.evaluate(values, p[i]), delta, msg);
+        }
+    }
+
+    static Stream<Arguments> testQuantile() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        // R: quantile(x, p, type=1:9)
+        final double[] x1 = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        final double[] x2 = {5, 9, 13, 14, 10, 12, 11, 15, 19};
+        final double[] p = {0, 0.1, 0.25, 0.5, 1};
+        final double[][] e1 = {
+            {1, 1, 3, 5, 10},
+            {1, 1.5, 3, 5.5, 10},
+            {1, 1, 2, 5, 10},
+            {1, 1, 2.5, 5, 10},
+            {1, 1.5, 3, 5.5, 10},
+            {1, 1.1, 2.75, 5.5, 10},
+            {1, 1.9, 3.25, 5.5, 10},
+            {1, 1.3666666666666667, 2.9166666666666667, 5.5, 10},
+            {1, 1.4, 2.9375, 5.5, 10},
+        };
+        final double[][] e2 = {
+            {5, 5, 10, 12, 19},
+            {5, 5, 10, 12, 19},
+            {5, 5, 9, 11, 19},
+            {5, 5, 9.25, 11.5, 19},
+            {5, 6.6, 9.75, 12, 19},
+            {5, 5, 9.5, 12, 19},
+            {5, 8.2, 10, 12, 19},
+            {5, 6.0666666666666667, 9.6666666666666667, 12, 19},
+            {5, 6.2, 9.6875, 12, 19},
+        };
+        final EstimationMethod[] methods = EstimationMethod.values();
+        for (int i = 0; i < methods.length; i++) {
+            builder.add(Arguments.of(x1, p, methods[i], e1[i], 1e-14));
+            builder.add(Arguments.of(x2, p, methods[i], e2[i], 1e-14));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Test the quantile using a sort of the data as the reference result. The data
+     * is generated with different proportions of repeated values.
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testQuantileVsSort(int n, int range) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (int repeat = 0; repeat < 5; repeat++) {
+            final double[] values = rng.ints(n, 0, range).asDoubleStream().toArray();
+            final double[] x = values.clone();
+            Arrays.sort(x);
+            for (final EstimationMethod m : EstimationMethod.values()) {
+                final double[] expected = Arrays.stream(PROBABILITIES).map(p -> quantile(x, p, m)).toArray();
+                final Quantile q = Quantile.withDefaults().with(m);
+                Assertions.assertArrayEquals(expected, q.evaluate(values, PROBABILITIES), m::toString);
+                // In-place
+                final double[] y = values.clone();
+                Assertions.assertArrayEquals(expected, q.withCopy(false).evaluate(y, PROBABILITIES), m::toString);
+                // The data is partially sorted around each quantile
+                for (int i = 0; i < PROBABILITIES.length; i++) {
+                    final double pos = m.position(PROBABILITIES[i], n);
+                    final int k = (int) pos;
+                    Assertions.assertEquals(x[k], y[k]);
+                }
+                for (int i = 0; i < PROBABILITIES.length; i++) {
+                    Assertions.assertEquals(expected[i], q.evaluate(values, PROBABILITIES[i]), m::toString);
+                }
+            }
+        }
+    }
+
+    static Stream<Arguments> testQuantileVsSort() {
+        return Stream.of(
+            Arguments.of(1, 10),
+            Arguments.of(2, 10),
+            Arguments.of(5, 10),
+            Arguments.of(19, 1000),
+            Arguments.of(50, 3),
+            Arguments.of(50, 1000),
+            Arguments.of(500, 2),
+            Arguments.of(500, 50),
+            Arguments.of(5000, 1 << 30)
+        );
+    }
+
+    /**
+     * Compute the quantile from the sorted data using the Hyndman and Fan definition.
+     *
+     * @param x Sorted values.
+     * @param p Probability.
+     * @param m Estimation method.
+     * @return the quantile
+     */
+    private static double quantile(double[] x, double p, EstimationMethod m) {
+        final int n = x.length;
+        final double np = n * p;
+        final double h;
+        switch (m) {
+        case HF1:
+            h = Math.ceil(np);
+            break;
+        case HF2:
+            h = np == Math.floor(np) ? np + 0.5 : Math.ceil(np);
+            break;
+        case HF3:
+            final double j = Math.floor(np - 0.5);
+            h = np - 0.5 == j && ((long) j) % 2 == 0 ? j : j + 1;
+            break;
+        case HF4:
+            h = np;
+            break;
+        case HF5:
+            h = np + 0.5;
+            break;
+        case HF6:
+            h = (n + 1) * p;
+            break;
+        case HF7:
+            h = (n - 1) * p + 1;
+            break;
+        case HF8:
+            h = (n + 1.0 / 3) * p + 1.0 / 3;
+            break;
+        case HF9:
+            h = (n + 0.25) * p + 0.375;
+            break;
+        default:
+            throw new IllegalStateException("Unknown method: " + m);
+        }
+        // 1-based order statistic
+        final double pos = Math.min(Math.max(h, 1), n);
+        final int k = (int) pos;
+        if (k == n) {
+            return x[n - 1];
+        }
+        return Statistics.interpolate(x[k - 1], x[k], pos - k);
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final double[] x = {inf, -inf, 1, inf, -inf};
+        final Quantile q = Quantile.withDefaults().with(EstimationMethod.HF7);
+        Assertions.assertArrayEquals(new double[] {-inf, -inf, 1, inf, inf},
+            q.evaluate(x, 0, 0.125, 0.5, 0.875, 1));
+        // Interpolation between infinite bounds
+        Assertions.assertEquals(-inf, q.evaluate(x, 0.2));
+        Assertions.assertEquals(inf, q.evaluate(x, 0.8));
+    }
+}
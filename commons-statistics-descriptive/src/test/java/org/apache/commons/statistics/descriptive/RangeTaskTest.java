@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link RangeTask}.
+ */
+class RangeTaskTest {
+    /** Pool used for testing. */
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setup() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void teardown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Test the ranges are evaluated and combined in order.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        // Sequential
+        "0, 0, 10",
+        "0, 19, 10",
+        "3, 19, 10",
+        // Parallel
+        "0, 20, 10",
+        "0, 1000, 10",
+        "7, 1003, 10",
+        "0, 1000, 1",
+        "13, 100000, 7",
+    })
+    void testEvaluate(int from, int to, int threshold) {
+        final int[] values = IntStream.range(0, to).toArray();
+        final List<int[]> ranges = RangeTask.evaluate(pool, (x, a, b) -> {
+            final List<int[]> list = new ArrayList<>();
+            list.add(new int[] {a, b});
+            return list;
+        }, (a, b) -> {
+            a.addAll(b);
+            return a;
+        }, values, from, to, threshold);
+        // Contiguous ranges covering [from, to)
+        int start = from;
+        for (final int[] r : ranges) {
+            Assertions.assertEquals(start, r[0]);
+            Assertions.assertTrue(r[1] >= r[0]);
+            start = r[1];
+        }
+        Assertions.assertEquals(to, start);
+        final int n = to - from;
+        if (n < 2 * threshold) {
+            Assertions.assertEquals(1, ranges.size());
+        } else {
+            Assertions.assertTrue(ranges.size() > 1);
+            for (final int[] r : ranges) {
+                Assertions.assertTrue(r[1] - r[0] >= threshold / 2,
+                    () -> ranges.stream().map(x -> x[0] + "-" + x[1]).collect(Collectors.joining(", ")));
+            }
+        }
+        // Result is the same as a sequential computation
+        final long expected = IntStream.range(from, to).asLongStream().sum();
+        final long actual = RangeTask.evaluate(pool, (x, a, b) -> {
+            long s = 0;
+            for (int i = a; i < b; i++) {
+                s += x[i];
+            }
+            return s;
+        }, Long::sum, values, from, to, threshold);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 1000", "0, 1000000"})
+    void testEvaluateSingleThread(int from, int to) {
+        final ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            final int[] values = new int[to];
+            final int[] count = {0};
+            RangeTask.evaluate(single, (x, a, b) -> ++count[0], Integer::sum, values, from, to, 10);
+            Assertions.assertEquals(1, count[0]);
+        } finally {
+            single.shutdown();
+        }
+    }
+}
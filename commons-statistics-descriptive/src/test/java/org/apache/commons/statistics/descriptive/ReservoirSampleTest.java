@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ReservoirSample}.
+ */
+final class ReservoirSampleTest {
+    /** Number of repeats for the test of sample frequencies. */
+    private static final int REPEATS = 20000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidK(int k) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReservoirSample.create(k, rng));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReservoirSample.of(k, rng, 1, 2, 3));
+    }
+
+    @Test
+    void testEmpty() {
+        final ReservoirSample s = ReservoirSample.create(3, TestHelper.createRNG());
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(3, s.getK());
+        Assertions.assertArrayEquals(new double[0], s.getSample());
+        Assertions.assertArrayEquals(new double[0], ReservoirSample.of(3, TestHelper.createRNG()).getSample());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final ReservoirSample s = ReservoirSample.of(3, rng, rng.doubles(50).toArray());
+        s.reset();
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(3, s.getK());
+        Assertions.assertArrayEquals(new double[0], s.getSample());
+        // Values are retained until the sample is full
+        s.accept(-1);
+        s.accept(-2);
+        Assertions.assertEquals(2, s.getCount());
+        Assertions.assertArrayEquals(new double[] {-1, -2}, s.getSample());
+        for (int i = 3; i <= 100; i++) {
+            s.accept(-i);
+        }
+        Assertions.assertEquals(100, s.getCount());
+        Assertions.assertEquals(3, s.getSample().length);
+        Assertions.assertTrue(Arrays.stream(s.getSample()).allMatch(x -> x <= -1 && x >= -100));
+    }
+
+    @Test
+    void testOfRange() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = {1, 2, 3, 4, 5, 6};
+        final ReservoirSample s = ReservoirSample.of(10, rng, values, 1, 4);
+        Assertions.assertEquals(3, s.getCount());
+        Assertions.assertArrayEquals(new double[] {2, 3, 4}, s.getSample());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ReservoirSample.of(2, rng, values, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ReservoirSample.of(2, rng, values, 0, 7));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 10})
+    void testFewerThanK(int n) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = rng.doubles(n).toArray();
+        final ReservoirSample s = ReservoirSample.create(10, rng);
+        Arrays.stream(values).forEach(s);
+        Assertions.assertEquals(n, s.getCount());
+        Assertions.assertArrayEquals(values, s.getSample());
+        Assertions.assertArrayEquals(values, ReservoirSample.of(10, rng, values).getSample());
+    }
+
+    @Test
+    void testCombineIncompatible() {
+        final ReservoirSample s1 = ReservoirSample.create(3, TestHelper.createRNG());
+        final ReservoirSample s2 = ReservoirSample.create(4, TestHelper.createRNG());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s1.combine(s2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s2.combine(s1));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1", "5, 5", "20, 5", "100, 3",
+    })
+    void testCombineSelf(int n, int k) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = IntStream.range(0, n).asDoubleStream().toArray();
+        final ReservoirSample s = ReservoirSample.of(k, rng, values);
+        s.combine(s);
+        Assertions.assertEquals(2L * n, s.getCount());
+        final double[] sample = s.getSample();
+        Assertions.assertEquals(Math.min(k, 2 * n), sample.length);
+        Arrays.stream(sample).forEach(x -> Assertions.assertTrue(x >= 0 && x < n));
+    }
+
+    @Test
+    void testLargeStream() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int k = 100;
+        final int n = 1000000;
+        final ReservoirSample s = ReservoirSample.create(k, rng);
+        for (int i = 0; i < n; i++) {
+            s.accept(i);
+        }
+        Assertions.assertEquals(n, s.getCount());
+        final double[] sample = s.getSample();
+        Assertions.assertEquals(k, sample.length);
+        Assertions.assertEquals(k, Arrays.stream(sample).distinct().count());
+        // The mean of the sample is approximately n/2:
+        // standard deviation is sqrt(n^2 / 12 / k) ~ n / 35
+        final double mean = Arrays.stream(sample).average().getAsDouble();
+        Assertions.assertEquals(n / 2.0, mean, n / 5.0);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1", "1, 10", "5, 20", "3, 50",
+    })
+    void testAccept(int k, int n) {
+        assertUniform(k, n, (rng, values) -> {
+            final ReservoirSample s = ReservoirSample.create(k, rng);
+            Arrays.stream(values).forEach(s);
+            return s;
+        });
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1", "1, 10", "5, 20", "3, 50",
+    })
+    void testOf(int k, int n) {
+        assertUniform(k, n, (rng, values) -> ReservoirSample.of(k, rng, values));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 10, 3", "5, 20, 0", "5, 20, 3", "5, 20, 10", "5, 20, 17", "5, 20, 20", "4, 6, 3",
+    })
+    void testCombine(int k, int n, int split) {
+        assertUniform(k, n, (rng, values) ->
+            ReservoirSample.of(k, rng, values, 0, split).combine(
+                ReservoirSample.of(k, TestHelper.createRNG(), values, split, n)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "5, 30, 10, 20", "5, 30, 3, 6", "5, 30, 2, 30",
+    })
+    void testCombineThenAccept(int k, int n, int split, int end) {
+        // Combine [0, split) and [split, end) then accept [end, n)
+        assertUniform(k, n, (rng, values) -> {
+            final ReservoirSample s = ReservoirSample.of(k, rng, values, 0, split).combine(
+                ReservoirSample.of(k, TestHelper.createRNG(), values, split, end));
+            Arrays.stream(values, end, n).forEach(s);
+            return s;
+        });
+    }
+
+    /**
+     * Assert the sample of the values {@code [0, n)} is uniform. The frequency of
+     * each value in the sample should be {@code k/n}.
+     *
+     * @param k Number of values to sample.
+     * @param n Number of values.
+     * @param sampler Function to create the sample from the source of randomness and the values.
+     */
+    private static void assertUniform(int k, int n,
+            BiFunction<UniformRandomProvider, double[], ReservoirSample> sampler) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = IntStream.range(0, n).asDoubleStream().toArray();
+        final long[] counts = new long[n];
+        final int size = Math.min(k, n);
+        for (int i = 0; i < REPEATS; i++) {
+            final ReservoirSample s = sampler.apply(rng, values);
+            Assertions.assertEquals(n, s.getCount());
+            final double[] sample = s.getSample();
+            Assertions.assertEquals(size, sample.length);
+            Arrays.sort(sample);
+            for (int j = 0; j < sample.length; j++) {
+                final int x = (int) sample[j];
+                Assertions.assertEquals(x, sample[j], "Not a sample value");
+                Assertions.assertTrue(j == 0 || sample[j - 1] < x, "Repeated value");
+                counts[x]++;
+            }
+        }
+        // Binomial distribution: allow a large deviation to avoid random failures
+        final double p = (double) size / n;
+        final double expected = REPEATS * p;
+        final double delta = 6 * Math.sqrt(expected * (1 - p)) + 1;
+        for (int i = 0; i < n; i++) {
+            final int x = i;
+            Assertions.assertEquals(expected, counts[i], delta, () -> "Frequency of " + x);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.statistics.descriptive.Quantile.EstimationMethod;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link RobustStatistics}.
+ */
+final class RobustStatisticsTest {
+    /** All the statistics. */
+    private static final RobustStatistic[] ALL = RobustStatistic.values();
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 0.5, 1, Double.NaN})
+    void testInvalidTrim(double v) {
+        final RobustStatistics r = RobustStatistics.withDefaults();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> r.withTrim(v));
+    }
+
+    @Test
+    void testNullArguments() {
+        final RobustStatistics r = RobustStatistics.withDefaults();
+        final double[] x = {1, 2, 3};
+        Assertions.assertThrows(NullPointerException.class, () -> r.with(null));
+        Assertions.assertThrows(NullPointerException.class, () -> r.evaluate(x, (RobustStatistic) null));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> r.evaluate(x, RobustStatistic.MEDIAN, null));
+    }
+
+    @Test
+    void testEmpty() {
+        final double[] r = RobustStatistics.withDefaults().evaluate(new double[0], ALL);
+        Assertions.assertEquals(ALL.length, r.length);
+        Arrays.stream(r).forEach(v -> Assertions.assertEquals(Double.NaN, v));
+        Assertions.assertArrayEquals(new double[0], RobustStatistics.withDefaults().evaluate(new double[] {1}));
+    }
+
+    @Test
+    void testNaN() {
+        final double[] x = {1, 2, Double.NaN, 4};
+        final double[] y = x.clone();
+        final double[] r = RobustStatistics.withDefaults().withCopy(false).evaluate(x, ALL);
+        Arrays.stream(r).forEach(v -> Assertions.assertEquals(Double.NaN, v));
+        Assertions.assertArrayEquals(y, x, "Data with NaN should not be modified");
+    }
+
+    @Test
+    void testKnownValues() {
+        final double[] x = {2, 8, 3, 100, 5, 4, 7, 6, 1, -50};
+        final RobustStatistics r = RobustStatistics.withDefaults().withTrim(0.2);
+        // Sorted: -50, 1, 2, 3, 4, 5, 6, 7, 8, 100
+        Assertions.assertEquals(4.5, r.evaluate(x, RobustStatistic.MEDIAN));
+        // 2, 3, 4, 5, 6, 7
+        Assertions.assertEquals(4.5, r.evaluate(x, RobustStatistic.TRIMMED_MEAN));
+        // 2, 2, 2, 3, 4, 5, 6, 7, 7, 7
+        Assertions.assertEquals(4.5, r.evaluate(x, RobustStatistic.WINSORIZED_MEAN));
+        // Deviations: 54.5, 3.5, 2.5, 1.5, 0.5, 0.5, 1.5, 2.5, 3.5, 95.5
+        Assertions.assertEquals(2.5, r.evaluate(x, RobustStatistic.MEDIAN_ABSOLUTE_DEVIATION));
+        // HF7: positions 3.25 and 7.75 (1-based)
+        Assertions.assertEquals(6.75 - 2.25,
+            r.with(EstimationMethod.HF7).evaluate(x, RobustStatistic.INTERQUARTILE_RANGE));
+        // Unbalanced data
+        final double[] y = {1, 1, 1, 2, 10, 20};
+        Assertions.assertEquals(1.5, r.evaluate(y, RobustStatistic.MEDIAN));
+        Assertions.assertEquals(3.5, r.evaluate(y, RobustStatistic.TRIMMED_MEAN));
+        Assertions.assertEquals((1 + 1 + 1 + 2 + 10 + 10) / 6.0, r.evaluate(y, RobustStatistic.WINSORIZED_MEAN));
+        Assertions.assertEquals(0.5, r.evaluate(y, RobustStatistic.MEDIAN_ABSOLUTE_DEVIATION));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testNonFinite(double[] values, double[] expected) {
+        final double[] r = RobustStatistics.withDefaults().withTrim(0.25)
+            .with(EstimationMethod.HF7).evaluate(values, ALL);
+        Assertions.assertArrayEquals(expected, r);
+    }
+
+    static Stream<Arguments> testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final double nan = Double.NaN;
+        return Stream.of(
+            // median, trimmed, winsorized, mad, iqr
+            Arguments.of(new double[] {-inf, 1, 2, 3, inf}, new double[] {2, 2, 2, 1, 2}),
+            Arguments.of(new double[] {-inf, 1, 2, 3, 4, inf}, new double[] {2.5, 2.5, 2.5, 1.5, 2.5}),
+            Arguments.of(new double[] {1, 2, inf, inf, inf}, new double[] {inf, inf, inf, nan, inf}),
+            Arguments.of(new double[] {-inf, -inf, inf, inf}, new double[] {nan, nan, nan, nan, inf}),
+            Arguments.of(new double[] {inf, inf}, new double[] {inf, inf, inf, nan, nan})
+        );
+    }
+
+    @Test
+    void testVsSort() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 3, 4, 5, 10, 11, 50, 51, 1000, 1001, 10000}) {
+            for (final int range : new int[] {3, 100, 1 << 30}) {
+                final double[] values = rng.ints(n, 0, range).asDoubleStream().toArray();
+                for (final double trim : new double[] {0, 0.05, 0.1, 0.25, 0.49}) {
+                    for (final EstimationMethod method : EstimationMethod.values()) {
+                        assertStatistics(values, trim, method);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRandomData() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {20, 101, 5000}) {
+            final double[] values = rng.doubles(n, -10, 10).toArray();
+            assertStatistics(values, 0.2, EstimationMethod.HF8);
+        }
+    }
+
+    /**
+     * Assert the statistics of the values match the reference computed using a full sort.
+     *
+     * @param values Values.
+     * @param trim Trim fraction.
+     * @param method Estimation method for the quartiles.
+     */
+    private static void assertStatistics(double[] values, double trim, EstimationMethod method) {
+        final int n = values.length;
+        final double[] x = values.clone();
+        Arrays.sort(x);
+        final double median = median(x);
+        final int g = (int) (n * trim);
+        final double trimmed = Mean.of(x, g, n - g).getAsDouble();
+        final double[] w = x.clone();
+        Arrays.fill(w, 0, g, x[g]);
+        Arrays.fill(w, n - g, n, x[n - g - 1]);
+        final double winsorized = Mean.of(w).getAsDouble();
+        final double mad = median(Arrays.stream(x).map(v -> Math.abs(v - median)).sorted().toArray());
+        final double iqr = Quantile.withDefaults().with(method).evaluate(x, 0.75) -
+                           Quantile.withDefaults().with(method).evaluate(x, 0.25);
+        final String msg = "n=" + n + ", trim=" + trim + ", method=" + method;
+
+        final RobustStatistics r = RobustStatistics.withDefaults().withTrim(trim).with(method);
+        final double[] y = values.clone();
+        Assertions.assertEquals(median, r.evaluate(y, RobustStatistic.MEDIAN), msg);
+        Assertions.assertEquals(trimmed, r.evaluate(y, RobustStatistic.TRIMMED_MEAN), 1e-10 * Math.abs(trimmed), msg);
+        Assertions.assertEquals(winsorized, r.evaluate(y, RobustStatistic.WINSORIZED_MEAN),
+            1e-10 * Math.abs(winsorized), msg);
+        Assertions.assertEquals(mad, r.evaluate(y, RobustStatistic.MEDIAN_ABSOLUTE_DEVIATION), msg);
+        Assertions.assertEquals(iqr, r.evaluate(y, RobustStatistic.INTERQUARTILE_RANGE), msg);
+        Assertions.assertArrayEquals(values, y, "Data should be copied");
+
+        // Shared computation of all statistics (in any order)
+        final RobustStatistic[] stats = {
+            RobustStatistic.INTERQUARTILE_RANGE, RobustStatistic.MEDIAN_ABSOLUTE_DEVIATION,
+            RobustStatistic.WINSORIZED_MEAN, RobustStatistic.MEDIAN, RobustStatistic.TRIMMED_MEAN,
+            RobustStatistic.MEDIAN,
+        };
+        final double[] expected = {iqr, mad, winsorized, median, trimmed, median};
+        final double[] all = r.evaluate(y, stats);
+        Assertions.assertArrayEquals(expected, all, 1e-10 * Math.max(1, Math.abs(trimmed)), msg);
+        Assertions.assertArrayEquals(values, y, "Data should be copied");
+        Assertions.assertArrayEquals(all, r.withCopy(false).evaluate(y, stats), msg);
+        // In-place data is reordered
+        Arrays.sort(y);
+        Assertions.assertArrayEquals(x, y, "In-place data values should not change");
+    }
+
+    /**
+     * Compute the median of the sorted values.
+     *
+     * @param x Sorted values.
+     * @return the median
+     */
+    private static double median(double[] x) {
+        final int k = x.length >>> 1;
+        return (x.length & 0x1) == 1 ? x[k] : (x[k - 1] + x[k]) / 2;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link Selection}.
+ */
+final class SelectionTest {
+
+    @ParameterizedTest
+    @MethodSource
+    void testSelect(String name, IntFunction<double[]> data) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {1, 2, 5, 19, 20, 21, 39, 40, 41, 100, 1000, 5000}) {
+            final double[] values = data.apply(n);
+            final double[] x = values.clone();
+            Arrays.sort(x);
+            // Single index
+            for (final int k : new int[] {0, n >> 2, n >> 1, n - 1}) {
+                final double[] a = values.clone();
+                Selection.select(a, k);
+                assertPartitioned(x, a, k);
+            }
+            // Multiple indices, including duplicates
+            final int[] k = rng.ints(1 + rng.nextInt(10), 0, n).sorted().toArray();
+            final double[] a = values.clone();
+            Selection.select(a, k);
+            for (final int i : k) {
+                assertPartitioned(x, a, i);
+            }
+        }
+    }
+
+    static Stream<Arguments> testSelect() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        return Stream.of(
+            Arguments.of("random", (IntFunction<double[]>) n -> rng.doubles(n).toArray()),
+            Arguments.of("repeated", (IntFunction<double[]>) n -> rng.ints(n, 0, 5).asDoubleStream().toArray()),
+            Arguments.of("constant", (IntFunction<double[]>) n -> new double[n]),
+            Arguments.of("ascending", (IntFunction<double[]>) n -> rng.doubles(n).sorted().toArray()),
+            Arguments.of("descending", (IntFunction<double[]>) n -> {
+                final double[] a = rng.doubles(n).sorted().toArray();
+                for (int i = 0, j = n - 1; i < j; i++, j--) {
+                    final double v = a[i];
+                    a[i] = a[j];
+                    a[j] = v;
+                }
+                return a;
+            }),
+            Arguments.of("organ pipe", (IntFunction<double[]>) n -> {
+                final double[] a = new double[n];
+                for (int i = 0; i < n; i++) {
+                    a[i] = Math.min(i, n - i);
+                }
+                return a;
+            })
+        );
+    }
+
+    /**
+     * Assert the data is partitioned around index {@code k}.
+     *
+     * @param sorted Sorted data.
+     * @param a Partitioned data.
+     * @param k Index.
+     */
+    private static void assertPartitioned(double[] sorted, double[] a, int k) {
+        final double v = a[k];
+        Assertions.assertEquals(sorted[k], v, () -> "k=" + k);
+        for (int i = 0; i < k; i++) {
+            if (a[i] > v) {
+                Assertions.fail("Value above k=" + k + " at " + i);
+            }
+        }
+        for (int i = k + 1; i < a.length; i++) {
+            if (a[i] < v) {
+                Assertions.fail("Value below k=" + k + " at " + i);
+            }
+        }
+    }
+}
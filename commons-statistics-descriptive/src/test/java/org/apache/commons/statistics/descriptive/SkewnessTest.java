@@ -42,6 +42,16 @@ final class SkewnessTest extends BaseDoubleStatisticTest<Skewness> {
         return Skewness.of(values);
     }
 
+    @Override
+    protected Skewness create(double[] values, int from, int to) {
+        return Skewness.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(Skewness statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
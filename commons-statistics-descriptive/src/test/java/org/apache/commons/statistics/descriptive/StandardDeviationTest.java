@@ -43,6 +43,16 @@ final class StandardDeviationTest extends BaseDoubleStatisticTest<StandardDeviat
         return StandardDeviation.of(values);
     }
 
+    @Override
+    protected StandardDeviation create(double[] values, int from, int to) {
+        return StandardDeviation.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(StandardDeviation statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
@@ -0,0 +1,388 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link StatisticCollectors}.
+ */
+final class StatisticCollectorsTest {
+    /** Number of values for the test data. */
+    private static final int N = 1000;
+    /** Relative tolerance for statistics computed in a different order. */
+    private static final double RELATIVE_EPS = 1e-10;
+
+    /**
+     * Element wrapping values to be extracted by the collectors.
+     */
+    private static final class Item {
+        /** Double value. */
+        private final double d;
+        /** Int value. */
+        private final int i;
+        /** Long value. */
+        private final long l;
+
+        /**
+         * @param d Double value.
+         * @param i Int value.
+         * @param l Long value.
+         */
+        Item(double d, int i, long l) {
+            this.d = d;
+            this.i = i;
+            this.l = l;
+        }
+
+        double getDouble() {
+            return d;
+        }
+
+        int getInt() {
+            return i;
+        }
+
+        long getLong() {
+            return l;
+        }
+    }
+
+    /**
+     * Create the test data.
+     *
+     * @return the items
+     */
+    private static Item[] createItems() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        return Stream.generate(() -> new Item(rng.nextDouble(0.5, 2), rng.nextInt(-100, 100), rng.nextLong()))
+            .limit(N).toArray(Item[]::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testDoubleCollector(Function<ToDoubleFunction<Item>, Collector<Item, ?, ? extends DoubleStatistic>> factory,
+                             Function<double[], DoubleStatistic> reference) {
+        final Item[] items = createItems();
+        final double[] values = Arrays.stream(items).mapToDouble(Item::getDouble).toArray();
+        final double expected = reference.apply(values).getAsDouble();
+        final Collector<Item, ?, ? extends DoubleStatistic> collector = factory.apply(Item::getDouble);
+        assertCharacteristics(collector, true, false);
+        assertCollect(expected, Arrays.stream(items), collector);
+        assertCollect(expected, Arrays.stream(items).parallel(), collector);
+    }
+
+    static Stream<Arguments> testDoubleCollector() {
+        return Stream.of(
+            Arguments.of(f(StatisticCollectors::min), r(Min::of)),
+            Arguments.of(f(StatisticCollectors::max), r(Max::of)),
+            Arguments.of(f(StatisticCollectors::mean), r(Mean::of)),
+            Arguments.of(f(StatisticCollectors::standardDeviation), r(StandardDeviation::of)),
+            Arguments.of(f(StatisticCollectors::variance), r(Variance::of)),
+            Arguments.of(f(StatisticCollectors::skewness), r(Skewness::of)),
+            Arguments.of(f(StatisticCollectors::kurtosis), r(Kurtosis::of)),
+            Arguments.of(f(StatisticCollectors::product), r(Product::of)),
+            Arguments.of(f(StatisticCollectors::sum), r(Sum::of)),
+            Arguments.of(f(StatisticCollectors::sumOfLogs), r(SumOfLogs::of)),
+            Arguments.of(f(StatisticCollectors::sumOfSquares), r(SumOfSquares::of)),
+            Arguments.of(f(StatisticCollectors::geometricMean), r(GeometricMean::of))
+        );
+    }
+
+    /**
+     * Helper to type the collector factory.
+     *
+     * @param f Factory.
+     * @return the factory
+     */
+    private static Function<ToDoubleFunction<Item>, Collector<Item, ?, ? extends DoubleStatistic>> f(
+            Function<ToDoubleFunction<Item>, Collector<Item, ?, ? extends DoubleStatistic>> f) {
+        return f;
+    }
+
+    /**
+     * Helper to type the reference statistic.
+     *
+     * @param r Reference.
+     * @return the reference
+     */
+    private static Function<double[], DoubleStatistic> r(Function<double[], DoubleStatistic> r) {
+        return r;
+    }
+
+    @Test
+    void testIntCollectors() {
+        final Item[] items = createItems();
+        final int[] values = Arrays.stream(items).mapToInt(Item::getInt).toArray();
+        assertIntCollector(items, StatisticCollectors.intMin(Item::getInt), IntMin.of(values));
+        assertIntCollector(items, StatisticCollectors.intMax(Item::getInt), IntMax.of(values));
+        assertIntCollector(items, StatisticCollectors.intMean(Item::getInt), IntMean.of(values));
+        assertIntCollector(items, StatisticCollectors.intStandardDeviation(Item::getInt),
+            IntStandardDeviation.of(values));
+        assertIntCollector(items, StatisticCollectors.intVariance(Item::getInt), IntVariance.of(values));
+        assertIntCollector(items, StatisticCollectors.intSum(Item::getInt), IntSum.of(values));
+        assertIntCollector(items, StatisticCollectors.intSumOfSquares(Item::getInt), IntSumOfSquares.of(values));
+    }
+
+    @Test
+    void testLongCollectors() {
+        final Item[] items = createItems();
+        final long[] values = Arrays.stream(items).mapToLong(Item::getLong).toArray();
+        assertLongCollector(items, StatisticCollectors.longMin(Item::getLong), LongMin.of(values));
+        assertLongCollector(items, StatisticCollectors.longMax(Item::getLong), LongMax.of(values));
+        assertLongCollector(items, StatisticCollectors.longMean(Item::getLong), LongMean.of(values));
+        assertLongCollector(items, StatisticCollectors.longStandardDeviation(Item::getLong),
+            LongStandardDeviation.of(values));
+        assertLongCollector(items, StatisticCollectors.longVariance(Item::getLong), LongVariance.of(values));
+        assertLongCollector(items, StatisticCollectors.longSum(Item::getLong), LongSum.of(values));
+        assertLongCollector(items, StatisticCollectors.longSumOfSquares(Item::getLong), LongSumOfSquares.of(values));
+        assertLongCollector(items, StatisticCollectors.distinctCount(Item::getLong), DistinctCount.of(values));
+    }
+
+    private static <S extends IntStatistic> void assertIntCollector(Item[] items, Collector<Item, S, S> collector,
+            StatisticResult expected) {
+        assertCharacteristics(collector, true, false);
+        assertCollect(expected.getAsDouble(), Arrays.stream(items), collector);
+        assertCollect(expected.getAsDouble(), Arrays.stream(items).parallel(), collector);
+    }
+
+    private static <S extends LongStatistic> void assertLongCollector(Item[] items, Collector<Item, S, S> collector,
+            StatisticResult expected) {
+        assertCharacteristics(collector, true, false);
+        assertCollect(expected.getAsDouble(), Arrays.stream(items), collector);
+        assertCollect(expected.getAsDouble(), Arrays.stream(items).parallel(), collector);
+    }
+
+    @Test
+    void testGenericCollectorIsOrdered() {
+        final Collector<Item, Mean, Mean> c = StatisticCollectors.doubleStatistic(Mean::create, Item::getDouble);
+        assertCharacteristics(c, false, false);
+        assertCharacteristics(StatisticCollectors.intStatistic(IntMean::create, Item::getInt), false, false);
+        assertCharacteristics(StatisticCollectors.longStatistic(LongMean::create, Item::getLong), false, false);
+        final Item[] items = createItems();
+        final double[] values = Arrays.stream(items).mapToDouble(Item::getDouble).toArray();
+        assertCollect(Mean.of(values).getAsDouble(), Arrays.stream(items).parallel(), c);
+        final int[] i = Arrays.stream(items).mapToInt(Item::getInt).toArray();
+        final long[] l = Arrays.stream(items).mapToLong(Item::getLong).toArray();
+        assertCollect(IntMean.of(i).getAsDouble(), Arrays.stream(items).parallel(),
+            StatisticCollectors.intStatistic(IntMean::create, Item::getInt));
+        assertCollect(LongMean.of(l).getAsDouble(), Arrays.stream(items).parallel(),
+            StatisticCollectors.longStatistic(LongMean::create, Item::getLong));
+    }
+
+    @Test
+    void testQuantileSketch() {
+        final Item[] items = createItems();
+        final double[] values = Arrays.stream(items).mapToDouble(Item::getDouble).toArray();
+        final Collector<Item, QuantileSketch, QuantileSketch> c = StatisticCollectors.quantileSketch(Item::getDouble);
+        assertCharacteristics(c, true, false);
+        final double median = Median.withDefaults().evaluate(values);
+        Assertions.assertEquals(median, Arrays.stream(items).collect(c).getAsDouble(), 0.05);
+        Assertions.assertEquals(median, Arrays.stream(items).parallel().collect(c).getAsDouble(), 0.05);
+    }
+
+    @Test
+    void testExponentialCollectors() {
+        final Item[] items = createItems();
+        final double[] values = Arrays.stream(items).mapToDouble(Item::getDouble).toArray();
+        final double alpha = 0.01;
+        final ExponentialMean mean = ExponentialMean.create(alpha);
+        final ExponentialVariance var = ExponentialVariance.create(alpha);
+        Arrays.stream(values).forEach(x -> {
+            mean.accept(x);
+            var.accept(x);
+        });
+        final Collector<Item, ExponentialMean, ExponentialMean> c1 =
+            StatisticCollectors.exponentialMean(alpha, Item::getDouble);
+        final Collector<Item, ExponentialVariance, ExponentialVariance> c2 =
+            StatisticCollectors.exponentialVariance(alpha, Item::getDouble);
+        assertCharacteristics(c1, false, false);
+        assertCharacteristics(c2, false, false);
+        assertCollect(mean.getAsDouble(), Arrays.stream(items), c1);
+        assertCollect(mean.getAsDouble(), Arrays.stream(items).parallel(), c1);
+        assertCollect(var.getAsDouble(), Arrays.stream(items), c2);
+        assertCollect(var.getAsDouble(), Arrays.stream(items).parallel(), c2);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> StatisticCollectors.exponentialMean(0, Item::getDouble));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> StatisticCollectors.exponentialVariance(0, Item::getDouble));
+    }
+
+    @Test
+    void testLogLinearHistogram() {
+        final Item[] items = createItems();
+        final double[] values = Arrays.stream(items).mapToDouble(Item::getDouble).toArray();
+        final LogLinearHistogram expected = LogLinearHistogram.of(values);
+        final Collector<Item, LogLinearHistogram, LogLinearHistogram> c =
+            StatisticCollectors.logLinearHistogram(Item::getDouble);
+        assertCharacteristics(c, true, true);
+        for (final LogLinearHistogram h : new LogLinearHistogram[] {
+            Arrays.stream(items).collect(c),
+            Arrays.stream(items).parallel().collect(c),
+            Arrays.stream(items).parallel().collect(
+                StatisticCollectors.logLinearHistogram(() -> LogLinearHistogram.create(), Item::getDouble)),
+        }) {
+            Assertions.assertEquals(N, h.getN());
+            Assertions.assertArrayEquals(expected.getQuantiles(0, 0.25, 0.5, 0.75, 1),
+                h.getQuantiles(0, 0.25, 0.5, 0.75, 1));
+        }
+    }
+
+    @Test
+    void testCovarianceAndCorrelation() {
+        final Item[] items = createItems();
+        final double[] x = Arrays.stream(items).mapToDouble(Item::getDouble).toArray();
+        final double[] y = Arrays.stream(items).mapToDouble(Item::getInt).toArray();
+        final Collector<Item, Covariance, Covariance> c1 =
+            StatisticCollectors.covariance(Item::getDouble, Item::getInt);
+        final Collector<Item, Correlation, Correlation> c2 =
+            StatisticCollectors.correlation(Item::getDouble, Item::getInt);
+        assertCharacteristics(c1, true, false);
+        assertCharacteristics(c2, true, false);
+        final double cov = Covariance.of(x, y).getAsDouble();
+        final double cor = Correlation.of(x, y).getAsDouble();
+        assertCollect(cov, Arrays.stream(items), c1);
+        assertCollect(cov, Arrays.stream(items).parallel(), c1);
+        assertCollect(cor, Arrays.stream(items), c2);
+        assertCollect(cor, Arrays.stream(items).parallel(), c2);
+        Assertions.assertThrows(NullPointerException.class, () -> StatisticCollectors.covariance(null, Item::getInt));
+        Assertions.assertThrows(NullPointerException.class, () -> StatisticCollectors.correlation(Item::getInt, null));
+    }
+
+    @Test
+    void testCompositeCollectors() {
+        final Item[] items = createItems();
+        final Statistic[] statistics = {Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE,
+            Statistic.SUM_OF_SQUARES};
+        final Set<Statistic> set = EnumSet.noneOf(Statistic.class);
+        set.addAll(Arrays.asList(statistics));
+
+        final double[] d = Arrays.stream(items).mapToDouble(Item::getDouble).toArray();
+        final DoubleStatistics ed = DoubleStatistics.of(set, d);
+        final Collector<Item, DoubleStatistics, DoubleStatistics> cd =
+            StatisticCollectors.doubleStatistics(Item::getDouble, statistics);
+        assertCharacteristics(cd, true, false);
+        for (final DoubleStatistics s : new DoubleStatistics[] {
+            Arrays.stream(items).collect(cd),
+            Arrays.stream(items).parallel().collect(cd),
+            StatisticCollectors.collect(DoubleStream.of(d), statistics),
+            StatisticCollectors.collect(DoubleStream.of(d).parallel(), statistics),
+        }) {
+            Assertions.assertEquals(N, s.getCount());
+            for (final Statistic st : statistics) {
+                assertEquals(ed.getAsDouble(st), s.getAsDouble(st), st::toString);
+            }
+        }
+
+        final int[] i = Arrays.stream(items).mapToInt(Item::getInt).toArray();
+        final IntStatistics ei = IntStatistics.of(set, i);
+        final Collector<Item, IntStatistics, IntStatistics> ci =
+            StatisticCollectors.intStatistics(Item::getInt, statistics);
+        assertCharacteristics(ci, true, false);
+        for (final IntStatistics s : new IntStatistics[] {
+            Arrays.stream(items).collect(ci),
+            Arrays.stream(items).parallel().collect(ci),
+            StatisticCollectors.collect(IntStream.of(i), statistics),
+            StatisticCollectors.collect(IntStream.of(i).parallel(), statistics),
+        }) {
+            Assertions.assertEquals(N, s.getCount());
+            for (final Statistic st : statistics) {
+                assertEquals(ei.getAsDouble(st), s.getAsDouble(st), st::toString);
+            }
+        }
+
+        final long[] l = Arrays.stream(items).mapToLong(Item::getLong).toArray();
+        final LongStatistics el = LongStatistics.of(set, l);
+        final Collector<Item, LongStatistics, LongStatistics> cl =
+            StatisticCollectors.longStatistics(Item::getLong, statistics);
+        assertCharacteristics(cl, true, false);
+        for (final LongStatistics s : new LongStatistics[] {
+            Arrays.stream(items).collect(cl),
+            Arrays.stream(items).parallel().collect(cl),
+            StatisticCollectors.collect(LongStream.of(l), statistics),
+            StatisticCollectors.collect(LongStream.of(l).parallel(), statistics),
+        }) {
+            Assertions.assertEquals(N, s.getCount());
+            for (final Statistic st : statistics) {
+                assertEquals(el.getAsDouble(st), s.getAsDouble(st), st::toString);
+            }
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> StatisticCollectors.doubleStatistics(Item::getDouble));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> StatisticCollectors.collect(IntStream.of(i)));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> StatisticCollectors.longStatistics(null, Statistic.MIN));
+    }
+
+    @Test
+    void testCollectPrimitiveStream() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] d = rng.doubles(N).toArray();
+        final int[] i = rng.ints(N).toArray();
+        final long[] l = rng.longs(N).toArray();
+        assertEquals(Variance.of(d).getAsDouble(),
+            StatisticCollectors.collect(DoubleStream.of(d).parallel(), Variance::create).getAsDouble(), null);
+        Assertions.assertEquals(IntSum.of(i).getAsLong(),
+            StatisticCollectors.collect(IntStream.of(i).parallel(), IntSum::create).getAsLong());
+        Assertions.assertEquals(LongSum.of(l).getAsBigInteger(),
+            StatisticCollectors.collect(LongStream.of(l).parallel(), LongSum::create).getAsBigInteger());
+    }
+
+    @Test
+    void testNullArguments() {
+        Assertions.assertThrows(NullPointerException.class, () -> StatisticCollectors.mean(null));
+        Assertions.assertThrows(NullPointerException.class, () -> StatisticCollectors.intSum(null));
+        Assertions.assertThrows(NullPointerException.class, () -> StatisticCollectors.longMax(null));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> StatisticCollectors.doubleStatistic(null, Item::getDouble));
+    }
+
+    private static void assertCharacteristics(Collector<?, ?, ?> collector, boolean unordered, boolean concurrent) {
+        final Set<Characteristics> ch = collector.characteristics();
+        Assertions.assertTrue(ch.contains(Characteristics.IDENTITY_FINISH), "IDENTITY_FINISH");
+        Assertions.assertEquals(unordered, ch.contains(Characteristics.UNORDERED), "UNORDERED");
+        Assertions.assertEquals(concurrent, ch.contains(Characteristics.CONCURRENT), "CONCURRENT");
+    }
+
+    private static void assertCollect(double expected, Stream<Item> stream,
+            Collector<Item, ?, ? extends StatisticResult> collector) {
+        assertEquals(expected, stream.collect(collector).getAsDouble(), null);
+    }
+
+    private static void assertEquals(double expected, double actual, Supplier<String> msg) {
+        Assertions.assertEquals(expected, actual, Math.abs(expected) * RELATIVE_EPS, msg);
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link StatisticStates}.
+ */
+final class StatisticStatesTest {
+    /** Number of values for the test data. */
+    private static final int N = 100;
+    /** Probabilities for quantile estimates. */
+    private static final double[] PROBABILITIES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    /**
+     * Encode the {@code statistic} using a {@code DataOutput}.
+     *
+     * @param statistic Statistic.
+     * @return the bytes
+     */
+    private static byte[] encode(Object statistic) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (statistic instanceof DoubleStatistics) {
+                StatisticStates.write((DoubleStatistics) statistic, out);
+            } else if (statistic instanceof IntStatistics) {
+                StatisticStates.write((IntStatistics) statistic, out);
+            } else if (statistic instanceof LongStatistics) {
+                StatisticStates.write((LongStatistics) statistic, out);
+            } else {
+                StatisticStates.write((StatisticResult) statistic, out);
+            }
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode the {@code statistic} using a {@code ByteBuffer}.
+     *
+     * @param statistic Statistic.
+     * @param buffer Buffer.
+     */
+    private static void encode(Object statistic, ByteBuffer buffer) {
+        if (statistic instanceof DoubleStatistics) {
+            StatisticStates.write((DoubleStatistics) statistic, buffer);
+        } else if (statistic instanceof IntStatistics) {
+            StatisticStates.write((IntStatistics) statistic, buffer);
+        } else if (statistic instanceof LongStatistics) {
+            StatisticStates.write((LongStatistics) statistic, buffer);
+        } else {
+            StatisticStates.write((StatisticResult) statistic, buffer);
+        }
+    }
+
+    /**
+     * Decode the statistic from the bytes using a {@code DataInput}.
+     *
+     * @param <T> Type of the statistic.
+     * @param bytes Bytes.
+     * @param type Type of the statistic.
+     * @return the statistic
+     */
+    private static <T> T decode(byte[] bytes, Class<T> type) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final T s = StatisticStates.read(in, type);
+            Assertions.assertEquals(0, in.available(), "Unread bytes");
+            return s;
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    /**
+     * Encode and decode the {@code statistic}. The statistic is encoded using a
+     * {@code DataOutput} and a {@code ByteBuffer}; the encodings must be identical.
+     *
+     * @param <T> Type of the statistic.
+     * @param statistic Statistic.
+     * @return the decoded statistic
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T statistic) {
+        final byte[] bytes = encode(statistic);
+        // Use a different byte order and offset in a direct buffer
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 10).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(3);
+        encode(statistic, buffer);
+        Assertions.assertEquals(3 + bytes.length, buffer.position(), "Buffer position after write");
+        final byte[] actual = new byte[bytes.length];
+        buffer.position(3);
+        buffer.get(actual);
+        Assertions.assertArrayEquals(bytes, actual, "Buffer encoding");
+        buffer.position(3);
+        final T s = StatisticStates.read(buffer, (Class<T>) statistic.getClass());
+        Assertions.assertEquals(3 + bytes.length, buffer.position(), "Buffer position after read");
+        Assertions.assertSame(statistic.getClass(), s.getClass());
+        // The decoded statistic must have the same encoding
+        Assertions.assertArrayEquals(bytes, encode(s), "Re-encoding");
+        return decode(bytes, (Class<T>) statistic.getClass());
+    }
+
+    /**
+     * Assert the results are exactly equal.
+     *
+     * @param expected Expected.
+     * @param actual Actual.
+     * @param msg Message.
+     */
+    private static void assertResultEquals(StatisticResult expected, StatisticResult actual, String msg) {
+        Assertions.assertEquals(expected.getAsDouble(), actual.getAsDouble(), msg);
+        if (Double.isFinite(expected.getAsDouble())) {
+            // Exact integer results
+            Assertions.assertEquals(expected.getAsBigInteger(), actual.getAsBigInteger(), msg);
+        }
+        if (expected instanceof QuantileSketch) {
+            Assertions.assertArrayEquals(((QuantileSketch) expected).getQuantiles(PROBABILITIES),
+                ((QuantileSketch) actual).getQuantiles(PROBABILITIES), msg);
+        } else if (expected instanceof LogLinearHistogram) {
+            Assertions.assertArrayEquals(((LogLinearHistogram) expected).getQuantiles(PROBABILITIES),
+                ((LogLinearHistogram) actual).getQuantiles(PROBABILITIES), msg);
+            Assertions.assertEquals(((LogLinearHistogram) expected).getN(),
+                ((LogLinearHistogram) actual).getN(), msg);
+        }
+    }
+
+    /**
+     * Assert the results are equal within a small relative tolerance. This is used after
+     * a combine operation where the round-off of a floating-point sum may differ.
+     * Non-finite results must be equal.
+     *
+     * @param expected Expected.
+     * @param actual Actual.
+     * @param msg Message.
+     */
+    private static void assertResultClose(StatisticResult expected, StatisticResult actual, String msg) {
+        final double e = expected.getAsDouble();
+        if (Double.isFinite(e)) {
+            Assertions.assertEquals(e, actual.getAsDouble(), 4 * Math.ulp(e), msg);
+        } else {
+            Assertions.assertEquals(e, actual.getAsDouble(), msg);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testRoundTrip(String name, StatisticResult a, StatisticResult b, boolean exactCombine) {
+        final StatisticResult s = roundTrip(a);
+        assertResultEquals(a, s, name);
+        // Combine
+        ((StatisticAccumulator) a).combine(b);
+        ((StatisticAccumulator) s).combine(b);
+        if (exactCombine) {
+            assertResultEquals(a, s, name + " combine");
+        } else {
+            assertResultClose(a, s, name + " combine");
+        }
+        // Combine into an empty instance
+        final StatisticResult t = roundTrip(b);
+        ((StatisticAccumulator) t).combine(s);
+        ((StatisticAccumulator) b).combine(a);
+        assertResultClose(b, t, name + " combine decoded");
+    }
+
+    static Stream<Arguments> testRoundTrip() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] x = rng.doubles(N, -10, 10).toArray();
+        final double[] y = rng.doubles(N / 2, -5, 15).toArray();
+        final double[] z = Arrays.stream(x).map(v -> v * 0.5 + rng.nextDouble()).toArray();
+        final double[] px = rng.doubles(N, 0.5, 10).toArray();
+        final double[] py = rng.doubles(N / 2, 0.5, 10).toArray();
+        final int[] ix = rng.ints(N).toArray();
+        final int[] iy = rng.ints(N / 2, -1000, 1000).toArray();
+        final long[] lx = rng.longs(N).toArray();
+        final long[] ly = rng.longs(N / 2, -1000, 1000).toArray();
+        final double[] nonFinite = {1, 2, Double.POSITIVE_INFINITY, 3};
+        final double[] big = {Double.MAX_VALUE, Double.MAX_VALUE, -1};
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of("Min", Min.of(x), Min.of(y), true));
+        builder.add(Arguments.of("Min empty", Min.create(), Min.of(y), true));
+        builder.add(Arguments.of("Max", Max.of(x), Max.of(y), true));
+        builder.add(Arguments.of("Mean", Mean.of(x), Mean.of(y), true));
+        builder.add(Arguments.of("Mean empty", Mean.create(), Mean.of(y), true));
+        builder.add(Arguments.of("Mean non-finite", Mean.of(nonFinite), Mean.of(y), true));
+        builder.add(Arguments.of("Mean overflow", Mean.of(big), Mean.of(big), true));
+        builder.add(Arguments.of("Variance", Variance.of(x), Variance.of(y), true));
+        builder.add(Arguments.of("Variance biased", Variance.of(x).setBiased(true), Variance.of(y), true));
+        builder.add(Arguments.of("StandardDeviation", StandardDeviation.of(x).setBiased(true),
+            StandardDeviation.of(y), true));
+        builder.add(Arguments.of("Skewness", Skewness.of(x), Skewness.of(y), true));
+        builder.add(Arguments.of("Skewness biased", Skewness.of(x).setBiased(true), Skewness.of(y), true));
+        builder.add(Arguments.of("Kurtosis", Kurtosis.of(x), Kurtosis.of(y), true));
+        builder.add(Arguments.of("Kurtosis biased", Kurtosis.of(x).setBiased(true), Kurtosis.of(y), true));
+        builder.add(Arguments.of("Product", Product.of(px), Product.of(py), true));
+        builder.add(Arguments.of("Sum", Sum.of(x), Sum.of(y), false));
+        builder.add(Arguments.of("Sum empty", Sum.create(), Sum.of(y), false));
+        builder.add(Arguments.of("Sum overflow", Sum.of(big), Sum.of(y), false));
+        builder.add(Arguments.of("Sum NaN", Sum.of(Double.NaN, 1), Sum.of(y), false));
+        builder.add(Arguments.of("SumOfLogs", SumOfLogs.of(px), SumOfLogs.of(py), false));
+        builder.add(Arguments.of("SumOfSquares", SumOfSquares.of(x), SumOfSquares.of(y), true));
+        builder.add(Arguments.of("GeometricMean", GeometricMean.of(px), GeometricMean.of(py), false));
+        builder.add(Arguments.of("QuantileSketch", QuantileSketch.of(x), QuantileSketch.of(y), true));
+        builder.add(Arguments.of("QuantileSketch compressed", Statistics.add(QuantileSketch.create(10), x)
+            .setQuantile(0.75), QuantileSketch.of(y), true));
+        builder.add(Arguments.of("QuantileSketch empty", QuantileSketch.create(), QuantileSketch.of(y), true));
+        builder.add(Arguments.of("LogLinearHistogram", LogLinearHistogram.of(x), LogLinearHistogram.of(y), true));
+        builder.add(Arguments.of("LogLinearHistogram configured",
+            Statistics.add(LogLinearHistogram.create(0.25, 8, 3), x),
+            Statistics.add(LogLinearHistogram.create(0.25, 8, 3), y), true));
+        builder.add(Arguments.of("DistinctCount", DistinctCount.of(x), DistinctCount.of(y), true));
+        builder.add(Arguments.of("DistinctCount precision", Statistics.add(DistinctCount.create(6), x),
+            Statistics.add(DistinctCount.create(6), y), true));
+        final ExponentialMean em = ExponentialMean.create(0.1);
+        final ExponentialVariance ev = ExponentialVariance.create(0.1).setBiased(true);
+        for (int i = 0; i < x.length; i++) {
+            em.accept(x[i], i * 0.5);
+            ev.accept(x[i], i * 0.5);
+        }
+        builder.add(Arguments.of("ExponentialMean", em, Statistics.add(ExponentialMean.create(0.1), y), true));
+        builder.add(Arguments.of("ExponentialVariance", ev,
+            Statistics.add(ExponentialVariance.create(0.1), y), true));
+        builder.add(Arguments.of("ExponentialMean untimed", Statistics.add(ExponentialMean.create(0.2), x),
+            Statistics.add(ExponentialMean.create(0.2), y), true));
+        builder.add(Arguments.of("Covariance", Covariance.of(x, z).setBiased(true),
+            Covariance.of(y, y), true));
+        builder.add(Arguments.of("Correlation", Correlation.of(x, z), Correlation.of(y, y), true));
+        builder.add(Arguments.of("IntMin", IntMin.of(ix), IntMin.of(iy), true));
+        builder.add(Arguments.of("IntMax", IntMax.of(ix), IntMax.of(iy), true));
+        builder.add(Arguments.of("IntMean", IntMean.of(ix), IntMean.of(iy), true));
+        builder.add(Arguments.of("IntVariance", IntVariance.of(ix).setBiased(true), IntVariance.of(iy), true));
+        builder.add(Arguments.of("IntStandardDeviation", IntStandardDeviation.of(ix),
+            IntStandardDeviation.of(iy), true));
+        builder.add(Arguments.of("IntSum", IntSum.of(ix), IntSum.of(iy), true));
+        builder.add(Arguments.of("IntSumOfSquares", IntSumOfSquares.of(ix), IntSumOfSquares.of(iy), true));
+        builder.add(Arguments.of("LongMin", LongMin.of(lx), LongMin.of(ly), true));
+        builder.add(Arguments.of("LongMax", LongMax.of(lx), LongMax.of(ly), true));
+        builder.add(Arguments.of("LongMean", LongMean.of(lx), LongMean.of(ly), true));
+        builder.add(Arguments.of("LongVariance", LongVariance.of(lx), LongVariance.of(ly), true));
+        builder.add(Arguments.of("LongStandardDeviation", LongStandardDeviation.of(lx).setBiased(true),
+            LongStandardDeviation.of(ly), true));
+        builder.add(Arguments.of("LongSum", LongSum.of(lx), LongSum.of(ly), true));
+        builder.add(Arguments.of("LongSumOfSquares", LongSumOfSquares.of(lx), LongSumOfSquares.of(ly), true));
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testDoubleStatistics(EnumSet<Statistic> statistics) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] x = rng.doubles(N, 0.5, 10).toArray();
+        final double[] y = rng.doubles(N / 2, 0.25, 20).toArray();
+        final StatisticsConfiguration config = StatisticsConfiguration.withDefaults()
+            .withBiased(true).withQuantile(0.3);
+        final DoubleStatistics a = DoubleStatistics.of(statistics, x).setConfiguration(config);
+        final DoubleStatistics s = roundTrip(a);
+        assertStatistics(statistics, a::getResult, s::getResult, a.getCount(), s.getCount(), true);
+        a.combine(DoubleStatistics.of(statistics, y));
+        s.combine(DoubleStatistics.of(statistics, y));
+        assertStatistics(statistics, a::getResult, s::getResult, a.getCount(), s.getCount(), false);
+    }
+
+    @ParameterizedTest
+    @MethodSource("testDoubleStatistics")
+    void testIntStatistics(EnumSet<Statistic> statistics) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int[] x = rng.ints(N, 1, 1000).toArray();
+        final int[] y = rng.ints(N / 2, 1, 2000).toArray();
+        final IntStatistics a = IntStatistics.of(statistics, x)
+            .setConfiguration(StatisticsConfiguration.withDefaults().withBiased(true));
+        final IntStatistics s = roundTrip(a);
+        assertStatistics(statistics, a::getResult, s::getResult, a.getCount(), s.getCount(), true);
+        a.combine(IntStatistics.of(statistics, y));
+        s.combine(IntStatistics.of(statistics, y));
+        assertStatistics(statistics, a::getResult, s::getResult, a.getCount(), s.getCount(), false);
+    }
+
+    @ParameterizedTest
+    @MethodSource("testDoubleStatistics")
+    void testLongStatistics(EnumSet<Statistic> statistics) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final long[] x = rng.longs(N, 1, 1L << 40).toArray();
+        final long[] y = rng.longs(N / 2, 1, 1L << 50).toArray();
+        final LongStatistics a = LongStatistics.of(statistics, x)
+            .setConfiguration(StatisticsConfiguration.withDefaults().withQuantile(0.8));
+        final LongStatistics s = roundTrip(a);
+        assertStatistics(statistics, a::getResult, s::getResult, a.getCount(), s.getCount(), true);
+        a.combine(LongStatistics.of(statistics, y));
+        s.combine(LongStatistics.of(statistics, y));
+        assertStatistics(statistics, a::getResult, s::getResult, a.getCount(), s.getCount(), false);
+    }
+
+    static Stream<EnumSet<Statistic>> testDoubleStatistics() {
+        return Stream.of(
+            EnumSet.allOf(Statistic.class),
+            EnumSet.of(Statistic.MIN),
+            EnumSet.of(Statistic.MEAN),
+            EnumSet.of(Statistic.VARIANCE, Statistic.MAX),
+            EnumSet.of(Statistic.SKEWNESS),
+            EnumSet.of(Statistic.KURTOSIS, Statistic.SUM),
+            EnumSet.of(Statistic.PRODUCT, Statistic.SUM_OF_LOGS, Statistic.SUM_OF_SQUARES),
+            EnumSet.of(Statistic.MEDIAN, Statistic.GEOMETRIC_MEAN),
+            EnumSet.of(Statistic.DISTINCT_COUNT, Statistic.MIN)
+        );
+    }
+
+    /**
+     * Functional interface to get a statistic result.
+     */
+    private interface ResultFunction {
+        /**
+         * Gets the result.
+         *
+         * @param statistic Statistic.
+         * @return the result
+         */
+        StatisticResult getResult(Statistic statistic);
+    }
+
+    /**
+     * Assert the statistics are equal.
+     *
+     * @param statistics Statistics.
+     * @param expected Expected results.
+     * @param actual Actual results.
+     * @param expectedCount Expected count.
+     * @param actualCount Actual count.
+     * @param exact Set to true if the results should be exact.
+     */
+    private static void assertStatistics(EnumSet<Statistic> statistics, ResultFunction expected,
+            ResultFunction actual, long expectedCount, long actualCount, boolean exact) {
+        Assertions.assertEquals(expectedCount, actualCount, "count");
+        for (final Statistic stat : statistics) {
+            if (exact) {
+                assertResultEquals(expected.getResult(stat), actual.getResult(stat), stat.name());
+            } else {
+                assertResultClose(expected.getResult(stat), actual.getResult(stat), stat.name());
+            }
+        }
+    }
+
+    @Test
+    void testByteBufferSequence() {
+        final Mean m = Mean.of(1, 2, 3);
+        final IntSum s = IntSum.of(4, 5, 6);
+        final ByteBuffer buffer = ByteBuffer.allocate(100);
+        StatisticStates.write(m, buffer);
+        StatisticStates.write(s, buffer);
+        buffer.flip();
+        Assertions.assertEquals(m.getAsDouble(), StatisticStates.read(buffer, Mean.class).getAsDouble());
+        Assertions.assertEquals(s.getAsInt(), StatisticStates.read(buffer, IntSum.class).getAsInt());
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testByteBufferOverflow() {
+        final Variance v = Variance.of(1, 2, 3);
+        final int length = encode(v).length;
+        final ByteBuffer buffer = ByteBuffer.allocate(length + 1);
+        buffer.position(2);
+        Assertions.assertThrows(BufferOverflowException.class, () -> StatisticStates.write(v, buffer));
+        Assertions.assertEquals(2, buffer.position());
+        buffer.position(1);
+        StatisticStates.write(v, buffer);
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testByteBufferUnderflow() {
+        final byte[] bytes = encode(Variance.of(1, 2, 3));
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+        Assertions.assertThrows(BufferUnderflowException.class, () -> StatisticStates.read(buffer, Variance.class));
+        Assertions.assertEquals(0, buffer.position());
+        final ByteBuffer buffer2 = ByteBuffer.wrap(bytes, 0, 1);
+        Assertions.assertThrows(BufferUnderflowException.class, () -> StatisticStates.read(buffer2, Variance.class));
+        Assertions.assertEquals(0, buffer2.position());
+    }
+
+    @Test
+    void testReadAsSuperType() {
+        final byte[] bytes = encode(Max.of(1, 2, 3));
+        Assertions.assertEquals(3, decode(bytes, StatisticResult.class).getAsDouble());
+        Assertions.assertEquals(3, decode(bytes, DoubleStatistic.class).getAsDouble());
+    }
+
+    @Test
+    void testUnsupportedStatistic() {
+        final StatisticResult r = () -> 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> encode(r));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> StatisticStates.write(r, ByteBuffer.allocate(100)));
+    }
+
+    @Test
+    void testInvalidEncoding() {
+        final byte[] bytes = encode(Max.of(1, 2, 3));
+        // Wrong type
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, Min.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, DoubleStatistics.class));
+        // Unknown version
+        final byte[] b1 = bytes.clone();
+        b1[0] = 2;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(b1, Max.class));
+        // Unknown type
+        final byte[] b2 = bytes.clone();
+        b2[1] = 0;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(b2, Max.class));
+        b2[1] = (byte) 255;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(b2, Max.class));
+    }
+
+    @Test
+    void testInvalidQuantileSketchSize() {
+        final byte[] bytes = encode(QuantileSketch.create(10));
+        // version, type, compression, quantile, n, min, max, centroids
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final int index = 2 + 8 * 5;
+        buffer.putInt(index, -1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, QuantileSketch.class));
+        buffer.putInt(index, 1 << 20);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, QuantileSketch.class));
+        // Invalid compression
+        buffer.putDouble(2, 1);
+        buffer.putInt(index, 0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, QuantileSketch.class));
+    }
+
+    @Test
+    void testInvalidHistogramIndex() {
+        final byte[] bytes = encode(LogLinearHistogram.of(1.0));
+        // version, type, exponents, precision, min, max, size, index
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final int index = 2 + 4 * 3 + 8 * 2 + 4;
+        Assertions.assertEquals(1, decode(bytes, LogLinearHistogram.class).getN());
+        buffer.putInt(index, -1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, LogLinearHistogram.class));
+        buffer.putInt(index, Integer.MAX_VALUE);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, LogLinearHistogram.class));
+        buffer.putInt(index - 4, -1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, LogLinearHistogram.class));
+    }
+
+    @Test
+    void testInvalidDistinctCount() {
+        // Registers
+        final byte[] bytes = encode(DistinctCount.create(4));
+        // version, type, precision, size, registers
+        Assertions.assertEquals(4, bytes[2]);
+        Assertions.assertEquals(-1, ByteBuffer.wrap(bytes).getInt(3));
+        bytes[2] = 3;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, DistinctCount.class));
+        bytes[2] = 4;
+        bytes[7] = 61;
+        Assertions.assertDoesNotThrow(() -> decode(bytes, DistinctCount.class));
+        bytes[7] = 62;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, DistinctCount.class));
+        bytes[7] = -1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, DistinctCount.class));
+        // Sparse entries
+        final byte[] bytes2 = encode(DistinctCount.of(1, 2, 3));
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes2);
+        Assertions.assertEquals(3, buffer.getInt(3));
+        Assertions.assertEquals(3, decode(bytes2, DistinctCount.class).getAsLong());
+        final int entry = buffer.getInt(7);
+        buffer.putInt(7, entry & ~0x3f);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes2, DistinctCount.class));
+        buffer.putInt(7, entry | 0x3f);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes2, DistinctCount.class));
+        buffer.putInt(7, -1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes2, DistinctCount.class));
+        buffer.putInt(7, entry);
+        buffer.putInt(3, 1 << 20);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes2, DistinctCount.class));
+    }
+
+    @Test
+    void testInvalidMoment() {
+        final DoubleStatistics stats = DoubleStatistics.of(Statistic.MEAN);
+        final byte[] bytes = encode(stats);
+        // version, type, count, mask, moment order
+        final int index = 2 + 8 + 1;
+        Assertions.assertEquals(1, bytes[index]);
+        bytes[index] = 5;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decode(bytes, DoubleStatistics.class));
+    }
+}
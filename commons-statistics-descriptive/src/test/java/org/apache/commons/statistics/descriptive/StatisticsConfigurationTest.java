@@ -18,6 +18,8 @@ package org.apache.commons.statistics.descriptive;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * Test for {@link StatisticsConfiguration}.
@@ -28,6 +30,7 @@ final class StatisticsConfigurationTest {
     void testDefaults() {
         final StatisticsConfiguration c = StatisticsConfiguration.withDefaults();
         Assertions.assertEquals(false, c.isBiased());
+        Assertions.assertEquals(0.5, c.getQuantile());
     }
 
     @Test
@@ -40,4 +43,25 @@ final class StatisticsConfigurationTest {
             c = c2;
         }
     }
+
+    @Test
+    void testQuantile() {
+        StatisticsConfiguration c = StatisticsConfiguration.withDefaults();
+        for (final double p : new double[] {0, 0.25, 0.75, 1}) {
+            final StatisticsConfiguration c2 = c.withQuantile(p);
+            Assertions.assertNotSame(c, c2);
+            Assertions.assertEquals(p, c2.getQuantile());
+            // Other properties are preserved
+            Assertions.assertEquals(c.isBiased(), c2.isBiased());
+            Assertions.assertEquals(p, c2.withBiased(!c2.isBiased()).getQuantile());
+            c = c2.withBiased(!c2.isBiased());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 1.1, Double.NaN})
+    void testInvalidQuantileThrows(double p) {
+        final StatisticsConfiguration c = StatisticsConfiguration.withDefaults();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> c.withQuantile(p));
+    }
 }
@@ -113,4 +113,17 @@ class StatisticsTest {
         Assertions.assertEquals(y, v1[0]);
         Assertions.assertEquals(y, v2[0]);
     }
+
+    @Test
+    void testCheckFromToIndex() {
+        Assertions.assertEquals(0, Statistics.checkFromToIndex(0, 0, 0));
+        Assertions.assertEquals(3, Statistics.checkFromToIndex(1, 4, 5));
+        Assertions.assertEquals(0, Statistics.checkFromToIndex(5, 5, 5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Statistics.checkFromToIndex(-1, 2, 5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Statistics.checkFromToIndex(3, 2, 5));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Statistics.checkFromToIndex(0, 6, 5));
+        // Avoid overflow
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+            () -> Statistics.checkFromToIndex(Integer.MIN_VALUE, Integer.MAX_VALUE, 5));
+    }
 }
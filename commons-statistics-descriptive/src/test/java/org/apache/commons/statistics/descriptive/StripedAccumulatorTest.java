@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link StripedAccumulator}.
+ */
+class StripedAccumulatorTest {
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1",
+        "2, 2",
+        "3, 4",
+        "4, 4",
+        "5, 8",
+        "63, 64",
+        "65536, 65536",
+    })
+    void testStripes(int stripes, int expected) {
+        final int[] count = {0};
+        final StripedAccumulator<IntSum> s = new StripedAccumulator<>(() -> {
+            count[0]++;
+            return IntSum.create();
+        }, IntSum::combine, stripes);
+        Assertions.assertEquals(expected, s.getStripes());
+        Assertions.assertEquals(expected, count[0]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 65537, Integer.MAX_VALUE})
+    void testInvalidStripesThrows(int stripes) {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new StripedAccumulator<>(IntSum::create, IntSum::combine, stripes));
+    }
+
+    @Test
+    void testNullArgumentsThrows() {
+        Assertions.assertThrows(NullPointerException.class,
+            () -> new StripedAccumulator<>(null, IntSum::combine, 1));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> new StripedAccumulator<>(IntSum::create, null, 1));
+        Assertions.assertThrows(NullPointerException.class,
+            () -> new StripedAccumulator<IntSum>(() -> null, IntSum::combine, 1));
+    }
+
+    @Test
+    void testDefaultStripes() {
+        final int n = StripedAccumulator.defaultStripes();
+        Assertions.assertTrue(n >= 2);
+        Assertions.assertTrue(n <= 1 << 16);
+    }
+
+    @Test
+    void testLockUsesOtherStripeWhenContended() throws InterruptedException {
+        final StripedAccumulator<IntSum> s = new StripedAccumulator<>(IntSum::create, IntSum::combine, 2);
+        final StripedAccumulator.Stripe<IntSum> s1 = s.lock();
+        try {
+            // Lock from another thread must use the other stripe
+            final Object[] other = {null};
+            final Thread t = new Thread(() -> {
+                final StripedAccumulator.Stripe<IntSum> s2 = s.lock();
+                other[0] = s2;
+                s2.unlock();
+            });
+            t.start();
+            t.join(TimeUnit.SECONDS.toMillis(10));
+            Assertions.assertFalse(t.isAlive());
+            Assertions.assertNotNull(other[0]);
+            Assertions.assertNotSame(s1, other[0]);
+        } finally {
+            s1.unlock();
+        }
+    }
+
+    @Test
+    void testSnapshot() {
+        final StripedAccumulator<IntSum> s = new StripedAccumulator<>(IntSum::create, IntSum::combine, 4);
+        Assertions.assertEquals(0, s.snapshot().getAsInt());
+        for (int i = 1; i <= 10; i++) {
+            s.acceptInt(i, IntSum::accept);
+        }
+        Assertions.assertEquals(55, s.snapshot().getAsInt());
+        // Snapshot is independent
+        final IntSum snapshot = s.snapshot();
+        snapshot.accept(1);
+        Assertions.assertEquals(55, s.snapshot().getAsInt());
+        Assertions.assertEquals(55, s.snapshotAndReset().getAsInt());
+        Assertions.assertEquals(0, s.snapshot().getAsInt());
+        Assertions.assertEquals(0, s.snapshotAndReset().getAsInt());
+    }
+
+    /**
+     * Test values added concurrently with snapshots are included in exactly one snapshot.
+     */
+    @Test
+    void testConcurrentSnapshotAndReset() throws Exception {
+        final int threads = 4;
+        final int n = 100000;
+        final StripedAccumulator<LongSum> s = new StripedAccumulator<>(LongSum::create, LongSum::combine, 2);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 1; j <= n; j++) {
+                        s.acceptLong(j, LongSum::accept);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            final LongSum total = LongSum.create();
+            while (!futures.stream().allMatch(Future::isDone)) {
+                total.combine(s.snapshotAndReset());
+            }
+            for (final Future<?> f : futures) {
+                f.get();
+            }
+            total.combine(s.snapshotAndReset());
+            Assertions.assertEquals((long) threads * n * (n + 1) / 2, total.getAsLong());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.stream.IntStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link StripedIntAccumulator}.
+ */
+class StripedIntAccumulatorTest {
+    @Test
+    void testStatistic() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 1000;
+        final int[] values = rng.ints(n).toArray();
+        final StripedIntAccumulator<IntMean> s = StripedIntAccumulator.of(IntMean::create);
+        Assertions.assertTrue(s.getStripes() >= 2);
+        Assertions.assertEquals(Double.NaN, s.snapshot().getAsDouble());
+        Arrays.stream(values).forEach(s);
+        final double expected = IntMean.of(values).getAsDouble();
+        final double tol = Math.abs(expected) * 1e-14;
+        Assertions.assertEquals(expected, s.snapshot().getAsDouble(), tol);
+        Assertions.assertEquals(expected, s.snapshotAndReset().getAsDouble(), tol);
+        Assertions.assertEquals(Double.NaN, s.snapshot().getAsDouble());
+    }
+
+    @Test
+    void testStatistics() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = 1000;
+        final int[] values = rng.ints(n).toArray();
+        final Statistic[] statistics = {Statistic.MIN, Statistic.MAX, Statistic.MEAN};
+        final StripedIntAccumulator<IntStatistics> s = StripedIntAccumulator.of(IntStatistics.builder(statistics));
+        // Add values from multiple threads
+        IntStream.range(0, n).parallel().forEach(i -> s.accept(values[i]));
+        final IntStatistics expected =
+            IntStatistics.of(EnumSet.of(Statistic.MIN, Statistic.MAX, Statistic.MEAN), values);
+        final IntStatistics actual = s.snapshotAndReset();
+        Assertions.assertEquals(n, actual.getCount());
+        for (final Statistic st : statistics) {
+            Assertions.assertEquals(expected.getAsDouble(st), actual.getAsDouble(st),
+                Math.abs(expected.getAsDouble(st)) * 1e-14, st::toString);
+        }
+        Assertions.assertEquals(0, s.snapshot().getCount());
+    }
+
+    @Test
+    void testCustomCombiner() {
+        final long[] count = {0};
+        final StripedIntAccumulator<IntMean> s = StripedIntAccumulator.of(IntMean::create, (a, b) -> {
+            count[0]++;
+            return a.combine(b);
+        }, 3);
+        Assertions.assertEquals(4, s.getStripes());
+        s.accept(1);
+        s.accept(3);
+        Assertions.assertEquals(2.0, s.snapshot().getAsDouble());
+        Assertions.assertEquals(4, count[0]);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> StripedIntAccumulator.of(IntMean::create, IntMean::combine, 0));
+    }
+}
@@ -48,6 +48,18 @@ final class SumOfCubedDeviationsTest extends BaseDoubleStatisticTest<SumOfCubedD
         return new SumOfCubedDeviationsWrapper(SumOfCubedDeviations.of(values));
     }
 
+    @Override
+    protected SumOfCubedDeviationsWrapper create(double[] values, int from, int to) {
+        // The package-private range method does not perform range checks
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new SumOfCubedDeviationsWrapper(SumOfCubedDeviations.of(values, from, to));
+    }
+
+    @Override
+    protected void reset(SumOfCubedDeviationsWrapper statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
@@ -48,4 +48,11 @@ final class SumOfCubedDeviationsWrapper implements
         delegate.combine(other.delegate);
         return this;
     }
+
+    /**
+     * Resets the state of the statistic.
+     */
+    void reset() {
+        delegate.reset();
+    }
 }
@@ -55,6 +55,18 @@ final class SumOfFourthDeviationsTest extends BaseDoubleStatisticTest<SumOfFourt
         return new SumOfFourthDeviationsWrapper(SumOfFourthDeviations.of(values));
     }
 
+    @Override
+    protected SumOfFourthDeviationsWrapper create(double[] values, int from, int to) {
+        // The package-private range method does not perform range checks
+        Statistics.checkFromToIndex(from, to, values.length);
+        return new SumOfFourthDeviationsWrapper(SumOfFourthDeviations.of(values, from, to));
+    }
+
+    @Override
+    protected void reset(SumOfFourthDeviationsWrapper statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
@@ -37,6 +37,16 @@ final class SumOfLogsTest extends BaseDoubleStatisticTest<SumOfLogs> {
         return SumOfLogs.of(values);
     }
 
+    @Override
+    protected SumOfLogs create(double[] values, int from, int to) {
+        return SumOfLogs.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(SumOfLogs statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return 0;
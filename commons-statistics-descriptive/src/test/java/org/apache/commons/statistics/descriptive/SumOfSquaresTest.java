@@ -36,6 +36,16 @@ final class SumOfSquaresTest extends BaseDoubleStatisticTest<SumOfSquares> {
         return SumOfSquares.of(values);
     }
 
+    @Override
+    protected SumOfSquares create(double[] values, int from, int to) {
+        return SumOfSquares.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(SumOfSquares statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return 0;
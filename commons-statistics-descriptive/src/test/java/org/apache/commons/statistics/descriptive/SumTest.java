@@ -37,6 +37,16 @@ final class SumTest extends BaseDoubleStatisticTest<Sum> {
         return Sum.of(values);
     }
 
+    @Override
+    protected Sum create(double[] values, int from, int to) {
+        return Sum.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(Sum statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return 0;
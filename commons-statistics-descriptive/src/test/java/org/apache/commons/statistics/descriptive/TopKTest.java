@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link TopK}.
+ */
+final class TopKTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidK(int k) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopK.create(k));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TopK.of(k, 1, 2, 3));
+    }
+
+    @Test
+    void testEmpty() {
+        final TopK s = TopK.create(3);
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(3, s.getK());
+        Assertions.assertArrayEquals(new double[0], s.getValues());
+        Assertions.assertArrayEquals(new long[0], s.getIndices());
+        Assertions.assertArrayEquals(new double[0], TopK.of(3).getValues());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] x = rng.doubles(50).toArray();
+        final double[] y = rng.doubles(20).toArray();
+        final TopK s = TopK.of(3, x);
+        s.reset();
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(3, s.getK());
+        Assertions.assertArrayEquals(new double[0], s.getValues());
+        Arrays.stream(y).forEach(s);
+        final TopK expected = TopK.create(3);
+        Arrays.stream(y).forEach(expected);
+        Assertions.assertEquals(y.length, s.getCount());
+        Assertions.assertArrayEquals(expected.getValues(), s.getValues());
+        Assertions.assertArrayEquals(expected.getIndices(), s.getIndices());
+    }
+
+    @Test
+    void testOfRange() {
+        final double[] values = {4, 1, 5, 2, 6, 3, 7};
+        final TopK s = TopK.of(2, values, 1, 6);
+        Assertions.assertEquals(5, s.getCount());
+        assertResult(values, 1, 6, 2, s);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> TopK.of(2, values, 3, 2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> TopK.of(2, values, 0, 8));
+    }
+
+    @Test
+    void testAcceptWithIndex() {
+        final TopK s = TopK.create(2);
+        s.accept(3, 30);
+        s.accept(1, 10);
+        s.accept(2, 20);
+        s.accept(2, 5);
+        Assertions.assertEquals(4, s.getCount());
+        Assertions.assertArrayEquals(new double[] {3, 2}, s.getValues());
+        Assertions.assertArrayEquals(new long[] {30, 5}, s.getIndices());
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testValues(double[] values, int k) {
+        final TopK s1 = TopK.of(k, values);
+        Assertions.assertEquals(values.length, s1.getCount());
+        assertResult(values, 0, values.length, k, s1);
+        final TopK s2 = TopK.create(k);
+        Arrays.stream(values).forEach(s2);
+        assertResult(values, 0, values.length, k, s2);
+        // Results are repeatable
+        assertResult(values, 0, values.length, k, s2);
+        // Add in reverse order with the original index
+        final TopK s3 = TopK.create(k);
+        for (int i = values.length; --i >= 0;) {
+            s3.accept(values[i], i);
+        }
+        assertResult(values, 0, values.length, k, s3);
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "testValues")
+    void testCombine(double[] values, int k) {
+        final int n = values.length;
+        for (final int i : new int[] {0, 1, n / 3, n / 2, n}) {
+            final TopK s1 = TopK.of(k, values, 0, i);
+            final TopK s2 = TopK.of(k, values, i, n);
+            assertResult(values, 0, n, k, TopK.of(k, values, 0, i).combine(s2));
+            final TopK s3 = s2.combine(s1);
+            Assertions.assertEquals(n, s3.getCount());
+            assertResult(values, 0, n, k, s3);
+        }
+        // Self combine retains the same values
+        final TopK s = TopK.of(k, values);
+        s.combine(s);
+        Assertions.assertEquals(2L * n, s.getCount());
+        assertResult(values, 0, n, k, s);
+    }
+
+    @Test
+    void testCombineIndices() {
+        final double[] values = {1, 5, 2, 4, 3, 6};
+        // Indices assigned by accept(double) are positions within each instance
+        final TopK s1 = TopK.create(3);
+        final TopK s2 = TopK.create(3);
+        for (int i = 0; i < 3; i++) {
+            s1.accept(values[i]);
+            s2.accept(values[i + 3]);
+        }
+        s1.combine(s2);
+        Assertions.assertEquals(6, s1.getCount());
+        Assertions.assertArrayEquals(new double[] {6, 5, 4}, s1.getValues());
+        Assertions.assertArrayEquals(new long[] {2, 1, 0}, s1.getIndices());
+        // Indices specified in the input are unchanged
+        final TopK s3 = TopK.create(3);
+        final TopK s4 = TopK.create(3);
+        for (int i = 0; i < 3; i++) {
+            s3.accept(values[i], i);
+            s4.accept(values[i + 3], i + 3);
+        }
+        s3.combine(s4);
+        Assertions.assertEquals(6, s3.getCount());
+        Assertions.assertArrayEquals(new double[] {6, 5, 4}, s3.getValues());
+        Assertions.assertArrayEquals(new long[] {5, 1, 3}, s3.getIndices());
+        assertResult(values, 0, values.length, 3, s3);
+    }
+
+    static Stream<Arguments> testValues() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        final double nan = Double.NaN;
+        final double inf = Double.POSITIVE_INFINITY;
+        final double[][] data = {
+            {42},
+            {1, 2, 3, 4, 5, 6, 7, 8, 9, 10},
+            {10, 9, 8, 7, 6, 5, 4, 3, 2, 1},
+            {3, 1, 3, 2, 3, 1, 2, 2, 3, 1},
+            {0.0, -0.0, 0.0, -0.0, 1, -1, 0.0, -0.0},
+            {nan, 1, nan, 2, nan, 3, -inf, inf},
+            {nan, nan, nan, nan, 1, 2},
+            {nan, nan, nan, nan, nan, nan},
+            rng.doubles(100).toArray(),
+            rng.ints(100, 0, 10).asDoubleStream().toArray(),
+            rng.ints(1000, -5, 5).mapToDouble(x -> x == 0 ? (rng.nextBoolean() ? -0.0 : 0.0) : x).toArray(),
+            rng.doubles(1000).map(x -> x < 0.1 ? nan : x).toArray(),
+            rng.doubles(5000).toArray(),
+        };
+        for (final double[] values : data) {
+            for (final int k : new int[] {1, 2, 3, 5, 10, 50, 1000}) {
+                builder.add(Arguments.of(values, k));
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testCombineIncompatible() {
+        final TopK s1 = TopK.create(3);
+        final TopK s2 = TopK.create(4);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s1.combine(s2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s2.combine(s1));
+    }
+
+    /**
+     * Assert the result matches the expected values from the range {@code [from, to)}.
+     * The expected index of each value is its position in the array.
+     *
+     * @param values Values.
+     * @param from Inclusive start of the range.
+     * @param to Exclusive end of the range.
+     * @param k Number of values.
+     * @param s Statistic.
+     */
+    private static void assertResult(double[] values, int from, int to, int k, TopK s) {
+        final int[] order = IntStream.range(from, to).boxed()
+            .sorted(Comparator.<Integer, Double>comparing(i -> values[i], Comparator.reverseOrder())
+                .thenComparingInt(i -> i))
+            .limit(k).mapToInt(Integer::intValue).toArray();
+        final double[] expected = Arrays.stream(order).mapToDouble(i -> values[i]).toArray();
+        final long[] indices = Arrays.stream(order).asLongStream().toArray();
+        Assertions.assertArrayEquals(expected, s.getValues(), "values");
+        Assertions.assertArrayEquals(indices, s.getIndices(), "indices");
+    }
+}
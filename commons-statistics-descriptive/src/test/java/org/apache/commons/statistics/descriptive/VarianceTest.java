@@ -44,6 +44,16 @@ final class VarianceTest extends BaseDoubleStatisticTest<Variance> {
         return Variance.of(values);
     }
 
+    @Override
+    protected Variance create(double[] values, int from, int to) {
+        return Variance.of(values, from, to);
+    }
+
+    @Override
+    protected void reset(Variance statistic) {
+        statistic.reset();
+    }
+
     @Override
     protected double getEmptyValue() {
         return Double.NaN;
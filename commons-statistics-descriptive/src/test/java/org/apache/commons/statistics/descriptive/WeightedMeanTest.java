@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link WeightedMean}.
+ */
+final class WeightedMeanTest {
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, WeightedMean.create().getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedMean.of(new double[0], new double[0]).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedMean.of(new double[0], new long[0]).getAsDouble());
+        // Zero weights are ignored
+        Assertions.assertEquals(Double.NaN, WeightedMean.of(new double[] {1, 2}, new double[2]).getAsDouble());
+        final WeightedMean m = WeightedMean.create();
+        m.accept(1, 0);
+        Assertions.assertEquals(Double.NaN, m.getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WeightedMean s = WeightedMean.of(rng.doubles(50).toArray(), rng.doubles(50).toArray());
+        s.reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        final WeightedMean expected = WeightedMean.create();
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            final double w = rng.nextDouble();
+            s.accept(x, w);
+            expected.accept(x, w);
+        }
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @Test
+    void testInvalidWeightsThrows() {
+        final double[] x = {1, 2, 3};
+        final WeightedMean m = WeightedMean.create();
+        for (final double w : new double[] {-1, -Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY}) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> m.accept(1, w));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedMean.of(x, new double[] {1, w, 1}));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedMean.of(x, new long[] {1, -1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedMean.of(x, new double[2]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedMean.of(x, new long[4]));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#frequencyData")
+    void testFrequencyWeights(double[] x, long[] w) {
+        final double expected = Mean.of(WeightedTestData.expand(x, w)).getAsDouble();
+        final double[] dw = WeightedTestData.toDouble(w);
+        final WeightedMean m = WeightedMean.create();
+        for (int i = 0; i < x.length; i++) {
+            m.accept(x[i], dw[i]);
+        }
+        final double tol = 1e-14 * Math.abs(expected) + 1e-15;
+        Assertions.assertEquals(expected, m.getAsDouble(), 100 * tol, "accept");
+        Assertions.assertEquals(expected, WeightedMean.of(x, dw).getAsDouble(), tol, "of double[]");
+        Assertions.assertEquals(expected, WeightedMean.of(x, w).getAsDouble(), tol, "of long[]");
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testMean(double[] x, double[] w) {
+        final double expected = WeightedTestData.moments(x, w)[2];
+        final WeightedMean m = WeightedMean.create();
+        for (int i = 0; i < x.length; i++) {
+            m.accept(x[i], w[i]);
+        }
+        final double tol = 1e-14 * Math.abs(expected) + 1e-15;
+        Assertions.assertEquals(expected, m.getAsDouble(), 100 * tol, "accept");
+        Assertions.assertEquals(expected, WeightedMean.of(x, w).getAsDouble(), tol, "of");
+        // Invariant to the scale of the weights
+        final double[] w2 = Arrays.stream(w).map(v -> v * 0x1.0p-500).toArray();
+        Assertions.assertEquals(expected, WeightedMean.of(x, w2).getAsDouble(), tol, "scaled");
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testCombine(double[] x, double[] w) {
+        final double expected = WeightedMean.of(x, w).getAsDouble();
+        final double tol = 1e-12 * Math.abs(expected) + 1e-14;
+        final int n = x.length;
+        for (final int k : new int[] {0, 1, n / 3, n / 2, n - 1, n}) {
+            final double[] x1 = Arrays.copyOf(x, k);
+            final double[] w1 = Arrays.copyOf(w, k);
+            final double[] x2 = Arrays.copyOfRange(x, k, n);
+            final double[] w2 = Arrays.copyOfRange(w, k, n);
+            final WeightedMean m1 = WeightedMean.of(x1, w1);
+            final WeightedMean m2 = WeightedMean.create();
+            for (int i = 0; i < x2.length; i++) {
+                m2.accept(x2[i], w2[i]);
+            }
+            Assertions.assertSame(m1, m1.combine(m2));
+            Assertions.assertEquals(expected, m1.getAsDouble(), tol);
+            Assertions.assertEquals(expected,
+                WeightedMean.of(x2, w2).combine(WeightedMean.of(x1, w1)).getAsDouble(), tol);
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final double[] w = {1, 2, 3};
+        Assertions.assertEquals(inf, WeightedMean.of(new double[] {1, inf, 3}, w).getAsDouble());
+        Assertions.assertEquals(-inf, WeightedMean.of(new double[] {1, -inf, -inf}, w).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedMean.of(new double[] {1, -inf, inf}, w).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedMean.of(new double[] {1, Double.NaN, 3}, w).getAsDouble());
+        // Non-finite values with zero weight are ignored
+        Assertions.assertEquals(2, WeightedMean.of(new double[] {2, inf, Double.NaN}, new double[] {1, 0, 0})
+            .getAsDouble());
+    }
+
+    @Test
+    void testLargeValues() {
+        // The mean does not overflow
+        final double max = Double.MAX_VALUE;
+        final WeightedMean m = WeightedMean.create();
+        m.accept(max, 1);
+        m.accept(max, 3);
+        Assertions.assertEquals(max, m.getAsDouble());
+        Assertions.assertEquals(max, WeightedMean.of(new double[] {max, max}, new double[] {1, 3}).getAsDouble());
+        Assertions.assertEquals(max / 2,
+            WeightedMean.of(new double[] {max, -max, max}, new double[] {1, 1, 2}).getAsDouble());
+        // Large weights
+        Assertions.assertEquals(1.5,
+            WeightedMean.of(new double[] {1, 2}, new double[] {max / 4, max / 4}).getAsDouble());
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link WeightedReservoirSample}.
+ */
+final class WeightedReservoirSampleTest {
+    /** Number of repeats for the test of sample frequencies. */
+    private static final int REPEATS = 20000;
+    /** Weights for the test of sample frequencies. */
+    private static final double[] WEIGHTS = {1, 0.5, 3, 2, 0, 4, 1e-3, 1.5};
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidK(int k) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedReservoirSample.create(k, rng));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-1, -Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY})
+    void testInvalidWeight(double w) {
+        final WeightedReservoirSample s = WeightedReservoirSample.create(3, TestHelper.createRNG());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.accept(1, w));
+        final double[] x = {1, 2, 3};
+        final double[] weights = {1, w, 1};
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> WeightedReservoirSample.of(3, TestHelper.createRNG(), x, weights));
+    }
+
+    @Test
+    void testLengthMismatch() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> WeightedReservoirSample.of(3, TestHelper.createRNG(), new double[2], new double[3]));
+    }
+
+    @Test
+    void testEmpty() {
+        final WeightedReservoirSample s = WeightedReservoirSample.create(3, TestHelper.createRNG());
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(3, s.getK());
+        Assertions.assertArrayEquals(new double[0], s.getSample());
+        s.accept(42, 0);
+        Assertions.assertEquals(1, s.getCount());
+        Assertions.assertArrayEquals(new double[0], s.getSample());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WeightedReservoirSample s = WeightedReservoirSample.create(3, rng);
+        for (int i = 1; i <= 50; i++) {
+            s.accept(i, i);
+        }
+        s.reset();
+        Assertions.assertEquals(0, s.getCount());
+        Assertions.assertEquals(3, s.getK());
+        Assertions.assertArrayEquals(new double[0], s.getSample());
+        s.accept(-1, 1);
+        s.accept(-2, 0);
+        Assertions.assertEquals(2, s.getCount());
+        Assertions.assertArrayEquals(new double[] {-1}, s.getSample());
+        for (int i = 3; i <= 100; i++) {
+            s.accept(-i, 1);
+        }
+        Assertions.assertEquals(100, s.getCount());
+        Assertions.assertEquals(3, s.getSample().length);
+        Assertions.assertTrue(Arrays.stream(s.getSample()).allMatch(x -> x <= -1 && x >= -100 && x != -2));
+    }
+
+    @Test
+    void testFewerThanK() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WeightedReservoirSample s = WeightedReservoirSample.of(10, rng,
+            new double[] {1, 2, 3, 4, 5, 6}, new double[] {1, 0, 2, 0.5, 0, 1e-300});
+        Assertions.assertEquals(6, s.getCount());
+        final double[] sample = s.getSample();
+        Arrays.sort(sample);
+        Assertions.assertArrayEquals(new double[] {1, 3, 4, 6}, sample);
+        // Unit weights
+        final WeightedReservoirSample s2 = WeightedReservoirSample.create(3, rng);
+        s2.accept(1);
+        s2.accept(2);
+        Assertions.assertArrayEquals(new double[] {1, 2}, Arrays.stream(s2.getSample()).sorted().toArray());
+    }
+
+    @Test
+    void testCombineIncompatible() {
+        final WeightedReservoirSample s1 = WeightedReservoirSample.create(3, TestHelper.createRNG());
+        final WeightedReservoirSample s2 = WeightedReservoirSample.create(4, TestHelper.createRNG());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s1.combine(s2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s2.combine(s1));
+    }
+
+    @Test
+    void testCombineSelf() {
+        final double[] x = IntStream.range(0, WEIGHTS.length).asDoubleStream().toArray();
+        final WeightedReservoirSample s = WeightedReservoirSample.of(3, TestHelper.createRNG(), x, WEIGHTS);
+        final double[] sample = s.getSample();
+        s.combine(s);
+        Assertions.assertEquals(2L * x.length, s.getCount());
+        Assertions.assertArrayEquals(sample, s.getSample());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5})
+    void testAccept(int k) {
+        assertWeighted(k, (rng, x) -> {
+            final WeightedReservoirSample s = WeightedReservoirSample.create(k, rng);
+            for (int i = 0; i < x.length; i++) {
+                s.accept(x[i], WEIGHTS[i]);
+            }
+            return s;
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5})
+    void testCombine(int k) {
+        for (final int split : new int[] {0, 3, 6}) {
+            assertWeighted(k, (rng, x) -> {
+                final double[] x1 = Arrays.copyOf(x, split);
+                final double[] w1 = Arrays.copyOf(WEIGHTS, split);
+                final double[] x2 = Arrays.copyOfRange(x, split, x.length);
+                final double[] w2 = Arrays.copyOfRange(WEIGHTS, split, x.length);
+                return WeightedReservoirSample.of(k, rng, x1, w1)
+                    .combine(WeightedReservoirSample.of(k, TestHelper.createRNG(), x2, w2));
+            });
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void testCombineThenAccept(int k) {
+        assertWeighted(k, (rng, x) -> {
+            final WeightedReservoirSample s = WeightedReservoirSample.of(k, rng,
+                Arrays.copyOf(x, 2), Arrays.copyOf(WEIGHTS, 2));
+            s.combine(WeightedReservoirSample.of(k, TestHelper.createRNG(),
+                Arrays.copyOfRange(x, 2, 4), Arrays.copyOfRange(WEIGHTS, 2, 4)));
+            for (int i = 4; i < x.length; i++) {
+                s.accept(x[i], WEIGHTS[i]);
+            }
+            return s;
+        });
+    }
+
+    /**
+     * Assert the frequency of each value in the sample matches the inclusion probability
+     * of weighted sampling without replacement using the {@link #WEIGHTS}.
+     *
+     * @param k Number of values to sample.
+     * @param sampler Function to create the sample from the source of randomness and the values.
+     */
+    private static void assertWeighted(int k,
+            BiFunction<UniformRandomProvider, double[], WeightedReservoirSample> sampler) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final int n = WEIGHTS.length;
+        final double[] x = IntStream.range(0, n).asDoubleStream().toArray();
+        final long[] counts = new long[n];
+        final int size = Math.min(k, (int) Arrays.stream(WEIGHTS).filter(w -> w > 0).count());
+        for (int i = 0; i < REPEATS; i++) {
+            final WeightedReservoirSample s = sampler.apply(rng, x);
+            Assertions.assertEquals(n, s.getCount());
+            final double[] sample = s.getSample();
+            Assertions.assertEquals(size, sample.length);
+            Arrays.sort(sample);
+            for (int j = 0; j < sample.length; j++) {
+                final int v = (int) sample[j];
+                Assertions.assertTrue(j == 0 || sample[j - 1] < v, "Repeated value");
+                counts[v]++;
+            }
+        }
+        final double[] p = new double[n];
+        inclusion(k, 1, new boolean[n], p);
+        for (int i = 0; i < n; i++) {
+            // Binomial distribution: allow a large deviation to avoid random failures
+            final double expected = REPEATS * p[i];
+            final double delta = 6 * Math.sqrt(expected * (1 - p[i])) + 1;
+            final int v = i;
+            Assertions.assertEquals(expected, counts[i], delta, () -> "Frequency of " + v);
+        }
+    }
+
+    /**
+     * Compute the inclusion probabilities of successive weighted sampling without
+     * replacement by enumeration of the draws.
+     *
+     * @param k Number of remaining draws.
+     * @param prob Probability of the current sequence of draws.
+     * @param used Values already drawn.
+     * @param p Inclusion probabilities.
+     */
+    private static void inclusion(int k, double prob, boolean[] used, double[] p) {
+        double total = 0;
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) {
+                total += WEIGHTS[i];
+            }
+        }
+        if (k == 0 || total == 0) {
+            return;
+        }
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i] && WEIGHTS[i] > 0) {
+                final double q = prob * WEIGHTS[i] / total;
+                p[i] += q;
+                used[i] = true;
+                inclusion(k - 1, q, used, p);
+                used[i] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link WeightedSkewness}.
+ */
+final class WeightedSkewnessTest {
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.create().getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.of(new double[0], new double[0]).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.of(new double[0], new long[0]).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WeightedSkewness s = WeightedSkewness.of(rng.doubles(50).toArray(), rng.doubles(50).toArray());
+        s.reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        final WeightedSkewness expected = WeightedSkewness.create();
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            final double w = rng.nextDouble() * 2;
+            s.accept(x, w);
+            expected.accept(x, w);
+        }
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @Test
+    void testInvalidWeightsThrows() {
+        final double[] x = {1, 2, 3};
+        final WeightedSkewness s = WeightedSkewness.create();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.accept(1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> s.accept(1, Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> WeightedSkewness.of(x, new double[] {1, Double.POSITIVE_INFINITY, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedSkewness.of(x, new long[] {1, -1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedSkewness.of(x, new long[2]));
+    }
+
+    @Test
+    void testSmallSamples() {
+        // Requires 2 values; unbiased requires a sample size above 2
+        final double[] x = {1, 2};
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.of(new double[] {1}, new double[] {3}).getAsDouble());
+        Assertions.assertEquals(Double.NaN,
+            WeightedSkewness.of(new double[] {1}, new double[] {3}).setBiased(true).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.of(x, new long[] {1, 1}).getAsDouble());
+        Assertions.assertNotEquals(Double.NaN, WeightedSkewness.of(x, new long[] {1, 1}).setBiased(true).getAsDouble());
+        Assertions.assertEquals(Skewness.of(1, 1, 2).getAsDouble(),
+            WeightedSkewness.of(x, new long[] {2, 1}).getAsDouble(), 1e-15);
+        // Effective sample size of 2
+        final WeightedSkewness s = WeightedSkewness.of(new double[] {1, 2, 4}, new double[] {1, 4, 1});
+        Assertions.assertNotEquals(Double.NaN, s.getAsDouble());
+        Assertions.assertEquals(Double.NaN, s.setReliabilityWeights(true).getAsDouble());
+        // Zero variance
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.of(new double[] {2, 2, 2}, new long[] {1, 2, 3})
+            .getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#frequencyData")
+    void testFrequencyWeights(double[] x, long[] w) {
+        final double[] data = WeightedTestData.expand(x, w);
+        final double[] dw = WeightedTestData.toDouble(w);
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double expected = Skewness.of(data).setBiased(biased).getAsDouble();
+            final WeightedSkewness s = WeightedSkewness.create();
+            for (int i = 0; i < x.length; i++) {
+                s.accept(x[i], dw[i]);
+            }
+            Assertions.assertSame(s, s.setBiased(biased));
+            final double tol = 1e-10 * Math.max(1, Math.abs(expected));
+            Assertions.assertEquals(expected, s.getAsDouble(), 1e2 * tol, "accept");
+            Assertions.assertEquals(expected, WeightedSkewness.of(x, dw).setBiased(biased).getAsDouble(), tol,
+                "of double[]");
+            Assertions.assertEquals(expected, WeightedSkewness.of(x, w).setBiased(biased).getAsDouble(), tol,
+                "of long[]");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testReliabilityWeights(double[] x, double[] w) {
+        final double[] m = WeightedTestData.moments(x, w);
+        final double biased = m[4] / Math.pow(m[3], 1.5);
+        final double n = m[1];
+        final double unbiased = biased * Math.sqrt(n * (n - 1)) / (n - 2);
+        final double tol = 1e-12 * Math.max(1, Math.abs(unbiased));
+        if (n <= 2) {
+            // Effective sample size is too small
+            Assertions.assertEquals(Double.NaN, WeightedSkewness.of(x, w).setReliabilityWeights(true).getAsDouble());
+            return;
+        }
+        final WeightedSkewness s1 = WeightedSkewness.create();
+        for (int i = 0; i < x.length; i++) {
+            s1.accept(x[i], w[i]);
+        }
+        final WeightedSkewness s2 = WeightedSkewness.of(x, w);
+        Assertions.assertSame(s1, s1.setReliabilityWeights(true));
+        s2.setReliabilityWeights(true);
+        Assertions.assertEquals(unbiased, s1.getAsDouble(), 1e3 * tol, "accept");
+        Assertions.assertEquals(unbiased, s2.getAsDouble(), tol, "of");
+        Assertions.assertEquals(biased, s1.setBiased(true).getAsDouble(), 1e3 * tol, "accept biased");
+        Assertions.assertEquals(biased, s2.setBiased(true).getAsDouble(), tol, "of biased");
+        // Invariant to the scale of the weights
+        for (final double s : new double[] {0x1.0p-500, 3, 0x1.0p500}) {
+            final double[] ws = Arrays.stream(w).map(v -> v * s).toArray();
+            Assertions.assertEquals(unbiased,
+                WeightedSkewness.of(x, ws).setReliabilityWeights(true).getAsDouble(), tol, "scaled");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testCombine(double[] x, double[] w) {
+        final double expected = WeightedSkewness.of(x, w).setBiased(true).getAsDouble();
+        final double tol = 1e-10 * Math.max(1, Math.abs(expected));
+        final int n = x.length;
+        for (final int k : new int[] {0, 1, n / 3, n / 2, n - 1, n}) {
+            final double[] x1 = Arrays.copyOf(x, k);
+            final double[] w1 = Arrays.copyOf(w, k);
+            final double[] x2 = Arrays.copyOfRange(x, k, n);
+            final double[] w2 = Arrays.copyOfRange(w, k, n);
+            final WeightedSkewness s1 = WeightedSkewness.of(x1, w1);
+            final WeightedSkewness s2 = WeightedSkewness.create();
+            for (int i = 0; i < x2.length; i++) {
+                s2.accept(x2[i], w2[i]);
+            }
+            Assertions.assertSame(s1, s1.combine(s2));
+            Assertions.assertEquals(expected, s1.setBiased(true).getAsDouble(), tol);
+            Assertions.assertEquals(expected,
+                WeightedSkewness.of(x2, w2).combine(WeightedSkewness.of(x1, w1)).setBiased(true).getAsDouble(), tol);
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double[] w = {1, 2, 3, 4};
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.of(new double[] {1, 2, 3, Double.NaN}, w).getAsDouble());
+        Assertions.assertEquals(Double.NaN,
+            WeightedSkewness.of(new double[] {1, Double.POSITIVE_INFINITY, 3, 4}, w).getAsDouble());
+    }
+
+    @Test
+    void testLargeValues() {
+        // The mean does not overflow
+        final double max = Double.MAX_VALUE;
+        final double[] x = {max, max / 2, max / 4};
+        final double[] w = {1, 2, 3};
+        final double expected = WeightedSkewness.of(new double[] {4, 2, 1}, w).getAsDouble();
+        // The sum of squared deviations overflows
+        Assertions.assertEquals(Double.NaN, WeightedSkewness.of(x, w).getAsDouble());
+        // Scaled values do not overflow
+        final double[] y = Arrays.stream(x).map(v -> v * 0x1.0p-800).toArray();
+        Assertions.assertEquals(expected, WeightedSkewness.of(y, w).getAsDouble(), 1e-15);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link WeightedStandardDeviation}.
+ */
+final class WeightedStandardDeviationTest {
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, WeightedStandardDeviation.create().getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedStandardDeviation.of(new double[0], new double[0]).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedStandardDeviation.of(new double[0], new long[0]).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WeightedStandardDeviation s =
+            WeightedStandardDeviation.of(rng.doubles(50).toArray(), rng.doubles(50).toArray());
+        s.reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        final WeightedStandardDeviation expected = WeightedStandardDeviation.create();
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            final double w = rng.nextDouble() * 2;
+            s.accept(x, w);
+            expected.accept(x, w);
+        }
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @Test
+    void testInvalidWeightsThrows() {
+        final double[] x = {1, 2, 3};
+        final WeightedStandardDeviation sd = WeightedStandardDeviation.create();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sd.accept(1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sd.accept(1, Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> WeightedStandardDeviation.of(x, new double[] {1, Double.POSITIVE_INFINITY, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> WeightedStandardDeviation.of(x, new long[] {1, -1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedStandardDeviation.of(x, new double[2]));
+    }
+
+    @Test
+    void testSingleValue() {
+        final WeightedStandardDeviation sd = WeightedStandardDeviation.create();
+        sd.accept(3, 0.25);
+        Assertions.assertEquals(0, sd.getAsDouble());
+        Assertions.assertEquals(0, sd.setBiased(true).getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#frequencyData")
+    void testFrequencyWeights(double[] x, long[] w) {
+        final double[] data = WeightedTestData.expand(x, w);
+        final double[] dw = WeightedTestData.toDouble(w);
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double expected = StandardDeviation.of(data).setBiased(biased).getAsDouble();
+            final WeightedStandardDeviation sd = WeightedStandardDeviation.create();
+            for (int i = 0; i < x.length; i++) {
+                sd.accept(x[i], dw[i]);
+            }
+            Assertions.assertSame(sd, sd.setBiased(biased));
+            final double tol = 1e-13 * expected;
+            Assertions.assertEquals(expected, sd.getAsDouble(), 1e-9 * expected, "accept");
+            Assertions.assertEquals(expected, WeightedStandardDeviation.of(x, dw).setBiased(biased).getAsDouble(),
+                tol, "of double[]");
+            Assertions.assertEquals(expected, WeightedStandardDeviation.of(x, w).setBiased(biased).getAsDouble(),
+                tol, "of long[]");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testReliabilityWeights(double[] x, double[] w) {
+        for (final boolean biased : new boolean[] {false, true}) {
+            final WeightedStandardDeviation sd = WeightedStandardDeviation.of(x, w).setBiased(biased);
+            final WeightedVariance v = WeightedVariance.of(x, w).setBiased(biased);
+            Assertions.assertSame(sd, sd.setReliabilityWeights(true));
+            v.setReliabilityWeights(true);
+            Assertions.assertEquals(Math.sqrt(v.getAsDouble()), sd.getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testCombine(double[] x, double[] w) {
+        final double expected = WeightedStandardDeviation.of(x, w).setBiased(true).getAsDouble();
+        final double tol = 1e-11 * expected;
+        final int n = x.length;
+        for (final int k : new int[] {0, 1, n / 2, n - 1, n}) {
+            final WeightedStandardDeviation sd = WeightedStandardDeviation.of(Arrays.copyOf(x, k), Arrays.copyOf(w, k));
+            Assertions.assertSame(sd, sd.combine(
+                WeightedStandardDeviation.of(Arrays.copyOfRange(x, k, n), Arrays.copyOfRange(w, k, n))));
+            Assertions.assertEquals(expected, sd.setBiased(true).getAsDouble(), tol);
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double[] w = {1, 2, 3};
+        Assertions.assertEquals(Double.NaN,
+            WeightedStandardDeviation.of(new double[] {1, 2, Double.NaN}, w).getAsDouble());
+        Assertions.assertEquals(Double.NaN,
+            WeightedStandardDeviation.of(new double[] {1, Double.POSITIVE_INFINITY, 3}, w).getAsDouble());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.params.provider.Arguments;
+
+/**
+ * Test data and reference computations for the weighted statistics.
+ */
+final class WeightedTestData {
+    /** No instances. */
+    private WeightedTestData() {}
+
+    /**
+     * Creates values with integer frequency weights.
+     * Weights include zero. The total weight is at least 4.
+     *
+     * @return the stream of {@code (double[] x, long[] w)}
+     */
+    static Stream<Arguments> frequencyData() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4}, new long[] {1, 1, 1, 1}));
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4}, new long[] {4, 3, 2, 1}));
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4, 5}, new long[] {1, 0, 3, 0, 1}));
+        builder.add(Arguments.of(new double[] {-1, 7, 3}, new long[] {2, 1, 5}));
+        builder.add(Arguments.of(new double[] {1e6 + 1, 1e6 + 3, 1e6 + 7, 1e6 + 8}, new long[] {3, 1, 2, 9}));
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {5, 10, 50, 200}) {
+            final double[] x = rng.doubles(n, -10, 10).toArray();
+            final long[] w = rng.longs(n, 0, 6).toArray();
+            // Ensure enough weight for the unbiased statistics
+            w[0] += 2;
+            w[n - 1] += 2;
+            builder.add(Arguments.of(x, w));
+            builder.add(Arguments.of(Arrays.stream(x).map(v -> Math.exp(v / 3)).toArray(), w));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates values with real-valued weights.
+     * Weights include zero. At least 4 weights are non-zero.
+     *
+     * @return the stream of {@code (double[] x, double[] w)}
+     */
+    static Stream<Arguments> reliabilityData() {
+        final Stream.Builder<Arguments> builder = Stream.builder();
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4}, new double[] {0.25, 0.5, 0.75, 1}));
+        builder.add(Arguments.of(new double[] {1, 2, 3, 4, 5}, new double[] {0.1, 0, 0.3, 0.2, 0.4}));
+        builder.add(Arguments.of(new double[] {-1, 7, 3, 2}, new double[] {1e-3, 2e-3, 5e-3, 1e-3}));
+        builder.add(Arguments.of(new double[] {3, 1, 4, 1, 5}, new double[] {1e10, 2e10, 3e10, 4e10, 5e10}));
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        for (final int n : new int[] {5, 10, 50, 200}) {
+            final double[] x = rng.doubles(n, -10, 10).toArray();
+            final double[] w = rng.doubles(n, 0, 3).toArray();
+            w[n / 2] = 0;
+            builder.add(Arguments.of(x, w));
+            builder.add(Arguments.of(Arrays.stream(x).map(v -> Math.exp(v / 3)).toArray(), w));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Expand the values using the frequency weights.
+     *
+     * @param x Values.
+     * @param w Weights.
+     * @return the expanded values
+     */
+    static double[] expand(double[] x, long[] w) {
+        return TestHelper.concatenate(
+            IntStream.range(0, x.length)
+                .mapToObj(i -> {
+                    final double[] a = new double[(int) w[i]];
+                    Arrays.fill(a, x[i]);
+                    return a;
+                }).toArray(double[][]::new));
+    }
+
+    /**
+     * Convert the weights to a {@code double[]}.
+     *
+     * @param w Weights.
+     * @return the weights
+     */
+    static double[] toDouble(long[] w) {
+        return Arrays.stream(w).asDoubleStream().toArray();
+    }
+
+    /**
+     * Compute the weighted moments using extended precision. The result contains:
+     * <ol>
+     *  <li>The sum of the weights \( W \)
+     *  <li>The effective sample size \( W^2 / \sum w^2 \)
+     *  <li>The weighted mean
+     *  <li>The central moments \( m_k = \sum w (x - \overline{x})^k / W \) for {@code k = 2, 3, 4}
+     * </ol>
+     *
+     * @param x Values.
+     * @param w Weights.
+     * @return the moments
+     */
+    static double[] moments(double[] x, double[] w) {
+        final MathContext mc = MathContext.DECIMAL128;
+        BigDecimal sw = BigDecimal.ZERO;
+        BigDecimal sw2 = BigDecimal.ZERO;
+        BigDecimal swx = BigDecimal.ZERO;
+        for (int i = 0; i < x.length; i++) {
+            final BigDecimal wi = new BigDecimal(w[i]);
+            sw = sw.add(wi);
+            sw2 = sw2.add(wi.multiply(wi));
+            swx = swx.add(wi.multiply(new BigDecimal(x[i])));
+        }
+        final BigDecimal mean = swx.divide(sw, mc);
+        final BigDecimal[] s = {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO};
+        for (int i = 0; i < x.length; i++) {
+            final BigDecimal d = new BigDecimal(x[i]).subtract(mean);
+            BigDecimal p = new BigDecimal(w[i]).multiply(d);
+            for (int k = 0; k < s.length; k++) {
+                p = p.multiply(d);
+                s[k] = s[k].add(p);
+            }
+        }
+        return new double[] {
+            sw.doubleValue(),
+            sw.multiply(sw).divide(sw2, mc).doubleValue(),
+            mean.doubleValue(),
+            s[0].divide(sw, mc).doubleValue(),
+            s[1].divide(sw, mc).doubleValue(),
+            s[2].divide(sw, mc).doubleValue(),
+        };
+    }
+}
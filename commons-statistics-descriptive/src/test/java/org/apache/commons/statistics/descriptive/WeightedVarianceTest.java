@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test for {@link WeightedVariance}.
+ */
+final class WeightedVarianceTest {
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, WeightedVariance.create().getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedVariance.of(new double[0], new double[0]).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedVariance.of(new double[0], new long[0]).getAsDouble());
+        Assertions.assertEquals(Double.NaN, WeightedVariance.of(new double[] {1, 2}, new long[2]).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WeightedVariance s = WeightedVariance.of(rng.doubles(50).toArray(), rng.doubles(50).toArray());
+        s.setBiased(true).reset();
+        Assertions.assertEquals(Double.NaN, s.getAsDouble());
+        final WeightedVariance expected = WeightedVariance.create().setBiased(true);
+        for (int i = 0; i < 20; i++) {
+            final double x = rng.nextDouble();
+            final double w = rng.nextDouble();
+            s.accept(x, w);
+            expected.accept(x, w);
+        }
+        Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+    }
+
+    @Test
+    void testInvalidWeightsThrows() {
+        final double[] x = {1, 2, 3};
+        final WeightedVariance v = WeightedVariance.create();
+        for (final double w : new double[] {-1, -Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY}) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> v.accept(1, w));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                () -> WeightedVariance.of(x, new double[] {1, w, 1}));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedVariance.of(x, new long[] {1, -1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedVariance.of(x, new double[2]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WeightedVariance.of(x, new long[4]));
+    }
+
+    @Test
+    void testSingleValue() {
+        final WeightedVariance v = WeightedVariance.create();
+        v.accept(3, 0.25);
+        v.accept(42, 0);
+        Assertions.assertEquals(0, v.getAsDouble());
+        Assertions.assertEquals(0, v.setBiased(true).getAsDouble());
+        Assertions.assertEquals(0, v.setReliabilityWeights(true).getAsDouble());
+        Assertions.assertEquals(0, WeightedVariance.of(new double[] {3}, new long[] {5}).getAsDouble());
+    }
+
+    @Test
+    void testFrequencyWeightsBelowOne() {
+        // The unbiased frequency weight variance requires a sum of weights above 1
+        final double[] x = {1, 2};
+        Assertions.assertEquals(Double.NaN, WeightedVariance.of(x, new double[] {0.25, 0.75}).getAsDouble());
+        Assertions.assertEquals(0.1875,
+            WeightedVariance.of(x, new double[] {0.25, 0.75}).setBiased(true).getAsDouble());
+        Assertions.assertEquals(0.5,
+            WeightedVariance.of(x, new double[] {0.25, 0.25}).setReliabilityWeights(true).getAsDouble());
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#frequencyData")
+    void testFrequencyWeights(double[] x, long[] w) {
+        final double[] data = WeightedTestData.expand(x, w);
+        final double[] dw = WeightedTestData.toDouble(w);
+        for (final boolean biased : new boolean[] {false, true}) {
+            final double expected = Variance.of(data).setBiased(biased).getAsDouble();
+            final WeightedVariance v = WeightedVariance.create();
+            for (int i = 0; i < x.length; i++) {
+                v.accept(x[i], dw[i]);
+            }
+            Assertions.assertSame(v, v.setBiased(biased));
+            final double tol = 1e-13 * expected;
+            Assertions.assertEquals(expected, v.getAsDouble(), 1e-9 * expected, "accept");
+            Assertions.assertEquals(expected, WeightedVariance.of(x, dw).setBiased(biased).getAsDouble(), tol,
+                "of double[]");
+            Assertions.assertEquals(expected, WeightedVariance.of(x, w).setBiased(biased).getAsDouble(), tol,
+                "of long[]");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testReliabilityWeights(double[] x, double[] w) {
+        final double[] m = WeightedTestData.moments(x, w);
+        final double biased = m[3];
+        final double unbiased = m[3] / (1 - 1 / m[1]);
+        final double tol = 1e-13 * biased;
+        final WeightedVariance v1 = WeightedVariance.create();
+        for (int i = 0; i < x.length; i++) {
+            v1.accept(x[i], w[i]);
+        }
+        final WeightedVariance v2 = WeightedVariance.of(x, w);
+        Assertions.assertSame(v1, v1.setReliabilityWeights(true));
+        v2.setReliabilityWeights(true);
+        Assertions.assertEquals(unbiased, v1.getAsDouble(), 100 * tol, "accept");
+        Assertions.assertEquals(unbiased, v2.getAsDouble(), tol, "of");
+        Assertions.assertEquals(biased, v1.setBiased(true).getAsDouble(), 100 * tol, "accept biased");
+        Assertions.assertEquals(biased, v2.setBiased(true).getAsDouble(), tol, "of biased");
+        // Invariant to the scale of the weights
+        for (final double s : new double[] {0x1.0p-500, 3, 0x1.0p500}) {
+            final double[] ws = Arrays.stream(w).map(v -> v * s).toArray();
+            Assertions.assertEquals(unbiased,
+                WeightedVariance.of(x, ws).setReliabilityWeights(true).getAsDouble(), tol, "scaled");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "org.apache.commons.statistics.descriptive.WeightedTestData#reliabilityData")
+    void testCombine(double[] x, double[] w) {
+        final double expected = WeightedVariance.of(x, w).setBiased(true).getAsDouble();
+        final double tol = 1e-11 * expected;
+        final int n = x.length;
+        for (final int k : new int[] {0, 1, n / 3, n / 2, n - 1, n}) {
+            final double[] x1 = Arrays.copyOf(x, k);
+            final double[] w1 = Arrays.copyOf(w, k);
+            final double[] x2 = Arrays.copyOfRange(x, k, n);
+            final double[] w2 = Arrays.copyOfRange(w, k, n);
+            final WeightedVariance v1 = WeightedVariance.of(x1, w1);
+            final WeightedVariance v2 = WeightedVariance.create();
+            for (int i = 0; i < x2.length; i++) {
+                v2.accept(x2[i], w2[i]);
+            }
+            Assertions.assertSame(v1, v1.combine(v2));
+            Assertions.assertEquals(expected, v1.setBiased(true).getAsDouble(), tol);
+            Assertions.assertEquals(expected,
+                WeightedVariance.of(x2, w2).combine(WeightedVariance.of(x1, w1)).setBiased(true).getAsDouble(), tol);
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double[] w = {1, 2, 3};
+        for (final double[] x : new double[][] {
+            {1, 2, Double.NaN},
+            {1, 2, Double.POSITIVE_INFINITY},
+            {1, Double.NEGATIVE_INFINITY, 3},
+        }) {
+            Assertions.assertEquals(Double.NaN, WeightedVariance.of(x, w).getAsDouble());
+            final WeightedVariance v = WeightedVariance.create();
+            for (int i = 0; i < x.length; i++) {
+                v.accept(x[i], w[i]);
+            }
+            Assertions.assertEquals(Double.NaN, v.getAsDouble());
+        }
+    }
+
+    @Test
+    void testLargeValues() {
+        // The mean does not overflow
+        final double max = Double.MAX_VALUE;
+        final double[] x = {max, max, max};
+        final double[] w = {1, 2, 3};
+        final WeightedVariance v = WeightedVariance.create();
+        for (int i = 0; i < x.length; i++) {
+            v.accept(x[i], w[i]);
+        }
+        Assertions.assertEquals(0, v.getAsDouble());
+        Assertions.assertEquals(0, WeightedVariance.of(x, w).getAsDouble());
+        // Overflow of the sum of squared deviations
+        Assertions.assertEquals(Double.NaN,
+            WeightedVariance.of(new double[] {max, -max}, new double[] {1, 2}).getAsDouble());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link WindowedMean}.
+ */
+final class WindowedMeanTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidWindowSizeThrows(int size) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WindowedMean.create(size));
+    }
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, WindowedMean.create(3).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WindowedMean s = WindowedMean.create(5);
+        rng.doubles(12).forEach(s);
+        s.accept(Double.NaN);
+        s.reset();
+        Assertions.assertEquals(WindowedMean.create(5).getAsDouble(), s.getAsDouble());
+        final double[] y = rng.doubles(8).toArray();
+        final WindowedMean expected = WindowedMean.create(5);
+        for (final double x : y) {
+            s.accept(x);
+            expected.accept(x);
+            Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 31})
+    void testWindow(int w) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = WindowedTestData.createValues(rng, 1000);
+        final WindowedMean s = WindowedMean.create(w);
+        for (int i = 0; i < values.length; i++) {
+            s.accept(values[i]);
+            final double[] x = Arrays.copyOfRange(values, Math.max(0, i + 1 - w), i + 1);
+            final double expected = Mean.of(x).getAsDouble();
+            WindowedTestData.assertEquals(expected, s.getAsDouble(), 1e-12, i);
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final WindowedMean s = WindowedMean.create(2);
+        final double[] values = {1, inf, 2, -inf, inf, 3, Double.NaN, 4, 5};
+        final double[] expected = {1, inf, inf, -inf, Double.NaN, inf, Double.NaN, Double.NaN, 4.5};
+        for (int i = 0; i < values.length; i++) {
+            s.accept(values[i]);
+            Assertions.assertEquals(expected[i], s.getAsDouble());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link WindowedMin}.
+ */
+final class WindowedMinTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidWindowSizeThrows(int size) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WindowedMin.create(size));
+    }
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, WindowedMin.create(3).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WindowedMin s = WindowedMin.create(5);
+        rng.doubles(12).forEach(s);
+        s.accept(Double.NaN);
+        s.reset();
+        Assertions.assertEquals(WindowedMin.create(5).getAsDouble(), s.getAsDouble());
+        final double[] y = rng.doubles(8).toArray();
+        final WindowedMin expected = WindowedMin.create(5);
+        for (final double x : y) {
+            s.accept(x);
+            expected.accept(x);
+            Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 31})
+    void testWindow(int w) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = WindowedTestData.createValues(rng, 1000);
+        // Add repeats and signed zeros
+        for (int i = 0; i < values.length; i += 7) {
+            values[i] = (i & 0x8) == 0 ? -0.0 : 0.0;
+            values[i + 1] = values[i + 2];
+        }
+        final WindowedMin s = WindowedMin.create(w);
+        for (int i = 0; i < values.length; i++) {
+            s.accept(values[i]);
+            final double[] x = Arrays.copyOfRange(values, Math.max(0, i + 1 - w), i + 1);
+            final double expected = Min.of(x).getAsDouble();
+            Assertions.assertEquals(expected, s.getAsDouble(), () -> Arrays.toString(x));
+        }
+    }
+
+    @Test
+    void testMonotonic() {
+        final int w = 3;
+        final WindowedMin s1 = WindowedMin.create(w);
+        final WindowedMin s2 = WindowedMin.create(w);
+        for (int i = 0; i < 10; i++) {
+            s1.accept(i);
+            s2.accept(-i);
+            Assertions.assertEquals(Min.of(i, Math.max(0, i - 1), Math.max(0, i - 2)).getAsDouble(),
+                s1.getAsDouble());
+            Assertions.assertEquals(Min.of(-i, -Math.max(0, i - 1), -Math.max(0, i - 2)).getAsDouble(),
+                s2.getAsDouble());
+        }
+    }
+}
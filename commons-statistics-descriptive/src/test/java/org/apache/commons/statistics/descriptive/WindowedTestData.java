@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Test data for the sliding window statistics.
+ */
+final class WindowedTestData {
+    /** No instances. */
+    private WindowedTestData() {}
+
+    /**
+     * Creates values. The values are mostly finite with occasional runs of
+     * non-finite values.
+     *
+     * @param rng Source of randomness.
+     * @param n Number of values.
+     * @return the values
+     */
+    static double[] createValues(UniformRandomProvider rng, int n) {
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            final int c = rng.nextInt(100);
+            if (c == 0) {
+                values[i] = Double.NaN;
+            } else if (c == 1) {
+                values[i] = Double.POSITIVE_INFINITY;
+            } else if (c == 2) {
+                values[i] = Double.NEGATIVE_INFINITY;
+            } else {
+                values[i] = rng.nextDouble() * 10 + rng.nextInt(3) * 100;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Assert the actual value is equal to the expected value with a relative
+     * tolerance. Non-finite values must be exactly equal.
+     *
+     * @param expected Expected.
+     * @param actual Actual.
+     * @param relativeError Relative error.
+     * @param index Index of the value in the test data.
+     */
+    static void assertEquals(double expected, double actual, double relativeError, int index) {
+        if (Double.isFinite(expected)) {
+            Assertions.assertEquals(expected, actual, Math.abs(expected) * relativeError, () -> "index " + index);
+        } else {
+            Assertions.assertEquals(expected, actual, () -> "index " + index);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.descriptive;
+
+import java.util.Arrays;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link WindowedVariance}.
+ */
+final class WindowedVarianceTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    void testInvalidWindowSizeThrows(int size) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WindowedVariance.create(size));
+    }
+
+    @Test
+    void testEmpty() {
+        Assertions.assertEquals(Double.NaN, WindowedVariance.create(3).getAsDouble());
+    }
+
+    @Test
+    void testReset() {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final WindowedVariance s = WindowedVariance.create(5);
+        rng.doubles(12).forEach(s);
+        s.accept(Double.NaN);
+        s.reset();
+        Assertions.assertEquals(WindowedVariance.create(5).getAsDouble(), s.getAsDouble());
+        final double[] y = rng.doubles(8).toArray();
+        final WindowedVariance expected = WindowedVariance.create(5);
+        for (final double x : y) {
+            s.accept(x);
+            expected.accept(x);
+            Assertions.assertEquals(expected.getAsDouble(), s.getAsDouble());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 31})
+    void testWindow(int w) {
+        final UniformRandomProvider rng = TestHelper.createRNG();
+        final double[] values = WindowedTestData.createValues(rng, 1000);
+        final WindowedVariance s1 = WindowedVariance.create(w);
+        final WindowedVariance s2 = WindowedVariance.create(w);
+        Assertions.assertSame(s2, s2.setBiased(true));
+        for (int i = 0; i < values.length; i++) {
+            s1.accept(values[i]);
+            s2.accept(values[i]);
+            final double[] x = Arrays.copyOfRange(values, Math.max(0, i + 1 - w), i + 1);
+            WindowedTestData.assertEquals(Variance.of(x).getAsDouble(), s1.getAsDouble(), 1e-9, i);
+            WindowedTestData.assertEquals(Variance.of(x).setBiased(true).getAsDouble(), s2.getAsDouble(), 1e-9, i);
+        }
+    }
+
+    @Test
+    void testNonFinite() {
+        final double inf = Double.POSITIVE_INFINITY;
+        final WindowedVariance s = WindowedVariance.create(2);
+        final double[] values = {1, inf, 2, 3, -inf, Double.NaN, 4, 4, 5};
+        final double[] expected = {0, Double.NaN, Double.NaN, Variance.of(2, 3).getAsDouble(),
+            Double.NaN, Double.NaN, Double.NaN, 0, Variance.of(4, 5).getAsDouble()};
+        for (int i = 0; i < values.length; i++) {
+            s.accept(values[i]);
+            Assertions.assertEquals(expected[i], s.getAsDouble());
+        }
+    }
+
+    @Test
+    void testLargeValueLeavesWindow() {
+        // Round-off from the removal of a large value is removed when the window is recomputed
+        final int w = 4;
+        final WindowedVariance s = WindowedVariance.create(w);
+        s.accept(1e10);
+        for (int i = 0; i < 2 * w; i++) {
+            s.accept(i & 0x1);
+        }
+        Assertions.assertEquals(Variance.of(0, 1, 0, 1).getAsDouble(), s.getAsDouble());
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.statistics.examples.jmh.descriptive;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.IntSum;
+import org.apache.commons.statistics.descriptive.IntSumOfSquares;
+import org.apache.commons.statistics.descriptive.Max;
+import org.apache.commons.statistics.descriptive.Min;
+import org.apache.commons.statistics.descriptive.Sum;
+import org.apache.commons.statistics.descriptive.SumOfSquares;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the batch {@code of(...)} array methods of the statistics
+ * compared to a sequential loop over the values using the {@code accept} method.
+ *
+ * <p>The batch methods of some statistics use independent accumulators to shorten
+ * the dependency chain of the loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class BatchKernelPerformance {
+    /** Sum. */
+    private static final String SUM = "Sum";
+    /** Sum of squares. */
+    private static final String SUM_OF_SQUARES = "SumOfSquares";
+    /** Minimum. */
+    private static final String MIN = "Min";
+    /** Maximum. */
+    private static final String MAX = "Max";
+    /** Sequential loop using the accept method. */
+    private static final String SEQUENTIAL = "sequential";
+    /** Batch array method. */
+    private static final String BATCH = "batch";
+
+    /**
+     * Source of array data.
+     */
+    @State(Scope.Benchmark)
+    public static class DataSource {
+        /** Data length. */
+        @Param({"1000", "100000", "10000000"})
+        private int length;
+
+        /** Data. */
+        private double[] data;
+
+        /** Data as an int. */
+        private int[] intData;
+
+        /**
+         * @return the data
+         */
+        public double[] getData() {
+            return data;
+        }
+
+        /**
+         * @return the data
+         */
+        public int[] getIntData() {
+            return intData;
+        }
+
+        /**
+         * Create the data.
+         * Data will be randomized per iteration.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final UniformRandomProvider rng = RandomSource.XO_RO_SHI_RO_128_PP.create();
+            data = rng.doubles(length, -1, 1).toArray();
+            intData = rng.ints(length).toArray();
+        }
+    }
+
+    /**
+     * Source of a function to compute a statistic of {@code double} values.
+     */
+    @State(Scope.Benchmark)
+    public static class DoubleFunctionSource {
+        /** Name of the statistic. */
+        @Param({SUM, SUM_OF_SQUARES, MIN, MAX})
+        private String name;
+
+        /** Name of the implementation. */
+        @Param({SEQUENTIAL, BATCH})
+        private String impl;
+
+        /** The function. */
+        private ToDoubleFunction<double[]> function;
+
+        /**
+         * @return the function
+         */
+        public ToDoubleFunction<double[]> getFunction() {
+            return function;
+        }
+
+        /**
+         * Create the function.
+         */
+        @Setup
+        public void setup() {
+            if (SEQUENTIAL.equals(impl)) {
+                if (SUM.equals(name)) {
+                    function = createSequential(Sum::create);
+                } else if (SUM_OF_SQUARES.equals(name)) {
+                    function = createSequential(SumOfSquares::create);
+                } else if (MIN.equals(name)) {
+                    function = createSequential(Min::create);
+                } else if (MAX.equals(name)) {
+                    function = createSequential(Max::create);
+                } else {
+                    throw new IllegalStateException("Unknown double function: " + name);
+                }
+            } else if (BATCH.equals(impl)) {
+                if (SUM.equals(name)) {
+                    function = x -> Sum.of(x).getAsDouble();
+                } else if (SUM_OF_SQUARES.equals(name)) {
+                    function = x -> SumOfSquares.of(x).getAsDouble();
+                } else if (MIN.equals(name)) {
+                    function = x -> Min.of(x).getAsDouble();
+                } else if (MAX.equals(name)) {
+                    function = x -> Max.of(x).getAsDouble();
+                } else {
+                    throw new IllegalStateException("Unknown double function: " + name);
+                }
+            } else {
+                throw new IllegalStateException("Unknown implementation: " + impl);
+            }
+        }
+
+        /**
+         * Creates a function to compute the statistic using a sequential loop.
+         *
+         * @param <T> Type of the statistic
+         * @param constructor Constructor of the statistic.
+         * @return the function
+         */
+        private static <T extends DoubleConsumer & DoubleSupplier> ToDoubleFunction<double[]> createSequential(
+                Supplier<T> constructor) {
+            return x -> {
+                final T s = constructor.get();
+                for (final double v : x) {
+                    s.accept(v);
+                }
+                return s.getAsDouble();
+            };
+        }
+    }
+
+    /**
+     * Source of a function to compute a statistic of {@code int} values.
+     */
+    @State(Scope.Benchmark)
+    public static class IntFunctionSource {
+        /** Name of the statistic. */
+        @Param({SUM, SUM_OF_SQUARES})
+        private String name;
+
+        /** Name of the implementation. */
+        @Param({SEQUENTIAL, BATCH})
+        private String impl;
+
+        /** The function. */
+        private ToDoubleFunction<int[]> function;
+
+        /**
+         * @return the function
+         */
+        public ToDoubleFunction<int[]> getFunction() {
+            return function;
+        }
+
+        /**
+         * Create the function.
+         */
+        @Setup
+        public void setup() {
+            if (SEQUENTIAL.equals(impl)) {
+                if (SUM.equals(name)) {
+                    function = createSequential(IntSum::create);
+                } else if (SUM_OF_SQUARES.equals(name)) {
+                    function = createSequential(IntSumOfSquares::create);
+                } else {
+                    throw new IllegalStateException("Unknown int function: " + name);
+                }
+            } else if (BATCH.equals(impl)) {
+                if (SUM.equals(name)) {
+                    function = x -> IntSum.of(x).getAsDouble();
+                } else if (SUM_OF_SQUARES.equals(name)) {
+                    function = x -> IntSumOfSquares.of(x).getAsDouble();
+                } else {
+                    throw new IllegalStateException("Unknown int function: " + name);
+                }
+            } else {
+                throw new IllegalStateException("Unknown implementation: " + impl);
+            }
+        }
+
+        /**
+         * Creates a function to compute the statistic using a sequential loop.
+         *
+         * @param <T> Type of the statistic
+         * @param constructor Constructor of the statistic.
+         * @return the function
+         */
+        private static <T extends IntConsumer & DoubleSupplier> ToDoubleFunction<int[]> createSequential(
+                Supplier<T> constructor) {
+            return x -> {
+                final T s = constructor.get();
+                for (final int v : x) {
+                    s.accept(v);
+                }
+                return s.getAsDouble();
+            };
+        }
+    }
+
+    /**
+     * Compute the statistic of {@code double} values.
+     *
+     * @param function Source of the function.
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double doubleStatistic(DoubleFunctionSource function, DataSource source) {
+        return function.getFunction().applyAsDouble(source.getData());
+    }
+
+    /**
+     * Compute the statistic of {@code int} values.
+     *
+     * @param function Source of the function.
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double intStatistic(IntFunctionSource function, DataSource source) {
+        return function.getFunction().applyAsDouble(source.getIntData());
+    }
+}
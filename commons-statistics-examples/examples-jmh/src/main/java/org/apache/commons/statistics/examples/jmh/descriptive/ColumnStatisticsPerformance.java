@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.examples.jmh.descriptive;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.ColumnDoubleStatistics;
+import org.apache.commons.statistics.descriptive.DoubleStatistics;
+import org.apache.commons.statistics.descriptive.Statistic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes a benchmark of computing statistics of each column of a table of values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class ColumnStatisticsPerformance {
+    /** Statistics computed for each column. */
+    private static final Statistic[] STATISTICS = {
+        Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE,
+    };
+
+    /**
+     * Source of the table of values.
+     */
+    @State(Scope.Benchmark)
+    public static class DataSource {
+        /** Number of rows. */
+        @Param({"1000", "100000"})
+        private int rows;
+
+        /** Number of columns. */
+        @Param({"4", "32", "256"})
+        private int columns;
+
+        /** Rows of values. */
+        private double[][] data;
+        /** Rows of values stored in row-major order. */
+        private double[] flat;
+
+        /**
+         * @return the rows
+         */
+        public double[][] getData() {
+            return data;
+        }
+
+        /**
+         * @return the flat rows
+         */
+        public double[] getFlat() {
+            return flat;
+        }
+
+        /**
+         * @return the number of rows
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * @return the number of columns
+         */
+        public int getColumns() {
+            return columns;
+        }
+
+        /**
+         * Create the data.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            // Data will be randomized per iteration
+            final UniformRandomProvider rng = RandomSource.XO_RO_SHI_RO_128_PP.create();
+            data = new double[rows][];
+            flat = new double[rows * columns];
+            for (int i = 0; i < rows; i++) {
+                data[i] = rng.doubles(columns).toArray();
+                System.arraycopy(data[i], 0, flat, i * columns, columns);
+            }
+        }
+    }
+
+    /**
+     * Compute the statistics using a {@link DoubleStatistics} for each column. The
+     * values of each column are read in column order.
+     *
+     * @param source Source of the data.
+     * @param bh Data sink.
+     */
+    @Benchmark
+    public void doubleStatistics(DataSource source, Blackhole bh) {
+        final double[][] data = source.getData();
+        final int columns = source.getColumns();
+        for (int j = 0; j < columns; j++) {
+            final DoubleStatistics s = DoubleStatistics.of(STATISTICS);
+            for (final double[] row : data) {
+                s.accept(row[j]);
+            }
+            bh.consume(s.getAsDouble(Statistic.VARIANCE));
+        }
+    }
+
+    /**
+     * Compute the statistics using a {@link DoubleStatistics} for each column. The
+     * values of the flat table are read in column order.
+     *
+     * @param source Source of the data.
+     * @param bh Data sink.
+     */
+    @Benchmark
+    public void doubleStatisticsFlat(DataSource source, Blackhole bh) {
+        final double[] flat = source.getFlat();
+        final int columns = source.getColumns();
+        for (int j = 0; j < columns; j++) {
+            final DoubleStatistics s = DoubleStatistics.of(STATISTICS);
+            for (int i = j; i < flat.length; i += columns) {
+                s.accept(flat[i]);
+            }
+            bh.consume(s.getAsDouble(Statistic.VARIANCE));
+        }
+    }
+
+    /**
+     * Compute the statistics using a {@link ColumnDoubleStatistics}. The values
+     * are read in row order.
+     *
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double[] columnStatistics(DataSource source) {
+        final ColumnDoubleStatistics s = ColumnDoubleStatistics.of(source.getColumns(), STATISTICS);
+        s.accept(source.getData());
+        return s.getResults(Statistic.VARIANCE);
+    }
+
+    /**
+     * Compute the statistics using a {@link ColumnDoubleStatistics}. The values
+     * of the flat table are read in row order.
+     *
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double[] columnStatisticsFlat(DataSource source) {
+        final int columns = source.getColumns();
+        final ColumnDoubleStatistics s = ColumnDoubleStatistics.of(columns, STATISTICS);
+        s.accept(source.getFlat(), 0, columns, source.getRows());
+        return s.getResults(Statistic.VARIANCE);
+    }
+}
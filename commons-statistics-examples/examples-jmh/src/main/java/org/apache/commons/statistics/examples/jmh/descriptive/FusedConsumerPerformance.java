@@ -0,0 +1,397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.examples.jmh.descriptive;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.Max;
+import org.apache.commons.statistics.descriptive.Mean;
+import org.apache.commons.statistics.descriptive.Min;
+import org.apache.commons.statistics.descriptive.Sum;
+import org.apache.commons.statistics.descriptive.SumOfSquares;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of the consumer used to update a set of statistics. This compares
+ * a chain composed using {@link DoubleConsumer#andThen(DoubleConsumer)} with a single
+ * fused consumer of the same statistic instances.
+ *
+ * <p>The general fused consumer mirrors the package-private class used by
+ * {@link org.apache.commons.statistics.descriptive.DoubleStatistics DoubleStatistics};
+ * the {@link Mean} is used in place of the internal moment. The specialised consumers
+ * update a fixed combination of statistics without checks for absent statistics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class FusedConsumerPerformance {
+    /** Min and max. */
+    private static final String MIN_MAX = "MinMax";
+    /** Mean and sum. */
+    private static final String MEAN_SUM = "MeanSum";
+    /** Min, max and mean. */
+    private static final String MIN_MAX_MEAN = "MinMaxMean";
+    /** Min, max, mean and sum. */
+    private static final String MIN_MAX_MEAN_SUM = "MinMaxMeanSum";
+    /** Min, max, mean, sum and sum of squares. */
+    private static final String SUMMARY = "Summary";
+    /** Chain composed using {@link DoubleConsumer#andThen(DoubleConsumer)}. */
+    private static final String AND_THEN = "AndThen";
+    /** Specialised fused consumer for the statistics (or the general consumer if none exists). */
+    private static final String SPECIALISED = "Specialised";
+    /** General fused consumer that skips absent statistics. */
+    private static final String GENERAL = "General";
+
+    /**
+     * Source of {@code double} array data.
+     */
+    @State(Scope.Benchmark)
+    public static class DataSource {
+        /** Data length. */
+        @Param({"1000", "100000"})
+        private int length;
+
+        /** Data. */
+        private double[] data;
+
+        /**
+         * @return the data
+         */
+        public double[] getData() {
+            return data;
+        }
+
+        /**
+         * Create the data.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            // Data will be randomized per iteration
+            data = RandomSource.XO_RO_SHI_RO_128_PP.create().doubles(length).toArray();
+        }
+    }
+
+    /**
+     * Source of a {@link DoubleConsumer} that computes a set of statistics.
+     */
+    @State(Scope.Benchmark)
+    public static class ConsumerSource {
+        /** Statistics. */
+        @Param({MIN_MAX, MEAN_SUM, MIN_MAX_MEAN, MIN_MAX_MEAN_SUM, SUMMARY})
+        private String statistics;
+
+        /** Implementation. */
+        @Param({AND_THEN, SPECIALISED, GENERAL})
+        private String impl;
+
+        /** The consumer. */
+        private Supplier<DoubleConsumer> consumer;
+
+        /**
+         * @return the consumer
+         */
+        public DoubleConsumer getConsumer() {
+            return consumer.get();
+        }
+
+        /**
+         * Create the consumer.
+         */
+        @Setup
+        public void setup() {
+            // An application using the composite statistics will create chains of
+            // different statistics. Run every chain so the profile of the andThen call
+            // site is not specific to the benchmarked chain.
+            final double[] data = RandomSource.XO_RO_SHI_RO_128_PP.create().doubles(1000).toArray();
+            for (final String s : new String[] {MIN_MAX, MEAN_SUM, MIN_MAX_MEAN, MIN_MAX_MEAN_SUM, SUMMARY}) {
+                for (int i = 0; i < 100; i++) {
+                    final DoubleConsumer c = create(s, AND_THEN);
+                    for (final double x : data) {
+                        c.accept(x);
+                    }
+                }
+            }
+            consumer = () -> create(statistics, impl);
+        }
+
+        /**
+         * Create the consumer.
+         *
+         * @param statistics Statistics.
+         * @param impl Implementation.
+         * @return the consumer
+         */
+        private static DoubleConsumer create(String statistics, String impl) {
+            final Min min = Min.create();
+            final Max max = Max.create();
+            final Mean mean = Mean.create();
+            final Sum sum = Sum.create();
+            final SumOfSquares sumOfSquares = SumOfSquares.create();
+            if (MIN_MAX.equals(statistics)) {
+                return create(impl, min, max, null, null, null);
+            } else if (MEAN_SUM.equals(statistics)) {
+                return create(impl, null, null, mean, sum, null);
+            } else if (MIN_MAX_MEAN.equals(statistics)) {
+                return create(impl, min, max, mean, null, null);
+            } else if (MIN_MAX_MEAN_SUM.equals(statistics)) {
+                return create(impl, min, max, mean, sum, null);
+            } else if (SUMMARY.equals(statistics)) {
+                return create(impl, min, max, mean, sum, sumOfSquares);
+            }
+            throw new IllegalStateException("Unknown statistics: " + statistics);
+        }
+
+        /**
+         * Create the consumer of the non-null statistics.
+         *
+         * @param impl Implementation.
+         * @param min Min.
+         * @param max Max.
+         * @param mean Mean.
+         * @param sum Sum.
+         * @param sumOfSquares Sum of squares.
+         * @return the consumer
+         */
+        private static DoubleConsumer create(String impl, Min min, Max max, Mean mean, Sum sum,
+                                             SumOfSquares sumOfSquares) {
+            if (AND_THEN.equals(impl)) {
+                DoubleConsumer c = x -> { };
+                for (final DoubleConsumer s : new DoubleConsumer[] {min, max, mean, sum, sumOfSquares}) {
+                    if (s != null) {
+                        c = c.andThen(s);
+                    }
+                }
+                return c;
+            } else if (GENERAL.equals(impl)) {
+                return new General(min, max, mean, sum, sumOfSquares);
+            } else if (SPECIALISED.equals(impl)) {
+                if (sumOfSquares == null) {
+                    if (mean == null) {
+                        return new MinMax(min, max);
+                    }
+                    if (min == null) {
+                        return new MeanSum(mean, sum);
+                    }
+                    return sum == null ?
+                        new MinMaxMean(min, max, mean) :
+                        new MinMaxMeanSum(min, max, mean, sum);
+                }
+                return new General(min, max, mean, sum, sumOfSquares);
+            }
+            throw new IllegalStateException("Unknown implementation: " + impl);
+        }
+    }
+
+    /**
+     * Accumulate the min and max.
+     */
+    static final class MinMax implements DoubleConsumer {
+        /** Min. */
+        private final Min min;
+        /** Max. */
+        private final Max max;
+
+        /**
+         * @param min Min.
+         * @param max Max.
+         */
+        MinMax(Min min, Max max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void accept(double value) {
+            min.accept(value);
+            max.accept(value);
+        }
+    }
+
+    /**
+     * Accumulate the mean and sum.
+     */
+    static final class MeanSum implements DoubleConsumer {
+        /** Mean. */
+        private final Mean mean;
+        /** Sum. */
+        private final Sum sum;
+
+        /**
+         * @param mean Mean.
+         * @param sum Sum.
+         */
+        MeanSum(Mean mean, Sum sum) {
+            this.mean = mean;
+            this.sum = sum;
+        }
+
+        @Override
+        public void accept(double value) {
+            mean.accept(value);
+            sum.accept(value);
+        }
+    }
+
+    /**
+     * Accumulate the min, max and mean.
+     */
+    static final class MinMaxMean implements DoubleConsumer {
+        /** Min. */
+        private final Min min;
+        /** Max. */
+        private final Max max;
+        /** Mean. */
+        private final Mean mean;
+
+        /**
+         * @param min Min.
+         * @param max Max.
+         * @param mean Mean.
+         */
+        MinMaxMean(Min min, Max max, Mean mean) {
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+        }
+
+        @Override
+        public void accept(double value) {
+            min.accept(value);
+            max.accept(value);
+            mean.accept(value);
+        }
+    }
+
+    /**
+     * Accumulate the min, max, mean and sum.
+     */
+    static final class MinMaxMeanSum implements DoubleConsumer {
+        /** Min. */
+        private final Min min;
+        /** Max. */
+        private final Max max;
+        /** Mean. */
+        private final Mean mean;
+        /** Sum. */
+        private final Sum sum;
+
+        /**
+         * @param min Min.
+         * @param max Max.
+         * @param mean Mean.
+         * @param sum Sum.
+         */
+        MinMaxMeanSum(Min min, Max max, Mean mean, Sum sum) {
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.sum = sum;
+        }
+
+        @Override
+        public void accept(double value) {
+            min.accept(value);
+            max.accept(value);
+            mean.accept(value);
+            sum.accept(value);
+        }
+    }
+
+    /**
+     * Accumulate any combination of statistics. Absent statistics are {@code null}.
+     */
+    static final class General implements DoubleConsumer {
+        /** Min. */
+        private final Min min;
+        /** Max. */
+        private final Max max;
+        /** Mean. */
+        private final Mean mean;
+        /** Sum. */
+        private final Sum sum;
+        /** Sum of squares. */
+        private final SumOfSquares sumOfSquares;
+
+        /**
+         * @param min Min.
+         * @param max Max.
+         * @param mean Mean.
+         * @param sum Sum.
+         * @param sumOfSquares Sum of squares.
+         */
+        General(Min min, Max max, Mean mean, Sum sum, SumOfSquares sumOfSquares) {
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.sum = sum;
+            this.sumOfSquares = sumOfSquares;
+        }
+
+        @Override
+        public void accept(double value) {
+            if (min != null) {
+                min.accept(value);
+            }
+            if (max != null) {
+                max.accept(value);
+            }
+            if (mean != null) {
+                mean.accept(value);
+            }
+            if (sum != null) {
+                sum.accept(value);
+            }
+            if (sumOfSquares != null) {
+                sumOfSquares.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Compute the statistics using a for loop over the consumer.
+     *
+     * @param consumer Source of the consumer.
+     * @param source Source of the data.
+     * @return the consumer
+     */
+    @Benchmark
+    public Object forLoop(ConsumerSource consumer, DataSource source) {
+        final double[] data = source.getData();
+        final DoubleConsumer s = consumer.getConsumer();
+        for (int i = 0; i < data.length; i++) {
+            s.accept(data[i]);
+        }
+        return s;
+    }
+}
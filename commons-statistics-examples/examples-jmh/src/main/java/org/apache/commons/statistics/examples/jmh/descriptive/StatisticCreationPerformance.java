@@ -18,10 +18,21 @@
 package org.apache.commons.statistics.examples.jmh.descriptive;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.concurrent.TimeUnit;
 import java.util.function.DoubleConsumer;
 import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
 import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.DoubleStatistics;
+import org.apache.commons.statistics.descriptive.Kurtosis;
+import org.apache.commons.statistics.descriptive.Max;
+import org.apache.commons.statistics.descriptive.Mean;
+import org.apache.commons.statistics.descriptive.Min;
+import org.apache.commons.statistics.descriptive.Skewness;
+import org.apache.commons.statistics.descriptive.Statistic;
+import org.apache.commons.statistics.descriptive.Sum;
+import org.apache.commons.statistics.descriptive.Variance;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -45,6 +56,19 @@ import org.openjdk.jmh.annotations.Warmup;
 @State(Scope.Benchmark)
 @Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
 public class StatisticCreationPerformance {
+    /** Min and max. */
+    private static final String MIN_MAX = "MinMax";
+    /** Mean and variance. */
+    private static final String MEAN_VARIANCE = "MeanVariance";
+    /** Min, max, mean, variance and sum. */
+    private static final String SUMMARY = "Summary";
+    /** Mean, variance, skewness and kurtosis. */
+    private static final String MOMENTS = "Moments";
+    /** Chain of individual statistics composed using {@link DoubleConsumer#andThen(DoubleConsumer)}. */
+    private static final String CHAIN = "Chain";
+    /** Composite {@link DoubleStatistics} using a fused consumer. */
+    private static final String FUSED = "Fused";
+
     /**
      * Source of {@code double} array data.
      */
@@ -74,6 +98,98 @@ public class StatisticCreationPerformance {
         }
     }
 
+    /**
+     * Source of a {@link DoubleConsumer} that computes a set of statistics.
+     */
+    @State(Scope.Benchmark)
+    public static class StatisticsSource {
+        /** Statistics. */
+        @Param({MIN_MAX, MEAN_VARIANCE, SUMMARY, MOMENTS})
+        private String statistics;
+
+        /** Implementation. */
+        @Param({CHAIN, FUSED})
+        private String impl;
+
+        /** The consumer. */
+        private Supplier<DoubleConsumer> consumer;
+
+        /**
+         * @return the consumer
+         */
+        public DoubleConsumer getConsumer() {
+            return consumer.get();
+        }
+
+        /**
+         * Create the consumer.
+         */
+        @Setup
+        public void setup() {
+            final EnumSet<Statistic> set;
+            if (MIN_MAX.equals(statistics)) {
+                set = EnumSet.of(Statistic.MIN, Statistic.MAX);
+            } else if (MEAN_VARIANCE.equals(statistics)) {
+                set = EnumSet.of(Statistic.MEAN, Statistic.VARIANCE);
+            } else if (SUMMARY.equals(statistics)) {
+                set = EnumSet.of(Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE, Statistic.SUM);
+            } else if (MOMENTS.equals(statistics)) {
+                set = EnumSet.of(Statistic.MEAN, Statistic.VARIANCE, Statistic.SKEWNESS, Statistic.KURTOSIS);
+            } else {
+                throw new IllegalStateException("Unknown statistics: " + statistics);
+            }
+            if (CHAIN.equals(impl)) {
+                consumer = () -> chain(set);
+            } else if (FUSED.equals(impl)) {
+                final DoubleStatistics.Builder builder = DoubleStatistics.builder(set.toArray(new Statistic[0]));
+                consumer = builder::build;
+            } else {
+                throw new IllegalStateException("Unknown implementation: " + impl);
+            }
+        }
+
+        /**
+         * Create a chain of the individual statistics.
+         *
+         * @param set Statistics.
+         * @return the consumer
+         */
+        private static DoubleConsumer chain(EnumSet<Statistic> set) {
+            DoubleConsumer c = x -> { };
+            for (final Statistic s : set) {
+                c = c.andThen(create(s));
+            }
+            return c;
+        }
+
+        /**
+         * Create the statistic.
+         *
+         * @param s Statistic.
+         * @return the consumer
+         */
+        private static DoubleConsumer create(Statistic s) {
+            switch (s) {
+            case MIN:
+                return Min.create();
+            case MAX:
+                return Max.create();
+            case MEAN:
+                return Mean.create();
+            case VARIANCE:
+                return Variance.create();
+            case SKEWNESS:
+                return Skewness.create();
+            case KURTOSIS:
+                return Kurtosis.create();
+            case SUM:
+                return Sum.create();
+            default:
+                throw new IllegalStateException("Unsupported statistic: " + s);
+            }
+        }
+    }
+
     /**
      * A sum of {@code double} data.
      */
@@ -137,4 +253,27 @@ public class StatisticCreationPerformance {
         Arrays.stream(data).forEach(s::accept);
         return s.getAsDouble();
     }
+
+    /**
+     * Compute a set of statistics using a for loop over a consumer. This compares a
+     * chain of individual statistics with the fused consumer of the composite
+     * {@link DoubleStatistics}.
+     *
+     * <p>Note: The chain computes the moments once per statistic; the composite shares
+     * a single moment. The difference between {@code MinMax} results is the cost of the
+     * chained virtual calls.
+     *
+     * @param statistics Source of the statistics.
+     * @param source Source of the data.
+     * @return the consumer
+     */
+    @Benchmark
+    public Object forLoopStatistics(StatisticsSource statistics, DataSource source) {
+        final double[] data = source.getData();
+        final DoubleConsumer s = statistics.getConsumer();
+        for (int i = 0; i < data.length; i++) {
+            s.accept(data[i]);
+        }
+        return s;
+    }
 }
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.statistics.examples.jmh.descriptive;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.apache.commons.statistics.descriptive.DoubleStatistics;
+import org.apache.commons.statistics.descriptive.IntStatistics;
+import org.apache.commons.statistics.descriptive.LongVariance;
+import org.apache.commons.statistics.descriptive.Statistic;
+import org.apache.commons.statistics.descriptive.Variance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a benchmark of computing a statistic on a small batch of data using a new
+ * instance for each batch, or a single instance that is reset before each batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class StatisticReusePerformance {
+    /** Statistics computed by the composite statistics. */
+    private static final Statistic[] SUMMARY = {
+        Statistic.MIN, Statistic.MAX, Statistic.MEAN, Statistic.VARIANCE, Statistic.SUM,
+    };
+
+    /**
+     * Source of the batch data.
+     */
+    @State(Scope.Benchmark)
+    public static class DataSource {
+        /** Data length. */
+        @Param({"1", "10", "100", "1000"})
+        private int length;
+
+        /** Data. */
+        private double[] data;
+        /** Integer data. */
+        private int[] intData;
+        /** Long data. */
+        private long[] longData;
+
+        /**
+         * @return the data
+         */
+        public double[] getData() {
+            return data;
+        }
+
+        /**
+         * @return the integer data
+         */
+        public int[] getIntData() {
+            return intData;
+        }
+
+        /**
+         * @return the long data
+         */
+        public long[] getLongData() {
+            return longData;
+        }
+
+        /**
+         * Create the data.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            // Data will be randomized per iteration
+            final UniformRandomProvider rng = RandomSource.XO_RO_SHI_RO_128_PP.create();
+            data = rng.doubles(length).toArray();
+            intData = rng.ints(length).toArray();
+            longData = rng.longs(length).toArray();
+        }
+    }
+
+    /**
+     * Source of statistics that are reused. Each thread has its own instances.
+     */
+    @State(Scope.Thread)
+    public static class ReusedStatistics {
+        /** Composite statistics. */
+        private DoubleStatistics doubleStatistics;
+        /** Composite integer statistics. */
+        private IntStatistics intStatistics;
+        /** Variance. */
+        private Variance variance;
+        /** Long variance. */
+        private LongVariance longVariance;
+
+        /**
+         * Create the statistics.
+         */
+        @Setup
+        public void setup() {
+            doubleStatistics = DoubleStatistics.of(SUMMARY);
+            intStatistics = IntStatistics.of(SUMMARY);
+            variance = Variance.create();
+            longVariance = LongVariance.create();
+        }
+    }
+
+    /**
+     * Compute the composite statistics using a new instance.
+     *
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double createDoubleStatistics(DataSource source) {
+        final DoubleStatistics s = DoubleStatistics.of(SUMMARY);
+        for (final double x : source.getData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble(Statistic.VARIANCE);
+    }
+
+    /**
+     * Compute the composite statistics using a reset instance.
+     *
+     * @param stats Source of the statistics.
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double resetDoubleStatistics(ReusedStatistics stats, DataSource source) {
+        final DoubleStatistics s = stats.doubleStatistics;
+        s.reset();
+        for (final double x : source.getData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble(Statistic.VARIANCE);
+    }
+
+    /**
+     * Compute the composite integer statistics using a new instance.
+     *
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double createIntStatistics(DataSource source) {
+        final IntStatistics s = IntStatistics.of(SUMMARY);
+        for (final int x : source.getIntData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble(Statistic.VARIANCE);
+    }
+
+    /**
+     * Compute the composite integer statistics using a reset instance.
+     *
+     * @param stats Source of the statistics.
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double resetIntStatistics(ReusedStatistics stats, DataSource source) {
+        final IntStatistics s = stats.intStatistics;
+        s.reset();
+        for (final int x : source.getIntData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble(Statistic.VARIANCE);
+    }
+
+    /**
+     * Compute the variance using a new instance.
+     *
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double createVariance(DataSource source) {
+        final Variance s = Variance.create();
+        for (final double x : source.getData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble();
+    }
+
+    /**
+     * Compute the variance using a reset instance.
+     *
+     * @param stats Source of the statistics.
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double resetVariance(ReusedStatistics stats, DataSource source) {
+        final Variance s = stats.variance;
+        s.reset();
+        for (final double x : source.getData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble();
+    }
+
+    /**
+     * Compute the long variance using a new instance.
+     *
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double createLongVariance(DataSource source) {
+        final LongVariance s = LongVariance.create();
+        for (final long x : source.getLongData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble();
+    }
+
+    /**
+     * Compute the long variance using a reset instance.
+     *
+     * @param stats Source of the statistics.
+     * @param source Source of the data.
+     * @return the statistic
+     */
+    @Benchmark
+    public double resetLongVariance(ReusedStatistics stats, DataSource source) {
+        final LongVariance s = stats.longVariance;
+        s.reset();
+        for (final long x : source.getLongData()) {
+            s.accept(x);
+        }
+        return s.getAsDouble();
+    }
+}